@@ -3,6 +3,8 @@ set -euo pipefail
 
 CONNECT_URL="${CONNECT_URL:-http://localhost:8083}"
 CONNECTOR_NAME="todo-postgres-connector"
+# Partitions of debezium.public.outbox when Connect creates it; match outbox.consumer.concurrency.
+OUTBOX_PARTITIONS="${OUTBOX_PARTITIONS:-12}"
 MAX_ATTEMPTS=30
 SLEEP_SEC=2
 
@@ -37,11 +39,16 @@ resp=$(curl -s -w "\n%{http_code}" --location "${CONNECT_URL}/connectors" \
 
     "slot.name": "debezium_slot",
     "plugin.name": "pgoutput",
-    "publication.autocreate.mode": "filtered",
+    "publication.name": "dbz_publication",
+    "publication.autocreate.mode": "disabled",
 
     "schema.include.list": "public",
     "table.include.list": "public.outbox",
 
+    "message.key.columns": "public.outbox:board_id",
+    "topic.creation.default.partitions": "'"${OUTBOX_PARTITIONS}"'",
+    "topic.creation.default.replication.factor": "1",
+
     "decimal.handling.mode": "string",
     "time.precision.mode": "adaptive_time_microseconds",
     "tombstones.on.delete": "false"
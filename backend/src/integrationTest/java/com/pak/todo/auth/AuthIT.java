@@ -1,5 +1,6 @@
 package com.pak.todo.auth;
 
+import com.pak.todo.model.dto.BoardCreateRequest;
 import com.pak.todo.model.dto.BoardResponse;
 import com.pak.todo.model.entity.Board;
 import com.pak.todo.model.entity.Permission;
@@ -8,7 +9,9 @@ import com.pak.todo.model.enums.PermissionRole;
 import com.pak.todo.repository.BoardRepository;
 import com.pak.todo.repository.PermissionRepository;
 import com.pak.todo.repository.UserRepository;
+import com.pak.todo.security.AuthenticatedUser;
 import com.pak.todo.security.JwtService;
+import com.pak.todo.security.UserCache;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -52,6 +55,9 @@ class AuthIT {
 	@Autowired
 	private JwtService jwtService;
 
+	@Autowired
+	private UserCache userCache;
+
 	@Container
 	static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:17"))
 			.withDatabaseName("todo")
@@ -140,6 +146,45 @@ class AuthIT {
 		assertThat(response.getBody().getId()).isEqualTo(board.getId());
 	}
 
+	// Scenario: a still-valid token whose user has been deleted
+	// Given: a cached user that is deleted after its JWT was issued
+	// When: POST /api/boards is called with that JWT
+	// Then: the cache entry is gone and the request is rejected with 401 Unauthorized, not a server error
+	@Test
+	void createBoard_withTokenOfDeletedUser_returnsUnauthorized() {
+		User user = saveUser("deleted-user", "password4");
+		String token = loginAndGetToken("deleted-user", "password4");
+		assertThat(userCache.get(user.getId())).isPresent();
+		userRepository.delete(user);
+
+		HttpHeaders headers = new HttpHeaders();
+		headers.setBearerAuth(token);
+		ResponseEntity<String> response = restTemplate.exchange(
+				"/api/boards",
+				HttpMethod.POST,
+				new HttpEntity<>(BoardCreateRequest.builder().name("Board").build(), headers),
+				String.class
+		);
+
+		assertThat(userCache.get(user.getId())).isEmpty();
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+	}
+
+	// Scenario: the user cache follows committed changes to the user row
+	// Given: a cached user
+	// When: the user is renamed and the change is committed
+	// Then: the next lookup returns the new username
+	@Test
+	void userCache_afterUserUpdated_returnsCommittedState() {
+		User user = saveUser("renamed-before", "password5");
+		assertThat(userCache.get(user.getId())).contains(new AuthenticatedUser(user.getId(), "renamed-before"));
+
+		user.setUsername("renamed-after");
+		userRepository.save(user);
+
+		assertThat(userCache.get(user.getId())).contains(new AuthenticatedUser(user.getId(), "renamed-after"));
+	}
+
 	private User saveUser(String username, String rawPassword) {
 		User user = User.create(UUID.randomUUID(), username, passwordEncoder.encode(rawPassword));
 		return userRepository.save(user);
@@ -3,6 +3,7 @@ package com.pak.todo.command;
 import com.pak.todo.domain.command.CreateBoardCommand;
 import com.pak.todo.domain.command.CreateTaskCommand;
 import com.pak.todo.domain.command.UpdateTaskCommand;
+import com.pak.todo.model.dto.TaskResponse;
 import com.pak.todo.model.entity.Task;
 import com.pak.todo.model.enums.TaskStatus;
 import com.pak.todo.repository.TaskRepository;
@@ -17,9 +18,16 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 import org.testcontainers.utility.DockerImageName;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -109,5 +117,47 @@ class LastWriteWinsIT {
 		assertThat(task.getDescription()).isEqualTo("second desc");
 		assertThat(task.getStatus()).isEqualTo(TaskStatus.COMPLETED);
 		assertThat(task.getDueDate()).isEqualTo(dueDate.plus(2, java.time.temporal.ChronoUnit.DAYS));
+		// Created at 0, one increment per update; matches the version each update wrote to its outbox payload
+		assertThat(task.getVersion()).isEqualTo(2L);
+	}
+
+	// Scenario: concurrent updates of one task are not rejected, and each gets its own version
+	// Given: a board and task at version 0
+	// When: eight threads each apply an UpdateTaskCommand with a different name at the same time
+	// Then: every update succeeds (no optimistic-lock conflict), the task holds one of the names, and the version was
+	// incremented once per update, so no two TaskUpdated deltas share a version
+	@Test
+	void concurrentUpdates_allApplyWithDistinctVersions() throws Exception {
+		UUID boardId = UUID.randomUUID();
+		UUID taskId = UUID.randomUUID();
+		createBoardCommandHandler.handle(new CreateBoardCommand(boardId, "Board", "Board desc"));
+		createTaskCommandHandler.handle(
+				new CreateTaskCommand(taskId, boardId, "Initial", "Initial desc", null, TaskStatus.NOT_STARTED));
+
+		int writers = 8;
+		ExecutorService executor = Executors.newFixedThreadPool(writers);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<TaskResponse>> results = new ArrayList<>();
+		for (int i = 0; i < writers; i++) {
+			String name = "Writer " + i;
+			results.add(executor.submit(() -> {
+				start.await();
+				return updateTaskCommandHandler.handle(UpdateTaskCommand.builder()
+						.boardId(boardId)
+						.taskId(taskId)
+						.name(name)
+						.payload(Map.of("name", name))
+						.build());
+			}));
+		}
+		start.countDown();
+		for (Future<TaskResponse> result : results) {
+			assertThat(result.get(30, TimeUnit.SECONDS)).isNotNull();
+		}
+		executor.shutdown();
+
+		Task task = taskRepository.findByIdAndBoardId(taskId, boardId).orElseThrow();
+		assertThat(task.getName()).startsWith("Writer ");
+		assertThat(task.getVersion()).isEqualTo((long) writers);
 	}
 }
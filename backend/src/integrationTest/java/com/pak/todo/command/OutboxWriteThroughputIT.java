@@ -0,0 +1,108 @@
+package com.pak.todo.command;
+
+import com.pak.todo.domain.event.TaskEventPayload;
+import com.pak.todo.repository.OutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Rough write-throughput benchmark for the outbox: single-event transactions versus transactions
+ * emitting several events that are flushed as one JDBC batch. Results are logged, only row counts are asserted.
+ */
+@SpringBootTest
+@Testcontainers
+class OutboxWriteThroughputIT {
+
+	private static final Logger log = LoggerFactory.getLogger(OutboxWriteThroughputIT.class);
+
+	private static final int WARMUP_TRANSACTIONS = 200;
+	private static final int TRANSACTIONS = 1_000;
+	private static final int EVENTS_PER_TRANSACTION = 20;
+
+	@Autowired
+	private OutboxSupport outboxSupport;
+
+	@Autowired
+	private OutboxRepository outboxRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Container
+	static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:17"))
+			.withDatabaseName("todo")
+			.withUsername("postgres")
+			.withPassword("postgres");
+
+	@DynamicPropertySource
+	static void configureProperties(DynamicPropertyRegistry registry) {
+		registry.add("spring.datasource.url", () -> postgres.getJdbcUrl() + "&reWriteBatchedInserts=true");
+		registry.add("spring.datasource.username", postgres::getUsername);
+		registry.add("spring.datasource.password", postgres::getPassword);
+	}
+
+	@BeforeEach
+	void setUp() {
+		outboxRepository.deleteAllInBatch();
+	}
+
+	// Scenario: throughput of single-event transactions
+	// Given: an empty outbox table
+	// When: many transactions each record one event
+	// Then: every event is persisted and the events/second figure is logged
+	@Test
+	void saveOutbox_singleEventTransactions_persistsAllAndLogsThroughput() {
+		run(WARMUP_TRANSACTIONS, 1);
+		outboxRepository.deleteAllInBatch();
+
+		double eventsPerSecond = run(TRANSACTIONS, 1);
+
+		log.info("Outbox single-event transactions: {} events/s", Math.round(eventsPerSecond));
+		assertThat(outboxRepository.count()).isEqualTo(TRANSACTIONS);
+	}
+
+	// Scenario: throughput of multi-event transactions flushed as one batch
+	// Given: an empty outbox table
+	// When: many transactions each record several events
+	// Then: every event is persisted and the events/second figure is logged
+	@Test
+	void saveOutbox_multiEventTransactions_persistsAllAndLogsThroughput() {
+		run(WARMUP_TRANSACTIONS, EVENTS_PER_TRANSACTION);
+		outboxRepository.deleteAllInBatch();
+
+		double eventsPerSecond = run(TRANSACTIONS, EVENTS_PER_TRANSACTION);
+
+		log.info("Outbox {}-event transactions: {} events/s", EVENTS_PER_TRANSACTION, Math.round(eventsPerSecond));
+		assertThat(outboxRepository.count()).isEqualTo((long) TRANSACTIONS * EVENTS_PER_TRANSACTION);
+	}
+
+	private double run(int transactions, int eventsPerTransaction) {
+		UUID boardId = UUID.randomUUID();
+		TaskEventPayload payload = TaskEventPayload.builder().id(UUID.randomUUID()).boardId(boardId).name("Task").build();
+		long start = System.nanoTime();
+		for (int i = 0; i < transactions; i++) {
+			transactionTemplate.executeWithoutResult(status -> {
+				for (int j = 0; j < eventsPerTransaction; j++) {
+					outboxSupport.saveOutbox("Task", payload.getId().toString(), "TaskUpdated", boardId, payload);
+				}
+			});
+		}
+		long elapsedNanos = System.nanoTime() - start;
+		return (double) transactions * eventsPerTransaction * 1_000_000_000L / elapsedNanos;
+	}
+}
@@ -0,0 +1,164 @@
+package com.pak.todo.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pak.todo.auth.PermissionCache;
+import com.pak.todo.websocket.BoardBinaryMessageFormatter;
+import com.pak.todo.websocket.BoardV2MessageFormatter;
+import com.pak.todo.websocket.OutboxMessageFormatter;
+import com.pak.todo.websocket.WebSocketBroadcastProperties;
+import com.pak.todo.websocket.WebSocketBroadcaster;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.BatchMessageListener;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.KafkaMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListener;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Rough consumer-throughput benchmark on an embedded broker: the per-record listener versus the batch listener
+ * over the same pre-produced outbox topic. Each board has one open session, so formatting and fan-out are
+ * included. Results are logged, only delivered counts are asserted.
+ */
+@EmbeddedKafka(partitions = 1, topics = OutboxKafkaConsumer.TOPIC)
+class OutboxConsumerThroughputIT {
+
+	private static final Logger log = LoggerFactory.getLogger(OutboxConsumerThroughputIT.class);
+
+	private static final int EVENTS = 50_000;
+	private static final int BOARDS = 200;
+	private static final Duration TIMEOUT = Duration.ofMinutes(2);
+
+	private static final List<UUID> boards = new ArrayList<>();
+
+	@BeforeAll
+	static void produce(EmbeddedKafkaBroker broker) {
+		for (int i = 0; i < BOARDS; i++) {
+			boards.add(UUID.randomUUID());
+		}
+		Map<String, Object> props = Map.of(
+				ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString(),
+				ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+				ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+				ProducerConfig.LINGER_MS_CONFIG, 5);
+		try (KafkaProducer<String, String> producer = new KafkaProducer<>(props)) {
+			for (int i = 0; i < EVENTS; i++) {
+				UUID boardId = boards.get(i % BOARDS);
+				producer.send(new ProducerRecord<>(OutboxKafkaConsumer.TOPIC, boardId.toString(), outboxValue(boardId, i)));
+			}
+			producer.flush();
+		}
+	}
+
+	// Scenario: throughput of the per-record listener
+	// Given: a topic holding EVENTS outbox records across BOARDS boards
+	// When: a fresh consumer group reads the topic with the record listener
+	// Then: every event is delivered and the events/second figure is logged
+	@Test
+	void recordListener_consumesAllAndLogsThroughput(EmbeddedKafkaBroker broker) throws InterruptedException {
+		double eventsPerSecond = consume(broker, "bench-record", (consumer, properties) ->
+				properties.setMessageListener((MessageListener<String, byte[]>) consumer::onMessage));
+
+		log.info("Outbox per-record listener: {} events/s", Math.round(eventsPerSecond));
+	}
+
+	// Scenario: throughput of the batch listener
+	// Given: a topic holding EVENTS outbox records across BOARDS boards
+	// When: a fresh consumer group reads the topic with the batch listener
+	// Then: every event is delivered and the events/second figure is logged
+	@Test
+	void batchListener_consumesAllAndLogsThroughput(EmbeddedKafkaBroker broker) throws InterruptedException {
+		double eventsPerSecond = consume(broker, "bench-batch", (consumer, properties) ->
+				properties.setMessageListener((BatchMessageListener<String, byte[]>) consumer::onMessages));
+
+		log.info("Outbox batch listener: {} events/s", Math.round(eventsPerSecond));
+	}
+
+	private double consume(EmbeddedKafkaBroker broker, String groupId, ListenerBinding binding)
+			throws InterruptedException {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		WebSocketBroadcastProperties broadcastProperties = new WebSocketBroadcastProperties();
+		broadcastProperties.setCoalesceWindowMillis(0);
+		broadcastProperties.setVirtualThreads(false);
+		WebSocketBroadcaster broadcaster = new WebSocketBroadcaster(new OutboxMessageFormatter(new ObjectMapper()),
+				new BoardV2MessageFormatter(new ObjectMapper()), new BoardBinaryMessageFormatter(), broadcastProperties,
+				meterRegistry);
+		for (UUID boardId : boards) {
+			broadcaster.register(boardId, openSession(boardId.toString()));
+		}
+		OutboxKafkaConsumer consumer = new OutboxKafkaConsumer(new OutboxEnvelopeDecoder(new ObjectMapper()), broadcaster,
+				mock(PermissionCache.class), new OutboxDeliveryLog(new OutboxDeliveryLogProperties()),
+				OutboxConsumerGroup.from(new OutboxConsumerProperties()), meterRegistry);
+
+		Map<String, Object> consumerProps = Map.of(
+				ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString(),
+				ConsumerConfig.GROUP_ID_CONFIG, groupId,
+				ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest",
+				ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class,
+				ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+		ContainerProperties containerProperties = new ContainerProperties(OutboxKafkaConsumer.TOPIC);
+		binding.bind(consumer, containerProperties);
+		KafkaMessageListenerContainer<String, byte[]> container = new KafkaMessageListenerContainer<>(
+				new DefaultKafkaConsumerFactory<>(consumerProps), containerProperties);
+
+		Counter delivered = meterRegistry.get("outbox.events").tag("outcome", "delivered").counter();
+		long start = System.nanoTime();
+		long deadline = start + TIMEOUT.toNanos();
+		container.start();
+		try {
+			while (delivered.count() < EVENTS && System.nanoTime() < deadline) {
+				Thread.sleep(5);
+			}
+		}
+		finally {
+			container.stop();
+		}
+		long elapsedNanos = System.nanoTime() - start;
+		assertThat(delivered.count()).isEqualTo((double) EVENTS);
+		return (double) EVENTS * 1_000_000_000L / elapsedNanos;
+	}
+
+	private static WebSocketSession openSession(String id) {
+		WebSocketSession session = mock(WebSocketSession.class, withSettings().stubOnly());
+		when(session.getId()).thenReturn(id);
+		when(session.isOpen()).thenReturn(true);
+		return session;
+	}
+
+	private static String outboxValue(UUID boardId, int sequence) {
+		String payload = "{\\\"name\\\":\\\"Task " + sequence + "\\\",\\\"status\\\":\\\"IN_PROGRESS\\\"}";
+		return """
+				{"payload":{"after":{"id":"%s","board_id":"%s","aggregate_type":"Task","aggregate_id":"%s","event_type":"TaskUpdated","payload":"%s"}}}
+				""".formatted(UUID.randomUUID(), boardId, UUID.randomUUID(), payload).trim();
+	}
+
+	@FunctionalInterface
+	private interface ListenerBinding {
+		void bind(OutboxKafkaConsumer consumer, ContainerProperties properties);
+	}
+}
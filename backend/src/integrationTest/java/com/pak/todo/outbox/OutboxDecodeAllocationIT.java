@@ -0,0 +1,116 @@
+package com.pak.todo.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pak.todo.model.entity.OutboxEntry;
+import com.pak.todo.websocket.OutboxMessageFormatter;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.socket.TextMessage;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Rough allocation benchmark for turning a Debezium outbox record into a WebSocket message: the byte-oriented
+ * streaming decoder and formatter versus the former path that decoded the value to a string and built a JSON tree
+ * of the envelope and another of the payload.
+ * Bytes allocated per message (from the thread allocation counter) and time per message are logged; only the
+ * equality of the produced frames is asserted.
+ */
+class OutboxDecodeAllocationIT {
+
+	private static final Logger log = LoggerFactory.getLogger(OutboxDecodeAllocationIT.class);
+
+	private static final int WARMUP_MESSAGES = 200_000;
+	private static final int MESSAGES = 500_000;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final OutboxEnvelopeDecoder decoder = new OutboxEnvelopeDecoder(objectMapper);
+	private final OutboxMessageFormatter formatter = new OutboxMessageFormatter(objectMapper);
+
+	private final byte[] value = """
+			{"schema":{"type":"struct","fields":[{"type":"struct","fields":[{"type":"string","optional":false,"field":"id"}],"optional":true,"name":"debezium.public.outbox.Value","field":"after"}],"optional":false,"name":"debezium.public.outbox.Envelope"},
+			 "payload":{"before":null,"after":{"id":"%s","aggregate_type":"Task","aggregate_id":"%s","board_id":"%s","event_type":"TaskUpdated","payload":"{\\"id\\":\\"%s\\",\\"boardId\\":\\"%s\\",\\"name\\":\\"Write the quarterly report\\",\\"description\\":\\"Numbers from finance; draft by Friday\\",\\"dueDate\\":\\"2026-11-01T00:00:00Z\\",\\"status\\":\\"IN_PROGRESS\\"}","created_at":1760000000000000,"processed_at":null},
+			 "source":{"version":"3.4.1.Final","connector":"postgresql","name":"debezium","ts_ms":1760000000000,"db":"todo","schema":"public","table":"outbox","txId":1234,"lsn":5678},"op":"c","ts_ms":1760000000001}}
+			""".formatted(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID())
+			.getBytes(StandardCharsets.UTF_8);
+
+	// Scenario: allocation and time per message of the streaming path versus the tree-based path
+	// Given: a realistic Debezium envelope with schema and source metadata
+	// When: each path decodes and formats the same record many times
+	// Then: both paths produce the same frame, and bytes/message and ns/message are logged for each
+	@Test
+	void decodeAndFormat_streamingVersusTree_logsAllocationPerMessage() {
+		assertThat(streaming(value).getPayload()).isEqualTo(tree(value).getPayload());
+
+		measure(this::tree, WARMUP_MESSAGES);
+		measure(this::streaming, WARMUP_MESSAGES);
+
+		Result tree = measure(this::tree, MESSAGES);
+		Result streaming = measure(this::streaming, MESSAGES);
+
+		log.info("Outbox decode+format, tree path: {} bytes/message, {} ns/message", tree.bytesPerMessage(),
+				tree.nanosPerMessage());
+		log.info("Outbox decode+format, streaming path: {} bytes/message, {} ns/message", streaming.bytesPerMessage(),
+				streaming.nanosPerMessage());
+	}
+
+	private TextMessage streaming(byte[] record) {
+		try {
+			return new TextMessage(formatter.encode(decoder.decode(record)));
+		}
+		catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * The decode and format path as it was before the streaming decoder: the value deserialized to a string, one
+	 * tree for the envelope, one for the payload column, and the frame built by string concatenation.
+	 */
+	private TextMessage tree(byte[] record) {
+		try {
+			JsonNode root = objectMapper.readTree(new String(record, StandardCharsets.UTF_8));
+			JsonNode payloadNode = root.has("payload") ? root.get("payload") : root;
+			JsonNode afterNode = payloadNode.has("after") ? payloadNode.get("after") : payloadNode;
+			OutboxEntry entry = OutboxEntry.builder()
+					.id(UUID.fromString(afterNode.get("id").asText()))
+					.aggregateType(afterNode.get("aggregate_type").asText())
+					.aggregateId(afterNode.get("aggregate_id").asText())
+					.boardId(UUID.fromString(afterNode.get("board_id").asText()))
+					.eventType(afterNode.get("event_type").asText())
+					.payload(afterNode.get("payload").asText())
+					.build();
+			JsonNode payload = objectMapper.readTree(entry.getPayload());
+			return new TextMessage("type=edit;resource=task;id=" + entry.getAggregateId()
+					+ ";key=status;value=" + payload.get("status").asText("").replace(";", "\\;").replace("=", "\\="));
+		}
+		catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private Result measure(Function<byte[], TextMessage> path, int messages) {
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long threadId = Thread.currentThread().threadId();
+		int sink = 0;
+		long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+		long start = System.nanoTime();
+		for (int i = 0; i < messages; i++) {
+			sink += path.apply(value).getPayloadLength();
+		}
+		long elapsedNanos = System.nanoTime() - start;
+		long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+		assertThat(sink).isPositive();
+		return new Result(allocated / messages, elapsedNanos / messages);
+	}
+
+	private record Result(long bytesPerMessage, long nanosPerMessage) {
+	}
+}
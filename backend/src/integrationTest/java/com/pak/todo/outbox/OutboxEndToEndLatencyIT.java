@@ -0,0 +1,284 @@
+package com.pak.todo.outbox;
+
+import com.pak.todo.websocket.WebSocketBroadcaster;
+import io.debezium.testing.testcontainers.ConnectorConfiguration;
+import io.debezium.testing.testcontainers.DebeziumContainer;
+import io.strimzi.test.container.StrimziKafkaCluster;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+import static org.testcontainers.lifecycle.Startables.deepStart;
+
+/**
+ * Load test of the full outbox path (PostgreSQL WAL, Debezium, Kafka, listener, broadcaster) with the topic keyed
+ * by board_id and several listener threads. Outbox rows are committed at a fixed rate across many boards; each board
+ * has one in-process session that records when its frame is written. Latency from commit to frame is logged as
+ * percentiles. Asserted: every event is delivered and no board ever receives its events out of commit order.
+ */
+@SpringBootTest(properties = {
+		"outbox.consumer.concurrency=" + OutboxEndToEndLatencyIT.PARTITIONS,
+		"websocket.broadcast.coalesce-window-millis=0"
+})
+@Testcontainers
+class OutboxEndToEndLatencyIT {
+
+	private static final Logger log = LoggerFactory.getLogger(OutboxEndToEndLatencyIT.class);
+
+	static final int PARTITIONS = 12;
+
+	private static final int BOARDS = 1_000;
+	private static final int EVENTS_PER_SECOND = 10_000;
+	private static final int DURATION_SECONDS = 30;
+	private static final int EVENTS = EVENTS_PER_SECOND * DURATION_SECONDS;
+	private static final int MAX_ROWS_PER_TRANSACTION = 500;
+	private static final int CONNECTOR_READY_TIMEOUT_SEC = 60;
+	private static final int DRAIN_TIMEOUT_SEC = 120;
+	private static final String PROBE_ID = "probe";
+
+	private static final String INSERT_SQL = "insert into outbox "
+			+ "(id, aggregate_type, aggregate_id, board_id, event_type, payload, created_at) "
+			+ "values (?, 'Task', ?, ?, ?, cast(? as jsonb), ?)";
+
+	private static final Network NETWORK = Network.SHARED;
+
+	static final StrimziKafkaCluster kafkaContainer = new StrimziKafkaCluster.StrimziKafkaClusterBuilder()
+			.withNumberOfBrokers(1)
+			.withSharedNetwork()
+			.build();
+
+	@Container
+	static PostgreSQLContainer<?> postgresContainer =
+			new PostgreSQLContainer<>(DockerImageName.parse("postgres:17").asCompatibleSubstituteFor("postgres"))
+					.withNetwork(NETWORK)
+					.withNetworkAliases("postgres")
+					.withCommand(
+							"postgres",
+							"-c", "wal_level=logical",
+							"-c", "max_wal_senders=10",
+							"-c", "max_replication_slots=10"
+					);
+
+	@Container
+	static DebeziumContainer debeziumContainer = new DebeziumContainer("quay.io/debezium/connect:3.4.1.Final")
+			.withNetwork(NETWORK)
+			.withKafka(kafkaContainer)
+			.dependsOn(kafkaContainer, postgresContainer);
+
+	@BeforeAll
+	static void startContainers() {
+		deepStart(Stream.of(kafkaContainer, postgresContainer, debeziumContainer)).join();
+	}
+
+	@DynamicPropertySource
+	static void configureProperties(DynamicPropertyRegistry registry) {
+		registry.add("spring.datasource.url", postgresContainer::getJdbcUrl);
+		registry.add("spring.datasource.username", postgresContainer::getUsername);
+		registry.add("spring.datasource.password", postgresContainer::getPassword);
+		registry.add("spring.kafka.bootstrap-servers", kafkaContainer::getBootstrapServers);
+	}
+
+	@Autowired
+	private WebSocketBroadcaster webSocketBroadcaster;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private final List<UUID> boards = new ArrayList<>();
+	private final long[] committedAt = new long[EVENTS];
+	private final AtomicLongArray deliveredAt = new AtomicLongArray(EVENTS);
+	private final AtomicIntegerArray lastSequenceByBoard = new AtomicIntegerArray(BOARDS);
+	private final AtomicInteger delivered = new AtomicInteger();
+	private final AtomicInteger outOfOrder = new AtomicInteger();
+	private final CountDownLatch probeDelivered = new CountDownLatch(1);
+
+	// Scenario: 10k events/s across 1k boards through the partitioned outbox topic
+	// Given: the connector keying the topic by board_id over 12 partitions, 12 listener threads, one session per board
+	// When: outbox rows are committed at 10k/s for 30 s, round-robin across the boards
+	// Then: every event reaches its board's session in commit order; commit-to-frame latency percentiles are logged
+	@Test
+	void outbox_tenThousandEventsPerSecondAcrossThousandBoards_deliversInOrderAndLogsLatency() throws Exception {
+		for (int i = 0; i < BOARDS; i++) {
+			UUID boardId = UUID.randomUUID();
+			boards.add(boardId);
+			lastSequenceByBoard.set(i, -1);
+			webSocketBroadcaster.register(boardId, recordingSession(i));
+		}
+		registerDebeziumConnector();
+		awaitPipelineReady();
+
+		long start = System.nanoTime();
+		int committed = 0;
+		while (committed < EVENTS) {
+			long elapsedNanos = System.nanoTime() - start;
+			int due = (int) Math.min(EVENTS, elapsedNanos * EVENTS_PER_SECOND / 1_000_000_000L);
+			if (due <= committed) {
+				Thread.sleep(1);
+				continue;
+			}
+			int to = Math.min(due, committed + MAX_ROWS_PER_TRANSACTION);
+			commit(committed, to);
+			committed = to;
+		}
+		double achievedRate = (double) EVENTS * 1_000_000_000L / (System.nanoTime() - start);
+
+		long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(DRAIN_TIMEOUT_SEC);
+		while (delivered.get() < EVENTS && System.nanoTime() < drainDeadline) {
+			Thread.sleep(50);
+		}
+
+		long[] latencies = new long[EVENTS];
+		int measured = 0;
+		for (int i = 0; i < EVENTS; i++) {
+			long frame = deliveredAt.get(i);
+			if (frame != 0) {
+				latencies[measured++] = frame - committedAt[i];
+			}
+		}
+		Arrays.sort(latencies, 0, measured);
+		log.info("Outbox end-to-end: {} events over {} boards at {} events/s committed; "
+						+ "commit-to-frame latency p50={} ms p95={} ms p99={} ms max={} ms",
+				measured, BOARDS, Math.round(achievedRate),
+				millis(percentile(latencies, measured, 0.50)), millis(percentile(latencies, measured, 0.95)),
+				millis(percentile(latencies, measured, 0.99)), millis(measured > 0 ? latencies[measured - 1] : 0));
+
+		assertThat(delivered.get()).isEqualTo(EVENTS);
+		assertThat(outOfOrder.get()).as("events delivered out of per-board commit order").isZero();
+	}
+
+	/**
+	 * Commits events {@code [from, to)} in one transaction. Event {@code n} belongs to board {@code n % BOARDS} and is
+	 * that board's event number {@code n / BOARDS}; its aggregate id is {@code n}, which the frame carries back.
+	 */
+	private void commit(int from, int to) {
+		Timestamp now = Timestamp.from(Instant.now());
+		transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL,
+				new BatchPreparedStatementSetter() {
+					@Override
+					public void setValues(PreparedStatement ps, int i) throws SQLException {
+						int n = from + i;
+						ps.setObject(1, UUID.randomUUID());
+						ps.setString(2, Integer.toString(n));
+						ps.setObject(3, boards.get(n % BOARDS));
+						ps.setString(4, n < BOARDS ? "TaskCreated" : "TaskUpdated");
+						ps.setString(5, "{\"name\":\"Task " + n + "\"}");
+						ps.setTimestamp(6, now);
+					}
+
+					@Override
+					public int getBatchSize() {
+						return to - from;
+					}
+				}));
+		long committedNanos = System.nanoTime();
+		for (int n = from; n < to; n++) {
+			committedAt[n] = committedNanos;
+		}
+	}
+
+	private WebSocketSession recordingSession(int boardIndex) throws Exception {
+		WebSocketSession session = mock(WebSocketSession.class, withSettings().stubOnly());
+		when(session.getId()).thenReturn("load-" + boardIndex);
+		when(session.isOpen()).thenReturn(true);
+		doAnswer(invocation -> {
+			long now = System.nanoTime();
+			String id = aggregateId(((TextMessage) invocation.getArgument(0)).getPayload());
+			if (PROBE_ID.equals(id)) {
+				probeDelivered.countDown();
+				return null;
+			}
+			int n = Integer.parseInt(id);
+			deliveredAt.set(n, now);
+			int sequence = n / BOARDS;
+			if (lastSequenceByBoard.getAndSet(boardIndex, sequence) > sequence) {
+				outOfOrder.incrementAndGet();
+			}
+			delivered.incrementAndGet();
+			return null;
+		}).when(session).sendMessage(any());
+		return session;
+	}
+
+	/** Commits probe events until one reaches its session, so the measured run starts with a streaming connector. */
+	private void awaitPipelineReady() throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(CONNECTOR_READY_TIMEOUT_SEC);
+		while (!probeDelivered.await(1, TimeUnit.SECONDS)) {
+			assertThat(System.nanoTime()).as("connector streaming within %s s", CONNECTOR_READY_TIMEOUT_SEC)
+					.isLessThan(deadline);
+			jdbcTemplate.update(INSERT_SQL, UUID.randomUUID(), PROBE_ID, boards.get(0), "TaskUpdated",
+					"{\"name\":\"probe\"}", Timestamp.from(Instant.now()));
+		}
+	}
+
+	private void registerDebeziumConnector() throws Exception {
+		ConnectorConfiguration connector = ConnectorConfiguration
+				.forJdbcContainer(postgresContainer)
+				.with("topic.prefix", "debezium")
+				.with("slot.name", "debezium_load")
+				.with("schema.include.list", "public")
+				.with("plugin.name", "pgoutput")
+				.with("table.include.list", "public.outbox")
+				// created by the V5 migration with publish_via_partition_root, see setup-debezium.sh
+				.with("publication.name", "dbz_publication")
+				.with("publication.autocreate.mode", "disabled")
+				.with("message.key.columns", "public.outbox:board_id")
+				.with("topic.creation.default.partitions", String.valueOf(PARTITIONS))
+				.with("topic.creation.default.replication.factor", "1");
+		debeziumContainer.registerConnector("to-do-outbox-load", connector);
+	}
+
+	private static String aggregateId(String frame) {
+		int start = frame.indexOf(";id=") + 4;
+		return frame.substring(start, frame.indexOf(';', start));
+	}
+
+	private static long percentile(long[] sorted, int size, double quantile) {
+		if (size == 0) {
+			return 0;
+		}
+		return sorted[Math.min(size - 1, (int) Math.ceil(quantile * size) - 1)];
+	}
+
+	private static double millis(long nanos) {
+		return Math.round(nanos / 10_000.0) / 100.0;
+	}
+}
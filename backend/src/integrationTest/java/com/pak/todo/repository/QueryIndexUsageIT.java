@@ -0,0 +1,175 @@
+package com.pak.todo.repository;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Seeds a realistic volume of boards, tasks and permissions into the Flyway-migrated schema and checks with
+ * EXPLAIN that the hot query shapes are served by the indexes from V2__query_indexes.sql.
+ */
+@SpringBootTest
+@Testcontainers
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryIndexUsageIT {
+
+	private static final int BOARDS = 200;
+	private static final int TASKS_PER_BOARD = 250;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Container
+	static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:17"))
+			.withDatabaseName("todo")
+			.withUsername("postgres")
+			.withPassword("postgres");
+
+	@DynamicPropertySource
+	static void configureProperties(DynamicPropertyRegistry registry) {
+		registry.add("spring.datasource.url", postgres::getJdbcUrl);
+		registry.add("spring.datasource.username", postgres::getUsername);
+		registry.add("spring.datasource.password", postgres::getPassword);
+	}
+
+	private UUID boardId;
+	private UUID userId;
+
+	@BeforeAll
+	void seed() {
+		jdbcTemplate.execute("""
+				insert into boards (id, name, description, created_at, updated_at)
+				select gen_random_uuid(), 'Board ' || g, '', now() - g * interval '1 minute', now()
+				from generate_series(1, %d) g
+				""".formatted(BOARDS));
+		jdbcTemplate.execute("""
+				insert into users (id, username, password_hash, created_at, updated_at)
+				select gen_random_uuid(), 'seed-user-' || g, 'hash', now(), now()
+				from generate_series(1, %d) g
+				""".formatted(BOARDS));
+		jdbcTemplate.execute("""
+				insert into permissions (id, user_id, board_id, role, created_at, updated_at)
+				select gen_random_uuid(), u.id, b.id, 'EDITOR', now(), now()
+				from (select id, row_number() over () rn from users) u
+				join (select id, row_number() over () rn from boards) b on b.rn between u.rn and u.rn + 4
+				""");
+		jdbcTemplate.execute("""
+				insert into tasks (id, board_id, name, description, due_date, status, created_at, updated_at)
+				select gen_random_uuid(), b.id, 'Task ' || g, '',
+				       case when g % 10 = 0 then null else now() + (g % 90) * interval '1 day' end,
+				       (array['NOT_STARTED', 'IN_PROGRESS', 'COMPLETED'])[1 + g % 3],
+				       now(), now()
+				from boards b cross join generate_series(1, %d) g
+				""".formatted(TASKS_PER_BOARD));
+		jdbcTemplate.execute("analyze");
+		boardId = jdbcTemplate.queryForObject("select id from boards limit 1", UUID.class);
+		userId = jdbcTemplate.queryForObject("select user_id from permissions where board_id = ? limit 1", UUID.class, boardId);
+	}
+
+	// Scenario: listing a board's tasks ordered by due date uses the (board_id, due_date, id) index
+	// Given: 50k tasks spread over 200 boards
+	// When: the TaskService listing query is explained
+	// Then: the plan uses idx_tasks_board_due_id
+	@Test
+	void taskListing_byBoardOrderedByDueDate_usesBoardDueIndex() {
+		String plan = explain("""
+				select * from tasks t where t.board_id = '%s'
+				order by t.due_date, t.id limit 21
+				""".formatted(boardId));
+
+		assertThat(plan).contains("idx_tasks_board_due_id");
+	}
+
+	// Scenario: the status + due date filter uses the (board_id, status, due_date, id) index
+	// Given: 50k tasks spread over 200 boards with three statuses
+	// When: the filtered TaskService listing query is explained
+	// Then: the plan uses idx_tasks_board_status_due_id
+	@Test
+	void taskListing_byBoardStatusAndDueRange_usesBoardStatusDueIndex() {
+		String plan = explain("""
+				select * from tasks t where t.board_id = '%s' and t.status = 'IN_PROGRESS'
+				and t.due_date >= now() and t.due_date <= now() + interval '30 days'
+				order by t.due_date, t.id limit 21
+				""".formatted(boardId));
+
+		assertThat(plan).contains("idx_tasks_board_status_due_id");
+	}
+
+	// Scenario: keyset continuation seeks into the index instead of scanning earlier rows
+	// Given: 50k tasks spread over 200 boards
+	// When: the keyset "after" query of TaskService is explained
+	// Then: idx_tasks_board_due_id is entered with the due date bound as its index condition, not scanned from the
+	// start of the board with the bound as a filter
+	@Test
+	void taskKeysetPage_afterCursor_seeksBoardDueIndex() {
+		String plan = explain("""
+				select * from tasks t where t.board_id = '%s'
+				and t.due_date >= now() + interval '10 days'
+				and (t.due_date > now() + interval '10 days' or t.id > '%s')
+				order by t.due_date, t.id limit 21
+				""".formatted(boardId, UUID.randomUUID()));
+
+		assertThat(plan).contains("idx_tasks_board_due_id");
+		assertThat(indexCondition(plan)).contains("board_id =").contains("due_date >=");
+	}
+
+	// Scenario: keyset continuation inside the trailing group of tasks without a due date
+	// Given: 50k tasks spread over 200 boards
+	// When: the "no due date after id" query of TaskService is explained
+	// Then: idx_tasks_board_due_id is entered with the null due date and the id bound as its index condition
+	@Test
+	void taskKeysetPage_afterCursorWithoutDueDate_seeksBoardDueIndex() {
+		String plan = explain("""
+				select * from tasks t where t.board_id = '%s'
+				and t.due_date is null and t.id > '%s'
+				order by t.due_date, t.id limit 21
+				""".formatted(boardId, UUID.randomUUID()));
+
+		assertThat(plan).contains("idx_tasks_board_due_id");
+		assertThat(indexCondition(plan)).contains("due_date IS NULL").contains("id >");
+	}
+
+	// Scenario: permission lookups are index scans
+	// Given: 1000 permissions over 200 users and boards
+	// When: findByUserIdAndBoardId and findByBoardId queries are explained
+	// Then: they use uk_permissions_user_board and idx_permissions_board respectively
+	@Test
+	void permissionLookups_useUniqueAndBoardIndexes() {
+		String byUserAndBoard = explain("select * from permissions p where p.user_id = '%s' and p.board_id = '%s'"
+				.formatted(userId, boardId));
+		String byBoard = explain("select * from permissions p where p.board_id = '%s'".formatted(boardId));
+
+		assertThat(byUserAndBoard).contains("uk_permissions_user_board");
+		assertThat(byBoard).contains("idx_permissions_board");
+	}
+
+	/**
+	 * The {@code Index Cond} line of the plan: what the index is entered with, as opposed to a {@code Filter} applied
+	 * to every row it returns.
+	 */
+	private static String indexCondition(String plan) {
+		return plan.lines()
+				.filter(line -> line.contains("Index Cond:"))
+				.findFirst()
+				.orElse("");
+	}
+
+	private String explain(String sql) {
+		List<String> lines = jdbcTemplate.queryForList("explain " + sql, String.class);
+		return String.join("\n", lines);
+	}
+}
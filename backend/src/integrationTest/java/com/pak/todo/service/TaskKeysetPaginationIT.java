@@ -0,0 +1,96 @@
+package com.pak.todo.service;
+
+import com.pak.todo.model.dto.CursorPage;
+import com.pak.todo.model.dto.TaskResponse;
+import com.pak.todo.model.entity.Board;
+import com.pak.todo.model.entity.Task;
+import com.pak.todo.model.enums.TaskStatus;
+import com.pak.todo.repository.BoardRepository;
+import com.pak.todo.repository.TaskRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Testcontainers
+class TaskKeysetPaginationIT {
+
+	@Autowired
+	private TaskService taskService;
+
+	@Autowired
+	private BoardRepository boardRepository;
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Container
+	static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:17"))
+			.withDatabaseName("todo")
+			.withUsername("postgres")
+			.withPassword("postgres");
+
+	@DynamicPropertySource
+	static void configureProperties(DynamicPropertyRegistry registry) {
+		registry.add("spring.datasource.url", postgres::getJdbcUrl);
+		registry.add("spring.datasource.username", postgres::getUsername);
+		registry.add("spring.datasource.password", postgres::getPassword);
+		registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+	}
+
+	// Scenario: walking a board with cursors visits every task once in (dueDate, id) order
+	// Given: a board with 25 tasks, some sharing a due date and some without due date
+	// When: pages of 7 are requested by following nextCursor until it is null
+	// Then: all tasks are returned exactly once, sorted with tasks without due date last, one statement per page
+	// plus one for the page that runs out of due dates and continues into the tasks without one
+	@Test
+	void findByBoardIdAfter_followingCursors_visitsAllTasksInKeysetOrderWithoutCountQuery() {
+		Board board = boardRepository.save(Board.create(UUID.randomUUID(), "Board", "Desc"));
+		Instant base = Instant.parse("2025-06-01T00:00:00Z");
+		List<Task> tasks = new ArrayList<>();
+		for (int i = 0; i < 25; i++) {
+			Instant dueDate = i % 5 == 0 ? null : base.plus(i % 3, ChronoUnit.DAYS);
+			tasks.add(Task.create(UUID.randomUUID(), board, "Task " + i, "", dueDate, TaskStatus.NOT_STARTED));
+		}
+		taskRepository.saveAll(tasks);
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		List<TaskResponse> visited = new ArrayList<>();
+		KeysetCursor cursor = null;
+		int pages = 0;
+		statistics.clear();
+		do {
+			CursorPage<TaskResponse> page = taskService.findByBoardIdAfter(board.getId(), null, null, null, cursor, 7);
+			visited.addAll(page.getContent());
+			cursor = page.getNextCursor() == null ? null : KeysetCursor.decode(page.getNextCursor());
+			pages++;
+		} while (cursor != null);
+
+		assertThat(visited).extracting(TaskResponse::getId).doesNotHaveDuplicates().hasSize(25);
+		assertThat(visited).extracting(TaskResponse::getDueDate)
+				.isSortedAccordingTo(Comparator.nullsLast(Comparator.naturalOrder()));
+		assertThat(pages).isEqualTo(4);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(pages + 1);
+	}
+}
@@ -0,0 +1,154 @@
+package com.pak.todo.web;
+
+import com.pak.todo.auth.AuthorizationService;
+import com.pak.todo.auth.BoardAccess;
+import com.pak.todo.model.dto.TaskResponse;
+import com.pak.todo.model.entity.Board;
+import com.pak.todo.model.entity.Permission;
+import com.pak.todo.model.entity.Task;
+import com.pak.todo.model.entity.User;
+import com.pak.todo.model.enums.PermissionRole;
+import com.pak.todo.model.enums.TaskStatus;
+import com.pak.todo.repository.BoardRepository;
+import com.pak.todo.repository.PermissionRepository;
+import com.pak.todo.repository.TaskRepository;
+import com.pak.todo.repository.UserRepository;
+import com.pak.todo.security.JwtService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts JDBC statements issued while resolving board access, comparing the previous
+ * board lookup + permission lookup sequence with the single JOIN query used by the controllers.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Testcontainers
+class BoardAccessQueryCountIT {
+
+	@Autowired
+	private TestRestTemplate restTemplate;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private BoardRepository boardRepository;
+
+	@Autowired
+	private PermissionRepository permissionRepository;
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private AuthorizationService authorizationService;
+
+	@Autowired
+	private JwtService jwtService;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Container
+	static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:17"))
+			.withDatabaseName("todo")
+			.withUsername("postgres")
+			.withPassword("postgres");
+
+	@DynamicPropertySource
+	static void configureProperties(DynamicPropertyRegistry registry) {
+		registry.add("spring.datasource.url", postgres::getJdbcUrl);
+		registry.add("spring.datasource.username", postgres::getUsername);
+		registry.add("spring.datasource.password", postgres::getPassword);
+		registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+	}
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	// Scenario: board existence and the caller's role are resolved with one statement
+	// Given: a board with an EDITOR permission for a user
+	// When: the previous lookup sequence and resolveBoardAccess are each executed
+	// Then: the previous sequence issues two statements and resolveBoardAccess issues one
+	@Test
+	void resolveBoardAccess_comparedToSeparateLookups_issuesFewerStatements() {
+		User user = userRepository.save(User.create(UUID.randomUUID(), "count-user-1", "hash"));
+		Board board = boardRepository.save(Board.create(UUID.randomUUID(), "Board", "Desc"));
+		permissionRepository.save(Permission.create(UUID.randomUUID(), user, board, PermissionRole.EDITOR));
+
+		statistics.clear();
+		boardRepository.findById(board.getId());
+		permissionRepository.findByUserIdAndBoardId(user.getId(), board.getId());
+		long separateLookups = statistics.getPrepareStatementCount();
+
+		statistics.clear();
+		BoardAccess access = authorizationService.resolveBoardAccess(user.getId(), board.getId());
+		long combinedLookup = statistics.getPrepareStatementCount();
+
+		assertThat(access.canEdit()).isTrue();
+		assertThat(separateLookups).isEqualTo(2);
+		assertThat(combinedLookup).isEqualTo(1);
+	}
+
+	// Scenario: fetching a single task costs a bounded number of statements per request
+	// Given: a board, an EDITOR permission and a task, and a JWT for the editor
+	// When: GET /api/boards/{boardId}/tasks/{taskId} is called a second time
+	// Then: the user row is not read; the request succeeds with at most two statements (board access, task)
+	@Test
+	void getTask_withEditorToken_issuesAtMostTwoStatements() {
+		User user = userRepository.save(User.create(UUID.randomUUID(), "count-user-2", "hash"));
+		Board board = boardRepository.save(Board.create(UUID.randomUUID(), "Board", "Desc"));
+		permissionRepository.save(Permission.create(UUID.randomUUID(), user, board, PermissionRole.EDITOR));
+		Task task = taskRepository.save(Task.create(UUID.randomUUID(), board, "Task", "Desc", null, TaskStatus.NOT_STARTED));
+
+		HttpHeaders headers = new HttpHeaders();
+		headers.setBearerAuth(jwtService.generateToken(user));
+
+		restTemplate.exchange(
+				"/api/boards/{boardId}/tasks/{taskId}",
+				HttpMethod.GET,
+				new HttpEntity<Void>(headers),
+				TaskResponse.class,
+				board.getId(),
+				task.getId()
+		);
+
+		statistics.clear();
+		ResponseEntity<TaskResponse> response = restTemplate.exchange(
+				"/api/boards/{boardId}/tasks/{taskId}",
+				HttpMethod.GET,
+				new HttpEntity<Void>(headers),
+				TaskResponse.class,
+				board.getId(),
+				task.getId()
+		);
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+	}
+}
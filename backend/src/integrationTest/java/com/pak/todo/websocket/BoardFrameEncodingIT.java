@@ -0,0 +1,140 @@
+package com.pak.todo.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pak.todo.model.entity.OutboxEntry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Rough benchmark of the board WebSocket encodings: bytes per event of {@code board-v1}, {@code board-v2} and
+ * {@code board-bin} frames for a typical mix of task events, and thread CPU time per fan-out of one event to a board
+ * whose sessions all use one protocol. Sends happen inline on the broadcasting thread against stub sessions, so the
+ * CPU time covers formatting, queueing and handing the frame to every session, but no network I/O. Every fan-out
+ * also builds the {@code board-v1} frame kept for replay, whatever the protocol of the sessions.
+ * Results are logged; only that binary frames are smaller than JSON ones is asserted.
+ */
+class BoardFrameEncodingIT {
+
+	private static final Logger log = LoggerFactory.getLogger(BoardFrameEncodingIT.class);
+
+	private static final int SESSIONS = 200;
+	private static final int WARMUP_FANOUTS = 5_000;
+	private static final int FANOUTS = 20_000;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final OutboxMessageFormatter v1Formatter = new OutboxMessageFormatter(objectMapper);
+	private final BoardV2MessageFormatter v2Formatter = new BoardV2MessageFormatter(objectMapper);
+	private final BoardBinaryMessageFormatter binaryFormatter = new BoardBinaryMessageFormatter();
+
+	private final UUID boardId = UUID.randomUUID();
+	private final List<OutboxEntry> events = List.of(
+			event("TaskCreated", """
+					{"id":"%1$s","boardId":"%2$s","name":"Write the quarterly report",\
+					"description":"Numbers from finance; draft by Friday","dueDate":"2026-11-01T00:00:00Z",\
+					"status":"NOT_STARTED","createdAt":"2026-10-17T09:30:00.123Z",\
+					"updatedAt":"2026-10-17T09:30:00.123Z","version":0,"eventType":"TaskCreated","occurredAt":"2026-10-17T09:30:00.123Z"}"""),
+			event("TaskUpdated", """
+					{"id":"%1$s","boardId":"%2$s","status":"IN_PROGRESS","updatedAt":"2026-10-17T09:41:12.456Z",\
+					"version":1,"eventType":"TaskUpdated","occurredAt":"2026-10-17T09:41:12.456Z"}"""),
+			event("TaskUpdated", """
+					{"id":"%1$s","boardId":"%2$s","name":"Write the Q3 report","dueDate":null,\
+					"updatedAt":"2026-10-17T10:02:45.789Z","version":2,"eventType":"TaskUpdated",\
+					"occurredAt":"2026-10-17T10:02:45.789Z"}"""),
+			event("TaskDeleted", """
+					{"id":"%1$s","boardId":"%2$s","version":2,"eventType":"TaskDeleted",\
+					"occurredAt":"2026-10-17T11:00:00Z"}"""));
+
+	// Scenario: frame size and fan-out CPU of each board WebSocket protocol
+	// Given: a create, two updates and a delete of a task, and boards with 200 sessions of one protocol
+	// When: each event is encoded in every protocol, and events are broadcast to each board many times
+	// Then: binary frames are smaller than board-v2 frames; bytes/event and CPU ns per fan-out are logged
+	@Test
+	void encodeAndFanOut_perProtocol_logsBytesAndCpuPerEvent() {
+		double v1Bytes = 0;
+		double v2Bytes = 0;
+		double binaryBytes = 0;
+		for (OutboxEntry event : events) {
+			BoardDelta delta = v2Formatter.delta(event);
+			v1Bytes += v1Formatter.encode(event, 1).length;
+			v2Bytes += v2Formatter.encode(delta).getPayloadLength();
+			binaryBytes += binaryFormatter.encode(delta).getPayloadLength();
+		}
+		v1Bytes /= events.size();
+		v2Bytes /= events.size();
+		binaryBytes /= events.size();
+		assertThat(binaryBytes).isLessThan(v2Bytes);
+
+		for (BoardProtocol protocol : BoardProtocol.values()) {
+			WebSocketBroadcaster broadcaster = broadcaster(protocol);
+			fanOut(broadcaster, WARMUP_FANOUTS);
+			long cpuNanosPerFanOut = fanOut(broadcaster, FANOUTS);
+			log.info("{}: {} CPU ns per fan-out to {} sessions ({} ns per session)", protocol.protocolName(),
+					cpuNanosPerFanOut, SESSIONS, cpuNanosPerFanOut / SESSIONS);
+		}
+		log.info("Bytes per event: board-v1 {}, board-v2 {}, board-bin {}", Math.round(v1Bytes), Math.round(v2Bytes),
+				Math.round(binaryBytes));
+	}
+
+	private WebSocketBroadcaster broadcaster(BoardProtocol protocol) {
+		WebSocketBroadcastProperties properties = new WebSocketBroadcastProperties();
+		properties.setCoalesceWindowMillis(0);
+		WebSocketBroadcaster broadcaster = new WebSocketBroadcaster(v1Formatter, v2Formatter, binaryFormatter,
+				properties, new SimpleMeterRegistry(), Runnable::run, mock(ScheduledExecutorService.class),
+				mock(ScheduledExecutorService.class));
+		for (int i = 0; i < SESSIONS; i++) {
+			WebSocketSession session = mock(WebSocketSession.class, withSettings().stubOnly());
+			when(session.getId()).thenReturn(protocol.protocolName() + '-' + i);
+			when(session.isOpen()).thenReturn(true);
+			if (protocol.sendsDeltas()) {
+				broadcaster.registerWithSnapshot(boardId, session, protocol, List::of);
+			}
+			else {
+				broadcaster.register(boardId, session);
+			}
+		}
+		return broadcaster;
+	}
+
+	/**
+	 * @return thread CPU nanoseconds per broadcast event
+	 */
+	private long fanOut(WebSocketBroadcaster broadcaster, int fanOuts) {
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		int sessions = 0;
+		long cpuBefore = threads.getCurrentThreadCpuTime();
+		for (int i = 0; i < fanOuts; i++) {
+			sessions += broadcaster.broadcast(boardId, events.get(i % events.size()));
+		}
+		long cpu = threads.getCurrentThreadCpuTime() - cpuBefore;
+		assertThat(sessions).isEqualTo(fanOuts * SESSIONS);
+		return cpu / fanOuts;
+	}
+
+	private OutboxEntry event(String eventType, String payload) {
+		UUID taskId = UUID.randomUUID();
+		return OutboxEntry.builder()
+				.id(UUID.randomUUID())
+				.aggregateType("Task")
+				.aggregateId(taskId.toString())
+				.boardId(boardId)
+				.eventType(eventType)
+				.payload(payload.formatted(taskId, boardId))
+				.createdAt(Instant.now())
+				.build();
+	}
+}
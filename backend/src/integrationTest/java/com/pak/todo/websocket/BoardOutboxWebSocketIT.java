@@ -202,7 +202,11 @@ class BoardOutboxWebSocketIT {
 				// otherwise, debezium could not access file "decoderbufs"
 				// https://stackoverflow.com/questions/59978213/debezium-could-not-access-file-decoderbufs-using-postgres-11-with-default-plug
 				.with("plugin.name", "pgoutput")
-				.with("table.include.list", "public.outbox");
+				.with("table.include.list", "public.outbox")
+				// created by the V5 migration with publish_via_partition_root, see setup-debezium.sh
+				.with("publication.name", "dbz_publication")
+				.with("publication.autocreate.mode", "disabled")
+				.with("message.key.columns", "public.outbox:board_id");
 		debeziumContainer.registerConnector("to-do-outbox", connector);
 	}
 
@@ -0,0 +1,144 @@
+package com.pak.todo.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pak.todo.model.entity.OutboxEntry;
+import com.pak.todo.websocket.WebSocketBroadcastProperties.OverflowPolicy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.ToIntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Rough benchmark of fan-out to one board with 10,000 sessions. It compares walking the board's sessions in the
+ * {@link BoardSessionRegistry} array snapshot with walking a concurrent map of sessions per board, the layout the
+ * registry replaced, and measures a whole {@link WebSocketBroadcaster#broadcast} to those sessions with sends run
+ * inline against stub sessions. Bytes allocated (from the thread allocation counter) and time per pass are logged;
+ * only that every pass reaches every session is asserted.
+ */
+class BoardSessionRegistryIT {
+
+	private static final Logger log = LoggerFactory.getLogger(BoardSessionRegistryIT.class);
+
+	private static final int SESSIONS = 10_000;
+	private static final int WARMUP_PASSES = 2_000;
+	private static final int PASSES = 5_000;
+	private static final int WARMUP_BROADCASTS = 200;
+	private static final int BROADCASTS = 1_000;
+
+	private final UUID boardId = UUID.randomUUID();
+	private final Counter counter = new SimpleMeterRegistry().counter("benchmark");
+
+	// Scenario: cost of reaching every session of a large board
+	// Given: 10,000 sessions on one board, in the registry and in a map of maps
+	// When: the sessions are walked many times, and events are broadcast to them
+	// Then: every pass reaches all sessions; bytes and ns per pass are logged for each
+	@Test
+	void fanOut_tenThousandSessions_logsAllocationAndTimePerPass() {
+		BoardSessionRegistry registry = new BoardSessionRegistry();
+		Map<UUID, Map<String, SessionSendQueue>> mapOfMaps = new ConcurrentHashMap<>();
+		for (int i = 0; i < SESSIONS; i++) {
+			SessionSendQueue queue = new SessionSendQueue(session("s" + i), BoardProtocol.V1, false, 16,
+					OverflowPolicy.DROP_OLDEST, Runnable::run, counter, counter, counter, 3, (q, reason) -> {
+					});
+			registry.add(boardId, queue);
+			mapOfMaps.computeIfAbsent(boardId, id -> new ConcurrentHashMap<>()).put(queue.session().getId(), queue);
+		}
+		ToIntFunction<UUID> snapshot = board -> {
+			int reached = 0;
+			for (SessionSendQueue queue : registry.queues(board)) {
+				reached += queue.protocol() == BoardProtocol.V1 ? 1 : 0;
+			}
+			return reached;
+		};
+		ToIntFunction<UUID> map = board -> {
+			int reached = 0;
+			for (SessionSendQueue queue : mapOfMaps.get(board).values()) {
+				reached += queue.protocol() == BoardProtocol.V1 ? 1 : 0;
+			}
+			return reached;
+		};
+
+		measure(snapshot, WARMUP_PASSES);
+		measure(map, WARMUP_PASSES);
+		Result snapshotResult = measure(snapshot, PASSES);
+		Result mapResult = measure(map, PASSES);
+
+		WebSocketBroadcaster broadcaster = broadcaster();
+		ToIntFunction<UUID> broadcast = board -> broadcaster.broadcast(board, entry());
+		measure(broadcast, WARMUP_BROADCASTS);
+		Result broadcastResult = measure(broadcast, BROADCASTS);
+
+		log.info("Walk {} sessions, array snapshot: {} bytes/pass, {} ns/pass", SESSIONS,
+				snapshotResult.bytesPerPass(), snapshotResult.nanosPerPass());
+		log.info("Walk {} sessions, map of maps: {} bytes/pass, {} ns/pass", SESSIONS, mapResult.bytesPerPass(),
+				mapResult.nanosPerPass());
+		log.info("Broadcast to {} sessions: {} bytes/broadcast, {} ns/broadcast", SESSIONS,
+				broadcastResult.bytesPerPass(), broadcastResult.nanosPerPass());
+	}
+
+	private WebSocketBroadcaster broadcaster() {
+		WebSocketBroadcastProperties properties = new WebSocketBroadcastProperties();
+		properties.setCoalesceWindowMillis(0);
+		ObjectMapper objectMapper = new ObjectMapper();
+		WebSocketBroadcaster broadcaster = new WebSocketBroadcaster(new OutboxMessageFormatter(objectMapper),
+				new BoardV2MessageFormatter(objectMapper), new BoardBinaryMessageFormatter(), properties,
+				new SimpleMeterRegistry(), Runnable::run, mock(ScheduledExecutorService.class),
+				mock(ScheduledExecutorService.class));
+		for (int i = 0; i < SESSIONS; i++) {
+			broadcaster.register(boardId, session("b" + i));
+		}
+		return broadcaster;
+	}
+
+	private static WebSocketSession session(String id) {
+		WebSocketSession session = mock(WebSocketSession.class, withSettings().stubOnly());
+		when(session.getId()).thenReturn(id);
+		when(session.isOpen()).thenReturn(true);
+		return session;
+	}
+
+	private OutboxEntry entry() {
+		return OutboxEntry.builder()
+				.id(UUID.randomUUID())
+				.aggregateType("Task")
+				.aggregateId(UUID.randomUUID().toString())
+				.boardId(boardId)
+				.eventType("TaskUpdated")
+				.payload("{\"status\":\"IN_PROGRESS\",\"version\":1}")
+				.createdAt(Instant.now())
+				.build();
+	}
+
+	private Result measure(ToIntFunction<UUID> pass, int passes) {
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long threadId = Thread.currentThread().threadId();
+		long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+		long reached = 0;
+		long start = System.nanoTime();
+		for (int i = 0; i < passes; i++) {
+			reached += pass.applyAsInt(boardId);
+		}
+		long elapsedNanos = System.nanoTime() - start;
+		long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+		assertThat(reached).isEqualTo((long) passes * SESSIONS);
+		return new Result(allocated / passes, elapsedNanos / passes);
+	}
+
+	private record Result(long bytesPerPass, long nanosPerPass) {
+	}
+}
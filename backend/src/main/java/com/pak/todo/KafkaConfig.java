@@ -1,10 +1,37 @@
 package com.pak.todo;
 
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+
+import com.pak.todo.outbox.OutboxConsumerGroup;
+import com.pak.todo.outbox.OutboxConsumerProperties;
+import com.pak.todo.outbox.OutboxDeliveryLogProperties;
 
 @Configuration
 @EnableKafka
+@EnableConfigurationProperties({ OutboxDeliveryLogProperties.class, OutboxConsumerProperties.class })
 public class KafkaConfig {
-}
 
+	/**
+	 * Same settings as Boot's default listener factory ({@code spring.kafka.*}), but delivering each poll as one
+	 * list of records to the outbox listener.
+	 */
+	@Bean
+	public ConcurrentKafkaListenerContainerFactory<Object, Object> outboxBatchListenerContainerFactory(
+			ConcurrentKafkaListenerContainerFactoryConfigurer configurer, ConsumerFactory<Object, Object> consumerFactory) {
+		ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+		configurer.configure(factory, consumerFactory);
+		factory.setBatchListener(true);
+		return factory;
+	}
+
+	@Bean
+	public OutboxConsumerGroup outboxConsumerGroup(OutboxConsumerProperties properties) {
+		return OutboxConsumerGroup.from(properties);
+	}
+}
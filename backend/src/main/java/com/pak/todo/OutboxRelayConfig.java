@@ -0,0 +1,19 @@
+package com.pak.todo;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import com.pak.todo.outbox.OutboxPartitionProperties;
+import com.pak.todo.outbox.OutboxRelayProperties;
+import com.pak.todo.outbox.OutboxRetentionProperties;
+
+/**
+ * Scheduling drives the in-process relay's recovery poll, the outbox retention job and partition maintenance.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties({ OutboxRelayProperties.class, OutboxRetentionProperties.class,
+		OutboxPartitionProperties.class })
+public class OutboxRelayConfig {
+}
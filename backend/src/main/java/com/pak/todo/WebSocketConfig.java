@@ -1,35 +1,47 @@
 package com.pak.todo;
 
-import org.springframework.context.annotation.Bean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
 import org.springframework.web.socket.config.annotation.EnableWebSocket;
 import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
 import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
 
+import com.pak.todo.websocket.BoardHandshakeHandler;
+import com.pak.todo.websocket.BoardMuxWebSocketHandler;
+import com.pak.todo.websocket.BoardProtocol;
 import com.pak.todo.websocket.BoardWebSocketHandler;
 import com.pak.todo.websocket.JwtHandshakeInterceptor;
+import com.pak.todo.websocket.WebSocketBroadcastProperties;
 
 import lombok.RequiredArgsConstructor;
 
 @Configuration
 @EnableWebSocket
+@EnableConfigurationProperties(WebSocketBroadcastProperties.class)
 @RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketConfigurer {
 
 	private final BoardWebSocketHandler boardWebSocketHandler;
+	private final BoardMuxWebSocketHandler boardMuxWebSocketHandler;
 	private final JwtHandshakeInterceptor jwtHandshakeInterceptor;
+	private final WebSocketBroadcastProperties broadcastProperties;
 
 	@Override
 	public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
-		DefaultHandshakeHandler handshakeHandler = new DefaultHandshakeHandler();
-		handshakeHandler.setSupportedProtocols("board-v1");
+		BoardHandshakeHandler handshakeHandler = new BoardHandshakeHandler(broadcastProperties.isPermessageDeflate());
 
 		// Clients connect to ws://<host>:<port>/ws/board/{boardId}
 		registry.addHandler(boardWebSocketHandler, "/ws/board/*")
 				.setHandshakeHandler(handshakeHandler)
 				.addInterceptors(jwtHandshakeInterceptor)
 				.setAllowedOrigins("*");
+
+		// One connection for many boards: ws://<host>:<port>/ws/boards, subscribing in-band
+		registry.addHandler(boardMuxWebSocketHandler, "/ws/boards")
+				.setHandshakeHandler(new BoardHandshakeHandler(broadcastProperties.isPermessageDeflate(),
+						BoardProtocol.MUX))
+				.addInterceptors(jwtHandshakeInterceptor)
+				.setAllowedOrigins("*");
 	}
 }
 
@@ -1,6 +1,7 @@
 package com.pak.todo.auth;
 
 import java.util.EnumSet;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 
@@ -11,6 +12,7 @@ import com.pak.todo.model.entity.Board;
 import com.pak.todo.model.entity.Permission;
 import com.pak.todo.model.entity.User;
 import com.pak.todo.model.enums.PermissionRole;
+import com.pak.todo.repository.BoardRepository;
 import com.pak.todo.repository.PermissionRepository;
 
 import lombok.RequiredArgsConstructor;
@@ -20,25 +22,22 @@ import lombok.RequiredArgsConstructor;
 public class AuthorizationService {
 
 	private final PermissionRepository permissionRepository;
+	private final BoardRepository boardRepository;
+	private final PermissionCache permissionCache;
 
+	/**
+	 * Resolves board existence and the user's role in one query. Returns {@code null} when the board does not exist.
+	 * The role is not written to the {@link PermissionCache}: a read that started before a revoke could otherwise
+	 * re-cache the old role after the revoke's after-commit invalidation.
+	 */
 	@Transactional(readOnly = true)
-	public boolean canViewBoard(User user, Board board) {
-		return permissionRepository.findByUserIdAndBoardId(user.getId(), board.getId()).isPresent();
+	public BoardAccess resolveBoardAccess(UUID userId, UUID boardId) {
+		return boardRepository.findAccess(boardId, userId).orElse(null);
 	}
 
 	@Transactional(readOnly = true)
-	public boolean canEditBoard(User user, Board board) {
-		return hasAnyRole(user.getId(), board.getId(), EnumSet.of(PermissionRole.OWNER, PermissionRole.EDITOR));
-	}
-
-	@Transactional(readOnly = true)
-	public boolean canDeleteBoard(User user, Board board) {
-		return hasAnyRole(user.getId(), board.getId(), EnumSet.of(PermissionRole.OWNER));
-	}
-
-	@Transactional(readOnly = true)
-	public boolean canModifyTasks(User user, Board board) {
-		return canEditBoard(user, board);
+	public boolean canViewBoard(UUID userId, UUID boardId) {
+		return findRole(userId, boardId).isPresent();
 	}
 
 	@Transactional
@@ -53,10 +52,15 @@ public class AuthorizationService {
 				PermissionRole.OWNER
 		);
 		permissionRepository.save(permission);
+		permissionCache.invalidate(user.getId(), board.getId());
+	}
+
+	private Optional<PermissionRole> findRole(UUID userId, UUID boardId) {
+		return permissionCache.get(userId, boardId, key ->
+				permissionRepository.findByUserIdAndBoardId(key.userId(), key.boardId()).map(Permission::getRole));
 	}
 
 	private boolean hasAnyRole(UUID userId, UUID boardId, Set<PermissionRole> roles) {
 		return permissionRepository.existsByUserIdAndBoardIdAndRoleIn(userId, boardId, roles);
 	}
 }
-
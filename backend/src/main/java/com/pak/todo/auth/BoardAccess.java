@@ -0,0 +1,27 @@
+package com.pak.todo.auth;
+
+import com.pak.todo.model.entity.Board;
+import com.pak.todo.model.enums.PermissionRole;
+
+/**
+ * A board together with the role the current user holds on it, resolved in a single query.
+ * {@code role} is {@code null} when the user has no permission on the board.
+ */
+public record BoardAccess(Board board, PermissionRole role) {
+
+	public boolean canView() {
+		return role != null;
+	}
+
+	public boolean canEdit() {
+		return role == PermissionRole.OWNER || role == PermissionRole.EDITOR;
+	}
+
+	public boolean canDelete() {
+		return role == PermissionRole.OWNER;
+	}
+
+	public boolean canModifyTasks() {
+		return canEdit();
+	}
+}
@@ -0,0 +1,74 @@
+package com.pak.todo.auth;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pak.todo.model.enums.PermissionRole;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded, TTL-backed cache of the role a user holds on a board. Absence of a permission is cached as well,
+ * so repeated requests from users without access do not hit the database either.
+ * Hit, miss and eviction counters are published under the {@code permissions} cache name.
+ */
+@Component
+public class PermissionCache {
+
+	static final String CACHE_NAME = "permissions";
+
+	private final Cache<PermissionKey, Optional<PermissionRole>> cache;
+
+	public PermissionCache(PermissionCacheProperties properties, MeterRegistry meterRegistry) {
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(properties.getMaximumSize())
+				.expireAfterWrite(Duration.ofSeconds(properties.getTtlSeconds()))
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+	}
+
+	public Optional<PermissionRole> get(UUID userId, UUID boardId, Function<PermissionKey, Optional<PermissionRole>> loader) {
+		return cache.get(new PermissionKey(userId, boardId), loader);
+	}
+
+	/**
+	 * Drops the cached role for one user on one board. When called inside a transaction the entry is dropped
+	 * again after commit, so a concurrent read cannot re-cache the pre-commit state.
+	 */
+	public void invalidate(UUID userId, UUID boardId) {
+		PermissionKey key = new PermissionKey(userId, boardId);
+		runNowAndAfterCommit(() -> cache.invalidate(key));
+	}
+
+	/**
+	 * Drops every cached role for a board, e.g. after the board and its permissions were deleted.
+	 */
+	public void invalidateBoard(UUID boardId) {
+		runNowAndAfterCommit(() -> cache.asMap().keySet().removeIf(key -> key.boardId().equals(boardId)));
+	}
+
+	private void runNowAndAfterCommit(Runnable action) {
+		action.run();
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					action.run();
+				}
+			});
+		}
+	}
+
+	public record PermissionKey(UUID userId, UUID boardId) {
+	}
+}
@@ -0,0 +1,22 @@
+package com.pak.todo.auth;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@ConfigurationProperties(prefix = "security.permission-cache")
+@Getter
+@Setter
+public class PermissionCacheProperties {
+
+	/**
+	 * Maximum number of (user, board) entries kept in memory.
+	 */
+	private long maximumSize = 10_000;
+
+	/**
+	 * Time in seconds after which a cached role is reloaded from the database.
+	 */
+	private long ttlSeconds = 60;
+}
@@ -31,6 +31,7 @@ public class CreateBoardCommandHandler {
 				.description(board.getDescription())
 				.createdAt(board.getCreatedAt())
 				.updatedAt(board.getUpdatedAt())
+				.version(board.getVersion())
 				.eventType("BoardCreated")
 				.occurredAt(Instant.now())
 				.build();
@@ -47,6 +47,7 @@ public class CreateTaskCommandHandler {
 				.status(task.getStatus())
 				.createdAt(task.getCreatedAt())
 				.updatedAt(task.getUpdatedAt())
+				.version(task.getVersion())
 				.eventType("TaskCreated")
 				.occurredAt(Instant.now())
 				.build();
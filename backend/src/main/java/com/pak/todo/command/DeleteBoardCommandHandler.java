@@ -1,5 +1,6 @@
 package com.pak.todo.command;
 
+import com.pak.todo.auth.PermissionCache;
 import com.pak.todo.domain.event.BoardEventPayload;
 import com.pak.todo.model.entity.Board;
 import com.pak.todo.repository.BoardRepository;
@@ -18,10 +19,11 @@ public class DeleteBoardCommandHandler {
 	private final BoardRepository boardRepository;
 	private final TaskRepository taskRepository;
 	private final OutboxSupport outboxSupport;
+	private final PermissionCache permissionCache;
 
 	@Transactional
 	public boolean handle(UUID boardId) {
-		Board board = boardRepository.findById(boardId).orElse(null);
+		Board board = boardRepository.findForUpdate(boardId).orElse(null);
 		if (board == null) return false;
 
 		taskRepository.deleteByBoard_Id(boardId);
@@ -33,12 +35,15 @@ public class DeleteBoardCommandHandler {
 				.description(board.getDescription())
 				.createdAt(board.getCreatedAt())
 				.updatedAt(board.getUpdatedAt())
+				// one past the version of the last update, which the client already holds
+				.version(board.nextVersion())
 				.eventType("BoardDeleted")
 				.occurredAt(Instant.now())
 				.build();
 		outboxSupport.saveOutbox("Board", board.getId().toString(), "BoardDeleted", board.getId(), payload);
 
 		boardRepository.delete(board);
+		permissionCache.invalidateBoard(boardId);
 		return true;
 	}
 }
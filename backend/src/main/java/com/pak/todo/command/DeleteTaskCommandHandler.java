@@ -19,7 +19,7 @@ public class DeleteTaskCommandHandler {
 
 	@Transactional
 	public boolean handle(UUID boardId, UUID taskId) {
-		Task task = taskRepository.findByIdAndBoardId(taskId, boardId).orElse(null);
+		Task task = taskRepository.findForUpdate(taskId, boardId).orElse(null);
 		if (task == null) return false;
 
 		TaskEventPayload payload = TaskEventPayload.builder()
@@ -31,6 +31,8 @@ public class DeleteTaskCommandHandler {
 				.status(task.getStatus())
 				.createdAt(task.getCreatedAt())
 				.updatedAt(task.getUpdatedAt())
+				// one past the version of the last update, which the client already holds
+				.version(task.nextVersion())
 				.eventType("TaskDeleted")
 				.occurredAt(Instant.now())
 				.build();
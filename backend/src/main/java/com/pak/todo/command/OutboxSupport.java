@@ -2,36 +2,130 @@ package com.pak.todo.command;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.pak.todo.domain.event.OutboxCommittedEvent;
 import com.pak.todo.model.entity.OutboxEntry;
-import com.pak.todo.repository.OutboxRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.sql.Timestamp;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+/**
+ * Writes outbox rows with plain JDBC inserts. Entries recorded inside a transaction are buffered and written
+ * as one JDBC batch just before commit, so a transaction emitting several events costs a single round trip
+ * and no per-entity merge select. Once rows are committed an {@link OutboxCommittedEvent} is published for
+ * in-process relays.
+ */
 @Component
 @RequiredArgsConstructor
 public class OutboxSupport {
 
-	private final OutboxRepository outboxRepository;
+	static final String INSERT_SQL = "insert into outbox "
+			+ "(id, aggregate_type, aggregate_id, board_id, event_type, payload, created_at) "
+			+ "values (?, ?, ?, ?, ?, cast(? as jsonb), ?)";
+
+	static final int BATCH_SIZE = 100;
+
+	private final JdbcTemplate jdbcTemplate;
 	private final ObjectMapper objectMapper;
+	private final ApplicationEventPublisher eventPublisher;
+	private final ConcurrentMap<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
 
 	public void saveOutbox(String aggregateType, String aggregateId, String eventType, UUID boardId, Object payload) {
+		OutboxEntry entry = OutboxEntry.builder()
+				.id(UUID.randomUUID())
+				.aggregateType(aggregateType)
+				.aggregateId(aggregateId)
+				.boardId(boardId)
+				.eventType(eventType)
+				.payload(toJson(payload))
+				.createdAt(Instant.now())
+				.build();
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			pendingEntries().add(entry);
+		} else {
+			List<OutboxEntry> entries = List.of(entry);
+			insert(entries);
+			eventPublisher.publishEvent(new OutboxCommittedEvent(entries));
+		}
+	}
+
+	private String toJson(Object payload) {
 		try {
-			String payloadJson = objectMapper.writeValueAsString(payload);
-			OutboxEntry entry = OutboxEntry.builder()
-					.id(UUID.randomUUID())
-					.aggregateType(aggregateType)
-					.aggregateId(aggregateId)
-					.boardId(boardId)
-					.eventType(eventType)
-					.payload(payloadJson)
-					.createdAt(Instant.now())
-					.build();
-			outboxRepository.save(entry);
+			ObjectWriter writer = payload == null
+					? objectMapper.writer()
+					: writers.computeIfAbsent(payload.getClass(), objectMapper::writerFor);
+			return writer.writeValueAsString(payload);
 		} catch (JsonProcessingException e) {
 			throw new RuntimeException("Failed to serialize outbox payload", e);
 		}
 	}
+
+	/**
+	 * Entries of the current transaction. The buffer is a synchronization of that transaction rather than a bound
+	 * resource: a {@code REQUIRES_NEW} transaction suspends the outer transaction's synchronizations but not
+	 * resources bound outside its transaction manager, so it would otherwise write into the outer buffer.
+	 */
+	private List<OutboxEntry> pendingEntries() {
+		for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+			if (synchronization instanceof PendingEntries pending && pending.owner() == this) {
+				return pending.entries;
+			}
+		}
+		PendingEntries pending = new PendingEntries();
+		TransactionSynchronizationManager.registerSynchronization(pending);
+		return pending.entries;
+	}
+
+	private void insert(List<OutboxEntry> entries) {
+		if (entries.isEmpty()) {
+			return;
+		}
+		jdbcTemplate.batchUpdate(INSERT_SQL, entries, BATCH_SIZE, (ps, entry) -> {
+			ps.setObject(1, entry.getId());
+			ps.setString(2, entry.getAggregateType());
+			ps.setString(3, entry.getAggregateId());
+			ps.setObject(4, entry.getBoardId());
+			ps.setString(5, entry.getEventType());
+			ps.setString(6, entry.getPayload());
+			ps.setTimestamp(7, Timestamp.from(entry.getCreatedAt()));
+		});
+	}
+
+	/**
+	 * Buffers the entries of one transaction, writes them just before it commits and publishes them after.
+	 */
+	private final class PendingEntries implements TransactionSynchronization {
+
+		private final List<OutboxEntry> entries = new ArrayList<>();
+		private final List<OutboxEntry> written = new ArrayList<>();
+
+		OutboxSupport owner() {
+			return OutboxSupport.this;
+		}
+
+		@Override
+		public void beforeCommit(boolean readOnly) {
+			insert(entries);
+			written.addAll(entries);
+			entries.clear();
+		}
+
+		@Override
+		public void afterCommit() {
+			if (!written.isEmpty()) {
+				eventPublisher.publishEvent(new OutboxCommittedEvent(List.copyOf(written)));
+			}
+		}
+	}
 }
@@ -0,0 +1,70 @@
+package com.pak.todo.command;
+
+import com.pak.todo.domain.command.TaskBatchCommand;
+import com.pak.todo.model.dto.TaskBatchItemResult;
+import com.pak.todo.model.dto.TaskBatchResponse;
+import com.pak.todo.model.dto.TaskResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Applies a list of task operations in one transaction by delegating to the single-task handlers, which join it.
+ * A missing board or task only fails that item; the outbox rows of all items are flushed as one batch on commit.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskBatchCommandHandler {
+
+	private final CreateTaskCommandHandler createTaskCommandHandler;
+	private final UpdateTaskCommandHandler updateTaskCommandHandler;
+	private final DeleteTaskCommandHandler deleteTaskCommandHandler;
+
+	@Transactional
+	public TaskBatchResponse handle(TaskBatchCommand command) {
+		List<TaskBatchCommand.Operation> operations = command.getOperations();
+		List<TaskBatchItemResult> results = new ArrayList<>(operations.size());
+		for (int i = 0; i < operations.size(); i++) {
+			results.add(apply(i, command, operations.get(i)));
+		}
+		return TaskBatchResponse.builder().results(results).build();
+	}
+
+	private TaskBatchItemResult apply(int index, TaskBatchCommand command, TaskBatchCommand.Operation operation) {
+		TaskBatchItemResult.TaskBatchItemResultBuilder result = TaskBatchItemResult.builder()
+				.index(index)
+				.type(operation.getType());
+		switch (operation.getType()) {
+			case CREATE -> {
+				TaskResponse created = createTaskCommandHandler.handle(operation.getCreate());
+				if (created == null) {
+					return notFound(result.taskId(operation.getCreate().getTaskId()), "Board not found: " + command.getBoardId());
+				}
+				return result.taskId(created.getId()).status(HttpStatus.CREATED.value()).task(created).build();
+			}
+			case UPDATE -> {
+				TaskResponse updated = updateTaskCommandHandler.handle(operation.getUpdate());
+				if (updated == null) {
+					return notFound(result.taskId(operation.getTaskId()), "Task not found: " + operation.getTaskId());
+				}
+				return result.taskId(updated.getId()).status(HttpStatus.OK.value()).task(updated).build();
+			}
+			case DELETE -> {
+				boolean deleted = deleteTaskCommandHandler.handle(command.getBoardId(), operation.getTaskId());
+				if (!deleted) {
+					return notFound(result.taskId(operation.getTaskId()), "Task not found: " + operation.getTaskId());
+				}
+				return result.taskId(operation.getTaskId()).status(HttpStatus.NO_CONTENT.value()).build();
+			}
+			default -> throw new IllegalArgumentException("Unsupported operation: " + operation.getType());
+		}
+	}
+
+	private TaskBatchItemResult notFound(TaskBatchItemResult.TaskBatchItemResultBuilder result, String error) {
+		return result.status(HttpStatus.NOT_FOUND.value()).error(error).build();
+	}
+}
@@ -22,12 +22,13 @@ public class UpdateBoardCommandHandler {
 
 	@Transactional
 	public BoardResponse handle(UpdateBoardCommand command) {
-		Board board = boardRepository.findById(command.getBoardId()).orElse(null);
+		Board board = boardRepository.findForUpdate(command.getBoardId()).orElse(null);
 		if (board == null) return null;
 
 		board.setName(command.getName());
 		board.setDescription(command.getDescription());
 		board.setUpdatedAt(Instant.now());
+		board.setVersion(board.nextVersion());
 		boardRepository.save(board);
 
 		BoardEventPayload payload = BoardEventPayload.builder()
@@ -36,6 +37,7 @@ public class UpdateBoardCommandHandler {
 				.description(board.getDescription())
 				.createdAt(board.getCreatedAt())
 				.updatedAt(board.getUpdatedAt())
+				.version(board.getVersion())
 				.eventType("BoardUpdated")
 				.occurredAt(Instant.now())
 				.build();
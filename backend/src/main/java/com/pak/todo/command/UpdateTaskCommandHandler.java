@@ -10,6 +10,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -21,7 +23,7 @@ public class UpdateTaskCommandHandler {
 
 	@Transactional
 	public TaskResponse handle(UpdateTaskCommand command) {
-		Task task = taskRepository.findByIdAndBoardId(command.getTaskId(), command.getBoardId()).orElse(null);
+		Task task = taskRepository.findForUpdate(command.getTaskId(), command.getBoardId()).orElse(null);
 		if (task == null) return null;
 
 		if (command.getName() != null) {
@@ -30,14 +32,22 @@ public class UpdateTaskCommandHandler {
 		if (command.getDescription() != null) {
 			task.setDescription(command.getDescription());
 		}
+		boolean dueDateCleared = task.getDueDate() != null && command.getDueDate() == null;
 		task.setDueDate(command.getDueDate());
 		if (command.getStatus() != null) {
 			task.setStatus(command.getStatus());
 		}
 		task.setUpdatedAt(Instant.now());
+		task.setVersion(task.nextVersion());
 		taskRepository.save(task);
 
-		outboxSupport.saveOutbox("Task", task.getId().toString(), "TaskUpdated", task.getBoard().getId(), command.getPayload());
+		// The changed fields, plus a cleared due date (an explicit null) and the version this update produces
+		Map<String, Object> payload = new LinkedHashMap<>(command.getPayload());
+		if (dueDateCleared) {
+			payload.put("dueDate", null);
+		}
+		payload.put("version", task.getVersion());
+		outboxSupport.saveOutbox("Task", task.getId().toString(), "TaskUpdated", task.getBoard().getId(), payload);
 
 		return taskMapper.toResponse(task);
 	}
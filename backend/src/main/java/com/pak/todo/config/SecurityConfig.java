@@ -14,15 +14,17 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import com.pak.todo.auth.PermissionCacheProperties;
 import com.pak.todo.security.JwtAuthenticationFilter;
 import com.pak.todo.security.JwtProperties;
+import com.pak.todo.security.UserCacheProperties;
 
 import lombok.RequiredArgsConstructor;
 
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
-@EnableConfigurationProperties(JwtProperties.class)
+@EnableConfigurationProperties({ JwtProperties.class, PermissionCacheProperties.class, UserCacheProperties.class })
 @RequiredArgsConstructor
 public class SecurityConfig {
 
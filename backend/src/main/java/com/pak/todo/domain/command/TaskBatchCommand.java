@@ -0,0 +1,34 @@
+package com.pak.todo.domain.command;
+
+import java.util.List;
+import java.util.UUID;
+
+import com.pak.todo.model.enums.TaskBatchOperationType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskBatchCommand {
+
+	private UUID boardId;
+	private List<Operation> operations;
+
+	/**
+	 * One operation; exactly one of {@code create}, {@code update} or {@code taskId} (for DELETE) is relevant.
+	 */
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Operation {
+		private TaskBatchOperationType type;
+		private CreateTaskCommand create;
+		private UpdateTaskCommand update;
+		private UUID taskId;
+	}
+}
@@ -19,6 +19,7 @@ public class BoardEventPayload {
 	private String description;
 	private Instant createdAt;
 	private Instant updatedAt;
+	private Long version;
 	private String eventType;
 	private Instant occurredAt;
 }
@@ -0,0 +1,11 @@
+package com.pak.todo.domain.event;
+
+import com.pak.todo.model.entity.OutboxEntry;
+
+import java.util.List;
+
+/**
+ * Published by {@code OutboxSupport} once the transaction that wrote these outbox rows has committed, in write order.
+ */
+public record OutboxCommittedEvent(List<OutboxEntry> entries) {
+}
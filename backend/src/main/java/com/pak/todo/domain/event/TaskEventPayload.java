@@ -23,6 +23,7 @@ public class TaskEventPayload {
 	private TaskStatus status;
 	private Instant createdAt;
 	private Instant updatedAt;
+	private Long version;
 	private String eventType;
 	private Instant occurredAt;
 }
@@ -0,0 +1,29 @@
+package com.pak.todo.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.pak.todo.model.enums.TaskBatchOperationType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Outcome of one batch operation, in request order. {@code status} uses the HTTP status the equivalent
+ * single-task call would have returned (201, 200, 204 or 404).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskBatchItemResult {
+
+	private int index;
+	private TaskBatchOperationType type;
+	private UUID taskId;
+	private int status;
+	private TaskResponse task;
+	private String error;
+}
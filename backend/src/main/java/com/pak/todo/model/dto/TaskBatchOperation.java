@@ -0,0 +1,55 @@
+package com.pak.todo.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.pak.todo.model.enums.TaskBatchOperationType;
+import com.pak.todo.model.enums.TaskStatus;
+import com.pak.todo.model.validation.NotBlankWhenPresent;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One item of a task batch. CREATE uses the task fields, UPDATE uses {@code taskId} plus the fields to change,
+ * DELETE only uses {@code taskId}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskBatchOperation {
+
+	@NotNull(message = "type is required")
+	private TaskBatchOperationType type;
+
+	private UUID taskId;
+
+	@NotBlankWhenPresent(message = "name cannot be blank")
+	@Size(max = 255)
+	private String name;
+
+	@Size(max = 2000)
+	private String description;
+
+	private Instant dueDate;
+
+	private TaskStatus status;
+
+	@JsonIgnore
+	@AssertTrue(message = "name is required for CREATE")
+	public boolean isNamePresentForCreate() {
+		return type != TaskBatchOperationType.CREATE || name != null;
+	}
+
+	@JsonIgnore
+	@AssertTrue(message = "taskId is required for UPDATE and DELETE")
+	public boolean isTaskIdPresentForUpdateOrDelete() {
+		return type == null || type == TaskBatchOperationType.CREATE || taskId != null;
+	}
+}
@@ -0,0 +1,25 @@
+package com.pak.todo.model.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskBatchRequest {
+
+	public static final int MAX_OPERATIONS = 5_000;
+
+	@NotEmpty(message = "operations are required")
+	@Size(max = MAX_OPERATIONS)
+	private List<@Valid @NotNull TaskBatchOperation> operations;
+}
@@ -41,10 +41,24 @@ public class Board {
 	@Column(nullable = false)
 	private Instant updatedAt;
 
+	/**
+	 * Incremented by every update; a plain counter like {@link Task#getVersion()}, not an optimistic lock.
+	 */
+	@Column(nullable = false)
+	@Builder.Default
+	private Long version = 0L;
+
 	@OneToMany(mappedBy = "board", cascade = CascadeType.REMOVE)
 	@Builder.Default
 	private List<Permission> permissions = new ArrayList<>();
 
+	/**
+	 * The version the next change of this board produces; see {@link Task#nextVersion()}.
+	 */
+	public long nextVersion() {
+		return version == null ? 0 : version + 1;
+	}
+
 	public static Board create(UUID id, String name, String description) {
 		Instant now = Instant.now();
 		return Board.builder()
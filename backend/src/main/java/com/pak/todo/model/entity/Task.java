@@ -3,6 +3,8 @@ package com.pak.todo.model.entity;
 import java.time.Instant;
 import java.util.UUID;
 
+import org.springframework.data.domain.Persistable;
+
 import com.pak.todo.model.enums.TaskStatus;
 
 import jakarta.persistence.Column;
@@ -13,7 +15,11 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -27,7 +33,7 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class Task {
+public class Task implements Persistable<UUID> {
 
 	@Id
 	@Column(updatable = false, nullable = false)
@@ -54,6 +60,23 @@ public class Task {
 	@Column(nullable = false)
 	private Instant updatedAt;
 
+	/**
+	 * Incremented by every update. A plain counter, not an optimistic lock: updates of a task take its row lock, so
+	 * concurrent updates still apply one after the other and the last write wins.
+	 */
+	@Column(nullable = false)
+	@Builder.Default
+	private Long version = 0L;
+
+	/**
+	 * Ids are assigned by the application, so without this flag {@code save} would merge (select, then insert)
+	 * instead of persisting, and bulk inserts could not be batched.
+	 */
+	@Transient
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	private boolean newEntity;
+
 	public static Task create(UUID id, Board board, String name, String description, Instant dueDate, TaskStatus status) {
 		Instant now = Instant.now();
 		return Task.builder()
@@ -65,6 +88,25 @@ public class Task {
 				.status(status != null ? status : TaskStatus.NOT_STARTED)
 				.createdAt(now)
 				.updatedAt(now)
+				.newEntity(true)
 				.build();
 	}
+
+	/**
+	 * The version the next change of this task produces: one more than its current version.
+	 */
+	public long nextVersion() {
+		return version == null ? 0 : version + 1;
+	}
+
+	@Override
+	public boolean isNew() {
+		return newEntity;
+	}
+
+	@PostLoad
+	@PostPersist
+	void markNotNew() {
+		this.newEntity = false;
+	}
 }
@@ -3,8 +3,11 @@ package com.pak.todo.model.entity;
 import java.time.Instant;
 import java.util.UUID;
 
+import com.pak.todo.security.UserCacheInvalidator;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
@@ -15,6 +18,7 @@ import lombok.Setter;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(UserCacheInvalidator.class)
 @Getter
 @Setter
 @NoArgsConstructor
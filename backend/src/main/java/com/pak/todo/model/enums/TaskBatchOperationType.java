@@ -0,0 +1,7 @@
+package com.pak.todo.model.enums;
+
+public enum TaskBatchOperationType {
+	CREATE,
+	UPDATE,
+	DELETE
+}
@@ -0,0 +1,154 @@
+package com.pak.todo.outbox;
+
+import com.pak.todo.auth.PermissionCache;
+import com.pak.todo.domain.event.OutboxCommittedEvent;
+import com.pak.todo.model.entity.OutboxEntry;
+import com.pak.todo.websocket.WebSocketBroadcaster;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Relays outbox events to WebSocket sessions without Debezium or Kafka ({@code outbox.relay.mode=in-process}), for
+ * single-node deployments. Events are pushed right after their transaction commits and their rows are marked with
+ * {@code processed_at}. A periodic poll relays rows that were committed but never marked, e.g. because the process
+ * stopped between commit and push, so delivery is at least once.
+ */
+@Component
+@ConditionalOnProperty(prefix = "outbox.relay", name = "mode", havingValue = "in-process")
+@Slf4j
+public class InProcessOutboxRelay {
+
+	static final String SELECT_UNPROCESSED_SQL = "select id, aggregate_type, aggregate_id, board_id, event_type, "
+			+ "payload, created_at from outbox where processed_at is null and created_at < ? "
+			+ "order by created_at limit ?";
+
+	static final String MARK_PROCESSED_SQL = "update outbox set processed_at = ? where id = any(?)";
+
+	private static final RowMapper<OutboxEntry> ROW_MAPPER = (rs, rowNum) -> OutboxEntry.builder()
+			.id(rs.getObject("id", UUID.class))
+			.aggregateType(rs.getString("aggregate_type"))
+			.aggregateId(rs.getString("aggregate_id"))
+			.boardId(rs.getObject("board_id", UUID.class))
+			.eventType(rs.getString("event_type"))
+			.payload(rs.getString("payload"))
+			.createdAt(rs.getTimestamp("created_at").toInstant())
+			.build();
+
+	private final WebSocketBroadcaster webSocketBroadcaster;
+	private final PermissionCache permissionCache;
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate newTransaction;
+	private final OutboxRelayProperties properties;
+	private final Counter delivered;
+	private final Counter failed;
+	private final Counter recovered;
+
+	public InProcessOutboxRelay(WebSocketBroadcaster webSocketBroadcaster, PermissionCache permissionCache,
+			JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, OutboxRelayProperties properties,
+			MeterRegistry meterRegistry) {
+		this.webSocketBroadcaster = webSocketBroadcaster;
+		this.permissionCache = permissionCache;
+		this.jdbcTemplate = jdbcTemplate;
+		// Marking runs after the publishing transaction committed; it needs a transaction of its own.
+		this.newTransaction = new TransactionTemplate(transactionManager);
+		this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.properties = properties;
+		this.delivered = outcomeCounter(meterRegistry, "delivered");
+		this.failed = outcomeCounter(meterRegistry, "failed");
+		this.recovered = Counter.builder("outbox.relay.recovered")
+				.description("Outbox rows relayed by the poll because the after-commit relay did not mark them")
+				.register(meterRegistry);
+	}
+
+	@EventListener
+	public void onCommitted(OutboxCommittedEvent event) {
+		relay(event.entries());
+	}
+
+	@Scheduled(fixedDelayString = "${outbox.relay.poll-interval-millis:5000}",
+			initialDelayString = "${outbox.relay.poll-interval-millis:5000}")
+	public void relayUnprocessed() {
+		Timestamp olderThan = Timestamp.from(Instant.now().minusMillis(properties.getPollGraceMillis()));
+		List<OutboxEntry> entries;
+		do {
+			entries = jdbcTemplate.query(SELECT_UNPROCESSED_SQL, ROW_MAPPER, olderThan, properties.getPollBatchSize());
+			if (!entries.isEmpty()) {
+				log.info("Relaying {} outbox events committed before {} that were not relayed", entries.size(), olderThan);
+				recovered.increment(entries.size());
+				relay(entries);
+			}
+		} while (entries.size() == properties.getPollBatchSize());
+	}
+
+	/**
+	 * Broadcasts the entries as one ordered batch per board, then marks them processed. A board whose broadcast
+	 * fails is still marked: broadcasting only enqueues, so a failure is not transient and retrying would not help.
+	 */
+	private void relay(List<OutboxEntry> entries) {
+		Map<UUID, List<OutboxEntry>> byBoard = new LinkedHashMap<>();
+		for (OutboxEntry entry : entries) {
+			if (entry.getBoardId() == null) {
+				continue;
+			}
+			// Board deletion cascades to permissions; drop cached roles before anyone reconnects
+			if ("BoardDeleted".equals(entry.getEventType())) {
+				permissionCache.invalidateBoard(entry.getBoardId());
+			}
+			byBoard.computeIfAbsent(entry.getBoardId(), id -> new ArrayList<>()).add(entry);
+		}
+		for (Map.Entry<UUID, List<OutboxEntry>> board : byBoard.entrySet()) {
+			try {
+				webSocketBroadcaster.broadcast(board.getKey(), board.getValue());
+				delivered.increment(board.getValue().size());
+			}
+			catch (Exception e) {
+				failed.increment(board.getValue().size());
+				log.warn("Failed to relay {} outbox events for board {}", board.getValue().size(), board.getKey(), e);
+			}
+		}
+		markProcessed(entries);
+	}
+
+	private void markProcessed(List<OutboxEntry> entries) {
+		UUID[] ids = entries.stream().map(OutboxEntry::getId).toArray(UUID[]::new);
+		Timestamp now = Timestamp.from(Instant.now());
+		try {
+			newTransaction.executeWithoutResult(status -> jdbcTemplate.update(con -> {
+				PreparedStatement ps = con.prepareStatement(MARK_PROCESSED_SQL);
+				ps.setTimestamp(1, now);
+				ps.setArray(2, con.createArrayOf("uuid", ids));
+				return ps;
+			}));
+		}
+		catch (RuntimeException e) {
+			// The poll relays these rows again later; clients may see the events twice.
+			log.warn("Failed to mark {} relayed outbox events as processed", ids.length, e);
+		}
+	}
+
+	private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+		return Counter.builder("outbox.events")
+				.description("Outbox records consumed, by outcome")
+				.tag("outcome", outcome)
+				.register(meterRegistry);
+	}
+}
@@ -0,0 +1,25 @@
+package com.pak.todo.outbox;
+
+import java.util.UUID;
+
+/**
+ * Consumer group settings of the outbox listeners, resolved once from {@link OutboxConsumerProperties} and
+ * referenced from {@code @KafkaListener} as bean {@code outboxConsumerGroup}.
+ *
+ * @param autoOffsetReset where a group without committed offsets starts. A per-instance group starts at the end
+ *        of the topic: the instance's sessions connected after those events were written.
+ */
+public record OutboxConsumerGroup(String groupId, String autoOffsetReset, boolean broadcast) {
+
+	static final String SHARED_GROUP_ID = "outbox-logger";
+
+	public static OutboxConsumerGroup from(OutboxConsumerProperties properties) {
+		if (properties.getFanOut() == OutboxConsumerProperties.FanOut.PARTITIONED) {
+			return new OutboxConsumerGroup(SHARED_GROUP_ID, "earliest", false);
+		}
+		String instanceId = properties.getInstanceId().isBlank()
+				? UUID.randomUUID().toString()
+				: properties.getInstanceId();
+		return new OutboxConsumerGroup(SHARED_GROUP_ID + "-" + instanceId, "latest", true);
+	}
+}
@@ -0,0 +1,41 @@
+package com.pak.todo.outbox;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@ConfigurationProperties(prefix = "outbox.consumer")
+@Getter
+@Setter
+public class OutboxConsumerProperties {
+
+	/**
+	 * Receive each poll as one batch; {@code false} falls back to the per-record listener.
+	 */
+	private boolean batchListener = true;
+
+	/**
+	 * Listener threads; threads beyond the topic's partition count stay idle.
+	 */
+	private int concurrency = 1;
+
+	/**
+	 * {@code partitioned}: all instances share one consumer group, so each event reaches one instance (only correct
+	 * with a single instance). {@code broadcast}: every instance consumes every partition under its own group and
+	 * delivers to its own sessions.
+	 */
+	private FanOut fanOut = FanOut.PARTITIONED;
+
+	/**
+	 * Broadcast fan-out: suffix of this instance's consumer group. Set it to something stable per instance (e.g. the
+	 * pod name) so a restarted instance resumes from its committed offsets; when empty a random id is used and the
+	 * instance starts at the end of the topic.
+	 */
+	private String instanceId = "";
+
+	public enum FanOut {
+		PARTITIONED,
+		BROADCAST
+	}
+}
@@ -0,0 +1,52 @@
+package com.pak.todo.outbox;
+
+import java.util.UUID;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.pak.todo.model.entity.OutboxEntry;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Structured, sampled log of outbox event deliveries on the {@code outbox.delivery} logger. Every event is logged
+ * when that logger is at DEBUG (e.g. {@code logging.level.outbox.delivery=DEBUG}, or at runtime through the actuator
+ * loggers endpoint where exposed); otherwise only a deterministic sample by event id is logged at INFO.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxDeliveryLog {
+
+	static final String LOGGER_NAME = "outbox.delivery";
+
+	private static final Logger log = LoggerFactory.getLogger(LOGGER_NAME);
+	private static final int SAMPLE_BUCKETS = 10_000;
+
+	private final OutboxDeliveryLogProperties properties;
+
+	public void delivered(OutboxEntry entry, ConsumerRecord<?, ?> record, int sessions, long elapsedNanos) {
+		if (!isLogged(entry.getId())) {
+			return;
+		}
+		log.info("outbox.delivered eventId={} boardId={} eventType={} aggregateId={} partition={} offset={} sessions={} elapsedMicros={}",
+				entry.getId(), entry.getBoardId(), entry.getEventType(), entry.getAggregateId(),
+				record.partition(), record.offset(), sessions, elapsedNanos / 1_000);
+	}
+
+	private boolean isLogged(UUID eventId) {
+		if (log.isDebugEnabled()) {
+			return true;
+		}
+		return log.isInfoEnabled() && sampled(eventId);
+	}
+
+	boolean sampled(UUID eventId) {
+		if (eventId == null) {
+			return false;
+		}
+		return Math.floorMod(eventId.hashCode(), SAMPLE_BUCKETS) < properties.getSampleRate() * SAMPLE_BUCKETS;
+	}
+}
@@ -0,0 +1,18 @@
+package com.pak.todo.outbox;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@ConfigurationProperties(prefix = "outbox.delivery-log")
+@Getter
+@Setter
+public class OutboxDeliveryLogProperties {
+
+	/**
+	 * Fraction (0..1) of outbox events whose delivery is logged. Sampling is derived from the event id, so a
+	 * sampled event is logged by every node that handles it.
+	 */
+	private double sampleRate = 0.01;
+}
@@ -0,0 +1,119 @@
+package com.pak.todo.outbox;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pak.todo.model.entity.OutboxEntry;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Streaming decoder for Debezium outbox records. Reads the raw UTF-8 record value token by token, keeps only the
+ * outbox columns and stops as soon as the row ({@code after}) has been read, so {@code schema} is skipped without
+ * building a tree and {@code source}/{@code op} are never tokenized. Accepts the full envelope
+ * ({@code {"schema":..,"payload":{..}}}), the bare change event ({@code {"before":..,"after":{..}}}) and the row
+ * itself.
+ */
+@Component
+public class OutboxEnvelopeDecoder {
+
+	private final JsonFactory jsonFactory;
+
+	public OutboxEnvelopeDecoder(ObjectMapper objectMapper) {
+		this.jsonFactory = objectMapper.getFactory();
+	}
+
+	/**
+	 * @return the outbox row, or {@code null} when the record carries no row (e.g. a delete with {@code after: null});
+	 *         {@link OutboxEntry#getBoardId()} is {@code null} when the row has no board_id
+	 * @throws IOException when the value is not valid JSON
+	 * @throws IllegalArgumentException when board_id is not a UUID
+	 */
+	public OutboxEntry decode(byte[] value) throws IOException {
+		try (JsonParser parser = jsonFactory.createParser(value)) {
+			if (parser.nextToken() != JsonToken.START_OBJECT) {
+				throw new JsonParseException(parser, "Expected a JSON object");
+			}
+			return readObject(parser);
+		}
+	}
+
+	/**
+	 * Reads the board of a record from its key, without touching the value. Accepts the bare board id written by
+	 * {@link OutboxPollingPublisher} and Debezium's JSON key ({@code message.key.columns=public.outbox:board_id}),
+	 * with or without the schema wrapper.
+	 *
+	 * @return the board id, or {@code null} when the key does not carry one
+	 */
+	public static UUID boardIdOfKey(String key) {
+		if (key == null) {
+			return null;
+		}
+		if (key.length() == 36) {
+			return parseUuid(key);
+		}
+		int field = key.lastIndexOf("\"board_id\"");
+		int colon = field < 0 ? -1 : key.indexOf(':', field);
+		int open = colon < 0 ? -1 : key.indexOf('"', colon);
+		if (open < 0 || open + 37 > key.length()) {
+			return null;
+		}
+		return parseUuid(key.substring(open + 1, open + 37));
+	}
+
+	private OutboxEntry readObject(JsonParser parser) throws IOException {
+		OutboxEntry.OutboxEntryBuilder row = null;
+		String field;
+		while ((field = parser.nextFieldName()) != null) {
+			JsonToken token = parser.nextToken();
+			if (token == JsonToken.START_OBJECT) {
+				if ("payload".equals(field) || "after".equals(field)) {
+					OutboxEntry nested = readObject(parser);
+					if (nested != null) {
+						return nested;
+					}
+				}
+				else {
+					parser.skipChildren();
+				}
+				continue;
+			}
+			if (token == JsonToken.START_ARRAY) {
+				parser.skipChildren();
+				continue;
+			}
+			if (token == JsonToken.VALUE_NULL) {
+				continue;
+			}
+			switch (field) {
+				case "id" -> row = row(row).id(parseUuid(parser.getText()));
+				case "board_id" -> row = row(row).boardId(UUID.fromString(parser.getText()));
+				case "aggregate_type" -> row = row(row).aggregateType(parser.getText());
+				case "aggregate_id" -> row = row(row).aggregateId(parser.getText());
+				case "event_type" -> row = row(row).eventType(parser.getText());
+				case "payload" -> row = row(row).payload(parser.getText());
+				default -> {
+					// envelope metadata such as "op" or "ts_ms"
+				}
+			}
+		}
+		return row != null ? row.build() : null;
+	}
+
+	private static OutboxEntry.OutboxEntryBuilder row(OutboxEntry.OutboxEntryBuilder row) {
+		return row != null ? row : OutboxEntry.builder();
+	}
+
+	private static UUID parseUuid(String text) {
+		try {
+			return UUID.fromString(text);
+		}
+		catch (IllegalArgumentException ex) {
+			return null;
+		}
+	}
+}
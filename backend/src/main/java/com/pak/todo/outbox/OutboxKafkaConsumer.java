@@ -1,85 +1,238 @@
 package com.pak.todo.outbox;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pak.todo.auth.PermissionCache;
 import com.pak.todo.model.entity.OutboxEntry;
 import com.pak.todo.websocket.WebSocketBroadcaster;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Consumes the Debezium outbox topic and hands events to the {@link WebSocketBroadcaster}. By default records are
+ * received as poll-sized batches ({@code outbox.consumer.batch-listener}); a batch is decoded in one pass, grouped
+ * by board and each board receives its events as one ordered batch. The per-record listener is kept for
+ * comparison and can be enabled instead. Record values arrive as raw bytes and are parsed without decoding them to a
+ * string first.
+ * <p>
+ * The topic is keyed by board_id, so a board's events share a partition. With {@code outbox.consumer.concurrency}
+ * threads each partition is still consumed by exactly one thread, which keeps per-board order (a TaskUpdated never
+ * overtakes its TaskCreated) while boards on different partitions are delivered in parallel.
+ * <p>
+ * With {@code outbox.consumer.fan-out=broadcast} every instance reads every partition under its own group (see
+ * {@link OutboxConsumerGroup}), so clients receive events whichever instance they are connected to. Each instance
+ * then only decodes records of boards it follows (sessions, or a replay buffer kept for reconnects): the board is
+ * read from the record key and looked up in the broadcaster's local board registry. Records mentioning BoardDeleted are always decoded, since every instance
+ * has to drop its cached permissions.
+ */
 @Service
-@RequiredArgsConstructor
+// Consumes what Debezium (mode kafka) or OutboxPollingPublisher (mode polling) writes to the topic
+@ConditionalOnExpression("!'${outbox.relay.mode:kafka}'.equalsIgnoreCase('in-process')")
 @Slf4j
 public class OutboxKafkaConsumer {
 
-	private final ObjectMapper objectMapper;
+	static final String TOPIC = "debezium.public.outbox";
+
+	private static final byte[] BOARD_DELETED = "BoardDeleted".getBytes(StandardCharsets.US_ASCII);
+
+	private final OutboxEnvelopeDecoder envelopeDecoder;
 	private final WebSocketBroadcaster webSocketBroadcaster;
+	private final PermissionCache permissionCache;
+	private final OutboxDeliveryLog deliveryLog;
+	private final OutboxConsumerGroup consumerGroup;
+	private final Timer parseTimer;
+	private final Timer broadcastTimer;
+	private final DistributionSummary batchSize;
+	private final Counter delivered;
+	private final Counter skipped;
+	private final Counter filtered;
+	private final Counter failed;
 
-	@KafkaListener(topics = "debezium.public.outbox", groupId = "outbox-logger")
-	public void onMessage(ConsumerRecord<String, String> record) {
-		String value = record.value();
-		if (value == null) {
-			log.warn("Received null value from topic {}", record.topic());
+	public OutboxKafkaConsumer(OutboxEnvelopeDecoder envelopeDecoder, WebSocketBroadcaster webSocketBroadcaster,
+			PermissionCache permissionCache, OutboxDeliveryLog deliveryLog, OutboxConsumerGroup consumerGroup,
+			MeterRegistry meterRegistry) {
+		this.envelopeDecoder = envelopeDecoder;
+		this.webSocketBroadcaster = webSocketBroadcaster;
+		this.permissionCache = permissionCache;
+		this.deliveryLog = deliveryLog;
+		this.consumerGroup = consumerGroup;
+		this.parseTimer = Timer.builder("outbox.event.parse")
+				.description("Time to decode a Debezium outbox record")
+				.register(meterRegistry);
+		this.broadcastTimer = Timer.builder("outbox.event.broadcast")
+				.description("Time to format outbox events of one board and enqueue them for the board's sessions")
+				.register(meterRegistry);
+		this.batchSize = DistributionSummary.builder("outbox.batch.size")
+				.description("Records received per batch listener invocation")
+				.register(meterRegistry);
+		this.delivered = outcomeCounter(meterRegistry, "delivered");
+		this.skipped = outcomeCounter(meterRegistry, "skipped");
+		this.filtered = outcomeCounter(meterRegistry, "filtered");
+		this.failed = outcomeCounter(meterRegistry, "failed");
+	}
+
+	@KafkaListener(id = "outbox-record", topics = TOPIC, groupId = "#{@outboxConsumerGroup.groupId()}",
+			properties = "auto.offset.reset=#{@outboxConsumerGroup.autoOffsetReset()}",
+			concurrency = "${outbox.consumer.concurrency:1}",
+			autoStartup = "#{!${outbox.consumer.batch-listener:true}}")
+	public void onMessage(ConsumerRecord<String, byte[]> record) {
+		long start = System.nanoTime();
+		OutboxEntry entry = decode(record);
+		if (entry == null) {
 			return;
 		}
-
+		long parsed = System.nanoTime();
 		try {
-			JsonNode root = objectMapper.readTree(value);
-			JsonNode payloadNode = root.has("payload") ? root.get("payload") : root;
-			JsonNode afterNode = payloadNode.has("after") ? payloadNode.get("after") : payloadNode;
-
-			// Extract board_id (mandatory for board/task events)
-			JsonNode boardIdNode = afterNode.get("board_id");
-			if (boardIdNode == null || boardIdNode.isNull()) {
-				log.debug("Outbox event without board_id, skipping WebSocket broadcast. Payload: {}", payloadNode);
-				return;
+			int sessions = webSocketBroadcaster.broadcast(entry.getBoardId(), entry);
+			long done = System.nanoTime();
+			broadcastTimer.record(done - parsed, TimeUnit.NANOSECONDS);
+			delivered.increment();
+			deliveryLog.delivered(entry, record, sessions, done - start);
+		} catch (Exception e) {
+			failed.increment();
+			log.warn("Failed to process outbox message at {}-{}@{} for WebSocket broadcast",
+					record.topic(), record.partition(), record.offset(), e);
+		}
+	}
+
+	/**
+	 * Decodes a poll batch, then broadcasts per board. Records of a board keep their partition order; boards are
+	 * handed over in the order their first record appears in the batch.
+	 */
+	@KafkaListener(id = "outbox-batch", topics = TOPIC, groupId = "#{@outboxConsumerGroup.groupId()}",
+			properties = "auto.offset.reset=#{@outboxConsumerGroup.autoOffsetReset()}",
+			containerFactory = "outboxBatchListenerContainerFactory",
+			concurrency = "${outbox.consumer.concurrency:1}",
+			autoStartup = "${outbox.consumer.batch-listener:true}")
+	public void onMessages(List<ConsumerRecord<String, byte[]>> records) {
+		long start = System.nanoTime();
+		batchSize.record(records.size());
+		Map<UUID, List<DecodedRecord>> byBoard = new LinkedHashMap<>();
+		for (ConsumerRecord<String, byte[]> record : records) {
+			OutboxEntry entry = decode(record);
+			if (entry != null) {
+				byBoard.computeIfAbsent(entry.getBoardId(), id -> new ArrayList<>()).add(new DecodedRecord(record, entry));
 			}
+		}
 
-			UUID boardId = UUID.fromString(boardIdNode.asText());
+		for (Map.Entry<UUID, List<DecodedRecord>> board : byBoard.entrySet()) {
+			List<DecodedRecord> decoded = board.getValue();
+			List<OutboxEntry> entries = new ArrayList<>(decoded.size());
+			for (DecodedRecord item : decoded) {
+				entries.add(item.entry());
+			}
+			long broadcastStart = System.nanoTime();
+			try {
+				int sessions = webSocketBroadcaster.broadcast(board.getKey(), entries);
+				long done = System.nanoTime();
+				broadcastTimer.record(done - broadcastStart, TimeUnit.NANOSECONDS);
+				delivered.increment(entries.size());
+				for (DecodedRecord item : decoded) {
+					deliveryLog.delivered(item.entry(), item.record(), sessions, done - start);
+				}
+			} catch (Exception e) {
+				failed.increment(entries.size());
+				ConsumerRecord<String, byte[]> first = decoded.get(0).record();
+				log.warn("Failed to process {} outbox messages for board {} from {}-{}@{} for WebSocket broadcast",
+						entries.size(), board.getKey(), first.topic(), first.partition(), first.offset(), e);
+			}
+		}
+	}
+
+	/**
+	 * Decodes one record into an outbox entry and applies its side effects on local caches.
+	 *
+	 * @return the entry, or {@code null} when the record was skipped or could not be decoded (already counted)
+	 */
+	private OutboxEntry decode(ConsumerRecord<String, byte[]> record) {
+		byte[] value = record.value();
+		if (value == null) {
+			log.warn("Received null value from topic {}", record.topic());
+			skipped.increment();
+			return null;
+		}
 
-			OutboxEntry entry = OutboxEntry.builder()
-					.id(parseUuid(afterNode.get("id")))
-					.aggregateType(asText(afterNode, "aggregate_type"))
-					.aggregateId(asText(afterNode, "aggregate_id"))
-					.boardId(boardId)
-					.eventType(asText(afterNode, "event_type"))
-					.payload(asText(afterNode, "payload"))
-					.build();
+		if (consumerGroup.broadcast() && !hasLocalInterest(record.key(), value)) {
+			filtered.increment();
+			return null;
+		}
 
-			webSocketBroadcaster.broadcast(boardId, entry);
+		long start = System.nanoTime();
+		try {
+			OutboxEntry entry = envelopeDecoder.decode(value);
+			if (entry == null || entry.getBoardId() == null) {
+				log.debug("Outbox event without board_id at {}-{}@{}, skipping WebSocket broadcast",
+						record.topic(), record.partition(), record.offset());
+				skipped.increment();
+				return null;
+			}
+			parseTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
 
-			// Keep logging for observability
-			log.info("Outbox payload broadcast for board {}: {}", boardId, entry.getPayload());
+			// Board deletion cascades to permissions. With fan-out=broadcast every instance gets here and drops its
+			// cached roles. In the shared group only the instance consuming the partition does; elsewhere the roles
+			// are never read again (the board lookup fails first) and expire with the permission cache's TTL.
+			if ("BoardDeleted".equals(entry.getEventType())) {
+				permissionCache.invalidateBoard(entry.getBoardId());
+			}
+			return entry;
 		} catch (JsonProcessingException e) {
-			// If parsing fails (e.g. non-JSON), log the raw value so nothing is lost
-			log.warn("Failed to parse outbox message as JSON, logging raw value. Error: {}", e.getMessage());
-			log.info("Outbox payload (raw): {}", value);
+			failed.increment();
+			log.warn("Failed to parse outbox message at {}-{}@{} as JSON: {}",
+					record.topic(), record.partition(), record.offset(), e.getOriginalMessage());
+			if (log.isDebugEnabled()) {
+				log.debug("Outbox payload (raw): {}", new String(value, StandardCharsets.UTF_8));
+			}
 		} catch (Exception e) {
-			log.warn("Failed to process outbox message for WebSocket broadcast", e);
+			failed.increment();
+			log.warn("Failed to decode outbox message at {}-{}@{}",
+					record.topic(), record.partition(), record.offset(), e);
 		}
+		return null;
 	}
 
-	private UUID parseUuid(JsonNode node) {
-		if (node == null || node.isNull()) {
-			return null;
-		}
-		try {
-			return UUID.fromString(node.asText());
-		}
-		catch (IllegalArgumentException ex) {
-			return null;
+	/**
+	 * Whether this instance needs the record: it follows the board, the board cannot be read from the key,
+	 * or the record may be a BoardDeleted (a byte scan, no parsing).
+	 */
+	private boolean hasLocalInterest(String key, byte[] value) {
+		UUID boardId = OutboxEnvelopeDecoder.boardIdOfKey(key);
+		return boardId == null || webSocketBroadcaster.tracksBoard(boardId) || contains(value, BOARD_DELETED);
+	}
+
+	private static boolean contains(byte[] value, byte[] token) {
+		outer:
+		for (int i = 0, last = value.length - token.length; i <= last; i++) {
+			for (int j = 0; j < token.length; j++) {
+				if (value[i + j] != token[j]) {
+					continue outer;
+				}
+			}
+			return true;
 		}
+		return false;
 	}
 
-	private String asText(JsonNode node, String fieldName) {
-		JsonNode field = node.get(fieldName);
-		return field != null && !field.isNull() ? field.asText() : null;
+	private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+		return Counter.builder("outbox.events")
+				.description("Outbox records consumed, by outcome")
+				.tag("outcome", outcome)
+				.register(meterRegistry);
 	}
-}
 
+	private record DecodedRecord(ConsumerRecord<String, byte[]> record, OutboxEntry entry) {
+	}
+}
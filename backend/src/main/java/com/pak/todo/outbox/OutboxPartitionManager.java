@@ -0,0 +1,130 @@
+package com.pak.todo.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Maintains the daily range partitions of the outbox table (see the V5 migration): creates the partitions for today
+ * and the next {@code outbox.partitions.precreate-days} days, and detaches and drops partitions whose day is older
+ * than {@code retention-days}. Dropping a partition is DDL and is not replicated, so Debezium emits no delete events
+ * for expired rows.
+ * <p>
+ * When the polling or in-process relay is used, a partition that still holds unprocessed rows is kept and logged,
+ * since dropping it would lose events that were never delivered.
+ */
+@Component
+@ConditionalOnProperty(prefix = "outbox.partitions", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class OutboxPartitionManager {
+
+	static final String PARTITION_PREFIX = "outbox_p";
+
+	static final String LIST_PARTITIONS_SQL = "select c.relname from pg_inherits i "
+			+ "join pg_class c on c.oid = i.inhrelid where i.inhparent = 'public.outbox'::regclass";
+
+	static final String EXISTS_SQL = "select to_regclass(?) is not null";
+
+	private static final DateTimeFormatter DAY = DateTimeFormatter.BASIC_ISO_DATE;
+
+	private final JdbcTemplate jdbcTemplate;
+	private final OutboxPartitionProperties properties;
+	private final OutboxRelayProperties relayProperties;
+	private final Counter created;
+	private final Counter dropped;
+
+	public OutboxPartitionManager(JdbcTemplate jdbcTemplate, OutboxPartitionProperties properties,
+			OutboxRelayProperties relayProperties, MeterRegistry meterRegistry) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.properties = properties;
+		this.relayProperties = relayProperties;
+		this.created = Counter.builder("outbox.partitions.created")
+				.description("Daily outbox partitions created")
+				.register(meterRegistry);
+		this.dropped = Counter.builder("outbox.partitions.dropped")
+				.description("Expired outbox partitions detached and dropped")
+				.register(meterRegistry);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void onStartup() {
+		maintain();
+	}
+
+	@Scheduled(fixedDelayString = "${outbox.partitions.interval-millis:3600000}",
+			initialDelayString = "${outbox.partitions.interval-millis:3600000}")
+	public void maintain() {
+		try {
+			maintain(LocalDate.now(ZoneOffset.UTC));
+		}
+		catch (RuntimeException e) {
+			log.warn("Outbox partition maintenance failed; it is retried on the next run", e);
+		}
+	}
+
+	void maintain(LocalDate today) {
+		for (int i = 0; i <= properties.getPrecreateDays(); i++) {
+			createPartition(today.plusDays(i));
+		}
+		LocalDate oldestKept = today.minusDays(properties.getRetentionDays());
+		for (String partition : jdbcTemplate.queryForList(LIST_PARTITIONS_SQL, String.class)) {
+			LocalDate day = partitionDay(partition);
+			if (day != null && day.isBefore(oldestKept)) {
+				dropPartition(partition);
+			}
+		}
+	}
+
+	private void createPartition(LocalDate day) {
+		String name = PARTITION_PREFIX + DAY.format(day);
+		if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(EXISTS_SQL, Boolean.class, "public." + name))) {
+			return;
+		}
+		// Bounds are UTC midnights, written with an explicit offset so the session time zone does not matter
+		jdbcTemplate.execute("create table if not exists " + name + " partition of outbox for values from ('"
+				+ day + " 00:00:00+00') to ('" + day.plusDays(1) + " 00:00:00+00')");
+		created.increment();
+		log.info("Created outbox partition {}", name);
+	}
+
+	private void dropPartition(String name) {
+		if (relayProperties.getMode() != OutboxRelayProperties.Mode.KAFKA) {
+			Boolean pending = jdbcTemplate.queryForObject(
+					"select exists (select 1 from " + name + " where processed_at is null)", Boolean.class);
+			if (Boolean.TRUE.equals(pending)) {
+				log.warn("Keeping expired outbox partition {}: it still holds rows that were never relayed", name);
+				return;
+			}
+		}
+		jdbcTemplate.execute("alter table outbox detach partition " + name);
+		jdbcTemplate.execute("drop table " + name);
+		dropped.increment();
+		log.info("Dropped expired outbox partition {}", name);
+	}
+
+	/**
+	 * @return the day a partition named {@code outbox_pYYYYMMDD} covers, or {@code null} for any other table
+	 */
+	static LocalDate partitionDay(String partition) {
+		if (!partition.startsWith(PARTITION_PREFIX) || partition.length() != PARTITION_PREFIX.length() + 8) {
+			return null;
+		}
+		try {
+			return LocalDate.parse(partition.substring(PARTITION_PREFIX.length()), DAY);
+		}
+		catch (DateTimeParseException e) {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,32 @@
+package com.pak.todo.outbox;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@ConfigurationProperties(prefix = "outbox.partitions")
+@Getter
+@Setter
+public class OutboxPartitionProperties {
+
+	/**
+	 * Whether daily outbox partitions are created and expired ones dropped.
+	 */
+	private boolean enabled = true;
+
+	/**
+	 * Daily partitions kept ready beyond today, so inserts never hit a missing partition if the job is late.
+	 */
+	private int precreateDays = 3;
+
+	/**
+	 * Days of outbox history kept. A partition is detached and dropped once the day it covers is older than this.
+	 */
+	private int retentionDays = 7;
+
+	/**
+	 * Delay between maintenance runs; one also runs at startup.
+	 */
+	private long intervalMillis = 3_600_000;
+}
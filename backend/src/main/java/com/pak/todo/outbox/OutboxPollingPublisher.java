@@ -0,0 +1,231 @@
+package com.pak.todo.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.pak.todo.model.entity.OutboxEntry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes outbox rows to the outbox topic by polling the table ({@code outbox.relay.mode=polling}), in place of
+ * Debezium. Each poll claims the oldest unprocessed rows with {@code FOR UPDATE SKIP LOCKED}, sends them keyed by
+ * board_id, waits for the acknowledgements and sets {@code processed_at} in the same transaction. Several instances
+ * can poll at once: a row locked by one is skipped by the others. A failed send rolls the claim back, so rows are
+ * published at least once.
+ * <p>
+ * The claim size doubles while polls come back full and halves when the outbox is drained; the delay between polls
+ * doubles while polls come back empty, so an idle outbox costs one query per {@code max-interval-millis}.
+ * <p>
+ * Per-board order holds within one instance. Two instances may claim consecutive rows of the same board in
+ * concurrent batches, and those batches can reach the topic in either order.
+ */
+@Component
+@ConditionalOnProperty(prefix = "outbox.relay", name = "mode", havingValue = "polling")
+@Slf4j
+public class OutboxPollingPublisher {
+
+	static final String CLAIM_SQL = "select id, aggregate_type, aggregate_id, board_id, event_type, payload, "
+			+ "created_at from outbox where processed_at is null order by created_at limit ? for update skip locked";
+
+	static final String MARK_PROCESSED_SQL = "update outbox set processed_at = ? where id = any(?)";
+
+	private static final RowMapper<OutboxEntry> ROW_MAPPER = (rs, rowNum) -> OutboxEntry.builder()
+			.id(rs.getObject("id", UUID.class))
+			.aggregateType(rs.getString("aggregate_type"))
+			.aggregateId(rs.getString("aggregate_id"))
+			.boardId(rs.getObject("board_id", UUID.class))
+			.eventType(rs.getString("event_type"))
+			.payload(rs.getString("payload"))
+			.createdAt(rs.getTimestamp("created_at").toInstant())
+			.build();
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final KafkaTemplate<String, byte[]> kafkaTemplate;
+	private final ObjectMapper objectMapper;
+	private final OutboxRelayProperties.Polling properties;
+	private final ScheduledExecutorService scheduler;
+	private final DistributionSummary claimed;
+	private final Counter published;
+	private final Counter failures;
+
+	private int batchSize;
+	private long delayMillis;
+
+	public OutboxPollingPublisher(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+			KafkaTemplate<String, byte[]> kafkaTemplate, ObjectMapper objectMapper, OutboxRelayProperties properties,
+			MeterRegistry meterRegistry) {
+		this(jdbcTemplate, transactionManager, kafkaTemplate, objectMapper, properties, meterRegistry,
+				Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("outbox-poll").daemon().factory()));
+	}
+
+	OutboxPollingPublisher(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+			KafkaTemplate<String, byte[]> kafkaTemplate, ObjectMapper objectMapper, OutboxRelayProperties properties,
+			MeterRegistry meterRegistry, ScheduledExecutorService scheduler) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.kafkaTemplate = kafkaTemplate;
+		this.objectMapper = objectMapper;
+		this.properties = properties.getPolling();
+		this.scheduler = scheduler;
+		this.batchSize = this.properties.getMinBatchSize();
+		this.delayMillis = this.properties.getMinIntervalMillis();
+		this.claimed = DistributionSummary.builder("outbox.poll.claimed")
+				.description("Outbox rows claimed per poll")
+				.register(meterRegistry);
+		this.published = Counter.builder("outbox.poll.published")
+				.description("Outbox rows published to Kafka by the polling publisher")
+				.register(meterRegistry);
+		this.failures = Counter.builder("outbox.poll.failures")
+				.description("Polls rolled back because rows could not be published")
+				.register(meterRegistry);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		scheduler.schedule(this::pollAndReschedule, 0, TimeUnit.MILLISECONDS);
+	}
+
+	@PreDestroy
+	void shutdown() {
+		scheduler.shutdownNow();
+	}
+
+	private void pollAndReschedule() {
+		try {
+			poll();
+		}
+		finally {
+			if (!scheduler.isShutdown()) {
+				scheduler.schedule(this::pollAndReschedule, delayMillis, TimeUnit.MILLISECONDS);
+			}
+		}
+	}
+
+	/**
+	 * Claims, publishes and marks one batch, then adapts batch size and delay for the next poll.
+	 *
+	 * @return the number of rows published
+	 */
+	int poll() {
+		int limit = batchSize;
+		int count;
+		try {
+			Integer result = transactionTemplate.execute(status -> publishClaimed(limit));
+			count = result != null ? result : 0;
+		}
+		catch (RuntimeException e) {
+			failures.increment();
+			log.warn("Failed to publish up to {} outbox rows; they stay unprocessed and are retried", limit, e);
+			// Back off as if idle so a broker outage is not hammered, and retry with a small claim
+			batchSize = properties.getMinBatchSize();
+			delayMillis = nextIdleDelay();
+			return 0;
+		}
+		claimed.record(count);
+		if (count >= limit) {
+			batchSize = Math.min(limit * 2, properties.getMaxBatchSize());
+			delayMillis = 0;
+		}
+		else if (count > 0) {
+			delayMillis = properties.getMinIntervalMillis();
+		}
+		else {
+			batchSize = Math.max(limit / 2, properties.getMinBatchSize());
+			delayMillis = nextIdleDelay();
+		}
+		return count;
+	}
+
+	int batchSize() {
+		return batchSize;
+	}
+
+	long delayMillis() {
+		return delayMillis;
+	}
+
+	private long nextIdleDelay() {
+		long doubled = Math.max(delayMillis, properties.getMinIntervalMillis()) * 2;
+		return Math.min(doubled, properties.getMaxIntervalMillis());
+	}
+
+	private int publishClaimed(int limit) {
+		List<OutboxEntry> entries = jdbcTemplate.query(CLAIM_SQL, ROW_MAPPER, limit);
+		if (entries.isEmpty()) {
+			return 0;
+		}
+		List<CompletableFuture<SendResult<String, byte[]>>> sends = new ArrayList<>(entries.size());
+		for (OutboxEntry entry : entries) {
+			sends.add(kafkaTemplate.send(OutboxKafkaConsumer.TOPIC, entry.getBoardId().toString(), toRecordValue(entry)));
+		}
+		try {
+			CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new))
+					.get(properties.getSendTimeoutMillis(), TimeUnit.MILLISECONDS);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while publishing outbox rows", e);
+		}
+		catch (Exception e) {
+			throw new IllegalStateException("Kafka did not acknowledge " + entries.size() + " outbox rows", e);
+		}
+
+		UUID[] ids = entries.stream().map(OutboxEntry::getId).toArray(UUID[]::new);
+		Timestamp now = Timestamp.from(Instant.now());
+		jdbcTemplate.update(con -> {
+			PreparedStatement ps = con.prepareStatement(MARK_PROCESSED_SQL);
+			ps.setTimestamp(1, now);
+			ps.setArray(2, con.createArrayOf("uuid", ids));
+			return ps;
+		});
+		published.increment(entries.size());
+		return entries.size();
+	}
+
+	/**
+	 * The row in the shape of the Debezium {@code after} image, which {@link OutboxEnvelopeDecoder} reads as a bare
+	 * row.
+	 */
+	private byte[] toRecordValue(OutboxEntry entry) {
+		ObjectNode row = objectMapper.createObjectNode()
+				.put("id", entry.getId().toString())
+				.put("aggregate_type", entry.getAggregateType())
+				.put("aggregate_id", entry.getAggregateId())
+				.put("board_id", entry.getBoardId().toString())
+				.put("event_type", entry.getEventType())
+				.put("payload", entry.getPayload())
+				.put("created_at", entry.getCreatedAt().toString());
+		try {
+			return objectMapper.writeValueAsBytes(row);
+		}
+		catch (JsonProcessingException e) {
+			throw new IllegalStateException("Failed to serialize outbox row " + entry.getId(), e);
+		}
+	}
+}
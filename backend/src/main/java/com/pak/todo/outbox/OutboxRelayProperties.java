@@ -0,0 +1,72 @@
+package com.pak.todo.outbox;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@ConfigurationProperties(prefix = "outbox.relay")
+@Getter
+@Setter
+public class OutboxRelayProperties {
+
+	/**
+	 * How committed outbox events reach WebSocket sessions: Debezium streams them to Kafka ({@code kafka}), the
+	 * application polls the table and publishes them to Kafka ({@code polling}), or they are broadcast directly in
+	 * this process ({@code in-process}).
+	 */
+	private Mode mode = Mode.KAFKA;
+
+	/**
+	 * In-process mode: delay between polls for rows that were committed but never relayed (e.g. after a crash).
+	 */
+	private long pollIntervalMillis = 5_000;
+
+	/**
+	 * In-process mode: maximum number of rows relayed per poll query.
+	 */
+	private int pollBatchSize = 500;
+
+	/**
+	 * In-process mode: rows younger than this are left to the after-commit relay and not picked up by the poll.
+	 */
+	private long pollGraceMillis = 2_000;
+
+	private final Polling polling = new Polling();
+
+	public enum Mode {
+		KAFKA,
+		POLLING,
+		IN_PROCESS
+	}
+
+	@Getter
+	@Setter
+	public static class Polling {
+
+		/**
+		 * Rows claimed by the first poll and after the outbox has been drained.
+		 */
+		private int minBatchSize = 50;
+
+		/**
+		 * Upper bound for the claim size; it doubles while polls come back full.
+		 */
+		private int maxBatchSize = 1_000;
+
+		/**
+		 * Delay after a poll that found rows but not a full batch. A full batch polls again immediately.
+		 */
+		private long minIntervalMillis = 100;
+
+		/**
+		 * Upper bound for the delay; it doubles while polls come back empty.
+		 */
+		private long maxIntervalMillis = 5_000;
+
+		/**
+		 * How long to wait for Kafka to acknowledge a claimed batch before it is rolled back and retried.
+		 */
+		private long sendTimeoutMillis = 10_000;
+	}
+}
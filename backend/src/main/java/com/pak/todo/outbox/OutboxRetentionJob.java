@@ -0,0 +1,59 @@
+package com.pak.todo.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+/**
+ * Purges relayed outbox rows ({@code processed_at} older than {@code outbox.retention.processed-retention-seconds})
+ * in chunks of {@code chunk-size} rows. Each chunk is its own statement outside any transaction, so a run never holds
+ * locks on more than one chunk and concurrent instances simply delete disjoint or already-deleted rows.
+ */
+@Component
+@ConditionalOnProperty(prefix = "outbox.retention", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class OutboxRetentionJob {
+
+	static final String DELETE_CHUNK_SQL = "delete from outbox where id in "
+			+ "(select id from outbox where processed_at < ? limit ? for update skip locked)";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final OutboxRetentionProperties properties;
+	private final Counter purged;
+
+	public OutboxRetentionJob(JdbcTemplate jdbcTemplate, OutboxRetentionProperties properties,
+			MeterRegistry meterRegistry) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.properties = properties;
+		this.purged = Counter.builder("outbox.retention.purged")
+				.description("Relayed outbox rows deleted by the retention job")
+				.register(meterRegistry);
+	}
+
+	/**
+	 * @return the number of rows deleted
+	 */
+	@Scheduled(fixedDelayString = "${outbox.retention.interval-millis:60000}",
+			initialDelayString = "${outbox.retention.interval-millis:60000}")
+	public int purgeProcessed() {
+		Timestamp cutoff = Timestamp.from(Instant.now().minusSeconds(properties.getProcessedRetentionSeconds()));
+		int total = 0;
+		int deleted;
+		do {
+			deleted = jdbcTemplate.update(DELETE_CHUNK_SQL, cutoff, properties.getChunkSize());
+			total += deleted;
+			purged.increment(deleted);
+		} while (deleted == properties.getChunkSize());
+		if (total > 0) {
+			log.info("Purged {} outbox rows processed before {}", total, cutoff);
+		}
+		return total;
+	}
+}
@@ -0,0 +1,32 @@
+package com.pak.todo.outbox;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@ConfigurationProperties(prefix = "outbox.retention")
+@Getter
+@Setter
+public class OutboxRetentionProperties {
+
+	/**
+	 * Whether rows that have been relayed ({@code processed_at} set) are purged.
+	 */
+	private boolean enabled = true;
+
+	/**
+	 * How long relayed rows are kept before they are purged.
+	 */
+	private long processedRetentionSeconds = 3_600;
+
+	/**
+	 * Rows deleted per statement; each chunk commits on its own so locks and WAL bursts stay small.
+	 */
+	private int chunkSize = 1_000;
+
+	/**
+	 * Delay between purge runs.
+	 */
+	private long intervalMillis = 60_000;
+}
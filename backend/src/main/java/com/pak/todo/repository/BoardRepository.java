@@ -1,10 +1,63 @@
 package com.pak.todo.repository;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.pak.todo.auth.BoardAccess;
 import com.pak.todo.model.entity.Board;
+import com.pak.todo.websocket.BoardSnapshotRow;
+
+import jakarta.persistence.LockModeType;
 
 public interface BoardRepository extends JpaRepository<Board, UUID> {
+
+	/**
+	 * Loads the board and the given user's role on it with one LEFT JOIN. Empty when the board does not exist;
+	 * the role is {@code null} when the board exists but the user has no permission on it.
+	 */
+	@Query("""
+			select new com.pak.todo.auth.BoardAccess(b, p.role)
+			from Board b
+			left join Permission p on p.board = b and p.user.id = :userId
+			where b.id = :boardId
+			""")
+	Optional<BoardAccess> findAccess(@Param("boardId") UUID boardId, @Param("userId") UUID userId);
+
+	/**
+	 * The columns of the board that a WebSocket snapshot carries, without loading the entity.
+	 */
+	@Query("""
+			select new com.pak.todo.websocket.BoardSnapshotRow(b.id, b.version, b.name, b.description, b.createdAt,
+					b.updatedAt)
+			from Board b
+			where b.id = :boardId
+			""")
+	Optional<BoardSnapshotRow> findSnapshotRow(@Param("boardId") UUID boardId);
+
+	/**
+	 * Loads the board with its row locked until the transaction ends; see {@link TaskRepository#findForUpdate}.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select b from Board b where b.id = :boardId")
+	Optional<Board> findForUpdate(@Param("boardId") UUID boardId);
+
+	List<Board> findAllByOrderByCreatedAtAscIdAsc(Limit limit);
+
+	/**
+	 * Keyset page of boards ordered by (createdAt, id), starting right after the given position.
+	 */
+	@Query("""
+			select b from Board b
+			where b.createdAt > :createdAt or (b.createdAt = :createdAt and b.id > :id)
+			order by b.createdAt, b.id
+			""")
+	List<Board> findAllAfter(@Param("createdAt") Instant createdAt, @Param("id") UUID id, Limit limit);
 }
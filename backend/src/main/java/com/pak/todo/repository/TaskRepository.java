@@ -1,5 +1,6 @@
 package com.pak.todo.repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -7,15 +8,42 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.pak.todo.model.entity.Task;
+import com.pak.todo.websocket.TaskSnapshotRow;
+
+import jakarta.persistence.LockModeType;
 
 public interface TaskRepository extends JpaRepository<Task, UUID>, JpaSpecificationExecutor<Task> {
 
 	Optional<Task> findByIdAndBoardId(UUID taskId, UUID boardId);
 
+	/**
+	 * Loads the task with its row locked until the transaction ends, so concurrent changes of the task run one after
+	 * the other and each produces its own version.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select t from Task t where t.id = :taskId and t.board.id = :boardId")
+	Optional<Task> findForUpdate(@Param("taskId") UUID taskId, @Param("boardId") UUID boardId);
+
 	Page<Task> findAllByBoardId(UUID boardId, Pageable pageable);
 
+	/**
+	 * The columns of every task of the board that a WebSocket snapshot carries, in (dueDate, id) order, without
+	 * loading the entities.
+	 */
+	@Query("""
+			select new com.pak.todo.websocket.TaskSnapshotRow(t.id, t.version, t.name, t.description, t.dueDate,
+					t.status, t.createdAt, t.updatedAt)
+			from Task t
+			where t.board.id = :boardId
+			order by t.dueDate, t.id
+			""")
+	List<TaskSnapshotRow> findSnapshotRows(@Param("boardId") UUID boardId);
+
 	boolean existsByIdAndBoardId(UUID taskId, UUID boardId);
 
 	void deleteByBoard_Id(UUID boardId);
@@ -2,21 +2,46 @@ package com.pak.todo.security;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.UUID;
 
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import com.pak.todo.model.entity.User;
 
-import lombok.Getter;
-import lombok.RequiredArgsConstructor;
-
-@RequiredArgsConstructor
-@Getter
+/**
+ * Authenticated user. Built either from a loaded {@link User} (form login) or from JWT claims only, in which
+ * case {@link #getUser()} is {@code null}; see {@link CurrentUserService}.
+ */
 public class AppUserDetails implements UserDetails {
 
+	private final UUID userId;
+	private final String username;
+	private final String password;
 	private final User user;
 
+	public AppUserDetails(User user) {
+		this.userId = user.getId();
+		this.username = user.getUsername();
+		this.password = user.getPasswordHash();
+		this.user = user;
+	}
+
+	public AppUserDetails(JwtPrincipal principal) {
+		this.userId = principal.userId();
+		this.username = principal.username();
+		this.password = null;
+		this.user = null;
+	}
+
+	public UUID getUserId() {
+		return userId;
+	}
+
+	public User getUser() {
+		return user;
+	}
+
 	@Override
 	public Collection<? extends GrantedAuthority> getAuthorities() {
 		// Application-level permissions are handled via Permission/AuthorizationService,
@@ -26,12 +51,12 @@ public class AppUserDetails implements UserDetails {
 
 	@Override
 	public String getPassword() {
-		return user.getPasswordHash();
+		return password;
 	}
 
 	@Override
 	public String getUsername() {
-		return user.getUsername();
+		return username;
 	}
 
 	@Override
@@ -54,4 +79,3 @@ public class AppUserDetails implements UserDetails {
 		return true;
 	}
 }
-
@@ -0,0 +1,15 @@
+package com.pak.todo.security;
+
+import java.util.UUID;
+
+import com.pak.todo.model.entity.User;
+
+/**
+ * Immutable view of a {@link User} that is safe to cache and share across threads, unlike the (detached) entity.
+ */
+public record AuthenticatedUser(UUID id, String username) {
+
+	public static AuthenticatedUser of(User user) {
+		return new AuthenticatedUser(user.getId(), user.getUsername());
+	}
+}
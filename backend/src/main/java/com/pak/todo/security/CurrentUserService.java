@@ -1,33 +1,60 @@
 package com.pak.todo.security;
 
 import java.util.Optional;
+import java.util.UUID;
 
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import com.pak.todo.model.entity.User;
+import com.pak.todo.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
 
 @Service
+@RequiredArgsConstructor
 public class CurrentUserService {
 
+	private static final String NOT_AUTHENTICATED = "No authenticated user in security context";
+
+	private final UserRepository userRepository;
+
+	/**
+	 * Id of the authenticated user, taken from the principal (the JWT claims) without reading the database.
+	 */
+	public UUID getCurrentUserId() {
+		return currentUserDetails()
+				.map(AppUserDetails::getUserId)
+				.orElseThrow(() -> new AuthenticationCredentialsNotFoundException(NOT_AUTHENTICATED));
+	}
+
+	/**
+	 * The authenticated user's entity; loaded from the database when the request was authenticated by JWT. Empty
+	 * when nobody is authenticated or the user has been deleted since the token was issued.
+	 */
 	public Optional<User> getCurrentUser() {
+		return currentUserDetails().flatMap(details -> details.getUser() != null
+				? Optional.of(details.getUser())
+				: userRepository.findById(details.getUserId()));
+	}
+
+	public User getCurrentUserOrThrow() {
+		return getCurrentUser()
+				.orElseThrow(() -> new AuthenticationCredentialsNotFoundException(NOT_AUTHENTICATED));
+	}
+
+	private Optional<AppUserDetails> currentUserDetails() {
 		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 		if (authentication == null || !authentication.isAuthenticated()) {
 			return Optional.empty();
 		}
 
-		Object principal = authentication.getPrincipal();
-		if (principal instanceof AppUserDetails appUserDetails) {
-			return Optional.of(appUserDetails.getUser());
+		if (authentication.getPrincipal() instanceof AppUserDetails appUserDetails) {
+			return Optional.of(appUserDetails);
 		}
 
 		return Optional.empty();
 	}
-
-	public User getCurrentUserOrThrow() {
-		return getCurrentUser()
-				.orElseThrow(() -> new IllegalStateException("No authenticated user in security context"));
-	}
 }
-
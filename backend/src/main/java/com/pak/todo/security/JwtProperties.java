@@ -24,5 +24,10 @@ public class JwtProperties {
 	 * Issuer identifier to embed in and validate against tokens.
 	 */
 	private String issuer;
+
+	/**
+	 * Maximum number of verified tokens kept in memory to skip repeated signature verification.
+	 */
+	private long validationCacheMaximumSize = 10_000;
 }
 
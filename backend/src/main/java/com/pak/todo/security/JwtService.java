@@ -1,43 +1,76 @@
 package com.pak.todo.security;
 
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 import java.util.Optional;
 import java.util.UUID;
 
+import javax.crypto.SecretKey;
+
 import org.springframework.stereotype.Service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.pak.todo.model.entity.User;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class JwtService {
 
+	static final String CACHE_NAME = "jwt-tokens";
+
 	private final JwtProperties properties;
+	private final SecretKey signingKey;
+	private final JwtParser parser;
+
+	/**
+	 * Tokens whose signature and issuer were already verified, keyed by a SHA-256 digest of the compact token.
+	 * Each entry expires together with the token's {@code exp} claim.
+	 */
+	private final Cache<String, VerifiedToken> verifiedTokens;
+
+	public JwtService(JwtProperties properties, MeterRegistry meterRegistry) {
+		this.properties = properties;
+		this.signingKey = Keys.hmacShaKeyFor(properties.getSecret().getBytes(StandardCharsets.UTF_8));
+		this.parser = Jwts.parser()
+				.verifyWith(signingKey)
+				.requireIssuer(properties.getIssuer())
+				.build();
+		this.verifiedTokens = Caffeine.newBuilder()
+				.maximumSize(properties.getValidationCacheMaximumSize())
+				.expireAfter(Expiry.creating((String digest, VerifiedToken token) -> timeToLive(token)))
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, CACHE_NAME);
+	}
 
 	public String generateToken(User user) {
 		Instant now = Instant.now();
 		Instant expiry = now.plusSeconds(properties.getExpirationSeconds());
 
-		byte[] keyBytes = properties.getSecret().getBytes(StandardCharsets.UTF_8);
-
 		return Jwts.builder()
 				.subject(user.getId().toString())
 				.issuer(properties.getIssuer())
 				.issuedAt(Date.from(now))
 				.expiration(Date.from(expiry))
 				.claim("username", user.getUsername())
-				.signWith(Keys.hmacShaKeyFor(keyBytes), Jwts.SIG.HS256)
+				.signWith(signingKey, Jwts.SIG.HS256)
 				.compact();
 	}
 
@@ -46,14 +79,14 @@ public class JwtService {
 			return Optional.empty();
 		}
 
-		try {
-			byte[] keyBytes = properties.getSecret().getBytes(StandardCharsets.UTF_8);
+		String digest = digest(token);
+		VerifiedToken cached = verifiedTokens.getIfPresent(digest);
+		if (cached != null) {
+			return Optional.of(cached.principal());
+		}
 
-			Jws<Claims> jws = Jwts.parser()
-					.verifyWith(Keys.hmacShaKeyFor(keyBytes))
-					.requireIssuer(properties.getIssuer())
-					.build()
-					.parseSignedClaims(token);
+		try {
+			Jws<Claims> jws = parser.parseSignedClaims(token);
 
 			Claims claims = jws.getPayload();
 			String subject = claims.getSubject();
@@ -64,12 +97,35 @@ public class JwtService {
 			}
 
 			UUID userId = UUID.fromString(subject);
-			return Optional.of(new JwtPrincipal(userId, username));
+			JwtPrincipal principal = new JwtPrincipal(userId, username);
+
+			Date expiration = claims.getExpiration();
+			if (expiration != null) {
+				verifiedTokens.put(digest, new VerifiedToken(principal, expiration.toInstant()));
+			}
+			return Optional.of(principal);
 		}
 		catch (JwtException | IllegalArgumentException ex) {
 			log.warn("Failed to parse or validate JWT", ex);
 			return Optional.empty();
 		}
 	}
-}
 
+	private static Duration timeToLive(VerifiedToken token) {
+		Duration remaining = Duration.between(Instant.now(), token.expiresAt());
+		return remaining.isNegative() ? Duration.ZERO : remaining;
+	}
+
+	private static String digest(String token) {
+		try {
+			byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+			return Base64.getEncoder().encodeToString(hash);
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not available", e);
+		}
+	}
+
+	private record VerifiedToken(JwtPrincipal principal, Instant expiresAt) {
+	}
+}
@@ -0,0 +1,63 @@
+package com.pak.todo.security;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pak.todo.repository.UserRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Small cache of {@link AuthenticatedUser}s for connections authenticated by JWT, so the {@code users} table is read
+ * once per user and TTL instead of once per handshake. Unknown users are not cached. Entries are dropped after any
+ * committed change to the user row, see {@link UserCacheInvalidator}.
+ */
+@Component
+public class UserCache {
+
+	static final String CACHE_NAME = "users";
+
+	private final UserRepository userRepository;
+	private final Cache<UUID, AuthenticatedUser> cache;
+
+	public UserCache(UserRepository userRepository, UserCacheProperties properties, MeterRegistry meterRegistry) {
+		this.userRepository = userRepository;
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(properties.getMaximumSize())
+				.expireAfterWrite(Duration.ofSeconds(properties.getTtlSeconds()))
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+	}
+
+	public Optional<AuthenticatedUser> get(UUID userId) {
+		return Optional.ofNullable(cache.get(userId, id -> userRepository.findById(id)
+				.map(AuthenticatedUser::of)
+				.orElse(null)));
+	}
+
+	/**
+	 * Drops the cached user. Inside a transaction the entry is dropped after commit only: dropping it earlier would
+	 * let a concurrent read re-cache the row as it was before the change.
+	 */
+	public void invalidate(UUID userId) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			cache.invalidate(userId);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				cache.invalidate(userId);
+			}
+		});
+	}
+}
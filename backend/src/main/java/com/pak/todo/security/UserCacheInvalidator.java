@@ -0,0 +1,29 @@
+package com.pak.todo.security;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import com.pak.todo.model.entity.User;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * JPA listener on {@link User}: any flushed update (password, username) or delete drops the user from the
+ * {@link UserCache} once the transaction commits, whichever code path changed the entity. The cache is looked up on
+ * first use because Hibernate creates this listener while the entity manager factory, which the cache's repository
+ * needs, is still being built.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserCacheInvalidator {
+
+	private final ObjectProvider<UserCache> userCache;
+
+	@PostUpdate
+	@PostRemove
+	void userChanged(User user) {
+		userCache.getObject().invalidate(user.getId());
+	}
+}
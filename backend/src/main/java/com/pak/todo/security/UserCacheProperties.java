@@ -0,0 +1,22 @@
+package com.pak.todo.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@ConfigurationProperties(prefix = "security.user-cache")
+@Getter
+@Setter
+public class UserCacheProperties {
+
+	/**
+	 * Maximum number of users kept in memory for token-authenticated WebSocket handshakes.
+	 */
+	private long maximumSize = 1_000;
+
+	/**
+	 * Time in seconds after which a cached user is reloaded from the database.
+	 */
+	private long ttlSeconds = 300;
+}
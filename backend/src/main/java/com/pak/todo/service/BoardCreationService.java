@@ -1,5 +1,8 @@
 package com.pak.todo.service;
 
+import java.util.UUID;
+
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -10,6 +13,7 @@ import com.pak.todo.model.dto.BoardCreateRequest;
 import com.pak.todo.model.dto.BoardResponse;
 import com.pak.todo.model.entity.Board;
 import com.pak.todo.model.entity.User;
+import com.pak.todo.repository.UserRepository;
 import com.pak.todo.security.CurrentUserService;
 import com.pak.todo.web.command.BoardCommandFactory;
 
@@ -24,10 +28,14 @@ public class BoardCreationService {
 	private final AuthorizationService authorizationService;
 	private final BoardCommandFactory boardCommandFactory;
 	private final CurrentUserService currentUserService;
+	private final UserRepository userRepository;
 
 	@Transactional
 	public BoardResponse createBoardWithOwner(BoardCreateRequest request) {
-		User currentUser = currentUserService.getCurrentUserOrThrow();
+		// The owner permission references the user row, so a token whose user was deleted is rejected here
+		UUID userId = currentUserService.getCurrentUserId();
+		User currentUser = userRepository.findById(userId)
+				.orElseThrow(() -> new AuthenticationCredentialsNotFoundException("User not found: " + userId));
 		return createBoardWithOwner(currentUser, boardCommandFactory.createBoard(request));
 	}
 
@@ -1,13 +1,16 @@
 package com.pak.todo.service;
 
+import java.util.List;
 import java.util.UUID;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.pak.todo.model.dto.BoardResponse;
+import com.pak.todo.model.dto.CursorPage;
 import com.pak.todo.model.entity.Board;
 import com.pak.todo.model.mapper.BoardMapper;
 import com.pak.todo.repository.BoardRepository;
@@ -26,6 +29,23 @@ public class BoardService {
 		return boardRepository.findAll(pageable).map(boardMapper::toResponse);
 	}
 
+	/**
+	 * Keyset listing ordered by (createdAt, id); no count query. {@code after} is {@code null} for the first page.
+	 */
+	@Transactional(readOnly = true)
+	public CursorPage<BoardResponse> findAllAfter(KeysetCursor after, int size) {
+		Limit limit = Limit.of(size + 1);
+		List<Board> boards = after == null
+				? boardRepository.findAllByOrderByCreatedAtAscIdAsc(limit)
+				: boardRepository.findAllAfter(after.sortKey(), after.id(), limit);
+		boolean hasNext = boards.size() > size;
+		List<Board> page = hasNext ? boards.subList(0, size) : boards;
+		String nextCursor = hasNext
+				? new KeysetCursor(page.get(size - 1).getCreatedAt(), page.get(size - 1).getId()).encode()
+				: null;
+		return new CursorPage<>(page.stream().map(boardMapper::toResponse).toList(), nextCursor);
+	}
+
 	@Transactional(readOnly = true)
 	public BoardResponse findById(UUID id) {
 		return boardRepository.findById(id)
@@ -0,0 +1,48 @@
+package com.pak.todo.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position of the last row of a keyset page: the sort column value (may be {@code null}, e.g. a task without
+ * due date) and the id used as tie-breaker. Travels to clients as an opaque URL-safe token.
+ */
+public record KeysetCursor(Instant sortKey, UUID id) {
+
+	private static final String NULL_KEY = "-";
+
+	public String encode() {
+		String key = sortKey == null ? NULL_KEY : sortKey.getEpochSecond() + "." + sortKey.getNano();
+		return Base64.getUrlEncoder().withoutPadding()
+				.encodeToString((key + "|" + id).getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * @throws IllegalArgumentException when the token was not produced by {@link #encode()}
+	 */
+	public static KeysetCursor decode(String token) {
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			int separator = raw.indexOf('|');
+			if (separator < 0) {
+				throw new IllegalArgumentException("Malformed cursor");
+			}
+			String key = raw.substring(0, separator);
+			UUID id = UUID.fromString(raw.substring(separator + 1));
+			if (NULL_KEY.equals(key)) {
+				return new KeysetCursor(null, id);
+			}
+			int dot = key.indexOf('.');
+			if (dot < 0) {
+				throw new IllegalArgumentException("Malformed cursor");
+			}
+			return new KeysetCursor(
+					Instant.ofEpochSecond(Long.parseLong(key.substring(0, dot)), Long.parseLong(key.substring(dot + 1))),
+					id);
+		} catch (IllegalArgumentException | java.time.DateTimeException e) {
+			throw new IllegalArgumentException("Invalid cursor", e);
+		}
+	}
+}
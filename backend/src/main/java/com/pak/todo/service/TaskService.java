@@ -7,10 +7,12 @@ import java.util.UUID;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.pak.todo.model.dto.CursorPage;
 import com.pak.todo.model.dto.TaskResponse;
 import com.pak.todo.model.entity.Task;
 import com.pak.todo.model.enums.TaskStatus;
@@ -24,12 +26,60 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class TaskService {
 
+	/**
+	 * Keyset order: due date ascending with tasks without due date last (PostgreSQL's default for ASC), then id.
+	 */
+	private static final Sort KEYSET_SORT = Sort.by(Sort.Order.asc("dueDate"), Sort.Order.asc("id"));
+
 	private final TaskRepository taskRepository;
 	private final TaskMapper taskMapper;
 
 	@Transactional(readOnly = true)
 	public Page<TaskResponse> findByBoardId(UUID boardId, TaskStatus status, Instant dueFrom, Instant dueTo, Pageable pageable) {
-		Specification<Task> spec = (root, query, cb) -> {
+		return taskRepository.findAll(filter(boardId, status, dueFrom, dueTo), pageable).map(taskMapper::toResponse);
+	}
+
+	/**
+	 * Keyset listing ordered by (dueDate, id); no count query, constant cost per page regardless of depth.
+	 * {@code after} is {@code null} for the first page.
+	 * <p>
+	 * Each query seeks into {@code idx_tasks_board_due_id}: tasks with a due date after the cursor first, then, once
+	 * those run out, the trailing group without a due date by id. Folding both into one OR would turn the seek into
+	 * a scan from the start of the board.
+	 */
+	@Transactional(readOnly = true)
+	public CursorPage<TaskResponse> findByBoardIdAfter(
+			UUID boardId, TaskStatus status, Instant dueFrom, Instant dueTo, KeysetCursor after, int size) {
+		Specification<Task> spec = filter(boardId, status, dueFrom, dueTo);
+		List<Task> tasks;
+		if (after == null) {
+			tasks = fetch(spec, size + 1);
+		}
+		else if (after.sortKey() == null) {
+			tasks = fetch(spec.and(noDueDateAfter(after.id())), size + 1);
+		}
+		else {
+			tasks = fetch(spec.and(dueDateAfter(after)), size + 1);
+			// A due date range excludes tasks without a due date, so there is no trailing group to continue into
+			if (tasks.size() <= size && dueFrom == null && dueTo == null) {
+				tasks = new ArrayList<>(tasks);
+				tasks.addAll(fetch(spec.and(noDueDateAfter(null)), size + 1 - tasks.size()));
+			}
+		}
+		boolean hasNext = tasks.size() > size;
+		List<Task> page = hasNext ? tasks.subList(0, size) : tasks;
+		String nextCursor = hasNext
+				? new KeysetCursor(page.get(size - 1).getDueDate(), page.get(size - 1).getId()).encode()
+				: null;
+		return new CursorPage<>(page.stream().map(taskMapper::toResponse).toList(), nextCursor);
+	}
+
+	private List<Task> fetch(Specification<Task> spec, int limit) {
+		return taskRepository.findBy(spec, query -> query.sortBy(KEYSET_SORT).limit(limit).all());
+	}
+
+	private static Specification<Task> filter(UUID boardId, TaskStatus status, Instant dueFrom, Instant dueTo) {
+		return (root, query, cb) -> {
 			List<Predicate> predicates = new ArrayList<>();
 			predicates.add(cb.equal(root.get("board").get("id"), boardId));
 			if (status != null) {
@@ -43,7 +93,27 @@ public class TaskService {
 			}
 			return cb.and(predicates.toArray(Predicate[]::new));
 		};
-		return taskRepository.findAll(spec, pageable).map(taskMapper::toResponse);
+	}
+
+	/**
+	 * {@code (due_date, id) > (:sortKey, :id)}, written as {@code due_date >= :sortKey AND (due_date > :sortKey OR
+	 * id > :id)}: the leading bound becomes the index condition, and tasks without a due date never match.
+	 */
+	private static Specification<Task> dueDateAfter(KeysetCursor cursor) {
+		return (root, query, cb) -> cb.and(
+				cb.greaterThanOrEqualTo(root.get("dueDate"), cursor.sortKey()),
+				cb.or(
+						cb.greaterThan(root.get("dueDate"), cursor.sortKey()),
+						cb.greaterThan(root.get("id"), cursor.id())));
+	}
+
+	/**
+	 * The trailing group of tasks without a due date, after the given id, or from its start for {@code null}.
+	 */
+	private static Specification<Task> noDueDateAfter(UUID id) {
+		return (root, query, cb) -> id == null
+				? cb.isNull(root.get("dueDate"))
+				: cb.and(cb.isNull(root.get("dueDate")), cb.greaterThan(root.get("id"), id));
 	}
 
 	@Transactional(readOnly = true)
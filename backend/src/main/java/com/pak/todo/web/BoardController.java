@@ -17,21 +17,25 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.pak.todo.auth.AuthorizationService;
+import com.pak.todo.auth.BoardAccess;
 import com.pak.todo.command.DeleteBoardCommandHandler;
 import com.pak.todo.command.UpdateBoardCommandHandler;
 import com.pak.todo.model.dto.BoardCreateRequest;
 import com.pak.todo.model.dto.BoardResponse;
 import com.pak.todo.model.dto.BoardUpdateRequest;
-import com.pak.todo.model.entity.Board;
-import com.pak.todo.model.entity.User;
+import com.pak.todo.model.dto.CursorPage;
+import com.pak.todo.model.mapper.BoardMapper;
 import com.pak.todo.security.CurrentUserService;
 import com.pak.todo.service.BoardCreationService;
 import com.pak.todo.service.BoardService;
+import com.pak.todo.service.KeysetCursor;
 import com.pak.todo.web.command.BoardCommandFactory;
+import com.pak.todo.web.error.InvalidCursorException;
 import com.pak.todo.web.error.ResourceNotFoundException;
 
 import jakarta.validation.Valid;
@@ -43,9 +47,12 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class BoardController {
 
+	private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
 	private final BoardService boardService;
 	private final BoardCreationService boardCreationService;
 	private final BoardCommandFactory boardCommandFactory;
+	private final BoardMapper boardMapper;
 	private final UpdateBoardCommandHandler updateBoardCommandHandler;
 	private final DeleteBoardCommandHandler deleteBoardCommandHandler;
 	private final AuthorizationService authorizationService;
@@ -58,6 +65,21 @@ public class BoardController {
 		return boardService.findAll(pageable);
 	}
 
+	@Operation(summary = "List all boards by cursor",
+			description = "Keyset pagination ordered by (createdAt, id). "
+					+ "Pass an empty cursor for the first page, then the returned nextCursor.")
+	@ApiResponses({
+			@ApiResponse(responseCode = "200", description = "Page of boards and the cursor of the next page"),
+			@ApiResponse(responseCode = "400", description = "Invalid cursor")
+	})
+	@GetMapping(params = "cursor")
+	public CursorPage<BoardResponse> listByCursor(
+			@RequestParam String cursor,
+			@RequestParam(defaultValue = "20") int size
+	) {
+		return boardService.findAllAfter(parseCursor(cursor), Math.clamp(size, 1, MAX_CURSOR_PAGE_SIZE));
+	}
+
 	@Operation(summary = "Get a board by ID")
 	@ApiResponses({
 			@ApiResponse(responseCode = "200", description = "Board found"),
@@ -66,17 +88,12 @@ public class BoardController {
 	})
 	@GetMapping("/{boardId}")
 	public BoardResponse get(@PathVariable UUID boardId) {
-		Board board = boardService.getEntityById(boardId);
-		if (board == null) {
-			throw new ResourceNotFoundException("Board not found: " + boardId);
-		}
-
-		User currentUser = currentUserService.getCurrentUserOrThrow();
-		if (!authorizationService.canViewBoard(currentUser, board)) {
+		BoardAccess access = requireBoardAccess(boardId);
+		if (!access.canView()) {
 			throw new org.springframework.security.access.AccessDeniedException("Access denied to board " + boardId);
 		}
 
-		return boardService.findById(boardId);
+		return boardMapper.toResponse(access.board());
 	}
 
 	@Operation(summary = "Create a board")
@@ -99,13 +116,8 @@ public class BoardController {
 	})
 	@PutMapping("/{boardId}")
 	public BoardResponse update(@PathVariable UUID boardId, @Valid @RequestBody BoardUpdateRequest request) {
-		Board board = boardService.getEntityById(boardId);
-		if (board == null) {
-			throw new ResourceNotFoundException("Board not found: " + boardId);
-		}
-
-		User currentUser = currentUserService.getCurrentUserOrThrow();
-		if (!authorizationService.canEditBoard(currentUser, board)) {
+		BoardAccess access = requireBoardAccess(boardId);
+		if (!access.canEdit()) {
 			throw new org.springframework.security.access.AccessDeniedException("Access denied to board " + boardId);
 		}
 
@@ -124,13 +136,8 @@ public class BoardController {
 	})
 	@DeleteMapping("/{boardId}")
 	public ResponseEntity<Void> delete(@PathVariable UUID boardId) {
-		Board board = boardService.getEntityById(boardId);
-		if (board == null) {
-			throw new ResourceNotFoundException("Board not found: " + boardId);
-		}
-
-		User currentUser = currentUserService.getCurrentUserOrThrow();
-		if (!authorizationService.canDeleteBoard(currentUser, board)) {
+		BoardAccess access = requireBoardAccess(boardId);
+		if (!access.canDelete()) {
 			throw new org.springframework.security.access.AccessDeniedException("Access denied to board " + boardId);
 		}
 
@@ -140,4 +147,24 @@ public class BoardController {
 		}
 		return ResponseEntity.noContent().build();
 	}
+
+	private BoardAccess requireBoardAccess(UUID boardId) {
+		UUID userId = currentUserService.getCurrentUserId();
+		BoardAccess access = authorizationService.resolveBoardAccess(userId, boardId);
+		if (access == null) {
+			throw new ResourceNotFoundException("Board not found: " + boardId);
+		}
+		return access;
+	}
+
+	private KeysetCursor parseCursor(String cursor) {
+		if (cursor.isBlank()) {
+			return null;
+		}
+		try {
+			return KeysetCursor.decode(cursor);
+		} catch (IllegalArgumentException e) {
+			throw new InvalidCursorException("Invalid cursor");
+		}
+	}
 }
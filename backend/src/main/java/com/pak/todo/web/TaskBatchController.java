@@ -0,0 +1,61 @@
+package com.pak.todo.web;
+
+import java.util.UUID;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.pak.todo.auth.AuthorizationService;
+import com.pak.todo.auth.BoardAccess;
+import com.pak.todo.command.TaskBatchCommandHandler;
+import com.pak.todo.model.dto.TaskBatchRequest;
+import com.pak.todo.model.dto.TaskBatchResponse;
+import com.pak.todo.security.CurrentUserService;
+import com.pak.todo.web.command.TaskCommandFactory;
+import com.pak.todo.web.error.ResourceNotFoundException;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+@Tag(name = "Tasks", description = "Task CRUD scoped by board")
+@RestController
+@RequestMapping("/api/boards/{boardId}")
+@RequiredArgsConstructor
+public class TaskBatchController {
+
+	private final TaskCommandFactory taskCommandFactory;
+	private final TaskBatchCommandHandler taskBatchCommandHandler;
+	private final AuthorizationService authorizationService;
+	private final CurrentUserService currentUserService;
+
+	@Operation(summary = "Create, update and delete tasks in one transaction")
+	@ApiResponses({
+			@ApiResponse(responseCode = "200", description = "Per-operation results in request order"),
+			@ApiResponse(responseCode = "400", description = "Validation failed"),
+			@ApiResponse(responseCode = "403", description = "Access denied"),
+			@ApiResponse(responseCode = "404", description = "Board not found")
+	})
+	@PostMapping("/tasks:batch")
+	public TaskBatchResponse batch(
+			@PathVariable UUID boardId,
+			@Valid @RequestBody TaskBatchRequest request
+	) {
+		UUID userId = currentUserService.getCurrentUserId();
+		BoardAccess access = authorizationService.resolveBoardAccess(userId, boardId);
+		if (access == null) {
+			throw new ResourceNotFoundException("Board not found: " + boardId);
+		}
+		if (!access.canModifyTasks()) {
+			throw new org.springframework.security.access.AccessDeniedException("Access denied to board " + boardId);
+		}
+
+		return taskBatchCommandHandler.handle(taskCommandFactory.batch(boardId, request));
+	}
+}
@@ -24,19 +24,20 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.pak.todo.auth.AuthorizationService;
+import com.pak.todo.auth.BoardAccess;
 import com.pak.todo.command.CreateTaskCommandHandler;
 import com.pak.todo.command.DeleteTaskCommandHandler;
 import com.pak.todo.command.UpdateTaskCommandHandler;
+import com.pak.todo.model.dto.CursorPage;
 import com.pak.todo.model.dto.TaskCreateRequest;
 import com.pak.todo.model.dto.TaskResponse;
 import com.pak.todo.model.dto.TaskUpdateRequest;
-import com.pak.todo.model.entity.Board;
-import com.pak.todo.model.entity.User;
 import com.pak.todo.model.enums.TaskStatus;
 import com.pak.todo.web.command.TaskCommandFactory;
 import com.pak.todo.security.CurrentUserService;
-import com.pak.todo.service.BoardService;
+import com.pak.todo.service.KeysetCursor;
 import com.pak.todo.service.TaskService;
+import com.pak.todo.web.error.InvalidCursorException;
 import com.pak.todo.web.error.ResourceNotFoundException;
 
 import jakarta.validation.Valid;
@@ -48,12 +49,13 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class TaskController {
 
+	private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
 	private final TaskService taskService;
 	private final TaskCommandFactory taskCommandFactory;
 	private final CreateTaskCommandHandler createTaskCommandHandler;
 	private final UpdateTaskCommandHandler updateTaskCommandHandler;
 	private final DeleteTaskCommandHandler deleteTaskCommandHandler;
-	private final BoardService boardService;
 	private final AuthorizationService authorizationService;
 	private final CurrentUserService currentUserService;
 
@@ -71,17 +73,39 @@ public class TaskController {
 			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant dueTo,
 			@PageableDefault(size = 20, sort = "dueDate") Pageable pageable
 	) {
-		Board board = boardService.getEntityById(boardId);
-		if (board == null) {
-			throw new ResourceNotFoundException("Board not found: " + boardId);
+		BoardAccess access = requireBoardAccess(boardId);
+		if (!access.canView()) {
+			throw new org.springframework.security.access.AccessDeniedException("Access denied to board " + boardId);
 		}
 
-		User currentUser = currentUserService.getCurrentUserOrThrow();
-		if (!authorizationService.canViewBoard(currentUser, board)) {
+		return taskService.findByBoardId(boardId, status, dueFrom, dueTo, pageable);
+	}
+
+	@Operation(summary = "List tasks for a board by cursor",
+			description = "Keyset pagination ordered by (dueDate, id), tasks without due date last. "
+					+ "Pass an empty cursor for the first page, then the returned nextCursor.")
+	@ApiResponses({
+			@ApiResponse(responseCode = "200", description = "Page of tasks and the cursor of the next page"),
+			@ApiResponse(responseCode = "400", description = "Invalid cursor"),
+			@ApiResponse(responseCode = "403", description = "Access denied"),
+			@ApiResponse(responseCode = "404", description = "Board not found")
+	})
+	@GetMapping(params = "cursor")
+	public CursorPage<TaskResponse> listByCursor(
+			@PathVariable UUID boardId,
+			@RequestParam String cursor,
+			@RequestParam(defaultValue = "20") int size,
+			@RequestParam(required = false) TaskStatus status,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant dueFrom,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant dueTo
+	) {
+		BoardAccess access = requireBoardAccess(boardId);
+		if (!access.canView()) {
 			throw new org.springframework.security.access.AccessDeniedException("Access denied to board " + boardId);
 		}
 
-		return taskService.findByBoardId(boardId, status, dueFrom, dueTo, pageable);
+		return taskService.findByBoardIdAfter(boardId, status, dueFrom, dueTo, parseCursor(cursor),
+				Math.clamp(size, 1, MAX_CURSOR_PAGE_SIZE));
 	}
 
 	@Operation(summary = "Get a task by ID")
@@ -92,13 +116,8 @@ public class TaskController {
 	})
 	@GetMapping("/{taskId}")
 	public TaskResponse get(@PathVariable UUID boardId, @PathVariable UUID taskId) {
-		Board board = boardService.getEntityById(boardId);
-		if (board == null) {
-			throw new ResourceNotFoundException("Board not found: " + boardId);
-		}
-
-		User currentUser = currentUserService.getCurrentUserOrThrow();
-		if (!authorizationService.canViewBoard(currentUser, board)) {
+		BoardAccess access = requireBoardAccess(boardId);
+		if (!access.canView()) {
 			throw new org.springframework.security.access.AccessDeniedException("Access denied to board " + boardId);
 		}
 
@@ -121,13 +140,8 @@ public class TaskController {
 			@PathVariable UUID boardId,
 			@Valid @RequestBody TaskCreateRequest request
 	) {
-		Board board = boardService.getEntityById(boardId);
-		if (board == null) {
-			throw new ResourceNotFoundException("Board not found: " + boardId);
-		}
-
-		User currentUser = currentUserService.getCurrentUserOrThrow();
-		if (!authorizationService.canModifyTasks(currentUser, board)) {
+		BoardAccess access = requireBoardAccess(boardId);
+		if (!access.canModifyTasks()) {
 			throw new org.springframework.security.access.AccessDeniedException("Access denied to board " + boardId);
 		}
 
@@ -151,13 +165,8 @@ public class TaskController {
 			@PathVariable UUID taskId,
 			@Valid @RequestBody TaskUpdateRequest request
 	) {
-		Board board = boardService.getEntityById(boardId);
-		if (board == null) {
-			throw new ResourceNotFoundException("Board not found: " + boardId);
-		}
-
-		User currentUser = currentUserService.getCurrentUserOrThrow();
-		if (!authorizationService.canModifyTasks(currentUser, board)) {
+		BoardAccess access = requireBoardAccess(boardId);
+		if (!access.canModifyTasks()) {
 			throw new org.springframework.security.access.AccessDeniedException("Access denied to board " + boardId);
 		}
 
@@ -176,13 +185,8 @@ public class TaskController {
 	})
 	@DeleteMapping("/{taskId}")
 	public ResponseEntity<Void> delete(@PathVariable UUID boardId, @PathVariable UUID taskId) {
-		Board board = boardService.getEntityById(boardId);
-		if (board == null) {
-			throw new ResourceNotFoundException("Board not found: " + boardId);
-		}
-
-		User currentUser = currentUserService.getCurrentUserOrThrow();
-		if (!authorizationService.canModifyTasks(currentUser, board)) {
+		BoardAccess access = requireBoardAccess(boardId);
+		if (!access.canModifyTasks()) {
 			throw new org.springframework.security.access.AccessDeniedException("Access denied to board " + boardId);
 		}
 
@@ -192,4 +196,24 @@ public class TaskController {
 		}
 		return ResponseEntity.noContent().build();
 	}
+
+	private BoardAccess requireBoardAccess(UUID boardId) {
+		UUID userId = currentUserService.getCurrentUserId();
+		BoardAccess access = authorizationService.resolveBoardAccess(userId, boardId);
+		if (access == null) {
+			throw new ResourceNotFoundException("Board not found: " + boardId);
+		}
+		return access;
+	}
+
+	private KeysetCursor parseCursor(String cursor) {
+		if (cursor.isBlank()) {
+			return null;
+		}
+		try {
+			return KeysetCursor.decode(cursor);
+		} catch (IllegalArgumentException e) {
+			throw new InvalidCursorException("Invalid cursor");
+		}
+	}
 }
@@ -1,13 +1,17 @@
 package com.pak.todo.web.command;
 
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
 import org.springframework.stereotype.Component;
 
 import com.pak.todo.domain.command.CreateTaskCommand;
+import com.pak.todo.domain.command.TaskBatchCommand;
 import com.pak.todo.domain.command.UpdateTaskCommand;
+import com.pak.todo.model.dto.TaskBatchOperation;
+import com.pak.todo.model.dto.TaskBatchRequest;
 import com.pak.todo.model.dto.TaskCreateRequest;
 import com.pak.todo.model.dto.TaskUpdateRequest;
 import com.pak.todo.model.enums.TaskStatus;
@@ -50,4 +54,32 @@ public class TaskCommandFactory {
 				.payload(payload)
 				.build();
 	}
+
+	public TaskBatchCommand batch(UUID boardId, TaskBatchRequest request) {
+		List<TaskBatchCommand.Operation> operations = request.getOperations().stream()
+				.map(operation -> batchOperation(boardId, operation))
+				.toList();
+		return TaskBatchCommand.builder()
+				.boardId(boardId)
+				.operations(operations)
+				.build();
+	}
+
+	private TaskBatchCommand.Operation batchOperation(UUID boardId, TaskBatchOperation operation) {
+		return switch (operation.getType()) {
+			case CREATE -> new TaskBatchCommand.Operation(operation.getType(), createTask(boardId, TaskCreateRequest.builder()
+					.name(operation.getName())
+					.description(operation.getDescription())
+					.dueDate(operation.getDueDate())
+					.status(operation.getStatus())
+					.build()), null, null);
+			case UPDATE -> new TaskBatchCommand.Operation(operation.getType(), null, updateTask(boardId, operation.getTaskId(), TaskUpdateRequest.builder()
+					.name(operation.getName())
+					.description(operation.getDescription())
+					.dueDate(operation.getDueDate())
+					.status(operation.getStatus())
+					.build()), operation.getTaskId());
+			case DELETE -> new TaskBatchCommand.Operation(operation.getType(), null, null, operation.getTaskId());
+		};
+	}
 }
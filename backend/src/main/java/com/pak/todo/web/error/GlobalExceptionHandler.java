@@ -3,6 +3,7 @@ package com.pak.todo.web.error;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -35,6 +36,27 @@ public class GlobalExceptionHandler {
 		return ResponseEntity.status(HttpStatus.NOT_FOUND).body(body);
 	}
 
+	@ExceptionHandler(InvalidCursorException.class)
+	public ResponseEntity<ErrorResponse> handleInvalidCursor(InvalidCursorException ex) {
+		ErrorResponse body = ErrorResponse.builder()
+				.code("INVALID_CURSOR")
+				.message(ex.getMessage())
+				.build();
+		return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
+	}
+
+	/**
+	 * The request carried no usable authentication, e.g. a valid token whose user has since been deleted.
+	 */
+	@ExceptionHandler(AuthenticationException.class)
+	public ResponseEntity<ErrorResponse> handleUnauthenticated(AuthenticationException ex) {
+		ErrorResponse body = ErrorResponse.builder()
+				.code("UNAUTHORIZED")
+				.message("Authentication required")
+				.build();
+		return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(body);
+	}
+
 	@ExceptionHandler(AccessDeniedException.class)
 	public ResponseEntity<ErrorResponse> handleAccessDenied(AccessDeniedException ex) {
 		ErrorResponse body = ErrorResponse.builder()
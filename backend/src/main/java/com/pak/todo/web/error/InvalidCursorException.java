@@ -0,0 +1,8 @@
+package com.pak.todo.web.error;
+
+public class InvalidCursorException extends RuntimeException {
+
+	public InvalidCursorException(String message) {
+		super(message);
+	}
+}
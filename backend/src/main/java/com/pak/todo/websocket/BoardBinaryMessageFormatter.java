@@ -0,0 +1,232 @@
+package com.pak.todo.websocket;
+
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.pak.todo.model.enums.TaskStatus;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Builds {@code board-bin} frames: the {@code board-v2} snapshot and deltas in a compact binary encoding, one binary
+ * WebSocket message per frame.
+ *
+ * <pre>
+ * frame    = kind:u8 (0 delta, 1 snapshot, 2 batch) body
+ * delta    = change:u8 (0 create, 1 edit, 2 delete) resource:u8 (0 task, 1 board) record
+ * batch    = count:varint (kind:u8 delta)*   several deltas of one board, in order
+ * snapshot = flags:u8 (bit 0 complete, bit 1 board present) [board record] task-count:varint task-record*
+ * record   = id:16 bytes version:varint (version + 1, 0 when unknown) field* 0x00
+ * field    = tag:u8 value, or tag | 0x80 without a value for a cleared field
+ *            1 name:string  2 description:string  3 status:u8 (TaskStatus ordinal)
+ *            4 dueDate:time  5 createdAt:time  6 updatedAt:time
+ * string   = length:varint UTF-8 bytes
+ * time     = zigzag varint of epoch milliseconds
+ * </pre>
+ *
+ * Varints are unsigned LEB128 and UUIDs are written most significant byte first. Payload fields without a tag are left
+ * out. Clients cannot skip a tag they do not know, so adding one requires a new subprotocol name.
+ */
+@Component
+@Slf4j
+public class BoardBinaryMessageFormatter {
+
+	static final int KIND_DELTA = 0;
+	static final int KIND_SNAPSHOT = 1;
+	static final int KIND_BATCH = 2;
+
+	static final int CHANGE_CREATE = 0;
+	static final int CHANGE_EDIT = 1;
+	static final int CHANGE_DELETE = 2;
+
+	static final int RESOURCE_TASK = 0;
+	static final int RESOURCE_BOARD = 1;
+
+	static final int SNAPSHOT_COMPLETE = 0x01;
+	static final int SNAPSHOT_HAS_BOARD = 0x02;
+
+	static final int END = 0;
+	static final int TAG_NAME = 1;
+	static final int TAG_DESCRIPTION = 2;
+	static final int TAG_STATUS = 3;
+	static final int TAG_DUE_DATE = 4;
+	static final int TAG_CREATED_AT = 5;
+	static final int TAG_UPDATED_AT = 6;
+	static final int CLEARED = 0x80;
+
+	private final ThreadLocal<FrameBuffer> buffer = ThreadLocal.withInitial(FrameBuffer::new);
+
+	BinaryMessage encode(BoardDelta delta) {
+		FrameBuffer frame = buffer.get().reset();
+		writeDelta(frame, delta);
+		return new BinaryMessage(frame.toByteArray());
+	}
+
+	/**
+	 * Packs several deltas into one batch frame, in order.
+	 */
+	BinaryMessage encodeBatch(List<BoardDelta> deltas) {
+		FrameBuffer frame = buffer.get().reset().writeByte(KIND_BATCH).writeVarint(deltas.size());
+		for (BoardDelta delta : deltas) {
+			writeDelta(frame, delta);
+		}
+		return new BinaryMessage(frame.toByteArray());
+	}
+
+	/**
+	 * Encodes the board and its tasks as snapshot frames of at most {@code chunkSize} tasks each; only the first one
+	 * carries the board.
+	 */
+	List<BinaryMessage> encodeSnapshot(BoardSnapshotRow board, List<TaskSnapshotRow> tasks, int chunkSize) {
+		int size = Math.max(1, chunkSize);
+		List<BinaryMessage> frames = new ArrayList<>(tasks.size() / size + 1);
+		int from = 0;
+		do {
+			int to = Math.min(tasks.size(), from + size);
+			int flags = (to == tasks.size() ? SNAPSHOT_COMPLETE : 0) | (from == 0 ? SNAPSHOT_HAS_BOARD : 0);
+			FrameBuffer frame = buffer.get().reset().writeByte(KIND_SNAPSHOT).writeByte(flags);
+			if (from == 0) {
+				writeRecordStart(frame, board.id(), board.version());
+				writeString(frame, TAG_NAME, board.name());
+				writeString(frame, TAG_DESCRIPTION, board.description());
+				writeTime(frame, TAG_CREATED_AT, board.createdAt());
+				writeTime(frame, TAG_UPDATED_AT, board.updatedAt());
+				frame.writeByte(END);
+			}
+			frame.writeVarint(to - from);
+			for (TaskSnapshotRow task : tasks.subList(from, to)) {
+				writeRecordStart(frame, task.id(), task.version());
+				writeString(frame, TAG_NAME, task.name());
+				writeString(frame, TAG_DESCRIPTION, task.description());
+				if (task.status() != null) {
+					frame.writeByte(TAG_STATUS).writeByte(task.status().ordinal());
+				}
+				writeTime(frame, TAG_DUE_DATE, task.dueDate());
+				writeTime(frame, TAG_CREATED_AT, task.createdAt());
+				writeTime(frame, TAG_UPDATED_AT, task.updatedAt());
+				frame.writeByte(END);
+			}
+			frames.add(new BinaryMessage(frame.toByteArray()));
+			from = to;
+		}
+		while (from < tasks.size());
+		return frames;
+	}
+
+	private static void writeDelta(FrameBuffer frame, BoardDelta delta) {
+		frame.writeByte(KIND_DELTA)
+				.writeByte(change(delta.type()))
+				.writeByte("task".equals(delta.resource()) ? RESOURCE_TASK : RESOURCE_BOARD)
+				.writeUuid(UUID.fromString(delta.id()))
+				.writeVarint(delta.version() + 1);
+		if (!delta.isDelete()) {
+			for (Map.Entry<String, JsonNode> field : delta.fields().properties()) {
+				writeField(frame, field.getKey(), field.getValue());
+			}
+		}
+		frame.writeByte(END);
+	}
+
+	private static void writeRecordStart(FrameBuffer frame, UUID id, Long version) {
+		frame.writeUuid(id).writeVarint(version != null ? version + 1 : 1);
+	}
+
+	/**
+	 * Writes a snapshot field; absent values are simply left out, since a snapshot record starts from nothing.
+	 */
+	private static void writeString(FrameBuffer frame, int tag, String value) {
+		if (value != null) {
+			frame.writeByte(tag).writeLengthPrefixedUtf8(value);
+		}
+	}
+
+	private static void writeTime(FrameBuffer frame, int tag, Instant value) {
+		if (value != null) {
+			frame.writeByte(tag).writeZigZag(value.toEpochMilli());
+		}
+	}
+
+	/**
+	 * Writes a delta field from its JSON payload value; {@code null} becomes a cleared field.
+	 */
+	private static void writeField(FrameBuffer frame, String name, JsonNode value) {
+		int tag = tag(name);
+		if (tag == END) {
+			return;
+		}
+		if (value == null || value.isNull()) {
+			frame.writeByte(tag | CLEARED);
+			return;
+		}
+		switch (tag) {
+			case TAG_NAME, TAG_DESCRIPTION -> frame.writeByte(tag).writeLengthPrefixedUtf8(value.asText());
+			case TAG_STATUS -> {
+				TaskStatus status = status(value.asText());
+				if (status != null) {
+					frame.writeByte(tag).writeByte(status.ordinal());
+				}
+			}
+			default -> {
+				Long millis = epochMillis(value);
+				if (millis != null) {
+					frame.writeByte(tag).writeZigZag(millis);
+				}
+			}
+		}
+	}
+
+	private static int tag(String name) {
+		return switch (name) {
+			case "name" -> TAG_NAME;
+			case "description" -> TAG_DESCRIPTION;
+			case "status" -> TAG_STATUS;
+			case "dueDate" -> TAG_DUE_DATE;
+			case "createdAt" -> TAG_CREATED_AT;
+			case "updatedAt" -> TAG_UPDATED_AT;
+			default -> END;
+		};
+	}
+
+	private static TaskStatus status(String name) {
+		try {
+			return TaskStatus.valueOf(name);
+		}
+		catch (IllegalArgumentException e) {
+			log.debug("Unknown task status {}, leaving it out of the board-bin delta", name);
+			return null;
+		}
+	}
+
+	/**
+	 * Payload timestamps are ISO-8601 text, or decimal epoch seconds when Jackson writes dates as timestamps.
+	 */
+	private static Long epochMillis(JsonNode value) {
+		if (value.isNumber()) {
+			return value.decimalValue().movePointRight(3).setScale(0, RoundingMode.FLOOR).longValue();
+		}
+		try {
+			return Instant.parse(value.asText()).toEpochMilli();
+		}
+		catch (DateTimeParseException e) {
+			log.debug("Unreadable timestamp {}, leaving it out of the board-bin delta", value.asText());
+			return null;
+		}
+	}
+
+	private static int change(String type) {
+		return switch (type) {
+			case "create" -> CHANGE_CREATE;
+			case BoardDelta.DELETE -> CHANGE_DELETE;
+			default -> CHANGE_EDIT;
+		};
+	}
+}
@@ -0,0 +1,39 @@
+package com.pak.todo.websocket;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * A board-v2 change of one task or board: the fields it changed and the entity version it produced
+ * ({@link #UNKNOWN_VERSION} for events written before versions were recorded). Deleted entities carry no fields.
+ */
+record BoardDelta(String type, String resource, String id, long version, ObjectNode fields) {
+
+	static final long UNKNOWN_VERSION = -1;
+
+	static final String DELETE = "delete";
+
+	/**
+	 * Identifies the entity, so the deltas of one entity within a coalescing window can be merged.
+	 */
+	String key() {
+		return resource + ':' + id;
+	}
+
+	boolean isDelete() {
+		return DELETE.equals(type);
+	}
+
+	/**
+	 * The combined change of this delta followed by {@code later}. A delete replaces everything before it; otherwise
+	 * the fields are merged with the later values winning, under the earlier type, so a create followed by edits is
+	 * still sent as a create.
+	 */
+	BoardDelta merge(BoardDelta later) {
+		if (later.isDelete()) {
+			return later;
+		}
+		ObjectNode merged = fields.deepCopy();
+		merged.setAll(later.fields);
+		return new BoardDelta(type, resource, id, Math.max(version, later.version), merged);
+	}
+}
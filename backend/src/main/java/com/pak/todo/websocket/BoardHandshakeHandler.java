@@ -0,0 +1,56 @@
+package com.pak.todo.websocket;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.web.socket.WebSocketExtension;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
+
+/**
+ * Handshake of the board endpoints: negotiates the endpoint's {@link BoardProtocol}s and, when enabled, the
+ * {@code permessage-deflate} extension (RFC 7692). The container compresses and inflates frames once the extension
+ * is accepted; any other extension a client offers is declined.
+ */
+public class BoardHandshakeHandler extends DefaultHandshakeHandler {
+
+	static final String PERMESSAGE_DEFLATE = "permessage-deflate";
+
+	private final boolean permessageDeflate;
+
+	/**
+	 * Handshake of the single-board endpoint, which offers {@code board-v2}, {@code board-bin} and {@code board-v1}.
+	 */
+	public BoardHandshakeHandler(boolean permessageDeflate) {
+		this(permessageDeflate, BoardProtocol.V2, BoardProtocol.BINARY, BoardProtocol.V1);
+	}
+
+	public BoardHandshakeHandler(boolean permessageDeflate, BoardProtocol... protocols) {
+		this.permessageDeflate = permessageDeflate;
+		// The first protocol the client lists that is supported here is selected
+		String[] names = new String[protocols.length];
+		for (int i = 0; i < protocols.length; i++) {
+			names[i] = protocols[i].protocolName();
+		}
+		setSupportedProtocols(names);
+	}
+
+	/**
+	 * Keeps the client's {@code permessage-deflate} offers, in its order of preference, if the container supports the
+	 * extension; the container picks the first offer whose parameters it accepts.
+	 */
+	@Override
+	protected List<WebSocketExtension> filterRequestedExtensions(ServerHttpRequest request,
+			List<WebSocketExtension> requestedExtensions, List<WebSocketExtension> supportedExtensions) {
+		List<WebSocketExtension> accepted = new ArrayList<>(1);
+		if (!permessageDeflate) {
+			return accepted;
+		}
+		for (WebSocketExtension extension : requestedExtensions) {
+			if (PERMESSAGE_DEFLATE.equalsIgnoreCase(extension.getName()) && supportedExtensions.contains(extension)) {
+				accepted.add(extension);
+			}
+		}
+		return accepted;
+	}
+}
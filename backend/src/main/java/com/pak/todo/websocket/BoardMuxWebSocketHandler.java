@@ -0,0 +1,135 @@
+package com.pak.todo.websocket;
+
+import java.io.IOException;
+import java.util.UUID;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PongMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pak.todo.auth.AuthorizationService;
+import com.pak.todo.model.entity.Board;
+import com.pak.todo.security.AuthenticatedUser;
+import com.pak.todo.service.BoardService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Multiplexed board endpoint ({@code board-mux}): one authenticated connection follows any number of boards. The
+ * client sends {@code {"type":"subscribe","boardId":"..."}}, answered with the board's snapshot and then its deltas,
+ * and {@code {"type":"unsubscribe","boardId":"..."}}, answered with an {@code unsubscribed} frame. Every subscription
+ * is checked against {@link AuthorizationService#canViewBoard}; a rejected request is answered with an {@code error}
+ * frame whose {@code reason} is {@code bad-request}, {@code not-found} or {@code forbidden}, and the connection stays
+ * open.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BoardMuxWebSocketHandler extends TextWebSocketHandler {
+
+	static final String BAD_REQUEST = "bad-request";
+	static final String NOT_FOUND = "not-found";
+	static final String FORBIDDEN = "forbidden";
+
+	private final WebSocketBroadcaster webSocketBroadcaster;
+	private final BoardService boardService;
+	private final AuthorizationService authorizationService;
+	private final BoardSnapshotReader boardSnapshotReader;
+	private final BoardV2MessageFormatter formatter;
+	private final ObjectMapper objectMapper;
+
+	@Override
+	public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+		if (!(session.getAttributes().get("user") instanceof AuthenticatedUser)) {
+			log.warn("Multiplexed WebSocket connection missing authenticated user");
+			session.close(CloseStatus.NOT_ACCEPTABLE.withReason("Unauthorized"));
+			return;
+		}
+		webSocketBroadcaster.connect(session);
+		log.info("Multiplexed WebSocket session {} connected", session.getId());
+	}
+
+	@Override
+	protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
+		JsonNode request;
+		try {
+			request = objectMapper.readTree(message.getPayload());
+		}
+		catch (IOException e) {
+			log.debug("Unreadable request on WebSocket session {}", session.getId(), e);
+			webSocketBroadcaster.reply(session, formatter.encodeError(null, BAD_REQUEST));
+			return;
+		}
+		UUID boardId = parseBoardId(request.path("boardId").asText(null));
+		String type = request.path("type").asText("");
+		if (boardId == null) {
+			webSocketBroadcaster.reply(session, formatter.encodeError(null, BAD_REQUEST));
+			return;
+		}
+		switch (type) {
+			case "subscribe" -> subscribe(session, boardId);
+			case "unsubscribe" -> {
+				webSocketBroadcaster.unsubscribe(boardId, session);
+				webSocketBroadcaster.reply(session, formatter.encodeUnsubscribed(boardId));
+			}
+			default -> webSocketBroadcaster.reply(session, formatter.encodeError(boardId, BAD_REQUEST));
+		}
+	}
+
+	private void subscribe(WebSocketSession session, UUID boardId) {
+		AuthenticatedUser user = (AuthenticatedUser) session.getAttributes().get("user");
+		Board board = boardService.getEntityById(boardId);
+		if (board == null) {
+			webSocketBroadcaster.reply(session, formatter.encodeError(boardId, NOT_FOUND));
+			return;
+		}
+		if (!authorizationService.canViewBoard(user.id(), boardId)) {
+			log.warn("WebSocket subscription forbidden for user {} on board {}", user.id(), boardId);
+			webSocketBroadcaster.reply(session, formatter.encodeError(boardId, FORBIDDEN));
+			return;
+		}
+		if (!webSocketBroadcaster.subscribe(boardId, session,
+				() -> boardSnapshotReader.read(boardId, BoardProtocol.MUX))) {
+			webSocketBroadcaster.reply(session, formatter.encodeError(boardId, NOT_FOUND));
+			return;
+		}
+		log.debug("WebSocket session {} subscribed to board {}", session.getId(), boardId);
+	}
+
+	@Override
+	protected void handlePongMessage(WebSocketSession session, PongMessage message) throws Exception {
+		webSocketBroadcaster.pongReceived(session);
+	}
+
+	@Override
+	public void afterConnectionClosed(WebSocketSession session, CloseStatus status) throws Exception {
+		webSocketBroadcaster.unregister(session);
+		log.info("Multiplexed WebSocket session {} closed with status {}", session.getId(), status);
+	}
+
+	@Override
+	public void handleTransportError(WebSocketSession session, Throwable exception) throws Exception {
+		log.warn("WebSocket transport error for session {}", session != null ? session.getId() : "unknown", exception);
+		if (session != null) {
+			webSocketBroadcaster.unregister(session);
+		}
+	}
+
+	private static UUID parseBoardId(String boardId) {
+		if (boardId == null) {
+			return null;
+		}
+		try {
+			return UUID.fromString(boardId);
+		}
+		catch (IllegalArgumentException ex) {
+			return null;
+		}
+	}
+}
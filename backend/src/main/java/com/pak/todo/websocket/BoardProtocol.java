@@ -0,0 +1,59 @@
+package com.pak.todo.websocket;
+
+/**
+ * WebSocket subprotocols of the board endpoint, negotiated through {@code Sec-WebSocket-Protocol}.
+ */
+public enum BoardProtocol {
+
+	/**
+	 * One {@code key=value} text frame per event with a single field; see {@link OutboxMessageFormatter}.
+	 */
+	V1("board-v1"),
+
+	/**
+	 * A JSON snapshot of the board on subscribe, then JSON deltas with every changed field and the entity version;
+	 * see {@link BoardV2MessageFormatter}.
+	 */
+	V2("board-v2"),
+
+	/**
+	 * The {@link #V2} snapshot and deltas as binary frames with UUIDs, enums and timestamps in compact form; see
+	 * {@link BoardBinaryMessageFormatter}.
+	 */
+	BINARY("board-bin"),
+
+	/**
+	 * The {@link #V2} frames for any number of boards over one connection, each tagged with its {@code boardId};
+	 * boards are subscribed and unsubscribed in-band. Only offered on the multiplexed endpoint.
+	 */
+	MUX("board-mux");
+
+	private final String protocolName;
+
+	BoardProtocol(String protocolName) {
+		this.protocolName = protocolName;
+	}
+
+	public String protocolName() {
+		return protocolName;
+	}
+
+	/**
+	 * Whether sessions get a snapshot on subscribe and then one delta per change, rather than single-field frames.
+	 */
+	public boolean sendsDeltas() {
+		return this != V1;
+	}
+
+	/**
+	 * @return the protocol accepted during the handshake; {@link #V1} when none was negotiated
+	 */
+	public static BoardProtocol of(String acceptedProtocol) {
+		for (BoardProtocol protocol : values()) {
+			if (protocol.protocolName.equals(acceptedProtocol)) {
+				return protocol;
+			}
+		}
+		return V1;
+	}
+}
@@ -0,0 +1,91 @@
+package com.pak.todo.websocket;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.web.socket.TextMessage;
+
+/**
+ * Sequence counter and ring buffer of the most recent frames of one board on this instance. Sequence numbers start at
+ * 1 and grow by one per event, so the frame of sequence {@code n} sits at {@code n % capacity}. A buffer is
+ * identified by a random stream id: sequence numbers are only comparable within one stream, and a client resuming
+ * against another instance, or after the buffer was evicted, presents an unknown stream id and reloads instead.
+ * <p>
+ * Not thread-safe; {@link WebSocketBroadcaster} guards each buffer with its own monitor, which also orders sequence
+ * assignment against session registration.
+ */
+final class BoardReplayBuffer {
+
+	private final String streamId;
+	private final TextMessage[] frames;
+	private long lastSeq;
+	private int sessions;
+	private long idleSinceNanos;
+	private boolean retired;
+
+	BoardReplayBuffer(String streamId, int capacity) {
+		this.streamId = streamId;
+		this.frames = new TextMessage[capacity];
+	}
+
+	String streamId() {
+		return streamId;
+	}
+
+	long lastSeq() {
+		return lastSeq;
+	}
+
+	long nextSeq() {
+		return lastSeq + 1;
+	}
+
+	/**
+	 * Stores the frame of {@link #nextSeq()} and advances the sequence.
+	 */
+	void append(TextMessage frame) {
+		lastSeq++;
+		frames[(int) (lastSeq % frames.length)] = frame;
+	}
+
+	/**
+	 * @return the frames after {@code seq} in order, or {@code null} when some of them have already been overwritten
+	 *         or {@code seq} is ahead of this stream
+	 */
+	List<TextMessage> since(long seq) {
+		if (seq > lastSeq || seq < 0 || lastSeq - seq > frames.length) {
+			return null;
+		}
+		List<TextMessage> replay = new ArrayList<>((int) (lastSeq - seq));
+		for (long s = seq + 1; s <= lastSeq; s++) {
+			replay.add(frames[(int) (s % frames.length)]);
+		}
+		return replay;
+	}
+
+	void sessionOpened() {
+		sessions++;
+	}
+
+	void sessionClosed(long nowNanos) {
+		if (--sessions == 0) {
+			idleSinceNanos = nowNanos;
+		}
+	}
+
+	/**
+	 * Marks the buffer evicted when no session has used it for {@code retentionNanos}.
+	 *
+	 * @return whether the buffer was retired
+	 */
+	boolean retireIfIdle(long nowNanos, long retentionNanos) {
+		if (sessions == 0 && nowNanos - idleSinceNanos >= retentionNanos) {
+			retired = true;
+		}
+		return retired;
+	}
+
+	boolean isRetired() {
+		return retired;
+	}
+}
@@ -0,0 +1,113 @@
+package com.pak.todo.websocket;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * Send queues of each board, held as an immutable array per board. Registering or unregistering replaces the array
+ * of its board with a modified copy inside {@link ConcurrentHashMap#compute}, so changes to one board are atomic:
+ * a board's entry is removed in the same step that removes its last session, and a concurrent registration either
+ * comes before (and keeps the entry) or after (and creates a new one). Readers get the current array with a single
+ * lock-free lookup and iterate it by index, without allocating; an array, once published, never changes.
+ * <p>
+ * Membership changes copy the board's array, which is cheap next to the handshake that precedes them; broadcasts are
+ * far more frequent than either.
+ */
+final class BoardSessionRegistry {
+
+	static final SessionSendQueue[] EMPTY = new SessionSendQueue[0];
+
+	private final Map<UUID, SessionSendQueue[]> queuesByBoard = new ConcurrentHashMap<>();
+	private final AtomicInteger size = new AtomicInteger();
+
+	/**
+	 * Adds the queue to the board, replacing a queue of the same session.
+	 */
+	void add(UUID boardId, SessionSendQueue queue) {
+		String sessionId = queue.session().getId();
+		queuesByBoard.compute(boardId, (id, queues) -> {
+			if (queues == null) {
+				size.incrementAndGet();
+				return new SessionSendQueue[] { queue };
+			}
+			int index = indexOf(queues, sessionId);
+			if (index >= 0) {
+				SessionSendQueue[] replaced = queues.clone();
+				replaced[index] = queue;
+				return replaced;
+			}
+			size.incrementAndGet();
+			SessionSendQueue[] grown = Arrays.copyOf(queues, queues.length + 1);
+			grown[queues.length] = queue;
+			return grown;
+		});
+	}
+
+	/**
+	 * Removes the session's queue from the board, and the board once it has no session left.
+	 *
+	 * @return whether the session was registered for the board
+	 */
+	boolean remove(UUID boardId, String sessionId) {
+		boolean[] removed = new boolean[1];
+		queuesByBoard.computeIfPresent(boardId, (id, queues) -> {
+			int index = indexOf(queues, sessionId);
+			if (index < 0) {
+				return queues;
+			}
+			removed[0] = true;
+			size.decrementAndGet();
+			if (queues.length == 1) {
+				return null;
+			}
+			SessionSendQueue[] shrunk = new SessionSendQueue[queues.length - 1];
+			System.arraycopy(queues, 0, shrunk, 0, index);
+			System.arraycopy(queues, index + 1, shrunk, index, queues.length - index - 1);
+			return shrunk;
+		});
+		return removed[0];
+	}
+
+	/**
+	 * @return the board's queues at the time of the call, or {@link #EMPTY}; the array must not be modified
+	 */
+	SessionSendQueue[] queues(UUID boardId) {
+		SessionSendQueue[] queues = queuesByBoard.get(boardId);
+		return queues != null ? queues : EMPTY;
+	}
+
+	/**
+	 * Total number of registered sessions.
+	 */
+	int size() {
+		return size.get();
+	}
+
+	int boards() {
+		return queuesByBoard.size();
+	}
+
+	Iterable<SessionSendQueue[]> allQueues() {
+		return queuesByBoard.values();
+	}
+
+	/**
+	 * Passes each board with its current queues; boards changing during the walk may or may not be seen.
+	 */
+	void forEach(BiConsumer<UUID, SessionSendQueue[]> action) {
+		queuesByBoard.forEach(action);
+	}
+
+	private static int indexOf(SessionSendQueue[] queues, String sessionId) {
+		for (int i = 0; i < queues.length; i++) {
+			if (queues[i].session().getId().equals(sessionId)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+}
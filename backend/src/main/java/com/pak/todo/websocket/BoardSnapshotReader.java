@@ -0,0 +1,49 @@
+package com.pak.todo.websocket;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.socket.WebSocketMessage;
+
+import com.pak.todo.repository.BoardRepository;
+import com.pak.todo.repository.TaskRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Reads the current state of a board for a {@code board-v2}, {@code board-bin} or {@code board-mux} subscriber and
+ * encodes it as snapshot frames of that protocol.
+ */
+@Component
+@RequiredArgsConstructor
+public class BoardSnapshotReader {
+
+	private final BoardRepository boardRepository;
+	private final TaskRepository taskRepository;
+	private final BoardV2MessageFormatter formatter;
+	private final BoardBinaryMessageFormatter binaryFormatter;
+	private final WebSocketBroadcastProperties properties;
+
+	/**
+	 * Reads the board and its tasks as projections in one repeatable-read transaction, so both come from the same
+	 * database snapshot and no entity is loaded.
+	 *
+	 * @return the snapshot frames in order, or {@code null} when the board no longer exists
+	 */
+	@Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+	public List<? extends WebSocketMessage<?>> read(UUID boardId, BoardProtocol protocol) {
+		BoardSnapshotRow board = boardRepository.findSnapshotRow(boardId).orElse(null);
+		if (board == null) {
+			return null;
+		}
+		List<TaskSnapshotRow> tasks = taskRepository.findSnapshotRows(boardId);
+		return switch (protocol) {
+			case BINARY -> binaryFormatter.encodeSnapshot(board, tasks, properties.getSnapshotChunkSize());
+			case MUX -> formatter.encodeSnapshot(boardId, board, tasks, properties.getSnapshotChunkSize());
+			default -> formatter.encodeSnapshot(board, tasks, properties.getSnapshotChunkSize());
+		};
+	}
+}
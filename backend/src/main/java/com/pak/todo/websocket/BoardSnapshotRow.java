@@ -0,0 +1,18 @@
+package com.pak.todo.websocket;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import com.pak.todo.model.entity.Board;
+
+/**
+ * The columns of a board that a snapshot frame carries, read by a constructor query instead of loading the entity.
+ */
+public record BoardSnapshotRow(UUID id, Long version, String name, String description, Instant createdAt,
+		Instant updatedAt) {
+
+	public static BoardSnapshotRow of(Board board) {
+		return new BoardSnapshotRow(board.getId(), board.getVersion(), board.getName(), board.getDescription(),
+				board.getCreatedAt(), board.getUpdatedAt());
+	}
+}
@@ -0,0 +1,233 @@
+package com.pak.todo.websocket;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.TextMessage;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.pak.todo.model.entity.OutboxEntry;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Builds {@code board-v2} frames, which are JSON text frames:
+ * <ul>
+ * <li>{@code {"type":"snapshot","board":{...},"tasks":[...],"complete":false}} on subscribe, with the tasks split
+ * over as many snapshot frames as needed; only the first one carries the board, the last one has
+ * {@code "complete":true}.</li>
+ * <li>{@code {"type":"edit","resource":"task","id":"...","version":4,"fields":{"status":"COMPLETED","name":"..."}}}
+ * per change, with every field the change set ({@code null} for a cleared field). Creates carry all fields, deletes
+ * none.</li>
+ * <li>{@code {"type":"batch","frames":[{...},{...}]}} for several deltas of one board sent together, in order.</li>
+ * </ul>
+ * On a {@code board-mux} connection every frame, snapshot or delta, starts with the {@code "boardId"} it belongs to,
+ * and the server answers subscription requests with {@code {"type":"unsubscribed","boardId":"..."}} or
+ * {@code {"type":"error","boardId":"...","reason":"forbidden"}}.
+ * Every board and task in a snapshot carries its {@code version}; a client applies a delta only if its version is
+ * higher than the one it holds, so deltas of changes already in the snapshot are ignored.
+ */
+@Component
+@Slf4j
+public class BoardV2MessageFormatter {
+
+	/**
+	 * Payload fields that describe the event rather than the entity.
+	 */
+	private static final Set<String> ENVELOPE_FIELDS = Set.of("id", "boardId", "eventType", "occurredAt", "version");
+
+	private final ObjectMapper objectMapper;
+
+	public BoardV2MessageFormatter(ObjectMapper objectMapper) {
+		this.objectMapper = objectMapper;
+	}
+
+	/**
+	 * @return the delta of an outbox event, or {@code null} when its payload cannot be read
+	 */
+	BoardDelta delta(OutboxEntry entry) {
+		String type = changeType(entry.getEventType());
+		String resource = "Task".equalsIgnoreCase(entry.getAggregateType()) ? "task" : "board";
+		JsonNode payload;
+		try {
+			payload = objectMapper.readTree(entry.getPayload());
+		}
+		catch (IOException e) {
+			log.warn("Failed to read outbox payload of {} {}, skipping its board-v2 delta", resource,
+					entry.getAggregateId(), e);
+			return null;
+		}
+		ObjectNode fields = objectMapper.createObjectNode();
+		if (!BoardDelta.DELETE.equals(type) && payload.isObject()) {
+			for (Map.Entry<String, JsonNode> field : payload.properties()) {
+				if (!ENVELOPE_FIELDS.contains(field.getKey())) {
+					fields.set(field.getKey(), field.getValue());
+				}
+			}
+		}
+		JsonNode version = payload.get("version");
+		long entityVersion = version != null && version.isIntegralNumber()
+				? version.asLong()
+				: BoardDelta.UNKNOWN_VERSION;
+		return new BoardDelta(type, resource, entry.getAggregateId(), entityVersion, fields);
+	}
+
+	TextMessage encode(BoardDelta delta) {
+		return encode(null, delta);
+	}
+
+	/**
+	 * @param boardId board to tag the frame with, or {@code null} for a single-board connection
+	 */
+	TextMessage encode(UUID boardId, BoardDelta delta) {
+		return write(node(boardId, delta));
+	}
+
+	/**
+	 * Packs several deltas into one batch frame, in order.
+	 */
+	TextMessage encodeBatch(List<BoardDelta> deltas) {
+		return encodeBatch(null, deltas);
+	}
+
+	/**
+	 * Packs several deltas of the board into one batch frame, in order; only the batch frame is tagged.
+	 *
+	 * @param boardId board to tag the frame with, or {@code null} for a single-board connection
+	 */
+	TextMessage encodeBatch(UUID boardId, List<BoardDelta> deltas) {
+		ObjectNode frame = frame(boardId, "batch");
+		ArrayNode frames = frame.putArray("frames");
+		for (BoardDelta delta : deltas) {
+			frames.add(node(null, delta));
+		}
+		return write(frame);
+	}
+
+	/**
+	 * Tells a {@code board-mux} client that it no longer receives the board's frames, apart from any already sent.
+	 */
+	TextMessage encodeUnsubscribed(UUID boardId) {
+		return write(frame(boardId, "unsubscribed"));
+	}
+
+	/**
+	 * Rejects a {@code board-mux} request.
+	 *
+	 * @param boardId board of the request, or {@code null} when the request could not be read
+	 */
+	TextMessage encodeError(UUID boardId, String reason) {
+		return write(frame(boardId, "error").put("reason", reason));
+	}
+
+	private ObjectNode frame(UUID boardId, String type) {
+		ObjectNode frame = objectMapper.createObjectNode();
+		if (boardId != null) {
+			frame.put("boardId", boardId.toString());
+		}
+		return frame.put("type", type);
+	}
+
+	private ObjectNode node(UUID boardId, BoardDelta delta) {
+		ObjectNode frame = frame(boardId, delta.type())
+				.put("resource", delta.resource())
+				.put("id", delta.id());
+		if (delta.version() != BoardDelta.UNKNOWN_VERSION) {
+			frame.put("version", delta.version());
+		}
+		if (!delta.isDelete()) {
+			frame.set("fields", delta.fields());
+		}
+		return frame;
+	}
+
+	/**
+	 * Encodes the board and its tasks as snapshot frames of at most {@code chunkSize} tasks each.
+	 */
+	List<TextMessage> encodeSnapshot(BoardSnapshotRow board, List<TaskSnapshotRow> tasks, int chunkSize) {
+		return encodeSnapshot(null, board, tasks, chunkSize);
+	}
+
+	/**
+	 * @param boardId board to tag every frame with, or {@code null} for a single-board connection
+	 */
+	List<TextMessage> encodeSnapshot(UUID boardId, BoardSnapshotRow board, List<TaskSnapshotRow> tasks,
+			int chunkSize) {
+		int size = Math.max(1, chunkSize);
+		List<TextMessage> frames = new ArrayList<>(tasks.size() / size + 1);
+		int from = 0;
+		do {
+			int to = Math.min(tasks.size(), from + size);
+			ObjectNode frame = frame(boardId, "snapshot");
+			if (from == 0) {
+				frame.set("board", board(board));
+			}
+			ArrayNode chunk = frame.putArray("tasks");
+			for (TaskSnapshotRow task : tasks.subList(from, to)) {
+				chunk.add(task(task));
+			}
+			frame.put("complete", to == tasks.size());
+			frames.add(write(frame));
+			from = to;
+		}
+		while (from < tasks.size());
+		return frames;
+	}
+
+	private ObjectNode board(BoardSnapshotRow board) {
+		ObjectNode node = objectMapper.createObjectNode()
+				.put("id", board.id().toString())
+				.put("version", board.version() != null ? board.version() : 0)
+				.put("name", board.name())
+				.put("description", board.description());
+		node.putPOJO("createdAt", board.createdAt());
+		node.putPOJO("updatedAt", board.updatedAt());
+		return node;
+	}
+
+	private ObjectNode task(TaskSnapshotRow task) {
+		ObjectNode node = objectMapper.createObjectNode()
+				.put("id", task.id().toString())
+				.put("version", task.version() != null ? task.version() : 0)
+				.put("name", task.name())
+				.put("description", task.description());
+		node.putPOJO("dueDate", task.dueDate());
+		node.put("status", task.status() != null ? task.status().name() : null);
+		node.putPOJO("createdAt", task.createdAt());
+		node.putPOJO("updatedAt", task.updatedAt());
+		return node;
+	}
+
+	private TextMessage write(ObjectNode frame) {
+		try {
+			return new TextMessage(objectMapper.writeValueAsBytes(frame));
+		}
+		catch (JsonProcessingException e) {
+			throw new IllegalStateException("Failed to write board-v2 frame", e);
+		}
+	}
+
+	private static String changeType(String eventType) {
+		if (eventType == null) {
+			return "edit";
+		}
+		String lower = eventType.toLowerCase(Locale.ROOT);
+		if (lower.contains("created")) {
+			return "create";
+		}
+		if (lower.contains("deleted")) {
+			return BoardDelta.DELETE;
+		}
+		return "edit";
+	}
+}
@@ -4,13 +4,16 @@ import java.net.URI;
 import java.util.UUID;
 
 import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.util.UriComponentsBuilder;
 import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PongMessage;
 import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
 
 import com.pak.todo.auth.AuthorizationService;
 import com.pak.todo.model.entity.Board;
-import com.pak.todo.model.entity.User;
+import com.pak.todo.security.AuthenticatedUser;
 import com.pak.todo.service.BoardService;
 
 import lombok.RequiredArgsConstructor;
@@ -24,6 +27,7 @@ public class BoardWebSocketHandler extends TextWebSocketHandler {
 	private final WebSocketBroadcaster webSocketBroadcaster;
 	private final BoardService boardService;
 	private final AuthorizationService authorizationService;
+	private final BoardSnapshotReader boardSnapshotReader;
 
 	@Override
 	public void afterConnectionEstablished(WebSocketSession session) throws Exception {
@@ -35,7 +39,7 @@ public class BoardWebSocketHandler extends TextWebSocketHandler {
 		}
 
 		Object principal = session.getAttributes().get("user");
-		if (!(principal instanceof User user)) {
+		if (!(principal instanceof AuthenticatedUser user)) {
 			log.warn("WebSocket connection missing authenticated user for board {}", boardId);
 			session.close(CloseStatus.NOT_ACCEPTABLE.withReason("Unauthorized"));
 			return;
@@ -48,13 +52,34 @@ public class BoardWebSocketHandler extends TextWebSocketHandler {
 			return;
 		}
 
-		if (!authorizationService.canViewBoard(user, board)) {
-			log.warn("WebSocket connection forbidden for user {} on board {}", user.getId(), boardId);
+		if (!authorizationService.canViewBoard(user.id(), boardId)) {
+			log.warn("WebSocket connection forbidden for user {} on board {}", user.id(), boardId);
 			session.close(CloseStatus.NOT_ACCEPTABLE.withReason("Forbidden"));
 			return;
 		}
 
-		webSocketBroadcaster.register(boardId, session);
+		BoardProtocol protocol = BoardProtocol.of(session.getAcceptedProtocol());
+		if (protocol.sendsDeltas()) {
+			if (!webSocketBroadcaster.registerWithSnapshot(boardId, session, protocol,
+					() -> boardSnapshotReader.read(boardId, protocol))) {
+				log.warn("Board {} was deleted before its snapshot was read", boardId);
+				session.close(CloseStatus.BAD_DATA);
+				return;
+			}
+			log.info("WebSocket session {} registered for board {} ({})", session.getId(), boardId,
+					protocol.protocolName());
+			return;
+		}
+
+		// Clients that track sequence numbers connect with ?since=N[&stream=S]; see WebSocketBroadcaster#register
+		MultiValueMap<String, String> query = UriComponentsBuilder.fromUri(session.getUri()).build().getQueryParams();
+		Long since = parseSince(query.getFirst("since"));
+		if (since == null) {
+			webSocketBroadcaster.register(boardId, session);
+		}
+		else {
+			webSocketBroadcaster.register(boardId, session, query.getFirst("stream"), since);
+		}
 		log.info("WebSocket session {} registered for board {}", session.getId(), boardId);
 	}
 
@@ -64,6 +89,11 @@ public class BoardWebSocketHandler extends TextWebSocketHandler {
 		log.info("WebSocket session {} closed with status {}", session.getId(), status);
 	}
 
+	@Override
+	protected void handlePongMessage(WebSocketSession session, PongMessage message) throws Exception {
+		webSocketBroadcaster.pongReceived(session);
+	}
+
 	@Override
 	public void handleTransportError(WebSocketSession session, Throwable exception) throws Exception {
 		log.warn("WebSocket transport error for session {}", session != null ? session.getId() : "unknown", exception);
@@ -72,6 +102,19 @@ public class BoardWebSocketHandler extends TextWebSocketHandler {
 		}
 	}
 
+	private static Long parseSince(String since) {
+		if (since == null) {
+			return null;
+		}
+		try {
+			return Long.parseLong(since);
+		}
+		catch (NumberFormatException ex) {
+			// treated as an unknown position: the client is told to reload
+			return -1L;
+		}
+	}
+
 	private UUID extractBoardId(URI uri) {
 		if (uri == null) {
 			return null;
@@ -0,0 +1,134 @@
+package com.pak.todo.websocket;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Growable byte buffer reused across frames by one thread. {@link #toByteArray()} is the only copy made per frame.
+ */
+final class FrameBuffer {
+
+	private static final int INITIAL_CAPACITY = 256;
+
+	/**
+	 * Buffers grown past this size by an unusually large value are discarded instead of being kept for reuse.
+	 */
+	static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+	private byte[] bytes = new byte[INITIAL_CAPACITY];
+	private int size;
+
+	FrameBuffer reset() {
+		if (bytes.length > MAX_RETAINED_CAPACITY) {
+			bytes = new byte[INITIAL_CAPACITY];
+		}
+		size = 0;
+		return this;
+	}
+
+	FrameBuffer write(byte[] source) {
+		ensureCapacity(source.length);
+		System.arraycopy(source, 0, bytes, size, source.length);
+		size += source.length;
+		return this;
+	}
+
+	/**
+	 * Writes the value as UTF-8, prefixing {@code ;} and {@code =} with a backslash. Both are ASCII and never occur
+	 * inside a multi-byte UTF-8 sequence, so escaping byte by byte is safe.
+	 */
+	FrameBuffer writeEscaped(String value) {
+		byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+		ensureCapacity(encoded.length * 2);
+		for (byte b : encoded) {
+			if (b == ';' || b == '=') {
+				bytes[size++] = '\\';
+			}
+			bytes[size++] = b;
+		}
+		return this;
+	}
+
+	/**
+	 * Writes a non-negative number in decimal ASCII without going through a string.
+	 */
+	FrameBuffer writeDecimal(long value) {
+		int digits = 1;
+		for (long rest = value / 10; rest > 0; rest /= 10) {
+			digits++;
+		}
+		ensureCapacity(digits);
+		for (int i = size + digits - 1; i >= size; i--) {
+			bytes[i] = (byte) ('0' + value % 10);
+			value /= 10;
+		}
+		size += digits;
+		return this;
+	}
+
+	FrameBuffer writeUtf8(String value) {
+		return write(value.getBytes(StandardCharsets.UTF_8));
+	}
+
+	FrameBuffer writeByte(int value) {
+		ensureCapacity(1);
+		bytes[size++] = (byte) value;
+		return this;
+	}
+
+	/**
+	 * Writes an unsigned LEB128 varint: seven bits per byte, low bits first, high bit set on all but the last byte.
+	 */
+	FrameBuffer writeVarint(long value) {
+		ensureCapacity(10);
+		while ((value & ~0x7FL) != 0) {
+			bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		bytes[size++] = (byte) value;
+		return this;
+	}
+
+	/**
+	 * Writes a signed value as a zigzag varint, so small negative values stay short.
+	 */
+	FrameBuffer writeZigZag(long value) {
+		return writeVarint((value << 1) ^ (value >> 63));
+	}
+
+	/**
+	 * Writes the 16 bytes of a UUID, most significant first.
+	 */
+	FrameBuffer writeUuid(UUID value) {
+		ensureCapacity(16);
+		writeLong(value.getMostSignificantBits());
+		writeLong(value.getLeastSignificantBits());
+		return this;
+	}
+
+	/**
+	 * Writes the UTF-8 bytes of a string prefixed with their length as a varint.
+	 */
+	FrameBuffer writeLengthPrefixedUtf8(String value) {
+		byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+		return writeVarint(encoded.length).write(encoded);
+	}
+
+	byte[] toByteArray() {
+		return Arrays.copyOf(bytes, size);
+	}
+
+	private void ensureCapacity(int additional) {
+		int required = size + additional;
+		if (required > bytes.length) {
+			bytes = Arrays.copyOf(bytes, Math.max(required, bytes.length * 2));
+		}
+	}
+
+	private void writeLong(long value) {
+		for (int shift = 56; shift >= 0; shift -= 8) {
+			bytes[size++] = (byte) (value >>> shift);
+		}
+	}
+}
@@ -11,8 +11,8 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.socket.WebSocketHandler;
 import org.springframework.web.socket.server.HandshakeInterceptor;
 
-import com.pak.todo.repository.UserRepository;
 import com.pak.todo.security.JwtService;
+import com.pak.todo.security.UserCache;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,7 +23,7 @@ import lombok.extern.slf4j.Slf4j;
 public class JwtHandshakeInterceptor implements HandshakeInterceptor {
 
 	private final JwtService jwtService;
-	private final UserRepository userRepository;
+	private final UserCache userCache;
 
 	@Override
 	public boolean beforeHandshake(
@@ -73,7 +73,7 @@ public class JwtHandshakeInterceptor implements HandshakeInterceptor {
 		}
 
 		return jwtService.parseAndValidate(token)
-				.flatMap(principal -> userRepository.findById(principal.userId()))
+				.flatMap(principal -> userCache.get(principal.userId()))
 				.map(user -> {
 					attributes.put("user", user);
 					return true;
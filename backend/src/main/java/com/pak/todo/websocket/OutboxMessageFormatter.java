@@ -1,108 +1,200 @@
 package com.pak.todo.websocket;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.pak.todo.model.entity.OutboxEntry;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Locale;
 
+/**
+ * Builds {@code board-v1} frames. The event payload is scanned with a streaming parser for the few top-level fields
+ * a frame needs; no JSON tree is built, and the frame is written as UTF-8 into a per-thread buffer.
+ * <p>
+ * Event frames carry the board's sequence number as a leading {@code seq=N;} field. Control frames
+ * ({@code type=sync} and {@code type=reload}) tell a connecting client which stream and sequence it is at.
+ */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class OutboxMessageFormatter {
 
-	private final ObjectMapper objectMapper;
+	private static final byte[] SEQ = ascii("seq=");
+	private static final byte[] SEPARATOR = ascii(";");
+	private static final byte[] TYPE = ascii("type=");
+	private static final byte[] STREAM = ascii(";stream=");
+	private static final byte[] SEQ_FIELD = ascii(";seq=");
+	private static final byte[] SYNC = ascii("sync");
+	private static final byte[] RELOAD = ascii("reload");
+	private static final byte[] RESOURCE = ascii(";resource=");
+	private static final byte[] ID = ascii(";id=");
+	private static final byte[] KEY = ascii(";key=");
+	private static final byte[] VALUE = ascii(";value=");
+	private static final byte[] KEY_ALL = ascii(";key=all;value=");
+	private static final byte[] CREATE = ascii("create");
+	private static final byte[] EDIT = ascii("edit");
+	private static final byte[] DELETE = ascii("delete");
+	private static final byte[] TASK = ascii("task");
+	private static final byte[] BOARD = ascii("board");
 
-	public String format(OutboxEntry entry) {
-		try {
-			JsonNode payloadNode = objectMapper.readTree(entry.getPayload());
+	private final JsonFactory jsonFactory;
+	private final ThreadLocal<FrameBuffer> buffer = ThreadLocal.withInitial(FrameBuffer::new);
 
-			String resource = "Task".equalsIgnoreCase(entry.getAggregateType()) ? "task" : "board";
-			String type = mapEventType(entry.getEventType());
-			String id = entry.getAggregateId();
-			String key;
-			String value;
+	public OutboxMessageFormatter(ObjectMapper objectMapper) {
+		this.jsonFactory = objectMapper.getFactory();
+	}
+
+	/**
+	 * Encodes the frame of an event as UTF-8, writing it into a buffer reused by the calling thread.
+	 */
+	public byte[] encode(OutboxEntry entry) {
+		return encode(entry, 0);
+	}
 
-			if ("task".equals(resource)) {
-				JsonNode statusNode = payloadNode.get("status");
-				if (statusNode != null && !statusNode.isNull()) {
+	/**
+	 * Encodes the frame of an event with its board sequence number; {@code 0} leaves the {@code seq} field out.
+	 */
+	public byte[] encode(OutboxEntry entry, long seq) {
+		boolean task = "Task".equalsIgnoreCase(entry.getAggregateType());
+		FrameBuffer frame = buffer.get().reset();
+		if (seq > 0) {
+			frame.write(SEQ).writeDecimal(seq).write(SEPARATOR);
+		}
+		frame.write(TYPE).write(eventTypeBytes(entry.getEventType()))
+				.write(RESOURCE).write(task ? TASK : BOARD)
+				.write(ID);
+		if (entry.getAggregateId() != null) {
+			frame.writeUtf8(entry.getAggregateId());
+		}
+		String key;
+		String value;
+		try {
+			PayloadFields fields = readPayloadFields(entry.getPayload());
+			if (task) {
+				if (fields.status != null) {
 					key = "status";
-					value = statusNode.asText("");
+					value = fields.status;
+				}
+				else if (fields.name != null) {
+					key = "name";
+					value = fields.name;
+				}
+				else if (fields.dueDate != null) {
+					key = "dueDate";
+					value = fields.dueDate;
 				}
 				else {
-					JsonNode nameNode = payloadNode.get("name");
-					if (nameNode != null && !nameNode.isNull()) {
-						key = "name";
-						value = nameNode.asText("");
-					}
-					else {
-						JsonNode dueDateNode = payloadNode.get("dueDate");
-						if (dueDateNode != null && !dueDateNode.isNull()) {
-							key = "dueDate";
-							value = dueDateNode.asText("");
-						}
-						else {
-							JsonNode descNode = payloadNode.get("description");
-							key = "description";
-							value = descNode != null ? descNode.asText("") : "";
-						}
-					}
+					key = "description";
+					value = fields.description != null ? fields.description : "";
 				}
 			}
 			else {
-				JsonNode nameNode = payloadNode.get("name");
 				key = "name";
-				value = nameNode != null ? nameNode.asText("") : "";
+				value = fields.name != null ? fields.name : "";
 			}
-
-			return "type=" + type +
-					";resource=" + resource +
-					";id=" + (id != null ? id : "") +
-					";key=" + key +
-					";value=" + escape(value);
-		}
-		catch (IOException e) {
-			log.warn("IO error while transforming outbox entry payload, falling back to minimal message", e);
 		}
-		catch (RuntimeException e) {
+		catch (IOException | RuntimeException e) {
 			log.warn("Failed to transform outbox entry payload, falling back to minimal message", e);
-			String resource = "Task".equalsIgnoreCase(entry.getAggregateType()) ? "task" : "board";
-			String type = mapEventType(entry.getEventType());
-			return "type=" + type +
-					";resource=" + resource +
-					";id=" + (entry.getAggregateId() != null ? entry.getAggregateId() : "") +
-					";key=all;value=";
+			return frame.write(KEY_ALL).toByteArray();
 		}
-		String resource = "Task".equalsIgnoreCase(entry.getAggregateType()) ? "task" : "board";
-		String type = mapEventType(entry.getEventType());
-		return "type=" + type +
-				";resource=" + resource +
-				";id=" + (entry.getAggregateId() != null ? entry.getAggregateId() : "") +
-				";key=all;value=";
+
+		return frame.write(KEY).writeUtf8(key)
+				.write(VALUE).writeEscaped(value)
+				.toByteArray();
+	}
+
+	/**
+	 * {@code type=sync;stream=S;seq=N}: the client is at sequence {@code N} of stream {@code S}; event frames with a
+	 * higher sequence follow, starting with any replayed ones.
+	 */
+	public byte[] encodeSync(String streamId, long seq) {
+		return control(SYNC, streamId, seq);
+	}
+
+	/**
+	 * {@code type=reload;stream=S;seq=N}: the requested events are no longer buffered; the client reloads the board
+	 * and continues from sequence {@code N} of stream {@code S}.
+	 */
+	public byte[] encodeReload(String streamId, long seq) {
+		return control(RELOAD, streamId, seq);
+	}
+
+	private byte[] control(byte[] type, String streamId, long seq) {
+		return buffer.get().reset()
+				.write(TYPE).write(type)
+				.write(STREAM).writeUtf8(streamId)
+				.write(SEQ_FIELD).writeDecimal(seq)
+				.toByteArray();
 	}
 
-	private String escape(String value) {
-		return value
-				.replace(";", "\\;")
-				.replace("=", "\\=");
+	/**
+	 * The frame of an event as a string; see {@link #encode(OutboxEntry)}.
+	 */
+	public String format(OutboxEntry entry) {
+		return new String(encode(entry), StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Reads the top-level {@code status}, {@code name}, {@code dueDate} and {@code description} fields. A field that
+	 * is present with a non-scalar value reads as {@code ""}; JSON {@code null} reads as absent.
+	 */
+	private PayloadFields readPayloadFields(String payload) throws IOException {
+		PayloadFields fields = new PayloadFields();
+		try (JsonParser parser = jsonFactory.createParser(payload)) {
+			if (parser.nextToken() != JsonToken.START_OBJECT) {
+				return fields;
+			}
+			String field;
+			while ((field = parser.nextFieldName()) != null) {
+				JsonToken token = parser.nextToken();
+				String value = null;
+				if (token.isStructStart()) {
+					parser.skipChildren();
+					value = "";
+				}
+				else if (token != JsonToken.VALUE_NULL) {
+					value = parser.getValueAsString("");
+				}
+				switch (field) {
+					case "status" -> fields.status = value;
+					case "name" -> fields.name = value;
+					case "dueDate" -> fields.dueDate = value;
+					case "description" -> fields.description = value;
+					default -> {
+						// not part of a board-v1 frame
+					}
+				}
+			}
+		}
+		return fields;
 	}
 
-	private String mapEventType(String eventType) {
+	private static byte[] eventTypeBytes(String eventType) {
 		if (eventType == null) {
-			return "edit";
+			return EDIT;
 		}
 		String lower = eventType.toLowerCase(Locale.ROOT);
 		if (lower.contains("created")) {
-			return "create";
+			return CREATE;
 		}
 		if (lower.contains("deleted")) {
-			return "delete";
+			return DELETE;
 		}
-		return "edit";
+		return EDIT;
 	}
-}
 
+	private static byte[] ascii(String value) {
+		return value.getBytes(StandardCharsets.US_ASCII);
+	}
+
+	private static final class PayloadFields {
+		private String status;
+		private String name;
+		private String dueDate;
+		private String description;
+	}
+}
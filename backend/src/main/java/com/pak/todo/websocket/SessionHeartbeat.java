@@ -0,0 +1,68 @@
+package com.pak.todo.websocket;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import com.pak.todo.websocket.SessionSendQueue.Eviction;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pings every registered session each {@code heartbeat-interval-seconds} and hands the sessions that are closed or
+ * left {@code max-missed-pongs} pings in a row unanswered to the eviction callback. It runs on a scheduler of its
+ * own, so a slow coalescing flush cannot delay the pings and get live sessions evicted for missed pongs.
+ */
+@Slf4j
+final class SessionHeartbeat {
+
+	private final SessionSubscriptions subscriptions;
+	private final WebSocketBroadcastProperties properties;
+	private final BiConsumer<SessionSendQueue, Eviction> evict;
+	private final Runnable afterBeat;
+	private final ScheduledExecutorService scheduler;
+
+	/**
+	 * @param afterBeat run after each beat, e.g. to refresh gauges on the same schedule
+	 */
+	SessionHeartbeat(SessionSubscriptions subscriptions, WebSocketBroadcastProperties properties,
+			BiConsumer<SessionSendQueue, Eviction> evict, Runnable afterBeat, ScheduledExecutorService scheduler) {
+		this.subscriptions = subscriptions;
+		this.properties = properties;
+		this.evict = evict;
+		this.afterBeat = afterBeat;
+		this.scheduler = scheduler;
+		long interval = properties.getHeartbeatIntervalSeconds();
+		if (interval > 0) {
+			scheduler.scheduleWithFixedDelay(this::scheduledBeat, interval, interval, TimeUnit.SECONDS);
+		}
+	}
+
+	/**
+	 * Pings every registered session, evicts those that are closed or left too many pings unanswered, then runs
+	 * {@code afterBeat}.
+	 */
+	void beat() {
+		int maxMissedPongs = properties.getMaxMissedPongs();
+		subscriptions.forEachQueue(queue -> {
+			if (!queue.ping(maxMissedPongs)) {
+				evict.accept(queue, queue.session().isOpen() ? Eviction.MISSED_PONG : Eviction.CLOSED);
+			}
+		});
+		afterBeat.run();
+	}
+
+	void shutdown() {
+		scheduler.shutdownNow();
+	}
+
+	private void scheduledBeat() {
+		try {
+			beat();
+		}
+		catch (RuntimeException e) {
+			// a periodic task that throws is never run again
+			log.warn("WebSocket heartbeat failed", e);
+		}
+	}
+}
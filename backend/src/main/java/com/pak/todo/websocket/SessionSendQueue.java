@@ -0,0 +1,320 @@
+package com.pak.todo.websocket;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PingMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import com.pak.todo.websocket.WebSocketBroadcastProperties.OverflowPolicy;
+
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bounded, non-blocking outbound queue of one session. {@link #enqueue} never performs I/O; frames are written in
+ * order by at most one drain task at a time on the send executor, so a slow client only delays itself.
+ * <p>
+ * A queue created held collects frames without sending them until {@link #release} puts the given frames (a
+ * snapshot) in front of them. Those frames stay exempt from the capacity until sent: an overflow drops the oldest
+ * frame behind them, so a client is never left with a partial snapshot.
+ * <p>
+ * Frames are shared by every session of a board. A {@link BinaryMessage} wraps a {@link java.nio.ByteBuffer} whose
+ * position moves as it is written, so each session sends a view of its own.
+ * <p>
+ * A frame whose write fails is kept and retried, so the session does not silently miss it. A queue reports its
+ * session dead, once, when a frame is queued for a session that is already closed, or when writes fail
+ * {@code maxSendFailures} times in a row or leave the session closed; the frames still queued are then counted as
+ * dropped. Heartbeat pings travel through the queue like any frame, so a client that stops reading also stops
+ * answering them.
+ */
+@Slf4j
+class SessionSendQueue {
+
+	private final WebSocketSession session;
+	private final BoardProtocol protocol;
+	private final int capacity;
+	private final OverflowPolicy overflowPolicy;
+	private final Executor sendExecutor;
+	private final Counter droppedFrames;
+	private final Counter sentFrames;
+	private final Counter sentBytes;
+	private final int maxSendFailures;
+	private final BiConsumer<SessionSendQueue, Eviction> onDead;
+
+	private final Deque<WebSocketMessage<?>> queue = new ArrayDeque<>();
+	private final AtomicBoolean draining = new AtomicBoolean();
+	private final AtomicBoolean dead = new AtomicBoolean();
+	private boolean held;
+	// snapshot frames at the head of the queue, which are not dropped for capacity
+	private int pinned;
+	// only touched by the drain task, which runs once at a time
+	private int sendFailures;
+	private boolean sendingPinned;
+	private volatile boolean awaitingPong;
+	private volatile int missedPongs;
+
+	SessionSendQueue(WebSocketSession session, BoardProtocol protocol, boolean held, int capacity,
+			OverflowPolicy overflowPolicy, Executor sendExecutor, Counter droppedFrames, Counter sentFrames,
+			Counter sentBytes, int maxSendFailures, BiConsumer<SessionSendQueue, Eviction> onDead) {
+		this.session = session;
+		this.protocol = protocol;
+		this.held = held;
+		this.capacity = capacity;
+		this.overflowPolicy = overflowPolicy;
+		this.sendExecutor = sendExecutor;
+		this.droppedFrames = droppedFrames;
+		this.sentFrames = sentFrames;
+		this.sentBytes = sentBytes;
+		this.maxSendFailures = maxSendFailures;
+		this.onDead = onDead;
+	}
+
+	WebSocketSession session() {
+		return session;
+	}
+
+	BoardProtocol protocol() {
+		return protocol;
+	}
+
+	void enqueue(WebSocketMessage<?> message) {
+		if (!session.isOpen()) {
+			reportDead(Eviction.CLOSED);
+			return;
+		}
+		synchronized (queue) {
+			if (queue.size() - pinned >= capacity) {
+				droppedFrames.increment();
+				if (overflowPolicy == OverflowPolicy.CLOSE) {
+					queue.clear();
+					pinned = 0;
+					closeSlowSession();
+					return;
+				}
+				dropOldestUnpinned();
+			}
+			queue.addLast(message);
+			if (held) {
+				return;
+			}
+		}
+		scheduleDrain();
+	}
+
+	/**
+	 * Stops sending until {@link #release}: frames are collected, subject to the queue's capacity. A drain that is
+	 * already running stops before its next frame.
+	 */
+	void hold() {
+		synchronized (queue) {
+			held = true;
+		}
+	}
+
+	/**
+	 * Starts sending a held queue, with {@code first} ahead of the frames collected so far. {@code first} is never
+	 * dropped for capacity.
+	 */
+	void release(List<? extends WebSocketMessage<?>> first) {
+		synchronized (queue) {
+			for (int i = first.size() - 1; i >= 0; i--) {
+				queue.addFirst(first.get(i));
+			}
+			pinned += first.size();
+			held = false;
+		}
+		scheduleDrain();
+	}
+
+	/**
+	 * Queues a ping behind the frames already waiting, unless the session left the previous one unanswered for the
+	 * {@code maxMissedPongs}-th time in a row. Pings are not subject to the queue's capacity.
+	 *
+	 * @param maxMissedPongs unanswered pings tolerated in a row; {@code 0} for no limit
+	 * @return {@code false} when the session is closed or has missed too many pongs, and nothing was queued
+	 */
+	boolean ping(int maxMissedPongs) {
+		if (!session.isOpen()) {
+			return false;
+		}
+		if (awaitingPong && maxMissedPongs > 0 && ++missedPongs >= maxMissedPongs) {
+			return false;
+		}
+		awaitingPong = true;
+		synchronized (queue) {
+			queue.addLast(new PingMessage());
+			if (held) {
+				return true;
+			}
+		}
+		scheduleDrain();
+		return true;
+	}
+
+	void pongReceived() {
+		awaitingPong = false;
+		missedPongs = 0;
+	}
+
+	int depth() {
+		synchronized (queue) {
+			return queue.size();
+		}
+	}
+
+	private void scheduleDrain() {
+		if (draining.compareAndSet(false, true)) {
+			sendExecutor.execute(this::drain);
+		}
+	}
+
+	private void drain() {
+		boolean failed = false;
+		try {
+			WebSocketMessage<?> message;
+			while ((message = poll()) != null) {
+				try {
+					session.sendMessage(message instanceof BinaryMessage binary
+							? new BinaryMessage(binary.getPayload().duplicate(), binary.isLast())
+							: message);
+					sentFrames.increment();
+					sentBytes.increment(message.getPayloadLength());
+					sendFailures = 0;
+				}
+				catch (IOException e) {
+					log.warn("Failed to send WebSocket message to session {}", session.getId(), e);
+					failed = true;
+					if (++sendFailures >= maxSendFailures || !session.isOpen()) {
+						discard(message);
+					}
+					else {
+						requeue(message);
+					}
+					break;
+				}
+			}
+		}
+		finally {
+			draining.set(false);
+		}
+		if (failed) {
+			if (sendFailures >= maxSendFailures || !session.isOpen()) {
+				reportDead(Eviction.SEND_FAILURE);
+			}
+			return;
+		}
+		// A frame may have been enqueued after the last poll but before the flag was cleared; a held queue is
+		// drained again by release.
+		if (sendable()) {
+			scheduleDrain();
+		}
+	}
+
+	/**
+	 * Puts a frame whose write failed back in front, to be retried by the next drain: the one started by the next
+	 * frame or, at the latest, by the next heartbeat ping.
+	 */
+	private void requeue(WebSocketMessage<?> message) {
+		synchronized (queue) {
+			queue.addFirst(message);
+			if (sendingPinned) {
+				pinned++;
+			}
+		}
+	}
+
+	/**
+	 * Drops a frame whose write failed for good together with every queued frame, counting them all.
+	 */
+	private void discard(WebSocketMessage<?> message) {
+		int dropped;
+		synchronized (queue) {
+			dropped = queue.size() + 1;
+			queue.clear();
+			pinned = 0;
+		}
+		droppedFrames.increment(dropped);
+	}
+
+	/**
+	 * @return the next frame, or {@code null} when the queue is empty or held
+	 */
+	private WebSocketMessage<?> poll() {
+		synchronized (queue) {
+			if (held) {
+				return null;
+			}
+			sendingPinned = pinned > 0;
+			if (sendingPinned) {
+				pinned--;
+			}
+			return queue.pollFirst();
+		}
+	}
+
+	/**
+	 * Drops the oldest frame behind the snapshot frames, if any; called with the queue's lock held.
+	 */
+	private void dropOldestUnpinned() {
+		if (queue.size() <= pinned) {
+			return;
+		}
+		Iterator<WebSocketMessage<?>> frames = queue.iterator();
+		for (int i = 0; i < pinned; i++) {
+			frames.next();
+		}
+		frames.next();
+		frames.remove();
+	}
+
+	private boolean sendable() {
+		synchronized (queue) {
+			return !held && !queue.isEmpty();
+		}
+	}
+
+	private void reportDead(Eviction reason) {
+		if (dead.compareAndSet(false, true)) {
+			onDead.accept(this, reason);
+		}
+	}
+
+	private void closeSlowSession() {
+		log.warn("WebSocket session {} exceeded its send queue of {} frames, closing", session.getId(), capacity);
+		try {
+			session.close(CloseStatus.SESSION_NOT_RELIABLE);
+		}
+		catch (IOException e) {
+			log.debug("Failed to close slow WebSocket session {}", session.getId(), e);
+		}
+	}
+
+	/**
+	 * Why a session was found dead and unregistered.
+	 */
+	enum Eviction {
+		CLOSED("closed"),
+		SEND_FAILURE("send-failure"),
+		MISSED_PONG("missed-pong");
+
+		private final String tag;
+
+		Eviction(String tag) {
+			this.tag = tag;
+		}
+
+		String tag() {
+			return tag;
+		}
+	}
+}
@@ -0,0 +1,115 @@
+package com.pak.todo.websocket;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * The registered sessions by id: the send queue of each and the boards it is in, one for a single-board session and
+ * any number for a {@code board-mux} session. {@link BoardSessionRegistry} answers the reverse question (the sessions
+ * of a board) for fan-out; this is what connect, subscribe, unregister, heartbeat and eviction look up.
+ */
+final class SessionSubscriptions {
+
+	private final Map<String, Registration> registrations = new ConcurrentHashMap<>();
+
+	int size() {
+		return registrations.size();
+	}
+
+	/**
+	 * Registers the queue's session without any board, replacing a previous registration of the session.
+	 */
+	void connect(SessionSendQueue queue) {
+		registrations.put(queue.session().getId(), new Registration(queue));
+	}
+
+	/**
+	 * @return the session's registration, or {@code null} when it is not registered
+	 */
+	Registration get(String sessionId) {
+		return registrations.get(sessionId);
+	}
+
+	/**
+	 * @return the session's send queue, or {@code null} when it is not registered
+	 */
+	SessionSendQueue queue(String sessionId) {
+		Registration registration = registrations.get(sessionId);
+		return registration != null ? registration.queue() : null;
+	}
+
+	/**
+	 * Adds a board to the queue's session. A session registered with another queue, or not at all, is registered
+	 * again with this one.
+	 */
+	void add(SessionSendQueue queue, UUID boardId) {
+		registrations.compute(queue.session().getId(),
+				(id, registration) -> registration != null && registration.queue() == queue
+						? registration
+						: new Registration(queue))
+				.boards().add(boardId);
+	}
+
+	/**
+	 * Removes a board from a session, which stays registered.
+	 *
+	 * @return {@code false} when the session is not registered or was not in the board
+	 */
+	boolean remove(String sessionId, UUID boardId) {
+		Registration registration = registrations.get(sessionId);
+		return registration != null && registration.boards().remove(boardId);
+	}
+
+	/**
+	 * @return the removed registration, or {@code null} when the session was not registered
+	 */
+	Registration remove(String sessionId) {
+		return registrations.remove(sessionId);
+	}
+
+	/**
+	 * Removes the queue's session only while it is still registered with that queue, so a stale eviction cannot
+	 * remove a newer registration of the same session.
+	 *
+	 * @return the removed registration, or {@code null} when nothing was removed
+	 */
+	Registration removeIfCurrent(SessionSendQueue queue) {
+		String sessionId = queue.session().getId();
+		Registration registration = registrations.get(sessionId);
+		if (registration == null || registration.queue() != queue || !registrations.remove(sessionId, registration)) {
+			return null;
+		}
+		return registration;
+	}
+
+	void forEachQueue(Consumer<SessionSendQueue> action) {
+		for (Registration registration : registrations.values()) {
+			action.accept(registration.queue());
+		}
+	}
+
+	/**
+	 * A registered session: its send queue and the boards it is in. Compared by identity, so an eviction cannot
+	 * remove a newer registration of the same session.
+	 */
+	static final class Registration {
+
+		private final SessionSendQueue queue;
+		private final Set<UUID> boards = ConcurrentHashMap.newKeySet();
+
+		Registration(SessionSendQueue queue) {
+			this.queue = queue;
+		}
+
+		SessionSendQueue queue() {
+			return queue;
+		}
+
+		Set<UUID> boards() {
+			return boards;
+		}
+	}
+}
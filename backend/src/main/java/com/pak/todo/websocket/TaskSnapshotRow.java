@@ -0,0 +1,19 @@
+package com.pak.todo.websocket;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import com.pak.todo.model.entity.Task;
+import com.pak.todo.model.enums.TaskStatus;
+
+/**
+ * The columns of a task that a snapshot frame carries, read by a constructor query instead of loading the entity.
+ */
+public record TaskSnapshotRow(UUID id, Long version, String name, String description, Instant dueDate,
+		TaskStatus status, Instant createdAt, Instant updatedAt) {
+
+	public static TaskSnapshotRow of(Task task) {
+		return new TaskSnapshotRow(task.getId(), task.getVersion(), task.getName(), task.getDescription(),
+				task.getDueDate(), task.getStatus(), task.getCreatedAt(), task.getUpdatedAt());
+	}
+}
@@ -0,0 +1,105 @@
+package com.pak.todo.websocket;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@ConfigurationProperties(prefix = "websocket.broadcast")
+@Getter
+@Setter
+public class WebSocketBroadcastProperties {
+
+	/**
+	 * Maximum number of frames waiting to be written to a single session, not counting the snapshot frames of a
+	 * {@code board-v2}, {@code board-bin} or {@code board-mux} subscription that have yet to be sent.
+	 */
+	private int sessionQueueCapacity = 256;
+
+	/**
+	 * What to do when a {@code board-v1} session's queue is full: drop its oldest frame, or close the session.
+	 */
+	private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_OLDEST;
+
+	/**
+	 * What to do when the queue of a session that {@linkplain BoardProtocol#sendsDeltas() gets deltas} is full. These
+	 * protocols have no sequence numbers or replay, so a dropped delta would leave the client diverged without
+	 * knowing it; closing makes it reconnect and start again from a fresh snapshot.
+	 */
+	private OverflowPolicy deltaOverflowPolicy = OverflowPolicy.CLOSE;
+
+	/**
+	 * Window in milliseconds during which repeated edits of the same field of the same task or board are
+	 * collapsed into the latest one, and after which the board's remaining {@code board-v2} and {@code board-bin}
+	 * deltas are sent as batch frames. {@code 0} sends every event immediately.
+	 */
+	private long coalesceWindowMillis = 50;
+
+	/**
+	 * Write frames on virtual threads; when {@code false} a fixed pool of {@link #sendThreads} is used.
+	 */
+	private boolean virtualThreads = true;
+
+	/**
+	 * Size of the platform thread pool used when virtual threads are disabled.
+	 */
+	private int sendThreads = 4;
+
+	/**
+	 * Recent frames kept per board for clients resuming with {@code ?since=N}. Should not exceed
+	 * {@link #sessionQueueCapacity}: a replay that does not fit the session's queue is answered with a reload.
+	 */
+	private int replayBufferSize = 256;
+
+	/**
+	 * How long a board's replay buffer is kept after its last session on this instance closed. Events of the board
+	 * are still formatted and buffered during that time, so a reconnecting client can resume.
+	 */
+	private long replayRetentionSeconds = 120;
+
+	/**
+	 * Tasks per snapshot frame sent to {@code board-v2} clients when they subscribe.
+	 */
+	private int snapshotChunkSize = 500;
+
+	/**
+	 * Most deltas packed into one batch frame for {@code board-v2} and {@code board-bin} sessions; more deltas of a
+	 * board within one window are split over several batch frames.
+	 */
+	private int maxBatchSize = 100;
+
+	/**
+	 * Negotiate the {@code permessage-deflate} extension with clients that offer it, so the container compresses
+	 * each frame.
+	 */
+	private boolean permessageDeflate = true;
+
+	/**
+	 * How often every session is pinged, and how often the per-board session gauges are refreshed; {@code 0} disables
+	 * both.
+	 */
+	private long heartbeatIntervalSeconds = 30;
+
+	/**
+	 * Consecutive heartbeats a session may leave unanswered before it is closed and unregistered; {@code 0} only
+	 * pings, which keeps idle connections open through proxies, and never evicts.
+	 */
+	private int maxMissedPongs = 2;
+
+	/**
+	 * Consecutive failed writes after which a session that still looks open is closed and unregistered. A session
+	 * that is closed once a write fails is unregistered right away.
+	 */
+	private int maxSendFailures = 3;
+
+	/**
+	 * Boards with the most sessions that get their own {@code websocket.board.sessions} gauge, bounding the number
+	 * of time series; {@code 0} disables the per-board gauge.
+	 */
+	private int boardGaugeLimit = 20;
+
+	public enum OverflowPolicy {
+		DROP_OLDEST,
+		CLOSE
+	}
+}
@@ -1,70 +1,692 @@
 package com.pak.todo.websocket;
 
 import com.pak.todo.model.entity.OutboxEntry;
-import lombok.RequiredArgsConstructor;
+import com.pak.todo.websocket.SessionSendQueue.Eviction;
+import com.pak.todo.websocket.SessionSubscriptions.Registration;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
 import org.springframework.web.socket.WebSocketSession;
 
-@Component
-@RequiredArgsConstructor
+/**
+ * Fans outbox events out to the sessions of a board. Callers (the Kafka listener) only format and enqueue;
+ * frames are written by per-session {@link SessionSendQueue}s on a dedicated executor, looked up in a
+ * {@link BoardSessionRegistry} whose per-board array snapshots are read without locking. Each event is encoded once
+ * per protocol in use on the board, and the same message instance is queued for every session of that protocol.
+ * Within the coalescing window, repeated edits of the same field of the same aggregate are collapsed into the latest
+ * value.
+ * <p>
+ * Every event gets the next sequence number of its board and is kept in the board's {@link BoardReplayBuffer}, so
+ * a client reconnecting with {@code ?since=N&stream=S} is replayed what it missed, or told to reload when the buffer
+ * no longer reaches back that far. Buffers live while the board has sessions here and for
+ * {@code replay-retention-seconds} after the last one closed.
+ * <p>
+ * {@code board-v2} and {@code board-bin} sessions get a snapshot on subscribe instead of a replay, then one delta per
+ * change; deltas are only built while the board has such sessions, and coalescing merges the deltas of one entity.
+ * The deltas of one board that are sent together (a coalescing window, or a batch of events) are packed into batch
+ * frames of up to {@code max-batch-size} deltas, so a bulk edit costs each client a few frames instead of hundreds.
+ * <p>
+ * Dead sessions do not wait for the container to notice them: a session is unregistered as soon as a frame is
+ * addressed to it after it closed, when its writes keep failing, or when it leaves {@code max-missed-pongs}
+ * heartbeat pings in a row unanswered, which is how half-open connections are found. Pings are sent by a
+ * {@link SessionHeartbeat} on its own thread.
+ * <p>
+ * A {@code board-mux} session {@linkplain #connect connects} once and then subscribes to any number of boards, kept
+ * in {@link SessionSubscriptions}. It has a single send queue, which sits in the session array of each board it
+ * subscribed to, so fan-out still only walks a board's own subscribers, and the frames of all its boards reach the
+ * client in the order they were queued.
+ */
 @Slf4j
+@Component
 public class WebSocketBroadcaster {
 
 	private final OutboxMessageFormatter outboxMessageFormatter;
+	private final BoardV2MessageFormatter boardV2MessageFormatter;
+	private final BoardBinaryMessageFormatter boardBinaryMessageFormatter;
+	private final WebSocketBroadcastProperties properties;
+	private final Executor sendExecutor;
+	private final ScheduledExecutorService coalesceScheduler;
+	private final Counter droppedFrames;
+	private final Counter sentFrames;
+	private final Counter coalescedFrames;
+	private final Counter batchedFrames;
+	private final Map<BoardProtocol, Counter> sentBytes = new EnumMap<>(BoardProtocol.class);
+	private final Counter resumeReplayed;
+	private final Counter resumeReload;
+	private final Map<Eviction, Counter> evictions = new EnumMap<>(Eviction.class);
+	private final MultiGauge boardSessions;
+	private final Timer formatTimer;
+	private final Timer fanOutTimer;
+
+	private static final BoardProtocol[] PROTOCOLS = BoardProtocol.values();
+
+	private final BoardSessionRegistry sessions = new BoardSessionRegistry();
+	private final SessionSubscriptions subscriptions = new SessionSubscriptions();
+	private final SessionHeartbeat heartbeat;
+	private final Map<UUID, PendingFrames> pendingByBoard = new ConcurrentHashMap<>();
+	private final Map<UUID, BoardReplayBuffer> replayByBoard = new ConcurrentHashMap<>();
 
-	private final Map<UUID, Set<WebSocketSession>> sessionsByBoard = new ConcurrentHashMap<>();
-	private final Map<String, UUID> boardBySessionId = new ConcurrentHashMap<>();
+	@Autowired
+	public WebSocketBroadcaster(OutboxMessageFormatter outboxMessageFormatter,
+			BoardV2MessageFormatter boardV2MessageFormatter, BoardBinaryMessageFormatter boardBinaryMessageFormatter,
+			WebSocketBroadcastProperties properties, MeterRegistry meterRegistry) {
+		this(outboxMessageFormatter, boardV2MessageFormatter, boardBinaryMessageFormatter, properties, meterRegistry,
+				properties.isVirtualThreads()
+						? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ws-send-", 0).factory())
+						: Executors.newFixedThreadPool(properties.getSendThreads(),
+								Thread.ofPlatform().name("ws-send-", 0).daemon().factory()),
+				Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("ws-coalesce").daemon().factory()),
+				Executors.newSingleThreadScheduledExecutor(
+						Thread.ofPlatform().name("ws-heartbeat").daemon().factory()));
+	}
+
+	WebSocketBroadcaster(OutboxMessageFormatter outboxMessageFormatter,
+			BoardV2MessageFormatter boardV2MessageFormatter, BoardBinaryMessageFormatter boardBinaryMessageFormatter,
+			WebSocketBroadcastProperties properties, MeterRegistry meterRegistry, Executor sendExecutor,
+			ScheduledExecutorService coalesceScheduler, ScheduledExecutorService heartbeatScheduler) {
+		this.outboxMessageFormatter = outboxMessageFormatter;
+		this.boardV2MessageFormatter = boardV2MessageFormatter;
+		this.boardBinaryMessageFormatter = boardBinaryMessageFormatter;
+		this.properties = properties;
+		this.sendExecutor = sendExecutor;
+		this.coalesceScheduler = coalesceScheduler;
+		this.droppedFrames = Counter.builder("websocket.frames.dropped")
+				.description("Frames dropped because a session's send queue was full or its writes kept failing")
+				.register(meterRegistry);
+		this.sentFrames = Counter.builder("websocket.frames.sent")
+				.description("Frames written to board WebSocket sessions")
+				.register(meterRegistry);
+		this.formatTimer = Timer.builder("websocket.broadcast.format")
+				.description("Time to format an outbox event into a WebSocket frame")
+				.register(meterRegistry);
+		this.fanOutTimer = Timer.builder("websocket.broadcast.fanout")
+				.description("Time to enqueue a batch of frames for every session of a board")
+				.register(meterRegistry);
+		this.coalescedFrames = Counter.builder("websocket.frames.coalesced")
+				.description("Frames replaced by a later edit of the same field within the coalescing window")
+				.register(meterRegistry);
+		this.batchedFrames = Counter.builder("websocket.frames.batched")
+				.description("Frames saved by packing several deltas into one batch frame, summed over sessions")
+				.register(meterRegistry);
+		for (BoardProtocol protocol : BoardProtocol.values()) {
+			sentBytes.put(protocol, Counter.builder("websocket.bytes.sent")
+					.description("Payload bytes written to board WebSocket sessions, before permessage-deflate")
+					.baseUnit("bytes")
+					.tag("protocol", protocol.protocolName())
+					.register(meterRegistry));
+		}
+		Gauge.builder("websocket.send.queue.depth", this, WebSocketBroadcaster::totalQueueDepth)
+				.description("Frames waiting in all session send queues")
+				.register(meterRegistry);
+		Gauge.builder("websocket.sessions", subscriptions, SessionSubscriptions::size)
+				.description("Registered board WebSocket sessions")
+				.register(meterRegistry);
+		this.resumeReplayed = Counter.builder("websocket.resume")
+				.description("Reconnecting sessions, by whether missed frames could be replayed")
+				.tag("outcome", "replayed")
+				.register(meterRegistry);
+		this.resumeReload = Counter.builder("websocket.resume")
+				.description("Reconnecting sessions, by whether missed frames could be replayed")
+				.tag("outcome", "reload")
+				.register(meterRegistry);
+		Gauge.builder("websocket.replay.boards", replayByBoard, Map::size)
+				.description("Boards with a replay buffer on this instance")
+				.register(meterRegistry);
+		Gauge.builder("websocket.boards", sessions, BoardSessionRegistry::boards)
+				.description("Boards with at least one WebSocket session on this instance")
+				.register(meterRegistry);
+		this.boardSessions = MultiGauge.builder("websocket.board.sessions")
+				.description("WebSocket sessions of the boards with the most sessions on this instance")
+				.register(meterRegistry);
+		for (Eviction reason : Eviction.values()) {
+			evictions.put(reason, Counter.builder("websocket.sessions.evicted")
+					.description("Dead sessions closed and unregistered, by how they were found")
+					.tag("reason", reason.tag())
+					.register(meterRegistry));
+		}
+		long retention = Math.max(1, properties.getReplayRetentionSeconds());
+		coalesceScheduler.scheduleWithFixedDelay(this::evictIdleReplayBuffers, retention, retention, TimeUnit.SECONDS);
+		this.heartbeat = new SessionHeartbeat(subscriptions, properties, this::evict, this::refreshBoardGauges,
+				heartbeatScheduler);
+	}
 
+	/**
+	 * Registers a session that only wants events from now on and no sync frame (clients that do not resume).
+	 */
 	public void register(UUID boardId, WebSocketSession session) {
-		sessionsByBoard.computeIfAbsent(boardId, id -> ConcurrentHashMap.newKeySet()).add(session);
-		boardBySessionId.put(session.getId(), boardId);
+		register(boardId, session, null, null);
+	}
+
+	/**
+	 * Registers a session of a client that tracks sequence numbers. With {@code since} but no {@code streamId} the
+	 * client starts fresh and is sent a sync frame with the current position. With both, the frames after
+	 * {@code since} are replayed after a sync frame if they are still buffered and fit the session's queue;
+	 * otherwise the client is sent a reload frame. Registration and replay are atomic with respect to
+	 * {@link #broadcast}, so no event falls between the replay and the live frames.
+	 *
+	 * @param streamId stream the client last saw, or {@code null}
+	 * @param since last sequence number the client saw, or {@code null} for a client that does not track them
+	 */
+	public void register(UUID boardId, WebSocketSession session, String streamId, Long since) {
+		SessionSendQueue queue = newQueue(session, BoardProtocol.V1, false);
+		attach(boardId, queue, replay -> {
+			if (since != null) {
+				resume(queue, replay, streamId, since);
+			}
+		});
+	}
+
+	/**
+	 * Registers a {@code board-mux} session without any board; it then {@linkplain #subscribe subscribes} to boards
+	 * in-band. The session is pinged and evicted like any other until it is {@linkplain #unregister unregistered}.
+	 */
+	public void connect(WebSocketSession session) {
+		subscriptions.connect(newQueue(session, BoardProtocol.MUX, false));
+	}
+
+	/**
+	 * Subscribes a {@linkplain #connect connected} {@code board-mux} session to a board and sends it the board's
+	 * snapshot ahead of the board's deltas, like {@link #registerWithSnapshot}. The session's frames of every board
+	 * are held while the snapshot is read. Subscribing again to a board only sends a fresh snapshot.
+	 *
+	 * @param snapshot reads the snapshot frames, or returns {@code null} when the board no longer exists
+	 * @return {@code false} if there was no snapshot and the session was unsubscribed from the board
+	 * @throws IllegalStateException if the session is not connected
+	 */
+	public boolean subscribe(UUID boardId, WebSocketSession session,
+			Supplier<? extends List<? extends WebSocketMessage<?>>> snapshot) {
+		Registration registration = subscriptions.get(session.getId());
+		if (registration == null) {
+			throw new IllegalStateException("WebSocket session " + session.getId() + " is not connected");
+		}
+		SessionSendQueue queue = registration.queue();
+		queue.hold();
+		if (!registration.boards().contains(boardId)) {
+			attach(boardId, queue, replay -> { });
+		}
+		List<? extends WebSocketMessage<?>> frames;
+		try {
+			frames = snapshot.get();
+		}
+		catch (RuntimeException e) {
+			unsubscribe(boardId, session);
+			queue.release(List.of());
+			throw e;
+		}
+		if (frames == null) {
+			unsubscribe(boardId, session);
+			queue.release(List.of());
+			return false;
+		}
+		queue.release(frames);
+		return true;
+	}
+
+	/**
+	 * Removes a {@code board-mux} session from one board; it stays connected. Frames of the board that were already
+	 * queued for the session are still sent.
+	 */
+	public void unsubscribe(UUID boardId, WebSocketSession session) {
+		if (subscriptions.remove(session.getId(), boardId)) {
+			detach(session.getId(), boardId);
+		}
+	}
+
+	/**
+	 * Queues a frame for a registered session behind the frames already queued for it; the session's frames are only
+	 * ever written by its send queue. Does nothing for a session that is not registered.
+	 */
+	public void reply(WebSocketSession session, WebSocketMessage<?> message) {
+		SessionSendQueue queue = subscriptions.queue(session.getId());
+		if (queue != null) {
+			queue.enqueue(message);
+		}
+	}
+
+	/**
+	 * Registers a session of a protocol that {@linkplain BoardProtocol#sendsDeltas() sends deltas} and sends it the
+	 * board's snapshot ahead of any delta. The session is
+	 * registered before the snapshot is read and its frames are held until the snapshot is queued, so every change
+	 * committed after the read still reaches it; deltas of changes the snapshot already contains carry versions the
+	 * client already has.
+	 *
+	 * @param snapshot reads the snapshot frames in the session's protocol, or returns {@code null} when the board no
+	 *        longer exists
+	 * @return {@code false} if there was no snapshot and the session was unregistered
+	 */
+	public boolean registerWithSnapshot(UUID boardId, WebSocketSession session, BoardProtocol protocol,
+			Supplier<? extends List<? extends WebSocketMessage<?>>> snapshot) {
+		SessionSendQueue queue = newQueue(session, protocol, true);
+		attach(boardId, queue, replay -> { });
+		List<? extends WebSocketMessage<?>> frames;
+		try {
+			frames = snapshot.get();
+		}
+		catch (RuntimeException e) {
+			unregister(session);
+			throw e;
+		}
+		if (frames == null) {
+			unregister(session);
+			return false;
+		}
+		queue.release(frames);
+		return true;
+	}
+
+	private SessionSendQueue newQueue(WebSocketSession session, BoardProtocol protocol, boolean held) {
+		return new SessionSendQueue(session, protocol, held, properties.getSessionQueueCapacity(),
+				protocol.sendsDeltas() ? properties.getDeltaOverflowPolicy() : properties.getOverflowPolicy(),
+				sendExecutor, droppedFrames, sentFrames, sentBytes.get(protocol),
+				Math.max(1, properties.getMaxSendFailures()), this::evict);
+	}
+
+	/**
+	 * Adds the queue to the board under the lock of its replay buffer, running {@code underLock} before the lock is
+	 * released. A session registered with another queue is registered again with this one.
+	 */
+	private void attach(UUID boardId, SessionSendQueue queue, Consumer<BoardReplayBuffer> underLock) {
+		while (true) {
+			BoardReplayBuffer replay = replayByBoard.computeIfAbsent(boardId,
+					id -> new BoardReplayBuffer(newStreamId(), properties.getReplayBufferSize()));
+			synchronized (replay) {
+				if (replay.isRetired()) {
+					// evicted between lookup and lock; the next lookup creates a fresh buffer
+					continue;
+				}
+				replay.sessionOpened();
+				sessions.add(boardId, queue);
+				subscriptions.add(queue, boardId);
+				underLock.accept(replay);
+				return;
+			}
+		}
 	}
 
 	public void unregister(WebSocketSession session) {
-		UUID boardId = boardBySessionId.remove(session.getId());
-		if (boardId == null) {
-			return;
+		Registration registration = subscriptions.remove(session.getId());
+		if (registration != null) {
+			detach(session.getId(), registration.boards());
 		}
-		Set<WebSocketSession> sessions = sessionsByBoard.get(boardId);
-		if (sessions != null) {
-			sessions.remove(session);
-			if (sessions.isEmpty()) {
-				sessionsByBoard.remove(boardId);
+	}
+
+	private void detach(String sessionId, Set<UUID> boardIds) {
+		for (UUID boardId : boardIds) {
+			detach(sessionId, boardId);
+		}
+	}
+
+	private void detach(String sessionId, UUID boardId) {
+		sessions.remove(boardId, sessionId);
+		BoardReplayBuffer replay = replayByBoard.get(boardId);
+		if (replay != null) {
+			synchronized (replay) {
+				replay.sessionClosed(System.nanoTime());
 			}
 		}
 	}
 
-	public void broadcast(UUID boardId, OutboxEntry entry) {
-		String message = outboxMessageFormatter.format(entry);
-		Set<WebSocketSession> sessions = sessionsByBoard.get(boardId);
-		if (sessions == null || sessions.isEmpty()) {
-			log.info("No WebSocket session for board {}, skipping broadcast", boardId);
-			return;
+	/**
+	 * Records that the session answered a heartbeat ping.
+	 */
+	public void pongReceived(WebSocketSession session) {
+		SessionSendQueue queue = subscriptions.queue(session.getId());
+		if (queue != null) {
+			queue.pongReceived();
+		}
+	}
+
+	/**
+	 * Whether this instance follows the board: it has sessions for it, or recently had and keeps its replay buffer.
+	 */
+	public boolean tracksBoard(UUID boardId) {
+		return replayByBoard.containsKey(boardId);
+	}
+
+	/**
+	 * Formats the event once and enqueues it for every session of the board (after the coalescing window, if
+	 * enabled). Never blocks on network I/O.
+	 *
+	 * @return the number of sessions the event is addressed to
+	 */
+	public int broadcast(UUID boardId, OutboxEntry entry) {
+		return broadcast(boardId, List.of(entry));
+	}
+
+	/**
+	 * Formats an ordered batch of events of one board and enqueues them for every session of the board in that
+	 * order, with a single session lookup and coalescing pass for the whole batch.
+	 *
+	 * @return the number of sessions the events are addressed to
+	 */
+	public int broadcast(UUID boardId, List<OutboxEntry> entries) {
+		BoardReplayBuffer replay = replayByBoard.get(boardId);
+		if (replay == null || entries.isEmpty()) {
+			return 0;
+		}
+		List<TextMessage> messages = new ArrayList<>(entries.size());
+		int sessionCount;
+		boolean firstPending;
+		synchronized (replay) {
+			if (replay.isRetired()) {
+				return 0;
+			}
+			for (OutboxEntry entry : entries) {
+				long start = System.nanoTime();
+				TextMessage message = new TextMessage(outboxMessageFormatter.encode(entry, replay.nextSeq()));
+				replay.append(message);
+				formatTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+				messages.add(message);
+			}
+			SessionSendQueue[] queues = sessions.queues(boardId);
+			sessionCount = queues.length;
+			List<BoardDelta> deltas = hasDeltaSessions(queues) ? deltas(entries) : null;
+			if (properties.getCoalesceWindowMillis() <= 0) {
+				send(boardId, messages, deltas);
+				return sessionCount;
+			}
+			if (sessionCount == 0) {
+				// buffered for clients that come back within the retention time
+				return 0;
+			}
+			// Still under the lock that assigned the seqs: a concurrent broadcast of the board (the relay thread and
+			// the polling fallback) cannot put seq N+1 in the pending frames, or flush it, ahead of N.
+			firstPending = addPending(boardId, messages, deltas);
+		}
+		if (firstPending) {
+			coalesceScheduler.schedule(() -> flush(boardId), properties.getCoalesceWindowMillis(), TimeUnit.MILLISECONDS);
+		}
+		return sessionCount;
+	}
+
+	/**
+	 * Adds the frames and deltas to the board's pending frames.
+	 *
+	 * @return {@code true} if the board had no pending frames, so a flush has to be scheduled
+	 */
+	private boolean addPending(UUID boardId, List<TextMessage> messages, List<BoardDelta> deltas) {
+		boolean[] firstPending = new boolean[1];
+		pendingByBoard.compute(boardId, (id, pending) -> {
+			if (pending == null) {
+				pending = new PendingFrames();
+				firstPending[0] = true;
+			}
+			for (TextMessage message : messages) {
+				// A replaced frame moves to the tail with its new seq, so flushed seqs only ever increase; the
+				// seqs of replaced frames are skipped in the live stream but still replayed from the buffer.
+				String key = coalesceKey(message);
+				if (pending.frames.remove(key) != null) {
+					coalescedFrames.increment();
+				}
+				pending.frames.put(key, message);
+			}
+			if (deltas != null) {
+				for (BoardDelta delta : deltas) {
+					pending.add(delta);
+				}
+			}
+			return pending;
+		});
+		return firstPending[0];
+	}
+
+	int totalQueueDepth() {
+		int depth = 0;
+		for (SessionSendQueue[] queues : sessions.allQueues()) {
+			for (SessionSendQueue queue : queues) {
+				depth += queue.depth();
+			}
 		}
+		return depth;
+	}
 
-		TextMessage textMessage = new TextMessage(message);
+	/**
+	 * Runs one {@link SessionHeartbeat} beat now: pings every registered session, evicts the dead ones and refreshes
+	 * the per-board session gauges.
+	 */
+	void heartbeat() {
+		heartbeat.beat();
+	}
 
-		for (WebSocketSession session : sessions) {
-			if (!session.isOpen()) {
-				continue;
+	/**
+	 * Publishes the session count of the {@code board-gauge-limit} boards with the most sessions, replacing the
+	 * previous set so boards that dropped out stop reporting.
+	 */
+	void refreshBoardGauges() {
+		int limit = properties.getBoardGaugeLimit();
+		List<MultiGauge.Row<?>> rows = new ArrayList<>();
+		if (limit > 0) {
+			List<Map.Entry<UUID, Integer>> counts = new ArrayList<>(sessions.boards());
+			sessions.forEach((boardId, queues) -> counts.add(Map.entry(boardId, queues.length)));
+			counts.sort(Map.Entry.<UUID, Integer>comparingByValue(Comparator.reverseOrder()));
+			for (Map.Entry<UUID, Integer> count : counts.subList(0, Math.min(limit, counts.size()))) {
+				rows.add(MultiGauge.Row.of(Tags.of("board", count.getKey().toString()), count.getValue()));
 			}
+		}
+		boardSessions.register(rows, true);
+	}
+
+	/**
+	 * Unregisters a dead session, unless it already was, and closes it if it still looks open.
+	 */
+	private void evict(SessionSendQueue queue, Eviction reason) {
+		WebSocketSession session = queue.session();
+		// the session may have been unregistered already, or registered again with a new queue
+		Registration registration = subscriptions.removeIfCurrent(queue);
+		if (registration == null) {
+			return;
+		}
+		detach(session.getId(), registration.boards());
+		evictions.get(reason).increment();
+		log.info("Evicted WebSocket session {} of boards {}: {}", session.getId(), registration.boards(),
+				reason.tag());
+		if (session.isOpen()) {
 			try {
-				session.sendMessage(textMessage);
-				log.info("Broadcast WebSocket message to session {} (board {}): {}", session.getId(), boardId, message);
+				session.close(CloseStatus.SESSION_NOT_RELIABLE);
 			}
 			catch (IOException e) {
-				log.warn("Failed to send WebSocket message to session {}", session.getId(), e);
+				log.debug("Failed to close evicted WebSocket session {}", session.getId(), e);
 			}
 		}
 	}
 
-}
+	/**
+	 * Drops replay buffers of boards that have had no session here for {@code replay-retention-seconds}.
+	 */
+	void evictIdleReplayBuffers() {
+		long now = System.nanoTime();
+		long retention = TimeUnit.SECONDS.toNanos(properties.getReplayRetentionSeconds());
+		for (Map.Entry<UUID, BoardReplayBuffer> entry : replayByBoard.entrySet()) {
+			BoardReplayBuffer replay = entry.getValue();
+			synchronized (replay) {
+				if (replay.retireIfIdle(now, retention)) {
+					replayByBoard.remove(entry.getKey(), replay);
+				}
+			}
+		}
+	}
+
+	@PreDestroy
+	void shutdown() {
+		heartbeat.shutdown();
+		coalesceScheduler.shutdownNow();
+		if (sendExecutor instanceof ExecutorService executorService) {
+			executorService.shutdown();
+		}
+	}
+
+	private void resume(SessionSendQueue queue, BoardReplayBuffer replay, String streamId, long since) {
+		if (streamId == null) {
+			queue.enqueue(new TextMessage(outboxMessageFormatter.encodeSync(replay.streamId(), replay.lastSeq())));
+			return;
+		}
+		List<TextMessage> missed = replay.streamId().equals(streamId) ? replay.since(since) : null;
+		// The sync frame and the replay must fit the queue, or drop-oldest would silently lose part of the replay
+		if (missed == null || missed.size() + 1 > properties.getSessionQueueCapacity()) {
+			resumeReload.increment();
+			queue.enqueue(new TextMessage(outboxMessageFormatter.encodeReload(replay.streamId(), replay.lastSeq())));
+			return;
+		}
+		resumeReplayed.increment();
+		queue.enqueue(new TextMessage(outboxMessageFormatter.encodeSync(replay.streamId(), since)));
+		for (TextMessage message : missed) {
+			queue.enqueue(message);
+		}
+	}
+
+	private static String newStreamId() {
+		return Long.toUnsignedString(ThreadLocalRandom.current().nextLong(), 36);
+	}
+
+	private void flush(UUID boardId) {
+		PendingFrames pending = pendingByBoard.remove(boardId);
+		if (pending == null) {
+			return;
+		}
+		send(boardId, pending.frames.values(), pending.deltas.values());
+	}
+
+	private List<BoardDelta> deltas(List<OutboxEntry> entries) {
+		List<BoardDelta> deltas = new ArrayList<>(entries.size());
+		for (OutboxEntry entry : entries) {
+			BoardDelta delta = boardV2MessageFormatter.delta(entry);
+			if (delta != null) {
+				deltas.add(delta);
+			}
+		}
+		return deltas;
+	}
+
+	/**
+	 * Encodes the deltas in the protocol's format, packing consecutive deltas into batch frames of at most
+	 * {@code max-batch-size}.
+	 */
+	private List<WebSocketMessage<?>> encode(UUID boardId, BoardProtocol protocol, Collection<BoardDelta> deltas) {
+		if (deltas == null || deltas.isEmpty()) {
+			return List.of();
+		}
+		List<BoardDelta> all = List.copyOf(deltas);
+		int batchSize = Math.max(1, properties.getMaxBatchSize());
+		// board-mux frames name their board; the other protocols carry one board per connection
+		UUID tag = protocol == BoardProtocol.MUX ? boardId : null;
+		List<WebSocketMessage<?>> frames = new ArrayList<>((all.size() - 1) / batchSize + 1);
+		for (int from = 0; from < all.size(); from += batchSize) {
+			List<BoardDelta> batch = all.subList(from, Math.min(all.size(), from + batchSize));
+			if (batch.size() == 1) {
+				frames.add(protocol == BoardProtocol.BINARY
+						? boardBinaryMessageFormatter.encode(batch.get(0))
+						: boardV2MessageFormatter.encode(tag, batch.get(0)));
+			}
+			else {
+				frames.add(protocol == BoardProtocol.BINARY
+						? boardBinaryMessageFormatter.encodeBatch(batch)
+						: boardV2MessageFormatter.encodeBatch(tag, batch));
+			}
+		}
+		return frames;
+	}
+
+	private static boolean hasDeltaSessions(SessionSendQueue[] queues) {
+		for (SessionSendQueue queue : queues) {
+			if (queue.protocol().sendsDeltas()) {
+				return true;
+			}
+		}
+		return false;
+	}
 
+	/**
+	 * Enqueues the frames of each session's protocol, in order. Deltas are encoded once per protocol, when the first
+	 * session of that protocol is reached. The board's sessions are read as one array snapshot and every protocol's
+	 * frames as an array, so the per-session loop allocates nothing.
+	 *
+	 * @param deltas changes for sessions that receive deltas, or {@code null} when the board had none
+	 */
+	private void send(UUID boardId, Collection<TextMessage> v1Frames, Collection<BoardDelta> deltas) {
+		SessionSendQueue[] queues = sessions.queues(boardId);
+		if (queues.length == 0) {
+			return;
+		}
+		long start = System.nanoTime();
+		WebSocketMessage<?>[][] framesByProtocol = new WebSocketMessage<?>[PROTOCOLS.length][];
+		framesByProtocol[BoardProtocol.V1.ordinal()] = v1Frames.toArray(new WebSocketMessage<?>[0]);
+		long saved = 0;
+		for (SessionSendQueue queue : queues) {
+			BoardProtocol protocol = queue.protocol();
+			WebSocketMessage<?>[] frames = framesByProtocol[protocol.ordinal()];
+			if (frames == null) {
+				frames = encode(boardId, protocol, deltas).toArray(new WebSocketMessage<?>[0]);
+				framesByProtocol[protocol.ordinal()] = frames;
+			}
+			if (protocol.sendsDeltas() && frames.length > 0) {
+				saved += deltas.size() - frames.length;
+			}
+			for (WebSocketMessage<?> message : frames) {
+				queue.enqueue(message);
+			}
+		}
+		batchedFrames.increment(saved);
+		fanOutTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Everything between the sequence number and the value ({@code type;resource;id;key}); values are escaped, so
+	 * the first {@code ;value=} always separates the two.
+	 */
+	private static String coalesceKey(TextMessage message) {
+		String payload = message.getPayload();
+		int start = payload.startsWith("seq=") ? payload.indexOf(';') + 1 : 0;
+		int valueStart = payload.indexOf(";value=", start);
+		return valueStart < 0 ? payload.substring(start) : payload.substring(start, valueStart);
+	}
+
+	/**
+	 * Frames of one board waiting for the end of its coalescing window: {@code board-v1} frames by field, and deltas
+	 * merged by entity.
+	 */
+	private static final class PendingFrames {
+
+		private final Map<String, TextMessage> frames = new LinkedHashMap<>();
+		private final Map<String, BoardDelta> deltas = new LinkedHashMap<>();
+
+		void add(BoardDelta delta) {
+			if (delta.isDelete()) {
+				// moved last, so a board's delete follows the pending changes of its tasks
+				deltas.remove(delta.key());
+				deltas.put(delta.key(), delta);
+				return;
+			}
+			deltas.merge(delta.key(), delta, BoardDelta::merge);
+		}
+	}
+}
@@ -0,0 +1,60 @@
+-- Baseline: the schema previously generated by Hibernate (ddl-auto: create).
+
+create table users (
+    id            uuid                        not null,
+    username      varchar(255)                not null,
+    password_hash varchar(255)                not null,
+    created_at    timestamp(6) with time zone not null,
+    updated_at    timestamp(6) with time zone not null,
+    constraint pk_users primary key (id),
+    constraint uk_users_username unique (username)
+);
+
+create table boards (
+    id          uuid                        not null,
+    name        varchar(255)                not null,
+    description varchar(255),
+    created_at  timestamp(6) with time zone not null,
+    updated_at  timestamp(6) with time zone not null,
+    constraint pk_boards primary key (id)
+);
+
+create table permissions (
+    id         uuid                        not null,
+    user_id    uuid                        not null,
+    board_id   uuid                        not null,
+    role       varchar(32)                 not null,
+    created_at timestamp(6) with time zone not null,
+    updated_at timestamp(6) with time zone not null,
+    constraint pk_permissions primary key (id),
+    constraint uk_permissions_user_board unique (user_id, board_id),
+    constraint fk_permissions_user foreign key (user_id) references users (id),
+    constraint fk_permissions_board foreign key (board_id) references boards (id),
+    constraint ck_permissions_role check (role in ('OWNER', 'EDITOR'))
+);
+
+create table tasks (
+    id          uuid                        not null,
+    board_id    uuid                        not null,
+    name        varchar(255)                not null,
+    description varchar(255),
+    due_date    timestamp(6) with time zone,
+    status      varchar(255)                not null,
+    created_at  timestamp(6) with time zone not null,
+    updated_at  timestamp(6) with time zone not null,
+    constraint pk_tasks primary key (id),
+    constraint fk_tasks_board foreign key (board_id) references boards (id),
+    constraint ck_tasks_status check (status in ('NOT_STARTED', 'IN_PROGRESS', 'COMPLETED'))
+);
+
+create table outbox (
+    id             uuid                        not null,
+    aggregate_type varchar(255)                not null,
+    aggregate_id   varchar(255)                not null,
+    board_id       uuid                        not null,
+    event_type     varchar(255)                not null,
+    payload        jsonb                       not null,
+    created_at     timestamp(6) with time zone not null,
+    processed_at   timestamp(6) with time zone,
+    constraint pk_outbox primary key (id)
+);
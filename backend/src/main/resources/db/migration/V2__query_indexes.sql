@@ -0,0 +1,13 @@
+-- Indexes matched to the query shapes in TaskService, BoardService and PermissionRepository.
+
+-- TaskService: board_id = ? [and due_date range] order by due_date, id (offset and keyset listing).
+create index idx_tasks_board_due_id on tasks (board_id, due_date, id);
+
+-- TaskService with a status filter: board_id = ? and status = ? [and due_date range] order by due_date, id.
+create index idx_tasks_board_status_due_id on tasks (board_id, status, due_date, id);
+
+-- PermissionRepository.findByBoardId; (user_id, board_id) lookups use uk_permissions_user_board.
+create index idx_permissions_board on permissions (board_id);
+
+-- BoardService keyset listing: order by created_at, id.
+create index idx_boards_created_id on boards (created_at, id);
@@ -0,0 +1,3 @@
+-- InProcessOutboxRelay polls processed_at is null and created_at < ? order by created_at.
+-- Partial, so it only holds rows still waiting to be relayed.
+create index idx_outbox_unprocessed_created on outbox (created_at) where processed_at is null;
@@ -0,0 +1,2 @@
+-- OutboxRetentionJob deletes processed_at < ? in chunks. Partial, so unprocessed rows are not indexed twice.
+create index idx_outbox_processed on outbox (processed_at) where processed_at is not null;
@@ -0,0 +1,61 @@
+-- Range-partition the outbox by created_at, one partition per UTC day, so expired events are removed by
+-- dropping whole partitions instead of deleting rows (no dead tuples, no vacuum, no per-row WAL).
+-- OutboxPartitionManager creates upcoming partitions and detaches/drops expired ones; partitions are named
+-- outbox_pYYYYMMDD after the day they cover.
+
+alter table outbox rename to outbox_legacy;
+alter table outbox_legacy rename constraint pk_outbox to pk_outbox_legacy;
+alter index idx_outbox_unprocessed_created rename to idx_outbox_legacy_unprocessed_created;
+alter index idx_outbox_processed rename to idx_outbox_legacy_processed;
+
+-- The partition key must be part of the primary key.
+create table outbox (
+    id             uuid                        not null,
+    aggregate_type varchar(255)                not null,
+    aggregate_id   varchar(255)                not null,
+    board_id       uuid                        not null,
+    event_type     varchar(255)                not null,
+    payload        jsonb                       not null,
+    created_at     timestamp(6) with time zone not null,
+    processed_at   timestamp(6) with time zone,
+    constraint pk_outbox primary key (id, created_at)
+) partition by range (created_at);
+
+create index idx_outbox_unprocessed_created on outbox (created_at) where processed_at is null;
+create index idx_outbox_processed on outbox (processed_at) where processed_at is not null;
+
+do $$
+declare
+    today date := (now() at time zone 'utc')::date;
+begin
+    -- Rows written before this migration. The partition is named after the day before its upper bound, like
+    -- every daily partition, so it is dropped once that day falls out of the retention window.
+    execute format('create table %I partition of outbox for values from (minvalue) to (%L)',
+            'outbox_p' || to_char(today - 1, 'YYYYMMDD'), today::timestamp at time zone 'utc');
+    for i in 0..3 loop
+        execute format('create table %I partition of outbox for values from (%L) to (%L)',
+                'outbox_p' || to_char(today + i, 'YYYYMMDD'),
+                (today + i)::timestamp at time zone 'utc', (today + i + 1)::timestamp at time zone 'utc');
+    end loop;
+end $$;
+
+insert into outbox (id, aggregate_type, aggregate_id, board_id, event_type, payload, created_at, processed_at)
+select id, aggregate_type, aggregate_id, board_id, event_type, payload, created_at, processed_at
+from outbox_legacy;
+
+drop table outbox_legacy;
+
+-- Debezium reads the outbox through the dbz_publication publication. Without publish_via_partition_root, changes
+-- are published under the partition names (public.outbox_p20250101, ...), which table.include.list=public.outbox
+-- filters out. setup-debezium.sh uses this publication instead of letting the connector create one.
+do $$
+begin
+    if not exists (select 1 from pg_publication where pubname = 'dbz_publication') then
+        create publication dbz_publication for table public.outbox with (publish_via_partition_root = true);
+    else
+        if not exists (select 1 from pg_publication where pubname = 'dbz_publication' and puballtables) then
+            alter publication dbz_publication set table public.outbox;
+        end if;
+        alter publication dbz_publication set (publish_via_partition_root = true);
+    end if;
+end $$;
@@ -0,0 +1,4 @@
+-- Optimistic-lock versions of boards and tasks (JPA @Version). Outbox payloads carry the version an event produced,
+-- so board-v2 clients can tell whether a delta is newer than the snapshot they hold.
+alter table boards add column version bigint not null default 0;
+alter table tasks add column version bigint not null default 0;
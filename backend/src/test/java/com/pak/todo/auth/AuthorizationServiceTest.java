@@ -8,6 +8,7 @@ import org.junit.jupiter.api.Test;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -15,13 +16,28 @@ import com.pak.todo.model.entity.Board;
 import com.pak.todo.model.entity.Permission;
 import com.pak.todo.model.entity.User;
 import com.pak.todo.model.enums.PermissionRole;
+import com.pak.todo.repository.BoardRepository;
 import com.pak.todo.repository.PermissionRepository;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 class AuthorizationServiceTest {
 
+	private AuthorizationService newService(PermissionRepository permissionRepository) {
+		return newService(permissionRepository, mock(BoardRepository.class));
+	}
+
+	private AuthorizationService newService(PermissionRepository permissionRepository, BoardRepository boardRepository) {
+		return new AuthorizationService(
+				permissionRepository,
+				boardRepository,
+				new PermissionCache(new PermissionCacheProperties(), new SimpleMeterRegistry())
+		);
+	}
+
 	// Scenario: canViewBoard returns true when user has any permission on the board
 	// Given: the repository returns a permission for the user and board
-	// When: canViewBoard(user, board) is called
+	// When: canViewBoard(userId, boardId) is called
 	// Then: true is returned
 	@Test
 	void canViewBoard_hasPermission_returnsTrue() {
@@ -31,15 +47,15 @@ class AuthorizationServiceTest {
 		Permission permission = Permission.create(UUID.randomUUID(), user, board, PermissionRole.EDITOR);
 		when(permissionRepository.findByUserIdAndBoardId(user.getId(), board.getId())).thenReturn(Optional.of(permission));
 
-		AuthorizationService service = new AuthorizationService(permissionRepository);
-		boolean result = service.canViewBoard(user, board);
+		AuthorizationService service = newService(permissionRepository);
+		boolean result = service.canViewBoard(user.getId(), board.getId());
 
 		assertThat(result).isTrue();
 	}
 
 	// Scenario: canViewBoard returns false when user has no permission on the board
 	// Given: the repository returns empty for the user and board
-	// When: canViewBoard(user, board) is called
+	// When: canViewBoard(userId, boardId) is called
 	// Then: false is returned
 	@Test
 	void canViewBoard_noPermission_returnsFalse() {
@@ -48,64 +64,29 @@ class AuthorizationServiceTest {
 		Board board = Board.create(UUID.randomUUID(), "Board", null);
 		when(permissionRepository.findByUserIdAndBoardId(user.getId(), board.getId())).thenReturn(Optional.empty());
 
-		AuthorizationService service = new AuthorizationService(permissionRepository);
-		boolean result = service.canViewBoard(user, board);
+		AuthorizationService service = newService(permissionRepository);
+		boolean result = service.canViewBoard(user.getId(), board.getId());
 
 		assertThat(result).isFalse();
 	}
 
-	// Scenario: canEditBoard returns true when user has OWNER or EDITOR role
-	// Given: the repository reports user has one of OWNER, EDITOR for the board
-	// When: canEditBoard(user, board) is called
-	// Then: true is returned
+	// Scenario: repeated checks for the same user and board are served from the permission cache
+	// Given: the repository returns an EDITOR permission for the user and board
+	// When: canViewBoard is called twice for the same user and board
+	// Then: the repository is queried only once
 	@Test
-	void canEditBoard_hasEditorRole_returnsTrue() {
+	void canViewBoard_repeatedChecks_queriesRepositoryOnce() {
 		PermissionRepository permissionRepository = mock(PermissionRepository.class);
 		User user = User.create(UUID.randomUUID(), "u", "hash");
 		Board board = Board.create(UUID.randomUUID(), "Board", null);
-		when(permissionRepository.existsByUserIdAndBoardIdAndRoleIn(eq(user.getId()), eq(board.getId()), any()))
-				.thenReturn(true);
-
-		AuthorizationService service = new AuthorizationService(permissionRepository);
-		boolean result = service.canEditBoard(user, board);
-
-		assertThat(result).isTrue();
-	}
-
-	// Scenario: canEditBoard returns false when user has no edit role
-	// Given: the repository reports no OWNER/EDITOR for the user and board
-	// When: canEditBoard(user, board) is called
-	// Then: false is returned
-	@Test
-	void canEditBoard_noEditRole_returnsFalse() {
-		PermissionRepository permissionRepository = mock(PermissionRepository.class);
-		User user = User.create(UUID.randomUUID(), "u", "hash");
-		Board board = Board.create(UUID.randomUUID(), "Board", null);
-		when(permissionRepository.existsByUserIdAndBoardIdAndRoleIn(eq(user.getId()), eq(board.getId()), any()))
-				.thenReturn(false);
-
-		AuthorizationService service = new AuthorizationService(permissionRepository);
-		boolean result = service.canEditBoard(user, board);
-
-		assertThat(result).isFalse();
-	}
-
-	// Scenario: canDeleteBoard returns true when user is OWNER
-	// Given: the repository reports user has OWNER for the board
-	// When: canDeleteBoard(user, board) is called
-	// Then: true is returned
-	@Test
-	void canDeleteBoard_hasOwnerRole_returnsTrue() {
-		PermissionRepository permissionRepository = mock(PermissionRepository.class);
-		User user = User.create(UUID.randomUUID(), "u", "hash");
-		Board board = Board.create(UUID.randomUUID(), "Board", null);
-		when(permissionRepository.existsByUserIdAndBoardIdAndRoleIn(eq(user.getId()), eq(board.getId()), any()))
-				.thenReturn(true);
+		Permission permission = Permission.create(UUID.randomUUID(), user, board, PermissionRole.EDITOR);
+		when(permissionRepository.findByUserIdAndBoardId(user.getId(), board.getId())).thenReturn(Optional.of(permission));
 
-		AuthorizationService service = new AuthorizationService(permissionRepository);
-		boolean result = service.canDeleteBoard(user, board);
+		AuthorizationService service = newService(permissionRepository);
+		service.canViewBoard(user.getId(), board.getId());
+		service.canViewBoard(user.getId(), board.getId());
 
-		assertThat(result).isTrue();
+		verify(permissionRepository, times(1)).findByUserIdAndBoardId(user.getId(), board.getId());
 	}
 
 	// Scenario: grantOwnerIfMissing does nothing when user already has OWNER
@@ -120,7 +101,7 @@ class AuthorizationServiceTest {
 		when(permissionRepository.existsByUserIdAndBoardIdAndRoleIn(eq(user.getId()), eq(board.getId()), any()))
 				.thenReturn(true);
 
-		AuthorizationService service = new AuthorizationService(permissionRepository);
+		AuthorizationService service = newService(permissionRepository);
 		service.grantOwnerIfMissing(user, board);
 
 		verify(permissionRepository, org.mockito.Mockito.never()).save(any());
@@ -138,7 +119,7 @@ class AuthorizationServiceTest {
 		when(permissionRepository.existsByUserIdAndBoardIdAndRoleIn(eq(user.getId()), eq(board.getId()), any()))
 				.thenReturn(false);
 
-		AuthorizationService service = new AuthorizationService(permissionRepository);
+		AuthorizationService service = newService(permissionRepository);
 		service.grantOwnerIfMissing(user, board);
 
 		org.mockito.ArgumentCaptor<Permission> captor = org.mockito.ArgumentCaptor.forClass(Permission.class);
@@ -148,4 +129,69 @@ class AuthorizationServiceTest {
 		assertThat(saved.getBoard()).isEqualTo(board);
 		assertThat(saved.getRole()).isEqualTo(PermissionRole.OWNER);
 	}
+
+	// Scenario: granting ownership invalidates a previously cached "no access" result
+	// Given: the user was checked (and denied) before the OWNER permission was granted
+	// When: grantOwnerIfMissing(user, board) is called and canViewBoard is checked again
+	// Then: the repository is queried again and the new OWNER role is visible
+	@Test
+	void grantOwnerIfMissing_afterDeniedCheck_invalidatesCachedRole() {
+		PermissionRepository permissionRepository = mock(PermissionRepository.class);
+		User user = User.create(UUID.randomUUID(), "u", "hash");
+		Board board = Board.create(UUID.randomUUID(), "Board", null);
+		Permission permission = Permission.create(UUID.randomUUID(), user, board, PermissionRole.OWNER);
+		when(permissionRepository.findByUserIdAndBoardId(user.getId(), board.getId()))
+				.thenReturn(Optional.empty())
+				.thenReturn(Optional.of(permission));
+		when(permissionRepository.existsByUserIdAndBoardIdAndRoleIn(eq(user.getId()), eq(board.getId()), any()))
+				.thenReturn(false);
+
+		AuthorizationService service = newService(permissionRepository);
+		assertThat(service.canViewBoard(user.getId(), board.getId())).isFalse();
+		service.grantOwnerIfMissing(user, board);
+
+		assertThat(service.canViewBoard(user.getId(), board.getId())).isTrue();
+	}
+
+	// Scenario: resolving board access returns null when the board does not exist
+	// Given: the board access query returns empty
+	// When: resolveBoardAccess(userId, boardId) is called
+	// Then: null is returned
+	@Test
+	void resolveBoardAccess_boardMissing_returnsNull() {
+		PermissionRepository permissionRepository = mock(PermissionRepository.class);
+		BoardRepository boardRepository = mock(BoardRepository.class);
+		User user = User.create(UUID.randomUUID(), "u", "hash");
+		UUID boardId = UUID.randomUUID();
+		when(boardRepository.findAccess(boardId, user.getId())).thenReturn(Optional.empty());
+
+		AuthorizationService service = newService(permissionRepository, boardRepository);
+		BoardAccess access = service.resolveBoardAccess(user.getId(), boardId);
+
+		assertThat(access).isNull();
+	}
+
+	// Scenario: the role resolved together with the board is not written to the permission cache
+	// Given: the board access query returns the board with an OWNER role
+	// When: resolveBoardAccess is called and then canViewBoard for the same user and board
+	// Then: the access allows delete and canViewBoard still loads the role through the cache loader
+	@Test
+	void resolveBoardAccess_existingBoard_doesNotPopulatePermissionCache() {
+		PermissionRepository permissionRepository = mock(PermissionRepository.class);
+		BoardRepository boardRepository = mock(BoardRepository.class);
+		User user = User.create(UUID.randomUUID(), "u", "hash");
+		Board board = Board.create(UUID.randomUUID(), "Board", null);
+		when(boardRepository.findAccess(board.getId(), user.getId()))
+				.thenReturn(Optional.of(new BoardAccess(board, PermissionRole.OWNER)));
+
+		AuthorizationService service = newService(permissionRepository, boardRepository);
+		BoardAccess access = service.resolveBoardAccess(user.getId(), board.getId());
+
+		when(permissionRepository.findByUserIdAndBoardId(user.getId(), board.getId()))
+				.thenReturn(Optional.of(Permission.create(UUID.randomUUID(), user, board, PermissionRole.OWNER)));
+
+		assertThat(access.canDelete()).isTrue();
+		assertThat(service.canViewBoard(user.getId(), board.getId())).isTrue();
+		verify(permissionRepository).findByUserIdAndBoardId(user.getId(), board.getId());
+	}
 }
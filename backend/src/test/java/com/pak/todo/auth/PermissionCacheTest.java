@@ -0,0 +1,65 @@
+package com.pak.todo.auth;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+
+import com.pak.todo.model.enums.PermissionRole;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PermissionCacheTest {
+
+	// Scenario: invalidating a board drops only the entries for that board
+	// Given: cached roles for two users on board A and one user on board B
+	// When: invalidateBoard(boardA) is called and the roles are looked up again
+	// Then: board A entries are reloaded while the board B entry is still served from the cache
+	@Test
+	void invalidateBoard_cachedEntries_reloadsOnlyThatBoard() {
+		PermissionCache cache = new PermissionCache(new PermissionCacheProperties(), new SimpleMeterRegistry());
+		UUID boardA = UUID.randomUUID();
+		UUID boardB = UUID.randomUUID();
+		UUID user1 = UUID.randomUUID();
+		UUID user2 = UUID.randomUUID();
+		AtomicInteger loads = new AtomicInteger();
+
+		cache.get(user1, boardA, key -> load(loads));
+		cache.get(user2, boardA, key -> load(loads));
+		cache.get(user1, boardB, key -> load(loads));
+		cache.invalidateBoard(boardA);
+		cache.get(user1, boardA, key -> load(loads));
+		cache.get(user2, boardA, key -> load(loads));
+		cache.get(user1, boardB, key -> load(loads));
+
+		assertThat(loads.get()).isEqualTo(5);
+	}
+
+	// Scenario: cache hits and misses are published as meters
+	// Given: a cache bound to a meter registry
+	// When: the same key is looked up twice
+	// Then: one miss and one hit are recorded for the permissions cache
+	@Test
+	void get_sameKeyTwice_recordsMissAndHit() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		PermissionCache cache = new PermissionCache(new PermissionCacheProperties(), registry);
+		UUID userId = UUID.randomUUID();
+		UUID boardId = UUID.randomUUID();
+		AtomicInteger loads = new AtomicInteger();
+
+		cache.get(userId, boardId, key -> load(loads));
+		cache.get(userId, boardId, key -> load(loads));
+
+		assertThat(registry.get("cache.gets").tag("cache", PermissionCache.CACHE_NAME).tag("result", "miss")
+				.functionCounter().count()).isEqualTo(1.0);
+		assertThat(registry.get("cache.gets").tag("cache", PermissionCache.CACHE_NAME).tag("result", "hit")
+				.functionCounter().count()).isEqualTo(1.0);
+	}
+
+	private Optional<PermissionRole> load(AtomicInteger loads) {
+		loads.incrementAndGet();
+		return Optional.of(PermissionRole.EDITOR);
+	}
+}
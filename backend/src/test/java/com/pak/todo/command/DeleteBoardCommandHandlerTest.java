@@ -1,5 +1,6 @@
 package com.pak.todo.command;
 
+import com.pak.todo.auth.PermissionCache;
 import com.pak.todo.domain.event.BoardEventPayload;
 import com.pak.todo.model.entity.Board;
 import com.pak.todo.repository.BoardRepository;
@@ -29,17 +30,19 @@ class DeleteBoardCommandHandlerTest {
 		BoardRepository boardRepository = Mockito.mock(BoardRepository.class);
 		TaskRepository taskRepository = Mockito.mock(TaskRepository.class);
 		OutboxSupport outboxSupport = Mockito.mock(OutboxSupport.class);
+		PermissionCache permissionCache = Mockito.mock(PermissionCache.class);
 
 		DeleteBoardCommandHandler handler = new DeleteBoardCommandHandler(
 				boardRepository,
 				taskRepository,
-				outboxSupport
+				outboxSupport,
+				permissionCache
 		);
 
 		UUID boardId = UUID.randomUUID();
 		Board existing = Board.create(boardId, "name", "desc");
 
-		when(boardRepository.findById(boardId)).thenReturn(Optional.of(existing));
+		when(boardRepository.findForUpdate(boardId)).thenReturn(Optional.of(existing));
 
 		boolean result = handler.handle(boardId);
 
@@ -65,6 +68,31 @@ class DeleteBoardCommandHandlerTest {
 		assertThat(payload.getOccurredAt()).isNotNull();
 
 		verify(boardRepository).delete(existing);
+		verify(permissionCache).invalidateBoard(boardId);
+	}
+
+	// Scenario: a board delete follows an update the client has already applied
+	// Given: a board at version 2, the version its last BoardUpdated delta carried
+	// When: handle() is called
+	// Then: the BoardDeleted payload carries version 3, so clients that skip deltas at or below 2 still apply it
+	@Test
+	void handle_afterUpdate_payloadVersionIsNewerThanLastDelta() {
+		BoardRepository boardRepository = Mockito.mock(BoardRepository.class);
+		OutboxSupport outboxSupport = Mockito.mock(OutboxSupport.class);
+		DeleteBoardCommandHandler handler = new DeleteBoardCommandHandler(boardRepository,
+				Mockito.mock(TaskRepository.class), outboxSupport, Mockito.mock(PermissionCache.class));
+
+		UUID boardId = UUID.randomUUID();
+		Board existing = Board.create(boardId, "name", "desc");
+		existing.setVersion(2L);
+		when(boardRepository.findForUpdate(boardId)).thenReturn(Optional.of(existing));
+
+		handler.handle(boardId);
+
+		ArgumentCaptor<BoardEventPayload> payloadCaptor = ArgumentCaptor.forClass(BoardEventPayload.class);
+		verify(outboxSupport).saveOutbox(eq("Board"), eq(boardId.toString()), eq("BoardDeleted"), eq(boardId),
+				payloadCaptor.capture());
+		assertThat(payloadCaptor.getValue().getVersion()).isEqualTo(3L);
 	}
 
 	// Scenario: board does not exist
@@ -76,15 +104,17 @@ class DeleteBoardCommandHandlerTest {
 		BoardRepository boardRepository = Mockito.mock(BoardRepository.class);
 		TaskRepository taskRepository = Mockito.mock(TaskRepository.class);
 		OutboxSupport outboxSupport = Mockito.mock(OutboxSupport.class);
+		PermissionCache permissionCache = Mockito.mock(PermissionCache.class);
 
 		DeleteBoardCommandHandler handler = new DeleteBoardCommandHandler(
 				boardRepository,
 				taskRepository,
-				outboxSupport
+				outboxSupport,
+				permissionCache
 		);
 
 		UUID boardId = UUID.randomUUID();
-		when(boardRepository.findById(boardId)).thenReturn(Optional.empty());
+		when(boardRepository.findForUpdate(boardId)).thenReturn(Optional.empty());
 
 		boolean result = handler.handle(boardId);
 
@@ -92,6 +122,7 @@ class DeleteBoardCommandHandlerTest {
 		verify(taskRepository, never()).deleteByBoard_Id(any());
 		verify(boardRepository, never()).delete(any());
 		verify(outboxSupport, never()).saveOutbox(any(), any(), any(), any(), any());
+		verify(permissionCache, never()).invalidateBoard(any());
 	}
 }
 
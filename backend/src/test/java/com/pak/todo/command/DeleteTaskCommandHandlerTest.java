@@ -50,7 +50,7 @@ class DeleteTaskCommandHandlerTest {
 				TaskStatus.NOT_STARTED
 		);
 
-		when(taskRepository.findByIdAndBoardId(taskId, boardId)).thenReturn(Optional.of(existing));
+		when(taskRepository.findForUpdate(taskId, boardId)).thenReturn(Optional.of(existing));
 
 		boolean result = handler.handle(boardId, taskId);
 
@@ -80,6 +80,31 @@ class DeleteTaskCommandHandlerTest {
 		verify(taskRepository).delete(existing);
 	}
 
+	// Scenario: a delete follows an update the client has already applied
+	// Given: a task at version 3, the version its last TaskUpdated delta carried
+	// When: handle() is called
+	// Then: the TaskDeleted payload carries version 4, so clients that skip deltas at or below 3 still apply it
+	@Test
+	void handle_afterUpdate_payloadVersionIsNewerThanLastDelta() {
+		TaskRepository taskRepository = Mockito.mock(TaskRepository.class);
+		OutboxSupport outboxSupport = Mockito.mock(OutboxSupport.class);
+		DeleteTaskCommandHandler handler = new DeleteTaskCommandHandler(taskRepository, outboxSupport);
+
+		UUID boardId = UUID.randomUUID();
+		UUID taskId = UUID.randomUUID();
+		Task existing = Task.create(taskId, Board.create(boardId, "board", "desc"), "name", "desc", null,
+				TaskStatus.NOT_STARTED);
+		existing.setVersion(3L);
+		when(taskRepository.findForUpdate(taskId, boardId)).thenReturn(Optional.of(existing));
+
+		handler.handle(boardId, taskId);
+
+		ArgumentCaptor<TaskEventPayload> payloadCaptor = ArgumentCaptor.forClass(TaskEventPayload.class);
+		verify(outboxSupport).saveOutbox(eq("Task"), eq(taskId.toString()), eq("TaskDeleted"), eq(boardId),
+				payloadCaptor.capture());
+		assertThat(payloadCaptor.getValue().getVersion()).isEqualTo(4L);
+	}
+
 	// Scenario: task does not exist
 	// Given: no task can be found for the given boardId and taskId
 	// When: handle() is called
@@ -97,7 +122,7 @@ class DeleteTaskCommandHandlerTest {
 		UUID boardId = UUID.randomUUID();
 		UUID taskId = UUID.randomUUID();
 
-		when(taskRepository.findByIdAndBoardId(taskId, boardId)).thenReturn(Optional.empty());
+		when(taskRepository.findForUpdate(taskId, boardId)).thenReturn(Optional.empty());
 
 		boolean result = handler.handle(boardId, taskId);
 
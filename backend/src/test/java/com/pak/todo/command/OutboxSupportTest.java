@@ -0,0 +1,148 @@
+package com.pak.todo.command;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pak.todo.domain.event.OutboxCommittedEvent;
+import com.pak.todo.domain.event.TaskEventPayload;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class OutboxSupportTest {
+
+	private final JdbcTemplate jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+	private final ApplicationEventPublisher eventPublisher = Mockito.mock(ApplicationEventPublisher.class);
+	private final OutboxSupport outboxSupport = new OutboxSupport(jdbcTemplate, new ObjectMapper(), eventPublisher);
+
+	@AfterEach
+	void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	// Scenario: outside a transaction the entry is inserted immediately
+	// Given: no active transaction synchronization
+	// When: saveOutbox is called once
+	// Then: one batch with a single entry is sent to JDBC and the entry is published as committed
+	@Test
+	void saveOutbox_noTransaction_insertsImmediately() {
+		outboxSupport.saveOutbox("Board", "b1", "BoardCreated", UUID.randomUUID(), new TaskEventPayload());
+
+		verify(jdbcTemplate).batchUpdate(eq(OutboxSupport.INSERT_SQL), argThatHasSize(1), anyInt(), anySetter());
+		verify(eventPublisher).publishEvent(any(OutboxCommittedEvent.class));
+	}
+
+	// Scenario: entries recorded in one transaction are written as a single batch before commit
+	// Given: an active transaction synchronization
+	// When: saveOutbox is called three times and the transaction reaches beforeCommit
+	// Then: nothing is written until beforeCommit, then one batch with three entries is sent
+	@Test
+	void saveOutbox_inTransaction_batchesEntriesBeforeCommit() {
+		TransactionSynchronizationManager.initSynchronization();
+		UUID boardId = UUID.randomUUID();
+
+		outboxSupport.saveOutbox("Task", "t1", "TaskCreated", boardId, new TaskEventPayload());
+		outboxSupport.saveOutbox("Task", "t2", "TaskCreated", boardId, new TaskEventPayload());
+		outboxSupport.saveOutbox("Task", "t3", "TaskDeleted", boardId, new TaskEventPayload());
+
+		verify(jdbcTemplate, never()).batchUpdate(any(String.class), Mockito.<Collection<Object>>any(), anyInt(), anySetter());
+
+		for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+			synchronization.beforeCommit(false);
+		}
+
+		verify(jdbcTemplate, times(1)).batchUpdate(eq(OutboxSupport.INSERT_SQL), argThatHasSize(3), anyInt(), anySetter());
+	}
+
+	// Scenario: committed entries are published once, after commit
+	// Given: two entries recorded in an active transaction
+	// When: the transaction reaches beforeCommit and then afterCommit
+	// Then: nothing is published before commit; afterwards one event carries both entries in order
+	@Test
+	void saveOutbox_inTransaction_publishesCommittedEntriesAfterCommit() {
+		TransactionSynchronizationManager.initSynchronization();
+		UUID boardId = UUID.randomUUID();
+
+		outboxSupport.saveOutbox("Task", "t1", "TaskCreated", boardId, new TaskEventPayload());
+		outboxSupport.saveOutbox("Task", "t2", "TaskUpdated", boardId, new TaskEventPayload());
+		for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+			synchronization.beforeCommit(false);
+		}
+		verify(eventPublisher, never()).publishEvent(any(Object.class));
+
+		for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+			synchronization.afterCommit();
+		}
+
+		ArgumentCaptor<OutboxCommittedEvent> event = ArgumentCaptor.forClass(OutboxCommittedEvent.class);
+		verify(eventPublisher).publishEvent(event.capture());
+		assertThat(event.getValue().entries()).extracting("aggregateId").containsExactly("t1", "t2");
+	}
+
+	// Scenario: a REQUIRES_NEW transaction started while another one is buffering entries
+	// Given: an entry recorded in an outer transaction, whose synchronizations are then suspended for an inner one
+	// When: the inner transaction records an entry and commits, then the outer one resumes and commits
+	// Then: each commit writes and publishes only its own transaction's entry
+	@Test
+	void saveOutbox_nestedNewTransaction_buffersEntriesPerTransaction() {
+		TransactionSynchronizationManager.initSynchronization();
+		UUID boardId = UUID.randomUUID();
+		outboxSupport.saveOutbox("Task", "outer", "TaskCreated", boardId, new TaskEventPayload());
+
+		List<TransactionSynchronization> suspended = TransactionSynchronizationManager.getSynchronizations();
+		TransactionSynchronizationManager.clearSynchronization();
+		TransactionSynchronizationManager.initSynchronization();
+		outboxSupport.saveOutbox("Task", "inner", "TaskCreated", boardId, new TaskEventPayload());
+		commit();
+
+		TransactionSynchronizationManager.clearSynchronization();
+		TransactionSynchronizationManager.initSynchronization();
+		suspended.forEach(TransactionSynchronizationManager::registerSynchronization);
+		commit();
+
+		verify(jdbcTemplate, times(2))
+				.batchUpdate(eq(OutboxSupport.INSERT_SQL), argThatHasSize(1), anyInt(), anySetter());
+		ArgumentCaptor<OutboxCommittedEvent> events = ArgumentCaptor.forClass(OutboxCommittedEvent.class);
+		verify(eventPublisher, times(2)).publishEvent(events.capture());
+		assertThat(events.getAllValues())
+				.extracting(event -> event.entries().get(0).getAggregateId())
+				.containsExactly("inner", "outer");
+	}
+
+	private static void commit() {
+		for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+			synchronization.beforeCommit(false);
+		}
+		for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+			synchronization.afterCommit();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Collection<Object> argThatHasSize(int size) {
+		return Mockito.argThat(entries -> entries != null && entries.size() == size);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static ParameterizedPreparedStatementSetter<Object> anySetter() {
+		return any(ParameterizedPreparedStatementSetter.class);
+	}
+}
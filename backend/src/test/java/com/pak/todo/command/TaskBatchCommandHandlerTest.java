@@ -0,0 +1,57 @@
+package com.pak.todo.command;
+
+import com.pak.todo.domain.command.CreateTaskCommand;
+import com.pak.todo.domain.command.TaskBatchCommand;
+import com.pak.todo.domain.command.UpdateTaskCommand;
+import com.pak.todo.model.dto.TaskBatchItemResult;
+import com.pak.todo.model.dto.TaskBatchResponse;
+import com.pak.todo.model.dto.TaskResponse;
+import com.pak.todo.model.enums.TaskBatchOperationType;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+class TaskBatchCommandHandlerTest {
+
+	// Scenario: mixed operations are applied in order with per-item results
+	// Given: a create that succeeds, an update of a missing task and a delete that succeeds
+	// When: handle() is called
+	// Then: results are 201, 404 and 204 in request order, with the task ids filled in
+	@Test
+	void handle_mixedOperations_returnsPerItemResultsInOrder() {
+		CreateTaskCommandHandler createHandler = Mockito.mock(CreateTaskCommandHandler.class);
+		UpdateTaskCommandHandler updateHandler = Mockito.mock(UpdateTaskCommandHandler.class);
+		DeleteTaskCommandHandler deleteHandler = Mockito.mock(DeleteTaskCommandHandler.class);
+		TaskBatchCommandHandler handler = new TaskBatchCommandHandler(createHandler, updateHandler, deleteHandler);
+
+		UUID boardId = UUID.randomUUID();
+		UUID createdId = UUID.randomUUID();
+		UUID missingId = UUID.randomUUID();
+		UUID deletedId = UUID.randomUUID();
+		CreateTaskCommand create = CreateTaskCommand.builder().taskId(createdId).boardId(boardId).name("New").build();
+		UpdateTaskCommand update = UpdateTaskCommand.builder().taskId(missingId).boardId(boardId).name("Renamed").build();
+		when(createHandler.handle(create)).thenReturn(TaskResponse.builder().id(createdId).boardId(boardId).name("New").build());
+		when(updateHandler.handle(update)).thenReturn(null);
+		when(deleteHandler.handle(boardId, deletedId)).thenReturn(true);
+
+		TaskBatchResponse response = handler.handle(TaskBatchCommand.builder()
+				.boardId(boardId)
+				.operations(List.of(
+						new TaskBatchCommand.Operation(TaskBatchOperationType.CREATE, create, null, null),
+						new TaskBatchCommand.Operation(TaskBatchOperationType.UPDATE, null, update, missingId),
+						new TaskBatchCommand.Operation(TaskBatchOperationType.DELETE, null, null, deletedId)))
+				.build());
+
+		List<TaskBatchItemResult> results = response.getResults();
+		assertThat(results).extracting(TaskBatchItemResult::getIndex).containsExactly(0, 1, 2);
+		assertThat(results).extracting(TaskBatchItemResult::getStatus).containsExactly(201, 404, 204);
+		assertThat(results).extracting(TaskBatchItemResult::getTaskId).containsExactly(createdId, missingId, deletedId);
+		assertThat(results.get(0).getTask().getName()).isEqualTo("New");
+		assertThat(results.get(1).getError()).isEqualTo("Task not found: " + missingId);
+	}
+}
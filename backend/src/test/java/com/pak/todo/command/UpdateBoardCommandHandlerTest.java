@@ -45,7 +45,7 @@ class UpdateBoardCommandHandlerTest {
 		Instant originalCreatedAt = board.getCreatedAt();
 		Instant originalUpdatedAt = board.getUpdatedAt();
 
-		when(boardRepository.findById(boardId)).thenReturn(Optional.of(board));
+		when(boardRepository.findForUpdate(boardId)).thenReturn(Optional.of(board));
 
 		UpdateBoardCommand command = new UpdateBoardCommand(
 				boardId,
@@ -90,6 +90,8 @@ class UpdateBoardCommandHandlerTest {
 		assertThat(payload.getUpdatedAt()).isEqualTo(board.getUpdatedAt());
 		assertThat(payload.getEventType()).isEqualTo("BoardUpdated");
 		assertThat(payload.getOccurredAt()).isNotNull();
+		assertThat(board.getVersion()).isEqualTo(1L);
+		assertThat(payload.getVersion()).isEqualTo(1L);
 	}
 
 	// Scenario: board does not exist
@@ -109,7 +111,7 @@ class UpdateBoardCommandHandlerTest {
 		);
 
 		UUID boardId = UUID.randomUUID();
-		when(boardRepository.findById(boardId)).thenReturn(Optional.empty());
+		when(boardRepository.findForUpdate(boardId)).thenReturn(Optional.empty());
 
 		UpdateBoardCommand command = new UpdateBoardCommand(
 				boardId,
@@ -56,10 +56,11 @@ class UpdateTaskCommandHandlerTest {
 				Instant.now().plus(1, ChronoUnit.DAYS),
 				TaskStatus.NOT_STARTED
 		);
+		existing.setVersion(3L);
 		Instant originalCreatedAt = existing.getCreatedAt();
 		Instant originalUpdatedAt = existing.getUpdatedAt();
 
-		when(taskRepository.findByIdAndBoardId(taskId, boardId)).thenReturn(Optional.of(existing));
+		when(taskRepository.findForUpdate(taskId, boardId)).thenReturn(Optional.of(existing));
 
 		Instant newDueDate = Instant.now().plus(2, ChronoUnit.DAYS);
 		Map<String, Object> payload = new LinkedHashMap<>();
@@ -117,7 +118,9 @@ class UpdateTaskCommandHandlerTest {
 		assertThat(savedPayload).containsEntry("description", "new-desc");
 		assertThat(savedPayload).containsEntry("dueDate", newDueDate);
 		assertThat(savedPayload).containsEntry("status", TaskStatus.IN_PROGRESS);
-		assertThat(savedPayload).hasSize(4);
+		assertThat(savedPayload).containsEntry("version", 4L);
+		assertThat(existing.getVersion()).isEqualTo(4L);
+		assertThat(savedPayload).hasSize(5);
 	}
 
 	// Scenario: null status should not override existing status
@@ -150,7 +153,7 @@ class UpdateTaskCommandHandlerTest {
 		);
 		TaskStatus originalStatus = existing.getStatus();
 
-		when(taskRepository.findByIdAndBoardId(taskId, boardId)).thenReturn(Optional.of(existing));
+		when(taskRepository.findForUpdate(taskId, boardId)).thenReturn(Optional.of(existing));
 
 		Instant newDueDate = Instant.now().plus(2, ChronoUnit.DAYS);
 		Map<String, Object> payload = new LinkedHashMap<>();
@@ -197,7 +200,7 @@ class UpdateTaskCommandHandlerTest {
 		UUID boardId = UUID.randomUUID();
 		UUID taskId = UUID.randomUUID();
 
-		when(taskRepository.findByIdAndBoardId(taskId, boardId)).thenReturn(Optional.empty());
+		when(taskRepository.findForUpdate(taskId, boardId)).thenReturn(Optional.empty());
 
 		Map<String, Object> payload = new LinkedHashMap<>();
 		payload.put("name", "new-name");
@@ -250,7 +253,7 @@ class UpdateTaskCommandHandlerTest {
 		);
 		String originalName = existing.getName();
 
-		when(taskRepository.findByIdAndBoardId(taskId, boardId)).thenReturn(Optional.of(existing));
+		when(taskRepository.findForUpdate(taskId, boardId)).thenReturn(Optional.of(existing));
 
 		Instant newDueDate = Instant.now().plus(2, ChronoUnit.DAYS);
 		Map<String, Object> payload = new LinkedHashMap<>();
@@ -277,10 +280,10 @@ class UpdateTaskCommandHandlerTest {
 		assertThat(existing.getStatus()).isEqualTo(TaskStatus.IN_PROGRESS);
 	}
 
-	// Scenario: when only dueDate is updated, outbox payload contains only dueDate
+	// Scenario: when only dueDate is updated, outbox payload contains only dueDate and the version
 	// Given: an UpdateTaskCommand with only dueDate set in the payload
 	// When: handle() is called
-	// Then: the outbox is saved with payload containing only dueDate
+	// Then: the outbox is saved with payload containing only dueDate and the version
 	@Test
 	void handle_onlyDueDateInPayload_savesDueDateOnlyToOutbox() {
 		TaskRepository taskRepository = Mockito.mock(TaskRepository.class);
@@ -305,7 +308,7 @@ class UpdateTaskCommandHandlerTest {
 				TaskStatus.NOT_STARTED
 		);
 
-		when(taskRepository.findByIdAndBoardId(taskId, boardId)).thenReturn(Optional.of(existing));
+		when(taskRepository.findForUpdate(taskId, boardId)).thenReturn(Optional.of(existing));
 
 		Instant newDueDate = Instant.parse("2022-11-11T00:00:00Z");
 		Map<String, Object> payload = new LinkedHashMap<>();
@@ -334,8 +337,44 @@ class UpdateTaskCommandHandlerTest {
 				payloadCaptor.capture()
 		);
 		Map<String, Object> savedPayload = payloadCaptor.getValue();
-		assertThat(savedPayload).containsOnlyKeys("dueDate");
+		assertThat(savedPayload).containsOnlyKeys("dueDate", "version");
 		assertThat(savedPayload.get("dueDate")).isEqualTo(newDueDate);
 	}
-}
 
+	// Scenario: an update without a due date clears it, and the payload records the cleared field
+	// Given: an existing task with a due date and an UpdateTaskCommand that only sets the status
+	// When: handle() is called
+	// Then: the outbox payload contains status, an explicit null dueDate and the version
+	@Test
+	void handle_dueDateCleared_recordsNullDueDateInOutbox() {
+		TaskRepository taskRepository = Mockito.mock(TaskRepository.class);
+		TaskMapper taskMapper = Mockito.mock(TaskMapper.class);
+		OutboxSupport outboxSupport = Mockito.mock(OutboxSupport.class);
+		UpdateTaskCommandHandler handler = new UpdateTaskCommandHandler(taskRepository, taskMapper, outboxSupport);
+
+		UUID boardId = UUID.randomUUID();
+		UUID taskId = UUID.randomUUID();
+		Task existing = Task.create(taskId, Board.create(boardId, "board", "desc"), "task-name", "desc",
+				Instant.now().plus(1, ChronoUnit.DAYS), TaskStatus.NOT_STARTED);
+		when(taskRepository.findForUpdate(taskId, boardId)).thenReturn(Optional.of(existing));
+
+		Map<String, Object> payload = new LinkedHashMap<>();
+		payload.put("status", TaskStatus.COMPLETED);
+		UpdateTaskCommand command = UpdateTaskCommand.builder()
+				.boardId(boardId)
+				.taskId(taskId)
+				.status(TaskStatus.COMPLETED)
+				.payload(payload)
+				.build();
+
+		handler.handle(command);
+
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<Map<String, Object>> payloadCaptor = ArgumentCaptor.forClass(Map.class);
+		verify(outboxSupport).saveOutbox(eq("Task"), eq(taskId.toString()), eq("TaskUpdated"), eq(boardId),
+				payloadCaptor.capture());
+		assertThat(payloadCaptor.getValue()).containsOnlyKeys("status", "dueDate", "version");
+		assertThat(payloadCaptor.getValue()).containsEntry("dueDate", null);
+		assertThat(existing.getDueDate()).isNull();
+	}
+}
@@ -0,0 +1,137 @@
+package com.pak.todo.outbox;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.Mockito;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.pak.todo.auth.PermissionCache;
+import com.pak.todo.domain.event.OutboxCommittedEvent;
+import com.pak.todo.model.entity.OutboxEntry;
+import com.pak.todo.websocket.WebSocketBroadcaster;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class InProcessOutboxRelayTest {
+
+	private WebSocketBroadcaster webSocketBroadcaster;
+	private PermissionCache permissionCache;
+	private JdbcTemplate jdbcTemplate;
+	private OutboxRelayProperties properties;
+	private SimpleMeterRegistry meterRegistry;
+	private InProcessOutboxRelay relay;
+
+	@BeforeEach
+	void setUp() {
+		webSocketBroadcaster = Mockito.mock(WebSocketBroadcaster.class);
+		permissionCache = Mockito.mock(PermissionCache.class);
+		jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+		properties = new OutboxRelayProperties();
+		meterRegistry = new SimpleMeterRegistry();
+		relay = new InProcessOutboxRelay(webSocketBroadcaster, permissionCache, jdbcTemplate,
+				Mockito.mock(PlatformTransactionManager.class), properties, meterRegistry);
+	}
+
+	private static OutboxEntry entry(UUID boardId, String aggregateId, String eventType) {
+		return OutboxEntry.builder()
+				.id(UUID.randomUUID())
+				.aggregateType("Task")
+				.aggregateId(aggregateId)
+				.boardId(boardId)
+				.eventType(eventType)
+				.payload("{}")
+				.createdAt(Instant.now())
+				.build();
+	}
+
+	// Scenario: committed entries are broadcast per board in commit order and marked processed
+	// Given: a committed event with two entries for board A and one for board B
+	// When: onCommitted() is called
+	// Then: each board gets one ordered broadcast and the rows are marked processed in one update
+	@Test
+	void onCommitted_broadcastsPerBoardAndMarksProcessed() {
+		UUID boardA = UUID.randomUUID();
+		UUID boardB = UUID.randomUUID();
+		OutboxEntry a1 = entry(boardA, "a1", "TaskCreated");
+		OutboxEntry b1 = entry(boardB, "b1", "TaskCreated");
+		OutboxEntry a2 = entry(boardA, "a2", "TaskUpdated");
+
+		relay.onCommitted(new OutboxCommittedEvent(List.of(a1, b1, a2)));
+
+		verify(webSocketBroadcaster).broadcast(boardA, List.of(a1, a2));
+		verify(webSocketBroadcaster).broadcast(boardB, List.of(b1));
+		verify(jdbcTemplate, times(1)).update(any(PreparedStatementCreator.class));
+		assertThat(meterRegistry.counter("outbox.events", "outcome", "delivered").count()).isEqualTo(3.0);
+	}
+
+	// Scenario: a failing board does not stop the others and the batch is still marked
+	// Given: broadcasts to board A throw
+	// When: onCommitted() is called with entries for boards A and B
+	// Then: board B is still broadcast, A's entry counts as failed and the rows are marked processed
+	@Test
+	void onCommitted_broadcastFails_continuesWithOtherBoards() {
+		UUID boardA = UUID.randomUUID();
+		UUID boardB = UUID.randomUUID();
+		OutboxEntry a1 = entry(boardA, "a1", "TaskCreated");
+		OutboxEntry b1 = entry(boardB, "b1", "TaskCreated");
+		doThrow(new IllegalStateException("boom")).when(webSocketBroadcaster).broadcast(eq(boardA), anyList());
+
+		relay.onCommitted(new OutboxCommittedEvent(List.of(a1, b1)));
+
+		verify(webSocketBroadcaster).broadcast(boardB, List.of(b1));
+		verify(jdbcTemplate).update(any(PreparedStatementCreator.class));
+		assertThat(meterRegistry.counter("outbox.events", "outcome", "failed").count()).isEqualTo(1.0);
+	}
+
+	// Scenario: board deletion invalidates cached permissions
+	// Given: a committed BoardDeleted entry
+	// When: onCommitted() is called
+	// Then: the permission cache is invalidated for that board
+	@Test
+	void onCommitted_boardDeleted_invalidatesPermissionCache() {
+		UUID boardId = UUID.randomUUID();
+
+		relay.onCommitted(new OutboxCommittedEvent(List.of(entry(boardId, boardId.toString(), "BoardDeleted"))));
+
+		verify(permissionCache).invalidateBoard(boardId);
+	}
+
+	// Scenario: the poll drains unrelayed rows page by page
+	// Given: a poll batch size of 2, and the query returning a full page, then one row
+	// When: relayUnprocessed() is called
+	// Then: the query runs twice, all three rows are broadcast and counted as recovered
+	@Test
+	@SuppressWarnings("unchecked")
+	void relayUnprocessed_fullPage_queriesAgain() {
+		properties.setPollBatchSize(2);
+		UUID boardId = UUID.randomUUID();
+		OutboxEntry e1 = entry(boardId, "t1", "TaskCreated");
+		OutboxEntry e2 = entry(boardId, "t2", "TaskUpdated");
+		OutboxEntry e3 = entry(boardId, "t3", "TaskUpdated");
+		when(jdbcTemplate.query(eq(InProcessOutboxRelay.SELECT_UNPROCESSED_SQL), any(RowMapper.class), any(), eq(2)))
+				.thenReturn(List.of(e1, e2), List.of(e3));
+
+		relay.relayUnprocessed();
+
+		ArgumentCaptor<List<OutboxEntry>> batches = ArgumentCaptor.forClass(List.class);
+		verify(webSocketBroadcaster, times(2)).broadcast(eq(boardId), batches.capture());
+		assertThat(batches.getAllValues()).containsExactly(List.of(e1, e2), List.of(e3));
+		assertThat(meterRegistry.counter("outbox.relay.recovered").count()).isEqualTo(3.0);
+	}
+}
@@ -0,0 +1,42 @@
+package com.pak.todo.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class OutboxDeliveryLogTest {
+
+	// Scenario: sampling is a pure function of the event id
+	// Given: a 50% sample rate
+	// When: the same event id is checked twice
+	// Then: both checks agree, so every node logs the same events
+	@Test
+	void sampled_sameEventId_isDeterministic() {
+		OutboxDeliveryLog deliveryLog = new OutboxDeliveryLog(properties(0.5));
+		UUID eventId = UUID.randomUUID();
+
+		assertThat(deliveryLog.sampled(eventId)).isEqualTo(deliveryLog.sampled(eventId));
+	}
+
+	// Scenario: sample rate bounds select nothing or everything
+	// Given: sample rates 0 and 1
+	// When: 1000 random event ids are checked
+	// Then: none are logged at rate 0 and all are logged at rate 1
+	@Test
+	void sampled_rateZeroAndOne_logsNoneAndAll() {
+		OutboxDeliveryLog none = new OutboxDeliveryLog(properties(0.0));
+		OutboxDeliveryLog all = new OutboxDeliveryLog(properties(1.0));
+
+		assertThat(IntStream.range(0, 1000).mapToObj(i -> UUID.randomUUID())).noneMatch(none::sampled);
+		assertThat(IntStream.range(0, 1000).mapToObj(i -> UUID.randomUUID())).allMatch(all::sampled);
+	}
+
+	private static OutboxDeliveryLogProperties properties(double sampleRate) {
+		OutboxDeliveryLogProperties properties = new OutboxDeliveryLogProperties();
+		properties.setSampleRate(sampleRate);
+		return properties;
+	}
+}
@@ -0,0 +1,113 @@
+package com.pak.todo.outbox;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pak.todo.model.entity.OutboxEntry;
+
+class OutboxEnvelopeDecoderTest {
+
+	private OutboxEnvelopeDecoder decoder;
+
+	@BeforeEach
+	void setUp() {
+		decoder = new OutboxEnvelopeDecoder(new ObjectMapper());
+	}
+
+	private static byte[] bytes(String value) {
+		return value.getBytes(StandardCharsets.UTF_8);
+	}
+
+	private String row(UUID id, UUID boardId) {
+		return """
+				{"id":"%s","aggregate_type":"Task","aggregate_id":"task-1","board_id":"%s","event_type":"TaskUpdated","payload":"{\\"name\\":\\"n\\"}","created_at":1700000000000000,"processed_at":null}
+				""".formatted(id, boardId).trim();
+	}
+
+	// Scenario: full Debezium envelope with schema and source metadata
+	// Given: a {"schema":..,"payload":{"before":null,"after":{row},"source":{..},"op":"c"}} value
+	// When: decode() is called
+	// Then: the row columns are returned and schema/source fields (including source "id"-like fields) are ignored
+	@Test
+	void decode_fullEnvelope_returnsRowColumns() throws IOException {
+		UUID id = UUID.randomUUID();
+		UUID boardId = UUID.randomUUID();
+		String value = """
+				{"schema":{"type":"struct","fields":[{"field":"id","type":"string"}]},
+				 "payload":{"before":null,"after":%s,"source":{"db":"todo","txId":7},"op":"c","ts_ms":1}}
+				""".formatted(row(id, boardId));
+
+		OutboxEntry entry = decoder.decode(bytes(value));
+
+		assertThat(entry.getId()).isEqualTo(id);
+		assertThat(entry.getBoardId()).isEqualTo(boardId);
+		assertThat(entry.getAggregateType()).isEqualTo("Task");
+		assertThat(entry.getAggregateId()).isEqualTo("task-1");
+		assertThat(entry.getEventType()).isEqualTo("TaskUpdated");
+		assertThat(entry.getPayload()).isEqualTo("{\"name\":\"n\"}");
+	}
+
+	// Scenario: change event without the schema wrapper, and the bare row
+	// Given: {"after":{row}} and {row}
+	// When: decode() is called
+	// Then: both decode to the same columns
+	@Test
+	void decode_bareChangeEventAndRow_returnsRowColumns() throws IOException {
+		UUID id = UUID.randomUUID();
+		UUID boardId = UUID.randomUUID();
+
+		OutboxEntry fromChangeEvent = decoder.decode(bytes("{\"after\":" + row(id, boardId) + "}"));
+		OutboxEntry fromRow = decoder.decode(bytes(row(id, boardId)));
+
+		assertThat(fromChangeEvent.getBoardId()).isEqualTo(boardId);
+		assertThat(fromRow.getBoardId()).isEqualTo(boardId);
+		assertThat(fromRow.getPayload()).isEqualTo(fromChangeEvent.getPayload());
+	}
+
+	// Scenario: delete event carries no row
+	// Given: a change event with "after": null
+	// When: decode() is called
+	// Then: null is returned
+	@Test
+	void decode_afterNull_returnsNull() throws IOException {
+		OutboxEntry entry = decoder.decode(bytes("{\"payload\":{\"before\":{\"id\":\"x\"},\"after\":null,\"op\":\"d\"}}"));
+
+		assertThat(entry).isNull();
+	}
+
+	// Scenario: invalid input
+	// Given: a value that is not JSON, and a row whose board_id is not a UUID
+	// When: decode() is called
+	// Then: a JSON processing exception and an IllegalArgumentException are thrown respectively
+	@Test
+	void decode_invalidInput_throws() {
+		assertThatThrownBy(() -> decoder.decode(bytes("not json"))).isInstanceOf(JsonProcessingException.class);
+		assertThatThrownBy(() -> decoder.decode(bytes("{\"after\":{\"board_id\":\"nope\"}}")))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	// Scenario: board id from the record key
+	// Given: a bare UUID key, Debezium JSON keys with and without schema, and keys without a board id
+	// When: boardIdOfKey() is called
+	// Then: the board id is returned for the first three and null otherwise
+	@Test
+	void boardIdOfKey_readsBareAndDebeziumKeys() {
+		UUID boardId = UUID.randomUUID();
+
+		assertThat(OutboxEnvelopeDecoder.boardIdOfKey(boardId.toString())).isEqualTo(boardId);
+		assertThat(OutboxEnvelopeDecoder.boardIdOfKey("{\"board_id\":\"" + boardId + "\"}")).isEqualTo(boardId);
+		assertThat(OutboxEnvelopeDecoder.boardIdOfKey("{\"schema\":{\"type\":\"struct\",\"fields\":[{\"field\":\"board_id\"}]},"
+				+ "\"payload\":{\"board_id\":\"" + boardId + "\"}}")).isEqualTo(boardId);
+		assertThat(OutboxEnvelopeDecoder.boardIdOfKey("key")).isNull();
+		assertThat(OutboxEnvelopeDecoder.boardIdOfKey(null)).isNull();
+		assertThat(OutboxEnvelopeDecoder.boardIdOfKey("{\"board_id\":\"nope\"}")).isNull();
+	}
+}
@@ -1,5 +1,7 @@
 package com.pak.todo.outbox;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.UUID;
 
 import org.apache.kafka.clients.consumer.ConsumerRecord;
@@ -11,21 +13,38 @@ import static org.mockito.ArgumentMatchers.eq;
 import org.mockito.Mockito;
 import static org.mockito.Mockito.verify;
 
+import com.pak.todo.auth.PermissionCache;
 import com.pak.todo.model.entity.OutboxEntry;
 import com.pak.todo.websocket.WebSocketBroadcaster;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 class OutboxKafkaConsumerTest {
 
 	private WebSocketBroadcaster webSocketBroadcaster;
+	private PermissionCache permissionCache;
+	private SimpleMeterRegistry meterRegistry;
 	private OutboxKafkaConsumer consumer;
 
 	@BeforeEach
 	void setUp() {
 		webSocketBroadcaster = Mockito.mock(WebSocketBroadcaster.class);
-		consumer = new OutboxKafkaConsumer(new com.fasterxml.jackson.databind.ObjectMapper(), webSocketBroadcaster);
+		permissionCache = Mockito.mock(PermissionCache.class);
+		meterRegistry = new SimpleMeterRegistry();
+		consumer = consumer(OutboxConsumerGroup.from(new OutboxConsumerProperties()));
+	}
+
+	private OutboxKafkaConsumer consumer(OutboxConsumerGroup consumerGroup) {
+		return new OutboxKafkaConsumer(new OutboxEnvelopeDecoder(new com.fasterxml.jackson.databind.ObjectMapper()),
+				webSocketBroadcaster, permissionCache, new OutboxDeliveryLog(new OutboxDeliveryLogProperties()),
+				consumerGroup, meterRegistry);
+	}
+
+	private static byte[] bytes(String value) {
+		return value.getBytes(StandardCharsets.UTF_8);
 	}
 
-	private String debeziumOutboxValue(UUID boardId, String aggregateType, String aggregateId, String eventType, String payload) {
+	private byte[] debeziumOutboxValue(UUID boardId, String aggregateType, String aggregateId, String eventType, String payload) {
 		return """
 				{"after":{"id":"%s","board_id":"%s","aggregate_type":"%s","aggregate_id":"%s","event_type":"%s","payload":"%s"}}
 				""".formatted(
@@ -35,7 +54,7 @@ class OutboxKafkaConsumerTest {
 				aggregateId,
 				eventType,
 				payload.replace("\"", "\\\"")
-		).trim();
+		).trim().getBytes(StandardCharsets.UTF_8);
 	}
 
 	// Scenario: Debezium outbox record is parsed and broadcast to the correct board
@@ -46,8 +65,8 @@ class OutboxKafkaConsumerTest {
 	void onMessage_validDebeziumPayload_broadcastsToBoard() {
 		UUID boardA = UUID.randomUUID();
 		String payload = "{\"name\":\"Task one\",\"status\":\"IN_PROGRESS\"}";
-		String json = debeziumOutboxValue(boardA, "Task", "task-1", "TaskUpdated", payload);
-		ConsumerRecord<String, String> record = new ConsumerRecord<>("debezium.public.outbox", 0, 0L, "key", json);
+		byte[] json = debeziumOutboxValue(boardA, "Task", "task-1", "TaskUpdated", payload);
+		ConsumerRecord<String, byte[]> record = new ConsumerRecord<>("debezium.public.outbox", 0, 0L, "key", json);
 
 		consumer.onMessage(record);
 
@@ -70,7 +89,7 @@ class OutboxKafkaConsumerTest {
 		String json = """
 				{"after":{"id":"%s","aggregate_type":"Task","aggregate_id":"t1","event_type":"TaskUpdated","payload":"{}"}}
 				""".formatted(UUID.randomUUID()).trim();
-		ConsumerRecord<String, String> record = new ConsumerRecord<>("debezium.public.outbox", 0, 0L, "key", json);
+		ConsumerRecord<String, byte[]> record = new ConsumerRecord<>("debezium.public.outbox", 0, 0L, "key", bytes(json));
 
 		consumer.onMessage(record);
 
@@ -83,7 +102,7 @@ class OutboxKafkaConsumerTest {
 	// Then: no exception is thrown and broadcaster is not called
 	@Test
 	void onMessage_invalidJson_doesNotThrowAndDoesNotBroadcast() {
-		ConsumerRecord<String, String> record = new ConsumerRecord<>("debezium.public.outbox", 0, 0L, "key", "not json");
+		ConsumerRecord<String, byte[]> record = new ConsumerRecord<>("debezium.public.outbox", 0, 0L, "key", bytes("not json"));
 
 		consumer.onMessage(record);
 
@@ -96,10 +115,139 @@ class OutboxKafkaConsumerTest {
 	// Then: broadcaster is not called
 	@Test
 	void onMessage_nullValue_doesNotBroadcast() {
-		ConsumerRecord<String, String> record = new ConsumerRecord<>("debezium.public.outbox", 0, 0L, "key", null);
+		ConsumerRecord<String, byte[]> record = new ConsumerRecord<>("debezium.public.outbox", 0, 0L, "key", (byte[]) null);
 
 		consumer.onMessage(record);
 
 		Mockito.verifyNoInteractions(webSocketBroadcaster);
 	}
+
+	// Scenario: BoardDeleted event drops cached permissions for the board
+	// Given: a ConsumerRecord with a BoardDeleted outbox event for board A
+	// When: onMessage() is called
+	// Then: the permission cache is invalidated for board A and the event is still broadcast
+	@Test
+	void onMessage_boardDeleted_invalidatesPermissionCache() {
+		UUID boardA = UUID.randomUUID();
+		byte[] json = debeziumOutboxValue(boardA, "Board", boardA.toString(), "BoardDeleted", "{\"name\":\"b\"}");
+		ConsumerRecord<String, byte[]> record = new ConsumerRecord<>("debezium.public.outbox", 0, 0L, "key", json);
+
+		consumer.onMessage(record);
+
+		verify(permissionCache).invalidateBoard(boardA);
+		verify(webSocketBroadcaster).broadcast(eq(boardA), Mockito.any(OutboxEntry.class));
+	}
+
+	// Scenario: consumed records are counted by outcome and parse/broadcast are timed
+	// Given: one valid record and one invalid JSON record
+	// When: onMessage() is called for both
+	// Then: one delivered and one failed event are counted, and parse and broadcast timers recorded once
+	@Test
+	void onMessage_validAndInvalidRecords_recordsOutcomeMetrics() {
+		UUID boardA = UUID.randomUUID();
+		byte[] json = debeziumOutboxValue(boardA, "Task", "task-1", "TaskUpdated", "{\"name\":\"x\"}");
+
+		consumer.onMessage(new ConsumerRecord<>("debezium.public.outbox", 0, 0L, "key", json));
+		consumer.onMessage(new ConsumerRecord<>("debezium.public.outbox", 0, 1L, "key", bytes("not json")));
+
+		assertThat(meterRegistry.get("outbox.events").tag("outcome", "delivered").counter().count()).isEqualTo(1.0);
+		assertThat(meterRegistry.get("outbox.events").tag("outcome", "failed").counter().count()).isEqualTo(1.0);
+		assertThat(meterRegistry.get("outbox.event.parse").timer().count()).isEqualTo(1);
+		assertThat(meterRegistry.get("outbox.event.broadcast").timer().count()).isEqualTo(1);
+	}
+
+	// Scenario: a batch is grouped by board and each board receives its events once, in record order
+	// Given: a batch with events for boards A, B, A and one invalid JSON record
+	// When: onMessages() is called
+	// Then: board A gets one batch with its two events in order, board B gets one batch, the invalid record is counted
+	@Test
+	@SuppressWarnings("unchecked")
+	void onMessages_mixedBoards_broadcastsOneOrderedBatchPerBoard() {
+		UUID boardA = UUID.randomUUID();
+		UUID boardB = UUID.randomUUID();
+		List<ConsumerRecord<String, byte[]>> records = List.of(
+				new ConsumerRecord<>("debezium.public.outbox", 0, 0L, "key",
+						debeziumOutboxValue(boardA, "Task", "task-1", "TaskCreated", "{\"name\":\"a\"}")),
+				new ConsumerRecord<>("debezium.public.outbox", 0, 1L, "key",
+						debeziumOutboxValue(boardB, "Task", "task-2", "TaskCreated", "{\"name\":\"b\"}")),
+				new ConsumerRecord<>("debezium.public.outbox", 0, 2L, "key",
+						debeziumOutboxValue(boardA, "Task", "task-1", "TaskUpdated", "{\"status\":\"COMPLETED\"}")),
+				new ConsumerRecord<>("debezium.public.outbox", 0, 3L, "key", bytes("not json")));
+
+		consumer.onMessages(records);
+
+		ArgumentCaptor<List<OutboxEntry>> boardABatch = ArgumentCaptor.forClass(List.class);
+		verify(webSocketBroadcaster).broadcast(eq(boardA), boardABatch.capture());
+		assertThat(boardABatch.getValue()).extracting(OutboxEntry::getEventType)
+				.containsExactly("TaskCreated", "TaskUpdated");
+		verify(webSocketBroadcaster).broadcast(eq(boardB), Mockito.<List<OutboxEntry>>any());
+		assertThat(meterRegistry.get("outbox.events").tag("outcome", "delivered").counter().count()).isEqualTo(3.0);
+		assertThat(meterRegistry.get("outbox.events").tag("outcome", "failed").counter().count()).isEqualTo(1.0);
+		assertThat(meterRegistry.get("outbox.batch.size").summary().totalAmount()).isEqualTo(4.0);
+	}
+
+	// Scenario: a broadcast failure for one board does not prevent delivery to the other boards of the batch
+	// Given: a batch with events for boards A and B, and a broadcaster that throws for board A
+	// When: onMessages() is called
+	// Then: no exception propagates, board B is still broadcast and board A's event is counted as failed
+	@Test
+	void onMessages_broadcastFailsForOneBoard_continuesWithOtherBoards() {
+		UUID boardA = UUID.randomUUID();
+		UUID boardB = UUID.randomUUID();
+		Mockito.when(webSocketBroadcaster.broadcast(eq(boardA), Mockito.<List<OutboxEntry>>any()))
+				.thenThrow(new IllegalStateException("boom"));
+		List<ConsumerRecord<String, byte[]>> records = List.of(
+				new ConsumerRecord<>("debezium.public.outbox", 0, 0L, "key",
+						debeziumOutboxValue(boardA, "Task", "task-1", "TaskUpdated", "{\"name\":\"a\"}")),
+				new ConsumerRecord<>("debezium.public.outbox", 0, 1L, "key",
+						debeziumOutboxValue(boardB, "Task", "task-2", "TaskUpdated", "{\"name\":\"b\"}")));
+
+		consumer.onMessages(records);
+
+		verify(webSocketBroadcaster).broadcast(eq(boardB), Mockito.<List<OutboxEntry>>any());
+		assertThat(meterRegistry.get("outbox.events").tag("outcome", "delivered").counter().count()).isEqualTo(1.0);
+		assertThat(meterRegistry.get("outbox.events").tag("outcome", "failed").counter().count()).isEqualTo(1.0);
+	}
+
+	// Scenario: broadcast fan-out only decodes records of boards with local sessions
+	// Given: a per-instance consumer group, sessions for board A only, and records keyed by board A and board B
+	// When: onMessages() is called
+	// Then: board A is broadcast, board B's record is filtered without a broadcast
+	@Test
+	void onMessages_broadcastFanOut_skipsBoardsWithoutLocalSessions() {
+		OutboxConsumerProperties properties = new OutboxConsumerProperties();
+		properties.setFanOut(OutboxConsumerProperties.FanOut.BROADCAST);
+		OutboxKafkaConsumer broadcastConsumer = consumer(OutboxConsumerGroup.from(properties));
+		UUID boardA = UUID.randomUUID();
+		UUID boardB = UUID.randomUUID();
+		Mockito.when(webSocketBroadcaster.tracksBoard(boardA)).thenReturn(true);
+		List<ConsumerRecord<String, byte[]>> records = List.of(
+				new ConsumerRecord<>("debezium.public.outbox", 0, 0L, boardA.toString(),
+						debeziumOutboxValue(boardA, "Task", "task-1", "TaskUpdated", "{\"name\":\"a\"}")),
+				new ConsumerRecord<>("debezium.public.outbox", 1, 0L, "{\"board_id\":\"" + boardB + "\"}",
+						debeziumOutboxValue(boardB, "Task", "task-2", "TaskUpdated", "{\"name\":\"b\"}")));
+
+		broadcastConsumer.onMessages(records);
+
+		verify(webSocketBroadcaster).broadcast(eq(boardA), Mockito.<List<OutboxEntry>>any());
+		verify(webSocketBroadcaster, Mockito.never()).broadcast(eq(boardB), Mockito.<List<OutboxEntry>>any());
+		assertThat(meterRegistry.get("outbox.events").tag("outcome", "filtered").counter().count()).isEqualTo(1.0);
+	}
+
+	// Scenario: board deletions are decoded on every instance even without local sessions
+	// Given: broadcast fan-out, no local sessions, and a BoardDeleted record keyed by the board
+	// When: onMessage() is called
+	// Then: the board's cached permissions are invalidated
+	@Test
+	void onMessage_broadcastFanOutBoardDeleted_invalidatesWithoutSessions() {
+		OutboxConsumerProperties properties = new OutboxConsumerProperties();
+		properties.setFanOut(OutboxConsumerProperties.FanOut.BROADCAST);
+		OutboxKafkaConsumer broadcastConsumer = consumer(OutboxConsumerGroup.from(properties));
+		UUID boardId = UUID.randomUUID();
+
+		broadcastConsumer.onMessage(new ConsumerRecord<>("debezium.public.outbox", 0, 0L, boardId.toString(),
+				debeziumOutboxValue(boardId, "Board", boardId.toString(), "BoardDeleted", "{}")));
+
+		verify(permissionCache).invalidateBoard(boardId);
+	}
 }
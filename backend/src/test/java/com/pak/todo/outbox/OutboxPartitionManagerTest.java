@@ -0,0 +1,113 @@
+package com.pak.todo.outbox;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.Mockito;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class OutboxPartitionManagerTest {
+
+	private static final LocalDate TODAY = LocalDate.of(2026, 3, 10);
+
+	private JdbcTemplate jdbcTemplate;
+	private OutboxPartitionProperties properties;
+	private OutboxRelayProperties relayProperties;
+	private OutboxPartitionManager manager;
+
+	@BeforeEach
+	void setUp() {
+		jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+		properties = new OutboxPartitionProperties();
+		properties.setPrecreateDays(1);
+		properties.setRetentionDays(7);
+		relayProperties = new OutboxRelayProperties();
+		manager = new OutboxPartitionManager(jdbcTemplate, properties, relayProperties, new SimpleMeterRegistry());
+		when(jdbcTemplate.queryForObject(eq(OutboxPartitionManager.EXISTS_SQL), eq(Boolean.class), anyString()))
+				.thenReturn(false);
+	}
+
+	// Scenario: missing partitions for today and the precreate window are created with UTC bounds
+	// Given: no daily partitions exist and precreate-days is 1
+	// When: maintain() runs
+	// Then: partitions for today and tomorrow are created
+	@Test
+	void maintain_createsUpcomingPartitions() {
+		manager.maintain(TODAY);
+
+		verify(jdbcTemplate).execute("create table if not exists outbox_p20260310 partition of outbox for values "
+				+ "from ('2026-03-10 00:00:00+00') to ('2026-03-11 00:00:00+00')");
+		verify(jdbcTemplate).execute("create table if not exists outbox_p20260311 partition of outbox for values "
+				+ "from ('2026-03-11 00:00:00+00') to ('2026-03-12 00:00:00+00')");
+	}
+
+	// Scenario: existing partitions are left alone
+	// Given: today's partition already exists
+	// When: maintain() runs
+	// Then: it is not created again
+	@Test
+	void maintain_existingPartition_isNotRecreated() {
+		when(jdbcTemplate.queryForObject(OutboxPartitionManager.EXISTS_SQL, Boolean.class, "public.outbox_p20260310"))
+				.thenReturn(true);
+
+		manager.maintain(TODAY);
+
+		verify(jdbcTemplate, never()).execute(Mockito.startsWith("create table if not exists outbox_p20260310 "));
+	}
+
+	// Scenario: only partitions older than the retention window are detached and dropped
+	// Given: retention of 7 days and partitions for 2026-03-02, 2026-03-03 and an unrelated table name
+	// When: maintain() runs on 2026-03-10 in Debezium mode
+	// Then: only 2026-03-02 is detached and dropped
+	@Test
+	void maintain_dropsExpiredPartitions() {
+		when(jdbcTemplate.queryForList(OutboxPartitionManager.LIST_PARTITIONS_SQL, String.class))
+				.thenReturn(List.of("outbox_p20260302", "outbox_p20260303", "outbox_archive"));
+
+		manager.maintain(TODAY);
+
+		verify(jdbcTemplate).execute("alter table outbox detach partition outbox_p20260302");
+		verify(jdbcTemplate).execute("drop table outbox_p20260302");
+		verify(jdbcTemplate, never()).execute("drop table outbox_p20260303");
+		verify(jdbcTemplate, never()).execute("drop table outbox_archive");
+	}
+
+	// Scenario: an expired partition with undelivered rows is kept when the application relays the outbox
+	// Given: polling mode and an expired partition that still has rows with processed_at null
+	// When: maintain() runs
+	// Then: the partition is neither detached nor dropped
+	@Test
+	void maintain_pollingModeWithUnprocessedRows_keepsPartition() {
+		relayProperties.setMode(OutboxRelayProperties.Mode.POLLING);
+		when(jdbcTemplate.queryForList(OutboxPartitionManager.LIST_PARTITIONS_SQL, String.class))
+				.thenReturn(List.of("outbox_p20260301"));
+		when(jdbcTemplate.queryForObject(Mockito.contains("from outbox_p20260301 where processed_at is null"),
+				eq(Boolean.class))).thenReturn(true);
+
+		manager.maintain(TODAY);
+
+		verify(jdbcTemplate, never()).execute("alter table outbox detach partition outbox_p20260301");
+	}
+
+	// Scenario: partition names are parsed strictly
+	// Given: daily, malformed and unrelated names
+	// When: partitionDay() is called
+	// Then: only outbox_pYYYYMMDD yields a day
+	@Test
+	void partitionDay_parsesOnlyDailyPartitionNames() {
+		assertThat(OutboxPartitionManager.partitionDay("outbox_p20260310")).isEqualTo(TODAY);
+		assertThat(OutboxPartitionManager.partitionDay("outbox_p2026031")).isNull();
+		assertThat(OutboxPartitionManager.partitionDay("outbox_p2026x310")).isNull();
+		assertThat(OutboxPartitionManager.partitionDay("outbox_legacy")).isNull();
+	}
+}
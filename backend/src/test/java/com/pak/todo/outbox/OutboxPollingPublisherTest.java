@@ -0,0 +1,166 @@
+package com.pak.todo.outbox;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.Mockito;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pak.todo.model.entity.OutboxEntry;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class OutboxPollingPublisherTest {
+
+	private JdbcTemplate jdbcTemplate;
+	private KafkaTemplate<String, byte[]> kafkaTemplate;
+	private OutboxRelayProperties properties;
+	private SimpleMeterRegistry meterRegistry;
+	private OutboxPollingPublisher publisher;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+		kafkaTemplate = Mockito.mock(KafkaTemplate.class);
+		when(kafkaTemplate.send(anyString(), anyString(), any(byte[].class)))
+				.thenReturn(CompletableFuture.completedFuture(null));
+		properties = new OutboxRelayProperties();
+		properties.getPolling().setMinBatchSize(2);
+		properties.getPolling().setMaxBatchSize(8);
+		properties.getPolling().setMinIntervalMillis(100);
+		properties.getPolling().setMaxIntervalMillis(400);
+		meterRegistry = new SimpleMeterRegistry();
+		publisher = new OutboxPollingPublisher(jdbcTemplate, Mockito.mock(PlatformTransactionManager.class),
+				kafkaTemplate, new ObjectMapper(), properties, meterRegistry, Mockito.mock(ScheduledExecutorService.class));
+	}
+
+	private static List<OutboxEntry> rows(UUID boardId, int count) {
+		List<OutboxEntry> rows = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			rows.add(OutboxEntry.builder()
+					.id(UUID.randomUUID())
+					.aggregateType("Task")
+					.aggregateId("task-" + i)
+					.boardId(boardId)
+					.eventType("TaskUpdated")
+					.payload("{\"name\":\"n" + i + "\"}")
+					.createdAt(Instant.now())
+					.build());
+		}
+		return rows;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void claimReturns(int limit, List<OutboxEntry> rows) {
+		when(jdbcTemplate.query(eq(OutboxPollingPublisher.CLAIM_SQL), any(RowMapper.class), eq(limit))).thenReturn(rows);
+	}
+
+	// Scenario: a full batch is published keyed by board, marked processed and the next claim grows
+	// Given: the claim returns as many rows as the current batch size (2)
+	// When: poll() is called
+	// Then: both rows are sent keyed by board_id as decodable rows, marked in one update, batch size doubles and
+	//       the next poll runs without delay
+	@Test
+	void poll_fullBatch_publishesMarksAndGrows() throws Exception {
+		UUID boardId = UUID.randomUUID();
+		List<OutboxEntry> rows = rows(boardId, 2);
+		claimReturns(2, rows);
+
+		int published = publisher.poll();
+
+		ArgumentCaptor<byte[]> values = ArgumentCaptor.forClass(byte[].class);
+		verify(kafkaTemplate, times(2)).send(eq(OutboxKafkaConsumer.TOPIC), eq(boardId.toString()), values.capture());
+		OutboxEntry decoded = new OutboxEnvelopeDecoder(new ObjectMapper()).decode(values.getAllValues().get(0));
+		assertThat(decoded.getId()).isEqualTo(rows.get(0).getId());
+		assertThat(decoded.getPayload()).isEqualTo(rows.get(0).getPayload());
+		verify(jdbcTemplate).update(any(PreparedStatementCreator.class));
+		assertThat(published).isEqualTo(2);
+		assertThat(publisher.batchSize()).isEqualTo(4);
+		assertThat(publisher.delayMillis()).isZero();
+	}
+
+	// Scenario: polls of an idle outbox back off and shrink the claim
+	// Given: a batch size grown to 8 and the claim returning no rows
+	// When: poll() is called repeatedly
+	// Then: the delay doubles from the minimum up to the maximum and the batch size halves down to the minimum
+	@Test
+	void poll_empty_backsOffAndShrinks() {
+		for (int limit : new int[] { 2, 4 }) {
+			claimReturns(limit, rows(UUID.randomUUID(), limit));
+			publisher.poll();
+		}
+		assertThat(publisher.batchSize()).isEqualTo(8);
+		claimReturns(8, List.of());
+		claimReturns(4, List.of());
+		claimReturns(2, List.of());
+
+		publisher.poll();
+		assertThat(publisher.batchSize()).isEqualTo(4);
+		assertThat(publisher.delayMillis()).isEqualTo(200);
+		publisher.poll();
+		publisher.poll();
+		publisher.poll();
+
+		assertThat(publisher.batchSize()).isEqualTo(2);
+		assertThat(publisher.delayMillis()).isEqualTo(400);
+	}
+
+	// Scenario: Kafka does not acknowledge the batch
+	// Given: sends that complete exceptionally
+	// When: poll() is called
+	// Then: rows are not marked processed (the claim is rolled back), the failure is counted and the poll backs off
+	@Test
+	void poll_sendFails_doesNotMarkAndBacksOff() {
+		when(kafkaTemplate.send(anyString(), anyString(), any(byte[].class)))
+				.thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+		claimReturns(2, rows(UUID.randomUUID(), 1));
+
+		int published = publisher.poll();
+
+		assertThat(published).isZero();
+		verify(jdbcTemplate, never()).update(any(PreparedStatementCreator.class));
+		assertThat(meterRegistry.counter("outbox.poll.failures").count()).isEqualTo(1.0);
+		assertThat(publisher.delayMillis()).isEqualTo(200);
+	}
+
+	// Scenario: record values carry non-ASCII payloads unchanged
+	// Given: a row whose payload contains non-ASCII text
+	// When: poll() publishes it
+	// Then: the value decodes back to the same payload
+	@Test
+	void poll_nonAsciiPayload_roundTrips() throws Exception {
+		OutboxEntry row = rows(UUID.randomUUID(), 1).get(0);
+		row.setPayload("{\"name\":\"Zürich ✓\"}");
+		claimReturns(2, List.of(row));
+
+		publisher.poll();
+
+		ArgumentCaptor<byte[]> value = ArgumentCaptor.forClass(byte[].class);
+		verify(kafkaTemplate).send(anyString(), anyString(), value.capture());
+		assertThat(new String(value.getValue(), StandardCharsets.UTF_8)).contains("Zürich");
+		assertThat(new OutboxEnvelopeDecoder(new ObjectMapper()).decode(value.getValue()).getPayload())
+				.isEqualTo(row.getPayload());
+	}
+}
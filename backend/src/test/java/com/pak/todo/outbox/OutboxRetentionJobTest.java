@@ -0,0 +1,57 @@
+package com.pak.todo.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.Mockito;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class OutboxRetentionJobTest {
+
+	private JdbcTemplate jdbcTemplate;
+	private SimpleMeterRegistry meterRegistry;
+	private OutboxRetentionJob job;
+
+	@BeforeEach
+	void setUp() {
+		jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+		OutboxRetentionProperties properties = new OutboxRetentionProperties();
+		properties.setChunkSize(100);
+		meterRegistry = new SimpleMeterRegistry();
+		job = new OutboxRetentionJob(jdbcTemplate, properties, meterRegistry);
+	}
+
+	// Scenario: purge deletes in chunks until a chunk comes back short
+	// Given: deletes returning a full chunk twice, then 30 rows
+	// When: purgeProcessed() is called
+	// Then: three chunked deletes run and 230 rows are reported and counted
+	@Test
+	void purgeProcessed_deletesChunksUntilShort() {
+		when(jdbcTemplate.update(eq(OutboxRetentionJob.DELETE_CHUNK_SQL), any(), eq(100))).thenReturn(100, 100, 30);
+
+		int purged = job.purgeProcessed();
+
+		assertThat(purged).isEqualTo(230);
+		verify(jdbcTemplate, times(3)).update(eq(OutboxRetentionJob.DELETE_CHUNK_SQL), any(), eq(100));
+		assertThat(meterRegistry.counter("outbox.retention.purged").count()).isEqualTo(230.0);
+	}
+
+	// Scenario: nothing to purge
+	// Given: the first delete removes no rows
+	// When: purgeProcessed() is called
+	// Then: a single statement runs and 0 is returned
+	@Test
+	void purgeProcessed_nothingProcessed_runsOnce() {
+		when(jdbcTemplate.update(eq(OutboxRetentionJob.DELETE_CHUNK_SQL), any(), eq(100))).thenReturn(0);
+
+		assertThat(job.purgeProcessed()).isZero();
+		verify(jdbcTemplate, times(1)).update(eq(OutboxRetentionJob.DELETE_CHUNK_SQL), any(), eq(100));
+	}
+}
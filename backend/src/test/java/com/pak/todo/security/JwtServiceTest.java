@@ -0,0 +1,88 @@
+package com.pak.todo.security;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.pak.todo.model.entity.User;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class JwtServiceTest {
+
+	private JwtProperties properties;
+	private SimpleMeterRegistry meterRegistry;
+
+	@BeforeEach
+	void setUp() {
+		properties = new JwtProperties();
+		properties.setSecret("test-secret-test-secret-test-secret-test-secret-1234");
+		properties.setIssuer("todo-app");
+		properties.setExpirationSeconds(3600);
+		meterRegistry = new SimpleMeterRegistry();
+	}
+
+	// Scenario: a freshly generated token is accepted and yields the user's principal
+	// Given: a token generated for a user
+	// When: parseAndValidate(token) is called
+	// Then: the principal carries the user's id and username
+	@Test
+	void parseAndValidate_validToken_returnsPrincipal() {
+		JwtService service = new JwtService(properties, meterRegistry);
+		User user = User.create(UUID.randomUUID(), "alice", "hash");
+
+		Optional<JwtPrincipal> principal = service.parseAndValidate(service.generateToken(user));
+
+		assertThat(principal).contains(new JwtPrincipal(user.getId(), "alice"));
+	}
+
+	// Scenario: the same token presented twice is verified only once
+	// Given: a valid token that was already validated
+	// When: parseAndValidate(token) is called again
+	// Then: the same principal is returned and the second call is recorded as a cache hit
+	@Test
+	void parseAndValidate_sameTokenTwice_servesSecondFromCache() {
+		JwtService service = new JwtService(properties, meterRegistry);
+		User user = User.create(UUID.randomUUID(), "alice", "hash");
+		String token = service.generateToken(user);
+
+		Optional<JwtPrincipal> first = service.parseAndValidate(token);
+		Optional<JwtPrincipal> second = service.parseAndValidate(token);
+
+		assertThat(second).isEqualTo(first);
+		assertThat(meterRegistry.get("cache.gets").tag("cache", JwtService.CACHE_NAME).tag("result", "hit")
+				.functionCounter().count()).isEqualTo(1.0);
+	}
+
+	// Scenario: a token with a tampered signature is rejected
+	// Given: a valid token whose first signature character is altered
+	// When: parseAndValidate(token) is called
+	// Then: empty is returned
+	@Test
+	void parseAndValidate_tamperedToken_returnsEmpty() {
+		JwtService service = new JwtService(properties, meterRegistry);
+		String token = service.generateToken(User.create(UUID.randomUUID(), "alice", "hash"));
+		int signatureStart = token.lastIndexOf('.') + 1;
+		char replacement = token.charAt(signatureStart) == 'A' ? 'B' : 'A';
+		String tampered = token.substring(0, signatureStart) + replacement + token.substring(signatureStart + 1);
+
+		assertThat(service.parseAndValidate(tampered)).isEmpty();
+	}
+
+	// Scenario: an expired token is rejected and never cached
+	// Given: a token generated with a negative lifetime
+	// When: parseAndValidate(token) is called twice
+	// Then: both calls return empty
+	@Test
+	void parseAndValidate_expiredToken_returnsEmpty() {
+		properties.setExpirationSeconds(-60);
+		JwtService service = new JwtService(properties, meterRegistry);
+		String token = service.generateToken(User.create(UUID.randomUUID(), "alice", "hash"));
+
+		assertThat(service.parseAndValidate(token)).isEmpty();
+		assertThat(service.parseAndValidate(token)).isEmpty();
+	}
+}
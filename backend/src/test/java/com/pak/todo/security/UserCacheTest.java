@@ -0,0 +1,107 @@
+package com.pak.todo.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.pak.todo.model.entity.User;
+import com.pak.todo.repository.UserRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class UserCacheTest {
+
+	private UserRepository userRepository;
+	private UserCache userCache;
+
+	@BeforeEach
+	void setUp() {
+		userRepository = mock(UserRepository.class);
+		userCache = new UserCache(userRepository, new UserCacheProperties(), new SimpleMeterRegistry());
+	}
+
+	// Scenario: repeated lookups of the same user hit the database once
+	// Given: a user present in the repository
+	// When: get(userId) is called twice
+	// Then: both calls return the same immutable view of the user and the repository is queried once
+	@Test
+	void get_sameUserTwice_loadsOnce() {
+		UUID userId = UUID.randomUUID();
+		User user = User.create(userId, "alice", "hash");
+		when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+
+		Optional<AuthenticatedUser> first = userCache.get(userId);
+		Optional<AuthenticatedUser> second = userCache.get(userId);
+
+		assertThat(first).contains(new AuthenticatedUser(userId, "alice"));
+		assertThat(second).containsSame(first.orElseThrow());
+		verify(userRepository, times(1)).findById(userId);
+	}
+
+	// Scenario: unknown users are not cached
+	// Given: the repository has no user for the id
+	// When: get(userId) is called twice
+	// Then: both calls return empty and the repository is queried each time
+	@Test
+	void get_unknownUser_returnsEmptyAndIsNotCached() {
+		UUID userId = UUID.randomUUID();
+		when(userRepository.findById(userId)).thenReturn(Optional.empty());
+
+		assertThat(userCache.get(userId)).isEmpty();
+		assertThat(userCache.get(userId)).isEmpty();
+
+		verify(userRepository, times(2)).findById(userId);
+	}
+
+	// Scenario: invalidation outside a transaction forces a reload
+	// Given: a cached user
+	// When: invalidate(userId) is called and the user is looked up again
+	// Then: the repository is queried a second time
+	@Test
+	void invalidate_cachedUser_reloadsOnNextGet() {
+		UUID userId = UUID.randomUUID();
+		when(userRepository.findById(userId)).thenReturn(Optional.of(User.create(userId, "alice", "hash")));
+
+		userCache.get(userId);
+		userCache.invalidate(userId);
+		userCache.get(userId);
+
+		verify(userRepository, times(2)).findById(userId);
+	}
+
+	// Scenario: invalidation inside a transaction waits for the commit
+	// Given: a cached user and an active transaction synchronization
+	// When: invalidate(userId) is called, the user is looked up, and the transaction then commits
+	// Then: the lookup before commit is still served from the cache; the one after commit reloads
+	@Test
+	void invalidate_insideTransaction_dropsEntryAfterCommit() {
+		UUID userId = UUID.randomUUID();
+		when(userRepository.findById(userId)).thenReturn(Optional.of(User.create(userId, "alice", "hash")));
+		userCache.get(userId);
+
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			userCache.invalidate(userId);
+			userCache.get(userId);
+			verify(userRepository, times(1)).findById(userId);
+
+			TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+		}
+		finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+		userCache.get(userId);
+
+		verify(userRepository, times(2)).findById(userId);
+	}
+}
@@ -1,6 +1,7 @@
 package com.pak.todo.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.never;
@@ -8,6 +9,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.Instant;
+import java.util.Optional;
 import java.util.UUID;
 
 import org.junit.jupiter.api.Test;
@@ -15,6 +17,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
 
 import com.pak.todo.auth.AuthorizationService;
 import com.pak.todo.command.CreateBoardCommandHandler;
@@ -23,6 +26,7 @@ import com.pak.todo.model.dto.BoardCreateRequest;
 import com.pak.todo.model.dto.BoardResponse;
 import com.pak.todo.model.entity.Board;
 import com.pak.todo.model.entity.User;
+import com.pak.todo.repository.UserRepository;
 import com.pak.todo.security.CurrentUserService;
 import com.pak.todo.web.command.BoardCommandFactory;
 
@@ -44,6 +48,9 @@ class BoardCreationServiceTest {
 	@Mock
 	private CurrentUserService currentUserService;
 
+	@Mock
+	private UserRepository userRepository;
+
 	@InjectMocks
 	private BoardCreationService boardCreationService;
 
@@ -73,7 +80,8 @@ class BoardCreationServiceTest {
 				.build();
 		Board createdBoard = Board.create(boardId, "New Board", "Desc");
 
-		when(currentUserService.getCurrentUserOrThrow()).thenReturn(user);
+		when(currentUserService.getCurrentUserId()).thenReturn(user.getId());
+		when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
 		when(boardCommandFactory.createBoard(request)).thenReturn(command);
 		when(createBoardCommandHandler.handle(command)).thenReturn(response);
 		when(boardService.getEntityById(boardId)).thenReturn(createdBoard);
@@ -104,7 +112,8 @@ class BoardCreationServiceTest {
 				.updatedAt(Instant.now())
 				.build();
 
-		when(currentUserService.getCurrentUserOrThrow()).thenReturn(user);
+		when(currentUserService.getCurrentUserId()).thenReturn(user.getId());
+		when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
 		when(boardCommandFactory.createBoard(any())).thenReturn(command);
 		when(createBoardCommandHandler.handle(command)).thenReturn(response);
 		when(boardService.getEntityById(command.getBoardId())).thenReturn(null);
@@ -116,4 +125,20 @@ class BoardCreationServiceTest {
 		verify(boardService).getEntityById(command.getBoardId());
 		verify(authorizationService, never()).grantOwnerIfMissing(any(), any());
 	}
+
+	// Scenario: the token's user was deleted after the token was issued
+	// Given: the current user id from the token has no user row
+	// When: createBoardWithOwner(request) is called
+	// Then: an authentication exception is thrown (401) and no board is created
+	@Test
+	void createBoardWithOwner_userDeleted_throwsAuthenticationException() {
+		UUID userId = UUID.randomUUID();
+		when(currentUserService.getCurrentUserId()).thenReturn(userId);
+		when(userRepository.findById(userId)).thenReturn(Optional.empty());
+
+		assertThatThrownBy(() -> boardCreationService.createBoardWithOwner(
+				BoardCreateRequest.builder().name("Board").build()))
+				.isInstanceOf(AuthenticationCredentialsNotFoundException.class);
+		verify(createBoardCommandHandler, never()).handle(any());
+	}
 }
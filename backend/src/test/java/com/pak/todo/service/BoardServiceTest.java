@@ -11,10 +11,12 @@ import java.util.Optional;
 import java.util.UUID;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 
 import com.pak.todo.model.dto.BoardResponse;
+import com.pak.todo.model.dto.CursorPage;
 import com.pak.todo.model.entity.Board;
 import com.pak.todo.model.mapper.BoardMapper;
 import com.pak.todo.repository.BoardRepository;
@@ -49,6 +51,44 @@ class BoardServiceTest {
 		verify(boardMapper).toResponse(board);
 	}
 
+	// Scenario: findAllAfter returns a keyset page and the cursor of the last row
+	// Given: the repository returns one row more than the requested size
+	// When: findAllAfter(null, 2) is called
+	// Then: two boards are returned and nextCursor points at the second one
+	@Test
+	void findAllAfter_moreRowsThanSize_returnsPageAndNextCursor() {
+		BoardRepository boardRepository = mock(BoardRepository.class);
+		Board first = Board.create(UUID.randomUUID(), "First", "Desc");
+		Board second = Board.create(UUID.randomUUID(), "Second", "Desc");
+		Board third = Board.create(UUID.randomUUID(), "Third", "Desc");
+		when(boardRepository.findAllByOrderByCreatedAtAscIdAsc(Limit.of(3))).thenReturn(List.of(first, second, third));
+
+		BoardService service = new BoardService(boardRepository, new BoardMapper());
+		CursorPage<BoardResponse> result = service.findAllAfter(null, 2);
+
+		assertThat(result.getContent()).extracting(BoardResponse::getName).containsExactly("First", "Second");
+		assertThat(KeysetCursor.decode(result.getNextCursor()))
+				.isEqualTo(new KeysetCursor(second.getCreatedAt(), second.getId()));
+	}
+
+	// Scenario: findAllAfter on the last page has no next cursor
+	// Given: a cursor and a repository returning fewer rows than requested
+	// When: findAllAfter(cursor, 2) is called
+	// Then: the rows are returned and nextCursor is null
+	@Test
+	void findAllAfter_lastPage_returnsNullNextCursor() {
+		BoardRepository boardRepository = mock(BoardRepository.class);
+		Board board = Board.create(UUID.randomUUID(), "Board", "Desc");
+		KeysetCursor cursor = new KeysetCursor(Instant.parse("2025-01-01T00:00:00Z"), UUID.randomUUID());
+		when(boardRepository.findAllAfter(cursor.sortKey(), cursor.id(), Limit.of(3))).thenReturn(List.of(board));
+
+		BoardService service = new BoardService(boardRepository, new BoardMapper());
+		CursorPage<BoardResponse> result = service.findAllAfter(cursor, 2);
+
+		assertThat(result.getContent()).hasSize(1);
+		assertThat(result.getNextCursor()).isNull();
+	}
+
 	// Scenario: findById returns the mapped response when board exists
 	// Given: the repository has a board for the given id
 	// When: findById(id) is called
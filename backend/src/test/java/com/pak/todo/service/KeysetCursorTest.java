@@ -0,0 +1,44 @@
+package com.pak.todo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class KeysetCursorTest {
+
+	// Scenario: a cursor survives encoding with nanosecond precision
+	// Given: a cursor with a sort key that has nanoseconds
+	// When: it is encoded and decoded again
+	// Then: the decoded cursor equals the original
+	@Test
+	void encodeDecode_withSortKey_roundTrips() {
+		KeysetCursor cursor = new KeysetCursor(Instant.parse("2025-06-01T12:00:00.123456789Z"), UUID.randomUUID());
+
+		assertThat(KeysetCursor.decode(cursor.encode())).isEqualTo(cursor);
+	}
+
+	// Scenario: a cursor positioned among rows without sort value round-trips
+	// Given: a cursor with a null sort key
+	// When: it is encoded and decoded again
+	// Then: the decoded cursor has a null sort key and the same id
+	@Test
+	void encodeDecode_nullSortKey_roundTrips() {
+		KeysetCursor cursor = new KeysetCursor(null, UUID.randomUUID());
+
+		assertThat(KeysetCursor.decode(cursor.encode())).isEqualTo(cursor);
+	}
+
+	// Scenario: tokens not produced by encode are rejected
+	// Given: a random string that is not a valid cursor
+	// When: decode is called
+	// Then: an IllegalArgumentException is thrown
+	@Test
+	void decode_garbage_throwsIllegalArgumentException() {
+		assertThatThrownBy(() -> KeysetCursor.decode("not-a-cursor!"))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+}
@@ -10,6 +10,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import com.pak.todo.auth.AuthorizationService;
 import com.pak.todo.command.DeleteBoardCommandHandler;
 import com.pak.todo.command.UpdateBoardCommandHandler;
+import com.pak.todo.model.mapper.BoardMapper;
 import com.pak.todo.security.CurrentUserService;
 import com.pak.todo.security.JwtAuthenticationFilter;
 import com.pak.todo.service.BoardCreationService;
@@ -19,7 +20,7 @@ import com.pak.todo.web.error.GlobalExceptionHandler;
 
 @AutoConfigureMockMvc(addFilters = false)
 @WebMvcTest(BoardController.class)
-@Import(GlobalExceptionHandler.class)
+@Import({ GlobalExceptionHandler.class, BoardMapper.class })
 abstract class AbstractBoardControllerTest {
 
 	@Autowired
@@ -13,7 +13,6 @@ import com.pak.todo.command.DeleteTaskCommandHandler;
 import com.pak.todo.command.UpdateTaskCommandHandler;
 import com.pak.todo.security.CurrentUserService;
 import com.pak.todo.security.JwtAuthenticationFilter;
-import com.pak.todo.service.BoardService;
 import com.pak.todo.service.TaskService;
 import com.pak.todo.web.command.TaskCommandFactory;
 import com.pak.todo.web.error.GlobalExceptionHandler;
@@ -29,9 +28,6 @@ abstract class AbstractTaskControllerTest {
 	@MockBean
 	protected TaskService taskService;
 
-	@MockBean
-	protected BoardService boardService;
-
 	@MockBean
 	protected TaskCommandFactory taskCommandFactory;
 
@@ -1,6 +1,7 @@
 package com.pak.todo.web;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
@@ -18,10 +19,15 @@ import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
 
+import com.pak.todo.auth.BoardAccess;
 import com.pak.todo.model.dto.BoardResponse;
+import com.pak.todo.model.dto.CursorPage;
+import com.pak.todo.service.KeysetCursor;
 import com.pak.todo.model.entity.Board;
 import com.pak.todo.model.entity.User;
+import com.pak.todo.model.enums.PermissionRole;
 
 class BoardControllerTest extends AbstractBoardControllerTest {
 
@@ -46,14 +52,41 @@ class BoardControllerTest extends AbstractBoardControllerTest {
 				.andExpect(jsonPath("$.content[0].name").value("Board 1"));
 	}
 
+	// Scenario: listing boards by cursor returns a keyset page
+	// Given: BoardService returns a page of boards and a next cursor
+	// When: GET /api/boards?cursor=<token>&size=1 is called
+	// Then: the response is 200 OK with content and nextCursor, and the decoded cursor is passed on
+	@Test
+	void listByCursor_validCursor_returnsCursorPage() throws Exception {
+		KeysetCursor cursor = new KeysetCursor(Instant.parse("2025-01-01T00:00:00Z"), UUID.randomUUID());
+		BoardResponse response = BoardResponse.builder().id(UUID.randomUUID()).name("Board 2").build();
+		when(boardService.findAllAfter(cursor, 1)).thenReturn(new CursorPage<>(List.of(response), "next-token"));
+
+		mockMvc.perform(get("/api/boards").param("cursor", cursor.encode()).param("size", "1"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.content[0].name").value("Board 2"))
+				.andExpect(jsonPath("$.nextCursor").value("next-token"));
+	}
+
+	// Scenario: listing boards with a tampered cursor is rejected
+	// Given: a cursor value that was not issued by the server
+	// When: GET /api/boards?cursor=garbage is called
+	// Then: the response is 400 with INVALID_CURSOR code
+	@Test
+	void listByCursor_invalidCursor_returns400() throws Exception {
+		mockMvc.perform(get("/api/boards").param("cursor", "garbage!"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.code").value("INVALID_CURSOR"));
+	}
+
 	// Scenario: getting a board by id when the board does not exist
-	// Given: BoardService returns null for the given board id
+	// Given: no board access can be resolved for the given board id
 	// When: GET /api/boards/{boardId} is called
 	// Then: the response is 404 Not Found with NOT_FOUND code and message
 	@Test
 	void get_boardNotFound_returns404() throws Exception {
 		UUID boardId = UUID.randomUUID();
-		when(boardService.getEntityById(boardId)).thenReturn(null);
+		when(authorizationService.resolveBoardAccess(any(), eq(boardId))).thenReturn(null);
 
 		mockMvc.perform(get("/api/boards/{boardId}", boardId))
 				.andExpect(status().isNotFound())
@@ -61,8 +94,22 @@ class BoardControllerTest extends AbstractBoardControllerTest {
 				.andExpect(jsonPath("$.message").value("Board not found: " + boardId));
 	}
 
+	// Scenario: a request without an authenticated user is rejected as unauthenticated, not as a server error
+	// Given: the security context holds no user
+	// When: GET /api/boards/{boardId} is called
+	// Then: the response is 401 Unauthorized with UNAUTHORIZED code
+	@Test
+	void get_noAuthenticatedUser_returns401() throws Exception {
+		UUID boardId = UUID.randomUUID();
+		when(currentUserService.getCurrentUserId()).thenThrow(new AuthenticationCredentialsNotFoundException("none"));
+
+		mockMvc.perform(get("/api/boards/{boardId}", boardId))
+				.andExpect(status().isUnauthorized())
+				.andExpect(jsonPath("$.code").value("UNAUTHORIZED"));
+	}
+
 	// Scenario: getting a board when board exists and user can view
-	// Given: BoardService returns board and findById returns response, user can view
+	// Given: the board exists and the user holds a role on it
 	// When: GET /api/boards/{boardId} is called
 	// Then: the response is 200 OK with board body
 	@Test
@@ -70,17 +117,9 @@ class BoardControllerTest extends AbstractBoardControllerTest {
 		UUID boardId = UUID.randomUUID();
 		User user = User.create(UUID.randomUUID(), "user", "hash");
 		Board board = Board.create(boardId, "Board", "Desc");
-		BoardResponse response = BoardResponse.builder()
-				.id(boardId)
-				.name("Board")
-				.description("Desc")
-				.createdAt(Instant.now())
-				.updatedAt(Instant.now())
-				.build();
-		when(boardService.getEntityById(boardId)).thenReturn(board);
-		when(currentUserService.getCurrentUserOrThrow()).thenReturn(user);
-		when(authorizationService.canViewBoard(user, board)).thenReturn(true);
-		when(boardService.findById(boardId)).thenReturn(response);
+		when(currentUserService.getCurrentUserId()).thenReturn(user.getId());
+		when(authorizationService.resolveBoardAccess(user.getId(), boardId))
+				.thenReturn(new BoardAccess(board, PermissionRole.EDITOR));
 
 		mockMvc.perform(get("/api/boards/{boardId}", boardId))
 				.andExpect(status().isOk())
@@ -89,7 +128,7 @@ class BoardControllerTest extends AbstractBoardControllerTest {
 	}
 
 	// Scenario: getting a board when user cannot view returns 403
-	// Given: Board exists but authorizationService.canViewBoard returns false
+	// Given: Board exists but the user holds no role on it
 	// When: GET /api/boards/{boardId} is called
 	// Then: the response is 403 Forbidden with FORBIDDEN code
 	@Test
@@ -97,9 +136,9 @@ class BoardControllerTest extends AbstractBoardControllerTest {
 		UUID boardId = UUID.randomUUID();
 		User user = User.create(UUID.randomUUID(), "user", "hash");
 		Board board = Board.create(boardId, "Board", "Desc");
-		when(boardService.getEntityById(boardId)).thenReturn(board);
-		when(currentUserService.getCurrentUserOrThrow()).thenReturn(user);
-		when(authorizationService.canViewBoard(user, board)).thenReturn(false);
+		when(currentUserService.getCurrentUserId()).thenReturn(user.getId());
+		when(authorizationService.resolveBoardAccess(user.getId(), boardId))
+				.thenReturn(new BoardAccess(board, null));
 
 		mockMvc.perform(get("/api/boards/{boardId}", boardId))
 				.andExpect(status().isForbidden())
@@ -131,13 +170,13 @@ class BoardControllerTest extends AbstractBoardControllerTest {
 	}
 
 	// Scenario: updating a board when board does not exist returns 404
-	// Given: BoardService.getEntityById returns null
+	// Given: no board access can be resolved for the board id
 	// When: PUT /api/boards/{boardId} is called
 	// Then: the response is 404 Not Found
 	@Test
 	void update_boardNotFound_returns404() throws Exception {
 		UUID boardId = UUID.randomUUID();
-		when(boardService.getEntityById(boardId)).thenReturn(null);
+		when(authorizationService.resolveBoardAccess(any(), eq(boardId))).thenReturn(null);
 
 		mockMvc.perform(put("/api/boards/{boardId}", boardId)
 						.contentType(MediaType.APPLICATION_JSON)
@@ -147,7 +186,7 @@ class BoardControllerTest extends AbstractBoardControllerTest {
 	}
 
 	// Scenario: updating a board when user cannot edit returns 403
-	// Given: Board exists but authorizationService.canEditBoard returns false
+	// Given: Board exists but the user holds no role on it
 	// When: PUT /api/boards/{boardId} is called
 	// Then: the response is 403 Forbidden
 	@Test
@@ -155,9 +194,9 @@ class BoardControllerTest extends AbstractBoardControllerTest {
 		UUID boardId = UUID.randomUUID();
 		User user = User.create(UUID.randomUUID(), "user", "hash");
 		Board board = Board.create(boardId, "Board", "Desc");
-		when(boardService.getEntityById(boardId)).thenReturn(board);
-		when(currentUserService.getCurrentUserOrThrow()).thenReturn(user);
-		when(authorizationService.canEditBoard(user, board)).thenReturn(false);
+		when(currentUserService.getCurrentUserId()).thenReturn(user.getId());
+		when(authorizationService.resolveBoardAccess(user.getId(), boardId))
+				.thenReturn(new BoardAccess(board, null));
 
 		mockMvc.perform(put("/api/boards/{boardId}", boardId)
 						.contentType(MediaType.APPLICATION_JSON)
@@ -167,13 +206,13 @@ class BoardControllerTest extends AbstractBoardControllerTest {
 	}
 
 	// Scenario: deleting a board when board does not exist returns 404
-	// Given: BoardService.getEntityById returns null
+	// Given: no board access can be resolved for the board id
 	// When: DELETE /api/boards/{boardId} is called
 	// Then: the response is 404 Not Found
 	@Test
 	void delete_boardNotFound_returns404() throws Exception {
 		UUID boardId = UUID.randomUUID();
-		when(boardService.getEntityById(boardId)).thenReturn(null);
+		when(authorizationService.resolveBoardAccess(any(), eq(boardId))).thenReturn(null);
 
 		mockMvc.perform(delete("/api/boards/{boardId}", boardId))
 				.andExpect(status().isNotFound())
@@ -181,7 +220,7 @@ class BoardControllerTest extends AbstractBoardControllerTest {
 	}
 
 	// Scenario: deleting a board when user cannot delete returns 403
-	// Given: Board exists but authorizationService.canDeleteBoard returns false
+	// Given: Board exists but the user holds no role on it
 	// When: DELETE /api/boards/{boardId} is called
 	// Then: the response is 403 Forbidden
 	@Test
@@ -189,9 +228,9 @@ class BoardControllerTest extends AbstractBoardControllerTest {
 		UUID boardId = UUID.randomUUID();
 		User user = User.create(UUID.randomUUID(), "user", "hash");
 		Board board = Board.create(boardId, "Board", "Desc");
-		when(boardService.getEntityById(boardId)).thenReturn(board);
-		when(currentUserService.getCurrentUserOrThrow()).thenReturn(user);
-		when(authorizationService.canDeleteBoard(user, board)).thenReturn(false);
+		when(currentUserService.getCurrentUserId()).thenReturn(user.getId());
+		when(authorizationService.resolveBoardAccess(user.getId(), boardId))
+				.thenReturn(new BoardAccess(board, null));
 
 		mockMvc.perform(delete("/api/boards/{boardId}", boardId))
 				.andExpect(status().isForbidden())
@@ -207,9 +246,9 @@ class BoardControllerTest extends AbstractBoardControllerTest {
 		UUID boardId = UUID.randomUUID();
 		User user = User.create(UUID.randomUUID(), "user", "hash");
 		Board board = Board.create(boardId, "Board", "Desc");
-		when(boardService.getEntityById(boardId)).thenReturn(board);
-		when(currentUserService.getCurrentUserOrThrow()).thenReturn(user);
-		when(authorizationService.canDeleteBoard(user, board)).thenReturn(true);
+		when(currentUserService.getCurrentUserId()).thenReturn(user.getId());
+		when(authorizationService.resolveBoardAccess(user.getId(), boardId))
+				.thenReturn(new BoardAccess(board, PermissionRole.OWNER));
 		when(deleteBoardCommandHandler.handle(boardId)).thenReturn(true);
 
 		mockMvc.perform(delete("/api/boards/{boardId}", boardId))
@@ -0,0 +1,146 @@
+package com.pak.todo.web;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.pak.todo.auth.AuthorizationService;
+import com.pak.todo.auth.BoardAccess;
+import com.pak.todo.command.TaskBatchCommandHandler;
+import com.pak.todo.domain.command.TaskBatchCommand;
+import com.pak.todo.model.dto.TaskBatchItemResult;
+import com.pak.todo.model.dto.TaskBatchResponse;
+import com.pak.todo.model.entity.Board;
+import com.pak.todo.model.entity.User;
+import com.pak.todo.model.enums.PermissionRole;
+import com.pak.todo.model.enums.TaskBatchOperationType;
+import com.pak.todo.security.CurrentUserService;
+import com.pak.todo.security.JwtAuthenticationFilter;
+import com.pak.todo.web.command.TaskCommandFactory;
+import com.pak.todo.web.error.GlobalExceptionHandler;
+
+@AutoConfigureMockMvc(addFilters = false)
+@WebMvcTest(TaskBatchController.class)
+@Import(GlobalExceptionHandler.class)
+class TaskBatchControllerTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockBean
+	private TaskCommandFactory taskCommandFactory;
+
+	@MockBean
+	private TaskBatchCommandHandler taskBatchCommandHandler;
+
+	@MockBean
+	private AuthorizationService authorizationService;
+
+	@MockBean
+	private CurrentUserService currentUserService;
+
+	@MockBean
+	private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+	// Scenario: an editor submits a batch and receives per-item results
+	// Given: the user is EDITOR on the board and the handler returns one result per operation
+	// When: POST /api/boards/{boardId}/tasks:batch is called
+	// Then: the response is 200 OK with the results in request order
+	@Test
+	void batch_editor_returns200WithResults() throws Exception {
+		UUID boardId = UUID.randomUUID();
+		UUID taskId = UUID.randomUUID();
+		User user = User.create(UUID.randomUUID(), "user", "hash");
+		Board board = Board.create(boardId, "Board", "Desc");
+		TaskBatchCommand command = TaskBatchCommand.builder().boardId(boardId).operations(List.of()).build();
+		when(currentUserService.getCurrentUserId()).thenReturn(user.getId());
+		when(authorizationService.resolveBoardAccess(user.getId(), boardId))
+				.thenReturn(new BoardAccess(board, PermissionRole.EDITOR));
+		when(taskCommandFactory.batch(eq(boardId), any())).thenReturn(command);
+		when(taskBatchCommandHandler.handle(command)).thenReturn(TaskBatchResponse.builder()
+				.results(List.of(
+						TaskBatchItemResult.builder().index(0).type(TaskBatchOperationType.CREATE).status(201).build(),
+						TaskBatchItemResult.builder().index(1).type(TaskBatchOperationType.DELETE).taskId(taskId).status(404)
+								.error("Task not found: " + taskId).build()))
+				.build());
+
+		mockMvc.perform(post("/api/boards/{boardId}/tasks:batch", boardId)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"operations\":[{\"type\":\"CREATE\",\"name\":\"Task\"},"
+								+ "{\"type\":\"DELETE\",\"taskId\":\"" + taskId + "\"}]}"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.results[0].status").value(201))
+				.andExpect(jsonPath("$.results[1].status").value(404))
+				.andExpect(jsonPath("$.results[1].taskId").value(taskId.toString()));
+	}
+
+	// Scenario: a user without a role cannot submit a batch
+	// Given: the board exists but the user holds no role on it
+	// When: POST /api/boards/{boardId}/tasks:batch is called
+	// Then: the response is 403 Forbidden and no operation is applied
+	@Test
+	void batch_userCannotModify_returns403() throws Exception {
+		UUID boardId = UUID.randomUUID();
+		User user = User.create(UUID.randomUUID(), "user", "hash");
+		Board board = Board.create(boardId, "Board", "Desc");
+		when(currentUserService.getCurrentUserId()).thenReturn(user.getId());
+		when(authorizationService.resolveBoardAccess(user.getId(), boardId))
+				.thenReturn(new BoardAccess(board, null));
+
+		mockMvc.perform(post("/api/boards/{boardId}/tasks:batch", boardId)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"operations\":[{\"type\":\"CREATE\",\"name\":\"Task\"}]}"))
+				.andExpect(status().isForbidden());
+
+		verifyNoInteractions(taskBatchCommandHandler);
+	}
+
+	// Scenario: a batch for a missing board returns 404
+	// Given: no board access can be resolved for the board id
+	// When: POST /api/boards/{boardId}/tasks:batch is called
+	// Then: the response is 404 Not Found
+	@Test
+	void batch_boardNotFound_returns404() throws Exception {
+		UUID boardId = UUID.randomUUID();
+		when(currentUserService.getCurrentUserId()).thenReturn(UUID.randomUUID());
+		when(authorizationService.resolveBoardAccess(any(), eq(boardId))).thenReturn(null);
+
+		mockMvc.perform(post("/api/boards/{boardId}/tasks:batch", boardId)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"operations\":[{\"type\":\"CREATE\",\"name\":\"Task\"}]}"))
+				.andExpect(status().isNotFound())
+				.andExpect(jsonPath("$.code").value("NOT_FOUND"));
+	}
+
+	// Scenario: structurally invalid operations reject the whole batch
+	// Given: a CREATE without name and an UPDATE without taskId
+	// When: POST /api/boards/{boardId}/tasks:batch is called
+	// Then: the response is 400 and nothing is authorized or applied
+	@Test
+	void batch_invalidOperations_returns400() throws Exception {
+		UUID boardId = UUID.randomUUID();
+
+		mockMvc.perform(post("/api/boards/{boardId}/tasks:batch", boardId)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"operations\":[{\"type\":\"CREATE\"},{\"type\":\"UPDATE\",\"name\":\"x\"}]}"))
+				.andExpect(status().isBadRequest());
+
+		verifyNoInteractions(authorizationService, taskBatchCommandHandler);
+	}
+}
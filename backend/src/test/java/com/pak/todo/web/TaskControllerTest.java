@@ -20,9 +20,12 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 
+import com.pak.todo.auth.BoardAccess;
+import com.pak.todo.model.dto.CursorPage;
 import com.pak.todo.model.dto.TaskResponse;
 import com.pak.todo.model.entity.Board;
 import com.pak.todo.model.entity.User;
+import com.pak.todo.model.enums.PermissionRole;
 import com.pak.todo.model.enums.TaskStatus;
 
 class TaskControllerTest extends AbstractTaskControllerTest {
@@ -44,9 +47,9 @@ class TaskControllerTest extends AbstractTaskControllerTest {
 				.createdAt(Instant.now())
 				.updatedAt(Instant.now())
 				.build();
-		when(boardService.getEntityById(boardId)).thenReturn(board);
-		when(currentUserService.getCurrentUserOrThrow()).thenReturn(user);
-		when(authorizationService.canViewBoard(user, board)).thenReturn(true);
+		when(currentUserService.getCurrentUserId()).thenReturn(user.getId());
+		when(authorizationService.resolveBoardAccess(user.getId(), boardId))
+				.thenReturn(new BoardAccess(board, PermissionRole.EDITOR));
 		when(taskService.findByBoardId(eq(boardId), any(), any(), any(), any()))
 				.thenReturn(new PageImpl<>(List.of(taskResp), PageRequest.of(0, 20), 1));
 
@@ -55,6 +58,28 @@ class TaskControllerTest extends AbstractTaskControllerTest {
 				.andExpect(jsonPath("$.content[0].name").value("Task 1"));
 	}
 
+	// Scenario: listing tasks with an empty cursor returns the first keyset page
+	// Given: Board exists, user can view, TaskService returns a cursor page
+	// When: GET /api/boards/{boardId}/tasks?cursor= is called
+	// Then: the response is 200 OK with content and nextCursor, and the service is asked for the first page
+	@Test
+	void listByCursor_emptyCursor_returnsFirstPage() throws Exception {
+		UUID boardId = UUID.randomUUID();
+		User user = User.create(UUID.randomUUID(), "user", "hash");
+		Board board = Board.create(boardId, "Board", "Desc");
+		TaskResponse taskResp = TaskResponse.builder().id(UUID.randomUUID()).boardId(boardId).name("Task 1").build();
+		when(currentUserService.getCurrentUserId()).thenReturn(user.getId());
+		when(authorizationService.resolveBoardAccess(user.getId(), boardId))
+				.thenReturn(new BoardAccess(board, PermissionRole.EDITOR));
+		when(taskService.findByBoardIdAfter(boardId, null, null, null, null, 20))
+				.thenReturn(new CursorPage<>(List.of(taskResp), "next-token"));
+
+		mockMvc.perform(get("/api/boards/{boardId}/tasks", boardId).param("cursor", ""))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.content[0].name").value("Task 1"))
+				.andExpect(jsonPath("$.nextCursor").value("next-token"));
+	}
+
 	// Scenario: list accepts status filter and delegates to service
 	// Given: board exists, user can view, service returns empty page
 	// When: GET /api/boards/{boardId}/tasks?status=IN_PROGRESS is called
@@ -64,9 +89,9 @@ class TaskControllerTest extends AbstractTaskControllerTest {
 		UUID boardId = UUID.randomUUID();
 		User user = User.create(UUID.randomUUID(), "user", "hash");
 		Board board = Board.create(boardId, "Board", "Desc");
-		when(boardService.getEntityById(boardId)).thenReturn(board);
-		when(currentUserService.getCurrentUserOrThrow()).thenReturn(user);
-		when(authorizationService.canViewBoard(user, board)).thenReturn(true);
+		when(currentUserService.getCurrentUserId()).thenReturn(user.getId());
+		when(authorizationService.resolveBoardAccess(user.getId(), boardId))
+				.thenReturn(new BoardAccess(board, PermissionRole.EDITOR));
 		when(taskService.findByBoardId(eq(boardId), eq(TaskStatus.IN_PROGRESS), any(), any(), any()))
 				.thenReturn(new PageImpl<>(List.of(), PageRequest.of(0, 20), 0));
 
@@ -85,9 +110,9 @@ class TaskControllerTest extends AbstractTaskControllerTest {
 		UUID boardId = UUID.randomUUID();
 		User user = User.create(UUID.randomUUID(), "user", "hash");
 		Board board = Board.create(boardId, "Board", "Desc");
-		when(boardService.getEntityById(boardId)).thenReturn(board);
-		when(currentUserService.getCurrentUserOrThrow()).thenReturn(user);
-		when(authorizationService.canViewBoard(user, board)).thenReturn(true);
+		when(currentUserService.getCurrentUserId()).thenReturn(user.getId());
+		when(authorizationService.resolveBoardAccess(user.getId(), boardId))
+				.thenReturn(new BoardAccess(board, PermissionRole.EDITOR));
 		when(taskService.findByBoardId(eq(boardId), any(), any(), any(), any()))
 				.thenReturn(new PageImpl<>(List.of(), PageRequest.of(0, 20), 0));
 
@@ -96,13 +121,13 @@ class TaskControllerTest extends AbstractTaskControllerTest {
 	}
 
 	// Scenario: listing tasks when board does not exist returns 404
-	// Given: BoardService returns null for board id
+	// Given: no board access can be resolved for the board id
 	// When: GET /api/boards/{boardId}/tasks is called
 	// Then: the response is 404 Not Found
 	@Test
 	void list_boardNotFound_returns404() throws Exception {
 		UUID boardId = UUID.randomUUID();
-		when(boardService.getEntityById(boardId)).thenReturn(null);
+		when(authorizationService.resolveBoardAccess(any(), eq(boardId))).thenReturn(null);
 
 		mockMvc.perform(get("/api/boards/{boardId}/tasks", boardId))
 				.andExpect(status().isNotFound())
@@ -110,7 +135,7 @@ class TaskControllerTest extends AbstractTaskControllerTest {
 	}
 
 	// Scenario: listing tasks when user cannot view board returns 403
-	// Given: Board exists but canViewBoard returns false
+	// Given: Board exists but the user holds no role on it
 	// When: GET /api/boards/{boardId}/tasks is called
 	// Then: the response is 403 Forbidden
 	@Test
@@ -118,9 +143,9 @@ class TaskControllerTest extends AbstractTaskControllerTest {
 		UUID boardId = UUID.randomUUID();
 		User user = User.create(UUID.randomUUID(), "user", "hash");
 		Board board = Board.create(boardId, "Board", "Desc");
-		when(boardService.getEntityById(boardId)).thenReturn(board);
-		when(currentUserService.getCurrentUserOrThrow()).thenReturn(user);
-		when(authorizationService.canViewBoard(user, board)).thenReturn(false);
+		when(currentUserService.getCurrentUserId()).thenReturn(user.getId());
+		when(authorizationService.resolveBoardAccess(user.getId(), boardId))
+				.thenReturn(new BoardAccess(board, null));
 
 		mockMvc.perform(get("/api/boards/{boardId}/tasks", boardId))
 				.andExpect(status().isForbidden())
@@ -128,14 +153,14 @@ class TaskControllerTest extends AbstractTaskControllerTest {
 	}
 
 	// Scenario: getting a task when the board does not exist
-	// Given: BoardService returns null for the given board id
+	// Given: no board access can be resolved for the given board id
 	// When: GET /api/boards/{boardId}/tasks/{taskId} is called
 	// Then: the response is 404 Not Found with NOT_FOUND code
 	@Test
 	void get_boardNotFound_returns404() throws Exception {
 		UUID boardId = UUID.randomUUID();
 		UUID taskId = UUID.randomUUID();
-		when(boardService.getEntityById(boardId)).thenReturn(null);
+		when(authorizationService.resolveBoardAccess(any(), eq(boardId))).thenReturn(null);
 
 		mockMvc.perform(get("/api/boards/{boardId}/tasks/{taskId}", boardId, taskId))
 				.andExpect(status().isNotFound())
@@ -161,9 +186,9 @@ class TaskControllerTest extends AbstractTaskControllerTest {
 				.createdAt(Instant.now())
 				.updatedAt(Instant.now())
 				.build();
-		when(boardService.getEntityById(boardId)).thenReturn(board);
-		when(currentUserService.getCurrentUserOrThrow()).thenReturn(user);
-		when(authorizationService.canViewBoard(user, board)).thenReturn(true);
+		when(currentUserService.getCurrentUserId()).thenReturn(user.getId());
+		when(authorizationService.resolveBoardAccess(user.getId(), boardId))
+				.thenReturn(new BoardAccess(board, PermissionRole.EDITOR));
 		when(taskService.findByBoardIdAndTaskId(boardId, taskId)).thenReturn(response);
 
 		mockMvc.perform(get("/api/boards/{boardId}/tasks/{taskId}", boardId, taskId))
@@ -182,9 +207,9 @@ class TaskControllerTest extends AbstractTaskControllerTest {
 		UUID taskId = UUID.randomUUID();
 		User user = User.create(UUID.randomUUID(), "user", "hash");
 		Board board = Board.create(boardId, "Board", "Desc");
-		when(boardService.getEntityById(boardId)).thenReturn(board);
-		when(currentUserService.getCurrentUserOrThrow()).thenReturn(user);
-		when(authorizationService.canViewBoard(user, board)).thenReturn(true);
+		when(currentUserService.getCurrentUserId()).thenReturn(user.getId());
+		when(authorizationService.resolveBoardAccess(user.getId(), boardId))
+				.thenReturn(new BoardAccess(board, PermissionRole.EDITOR));
 		when(taskService.findByBoardIdAndTaskId(boardId, taskId)).thenReturn(null);
 
 		mockMvc.perform(get("/api/boards/{boardId}/tasks/{taskId}", boardId, taskId))
@@ -212,9 +237,9 @@ class TaskControllerTest extends AbstractTaskControllerTest {
 				.createdAt(Instant.now())
 				.updatedAt(Instant.now())
 				.build();
-		when(boardService.getEntityById(boardId)).thenReturn(board);
-		when(currentUserService.getCurrentUserOrThrow()).thenReturn(user);
-		when(authorizationService.canModifyTasks(user, board)).thenReturn(true);
+		when(currentUserService.getCurrentUserId()).thenReturn(user.getId());
+		when(authorizationService.resolveBoardAccess(user.getId(), boardId))
+				.thenReturn(new BoardAccess(board, PermissionRole.EDITOR));
 		when(createTaskCommandHandler.handle(any())).thenReturn(response);
 
 		String json = "{\"name\":\"New Task\",\"description\":\"Desc\"}";
@@ -227,13 +252,13 @@ class TaskControllerTest extends AbstractTaskControllerTest {
 	}
 
 	// Scenario: creating a task when board does not exist returns 404
-	// Given: BoardService returns null
+	// Given: no board access can be resolved for the board id
 	// When: POST /api/boards/{boardId}/tasks is called
 	// Then: the response is 404 Not Found
 	@Test
 	void create_boardNotFound_returns404() throws Exception {
 		UUID boardId = UUID.randomUUID();
-		when(boardService.getEntityById(boardId)).thenReturn(null);
+		when(authorizationService.resolveBoardAccess(any(), eq(boardId))).thenReturn(null);
 
 		mockMvc.perform(post("/api/boards/{boardId}/tasks", boardId)
 						.contentType(MediaType.APPLICATION_JSON)
@@ -243,7 +268,7 @@ class TaskControllerTest extends AbstractTaskControllerTest {
 	}
 
 	// Scenario: creating a task when user cannot modify returns 403
-	// Given: Board exists but canModifyTasks returns false
+	// Given: Board exists but the user holds no role on it
 	// When: POST /api/boards/{boardId}/tasks is called
 	// Then: the response is 403 Forbidden
 	@Test
@@ -251,9 +276,9 @@ class TaskControllerTest extends AbstractTaskControllerTest {
 		UUID boardId = UUID.randomUUID();
 		User user = User.create(UUID.randomUUID(), "user", "hash");
 		Board board = Board.create(boardId, "Board", "Desc");
-		when(boardService.getEntityById(boardId)).thenReturn(board);
-		when(currentUserService.getCurrentUserOrThrow()).thenReturn(user);
-		when(authorizationService.canModifyTasks(user, board)).thenReturn(false);
+		when(currentUserService.getCurrentUserId()).thenReturn(user.getId());
+		when(authorizationService.resolveBoardAccess(user.getId(), boardId))
+				.thenReturn(new BoardAccess(board, null));
 
 		mockMvc.perform(post("/api/boards/{boardId}/tasks", boardId)
 						.contentType(MediaType.APPLICATION_JSON)
@@ -272,9 +297,9 @@ class TaskControllerTest extends AbstractTaskControllerTest {
 		UUID taskId = UUID.randomUUID();
 		User user = User.create(UUID.randomUUID(), "user", "hash");
 		Board board = Board.create(boardId, "Board", "Desc");
-		when(boardService.getEntityById(boardId)).thenReturn(board);
-		when(currentUserService.getCurrentUserOrThrow()).thenReturn(user);
-		when(authorizationService.canModifyTasks(user, board)).thenReturn(true);
+		when(currentUserService.getCurrentUserId()).thenReturn(user.getId());
+		when(authorizationService.resolveBoardAccess(user.getId(), boardId))
+				.thenReturn(new BoardAccess(board, PermissionRole.EDITOR));
 		when(updateTaskCommandHandler.handle(any())).thenReturn(null);
 
 		mockMvc.perform(put("/api/boards/{boardId}/tasks/{taskId}", boardId, taskId)
@@ -285,7 +310,7 @@ class TaskControllerTest extends AbstractTaskControllerTest {
 	}
 
 	// Scenario: updating a task when user cannot modify returns 403
-	// Given: Board exists but canModifyTasks returns false
+	// Given: Board exists but the user holds no role on it
 	// When: PUT /api/boards/{boardId}/tasks/{taskId} is called
 	// Then: the response is 403 Forbidden
 	@Test
@@ -294,9 +319,9 @@ class TaskControllerTest extends AbstractTaskControllerTest {
 		UUID taskId = UUID.randomUUID();
 		User user = User.create(UUID.randomUUID(), "user", "hash");
 		Board board = Board.create(boardId, "Board", "Desc");
-		when(boardService.getEntityById(boardId)).thenReturn(board);
-		when(currentUserService.getCurrentUserOrThrow()).thenReturn(user);
-		when(authorizationService.canModifyTasks(user, board)).thenReturn(false);
+		when(currentUserService.getCurrentUserId()).thenReturn(user.getId());
+		when(authorizationService.resolveBoardAccess(user.getId(), boardId))
+				.thenReturn(new BoardAccess(board, null));
 
 		mockMvc.perform(put("/api/boards/{boardId}/tasks/{taskId}", boardId, taskId)
 						.contentType(MediaType.APPLICATION_JSON)
@@ -323,9 +348,9 @@ class TaskControllerTest extends AbstractTaskControllerTest {
 				.createdAt(Instant.now())
 				.updatedAt(Instant.now())
 				.build();
-		when(boardService.getEntityById(boardId)).thenReturn(board);
-		when(currentUserService.getCurrentUserOrThrow()).thenReturn(user);
-		when(authorizationService.canModifyTasks(user, board)).thenReturn(true);
+		when(currentUserService.getCurrentUserId()).thenReturn(user.getId());
+		when(authorizationService.resolveBoardAccess(user.getId(), boardId))
+				.thenReturn(new BoardAccess(board, PermissionRole.EDITOR));
 		when(updateTaskCommandHandler.handle(any())).thenReturn(response);
 
 		mockMvc.perform(put("/api/boards/{boardId}/tasks/{taskId}", boardId, taskId)
@@ -346,9 +371,9 @@ class TaskControllerTest extends AbstractTaskControllerTest {
 		UUID taskId = UUID.randomUUID();
 		User user = User.create(UUID.randomUUID(), "user", "hash");
 		Board board = Board.create(boardId, "Board", "Desc");
-		when(boardService.getEntityById(boardId)).thenReturn(board);
-		when(currentUserService.getCurrentUserOrThrow()).thenReturn(user);
-		when(authorizationService.canModifyTasks(user, board)).thenReturn(true);
+		when(currentUserService.getCurrentUserId()).thenReturn(user.getId());
+		when(authorizationService.resolveBoardAccess(user.getId(), boardId))
+				.thenReturn(new BoardAccess(board, PermissionRole.EDITOR));
 		when(deleteTaskCommandHandler.handle(boardId, taskId)).thenReturn(false);
 
 		mockMvc.perform(delete("/api/boards/{boardId}/tasks/{taskId}", boardId, taskId))
@@ -366,9 +391,9 @@ class TaskControllerTest extends AbstractTaskControllerTest {
 		UUID taskId = UUID.randomUUID();
 		User user = User.create(UUID.randomUUID(), "user", "hash");
 		Board board = Board.create(boardId, "Board", "Desc");
-		when(boardService.getEntityById(boardId)).thenReturn(board);
-		when(currentUserService.getCurrentUserOrThrow()).thenReturn(user);
-		when(authorizationService.canModifyTasks(user, board)).thenReturn(true);
+		when(currentUserService.getCurrentUserId()).thenReturn(user.getId());
+		when(authorizationService.resolveBoardAccess(user.getId(), boardId))
+				.thenReturn(new BoardAccess(board, PermissionRole.EDITOR));
 		when(deleteTaskCommandHandler.handle(boardId, taskId)).thenReturn(true);
 
 		mockMvc.perform(delete("/api/boards/{boardId}/tasks/{taskId}", boardId, taskId))
@@ -1,10 +1,12 @@
 package com.pak.todo.web;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pak.todo.auth.BoardAccess;
 import com.pak.todo.model.dto.TaskCreateRequest;
 import com.pak.todo.model.dto.TaskResponse;
 import com.pak.todo.model.entity.Board;
 import com.pak.todo.model.entity.User;
+import com.pak.todo.model.enums.PermissionRole;
 import com.pak.todo.model.enums.TaskStatus;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -100,9 +102,9 @@ class TaskControllerValidationTest extends AbstractTaskControllerTest {
 				.createdAt(Instant.now())
 				.updatedAt(Instant.now())
 				.build();
-		when(boardService.getEntityById(boardId)).thenReturn(board);
-		when(currentUserService.getCurrentUserOrThrow()).thenReturn(user);
-		when(authorizationService.canModifyTasks(user, board)).thenReturn(true);
+		when(currentUserService.getCurrentUserId()).thenReturn(user.getId());
+		when(authorizationService.resolveBoardAccess(user.getId(), boardId))
+				.thenReturn(new BoardAccess(board, PermissionRole.EDITOR));
 		when(updateTaskCommandHandler.handle(any())).thenReturn(response);
 
 		String json = "{\"description\":\"\",\"status\":\"IN_PROGRESS\"}";
@@ -3,6 +3,7 @@ package com.pak.todo.web.command;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -10,9 +11,13 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import com.pak.todo.domain.command.CreateTaskCommand;
+import com.pak.todo.domain.command.TaskBatchCommand;
 import com.pak.todo.domain.command.UpdateTaskCommand;
+import com.pak.todo.model.dto.TaskBatchOperation;
+import com.pak.todo.model.dto.TaskBatchRequest;
 import com.pak.todo.model.dto.TaskCreateRequest;
 import com.pak.todo.model.dto.TaskUpdateRequest;
+import com.pak.todo.model.enums.TaskBatchOperationType;
 import com.pak.todo.model.enums.TaskStatus;
 
 class TaskCommandFactoryTest {
@@ -176,4 +181,37 @@ class TaskCommandFactoryTest {
 		assertThat(command.getPayload()).containsOnlyKeys("dueDate");
 		assertThat(command.getPayload().get("dueDate")).isEqualTo(dueDate);
 	}
+
+	// Scenario: building a batch command from mixed operations
+	// Given: a TaskBatchRequest with CREATE, UPDATE and DELETE operations
+	// When: batch(boardId, request) is called
+	// Then: each operation is mapped to the matching single-task command scoped to the board
+	@Test
+	void batch_mixedOperations_mapsEachOperationToCommand() {
+		UUID boardId = UUID.randomUUID();
+		UUID updateId = UUID.randomUUID();
+		UUID deleteId = UUID.randomUUID();
+		TaskBatchRequest request = TaskBatchRequest.builder()
+				.operations(List.of(
+						TaskBatchOperation.builder().type(TaskBatchOperationType.CREATE).name("New").build(),
+						TaskBatchOperation.builder().type(TaskBatchOperationType.UPDATE).taskId(updateId)
+								.status(TaskStatus.COMPLETED).build(),
+						TaskBatchOperation.builder().type(TaskBatchOperationType.DELETE).taskId(deleteId).build()))
+				.build();
+
+		TaskBatchCommand command = factory.batch(boardId, request);
+
+		assertThat(command.getBoardId()).isEqualTo(boardId);
+		assertThat(command.getOperations()).hasSize(3);
+		TaskBatchCommand.Operation create = command.getOperations().get(0);
+		assertThat(create.getCreate().getName()).isEqualTo("New");
+		assertThat(create.getCreate().getBoardId()).isEqualTo(boardId);
+		assertThat(create.getCreate().getStatus()).isEqualTo(TaskStatus.NOT_STARTED);
+		TaskBatchCommand.Operation update = command.getOperations().get(1);
+		assertThat(update.getUpdate().getTaskId()).isEqualTo(updateId);
+		assertThat(update.getUpdate().getPayload()).containsExactly(Map.entry("status", TaskStatus.COMPLETED));
+		TaskBatchCommand.Operation delete = command.getOperations().get(2);
+		assertThat(delete.getType()).isEqualTo(TaskBatchOperationType.DELETE);
+		assertThat(delete.getTaskId()).isEqualTo(deleteId);
+	}
 }
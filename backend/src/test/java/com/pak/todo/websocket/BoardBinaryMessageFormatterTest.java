@@ -0,0 +1,163 @@
+package com.pak.todo.websocket;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.BinaryMessage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pak.todo.model.entity.Board;
+import com.pak.todo.model.entity.OutboxEntry;
+import com.pak.todo.model.entity.Task;
+import com.pak.todo.model.enums.TaskStatus;
+
+class BoardBinaryMessageFormatterTest {
+
+	private BoardV2MessageFormatter deltas;
+	private BoardBinaryMessageFormatter formatter;
+
+	@BeforeEach
+	void setUp() {
+		deltas = new BoardV2MessageFormatter(new ObjectMapper());
+		formatter = new BoardBinaryMessageFormatter();
+	}
+
+	private BoardDelta delta(String aggregateType, UUID aggregateId, String eventType, String payload) {
+		return deltas.delta(OutboxEntry.builder()
+				.id(UUID.randomUUID())
+				.aggregateType(aggregateType)
+				.aggregateId(aggregateId.toString())
+				.boardId(UUID.randomUUID())
+				.eventType(eventType)
+				.payload(payload)
+				.createdAt(Instant.now())
+				.build());
+	}
+
+	private static byte[] bytes(BinaryMessage message) {
+		ByteBuffer payload = message.getPayload().duplicate();
+		byte[] bytes = new byte[payload.remaining()];
+		payload.get(bytes);
+		return bytes;
+	}
+
+	private static byte[] uuid(UUID id) {
+		return ByteBuffer.allocate(16)
+				.putLong(id.getMostSignificantBits())
+				.putLong(id.getLeastSignificantBits())
+				.array();
+	}
+
+	private static byte[] concat(byte[]... parts) {
+		ByteBuffer joined = ByteBuffer.allocate(Arrays.stream(parts).mapToInt(part -> part.length).sum());
+		for (byte[] part : parts) {
+			joined.put(part);
+		}
+		return joined.array();
+	}
+
+	// Scenario: a multi-field task update is written with tags, enum ordinals and varint timestamps
+	// Given: a TaskUpdated payload with status, name, a cleared dueDate, updatedAt 100 ms after the epoch, version 7
+	// When: the delta is encoded
+	// Then: kind, change and resource, the 16 id bytes, version + 1, the four fields in order, then the end tag
+	@Test
+	void encode_taskUpdated_writesCompactFields() {
+		UUID id = UUID.randomUUID();
+		BoardDelta delta = delta("Task", id, "TaskUpdated", "{\"status\":\"COMPLETED\",\"name\":\"Hi\","
+				+ "\"dueDate\":null,\"updatedAt\":\"1970-01-01T00:00:00.100Z\",\"version\":7}");
+
+		byte[] frame = bytes(formatter.encode(delta));
+
+		assertThat(frame).isEqualTo(concat(
+				new byte[] { 0, 1, 0 },
+				uuid(id),
+				new byte[] { 8 },
+				new byte[] { 3, (byte) TaskStatus.COMPLETED.ordinal() },
+				new byte[] { 1, 2, 'H', 'i' },
+				new byte[] { (byte) (4 | 0x80) },
+				new byte[] { 6, (byte) 0xC8, 0x01 },
+				new byte[] { 0 }));
+	}
+
+	// Scenario: a board delete carries only its identity
+	// Given: a BoardDeleted payload with a name and version 3
+	// When: the delta is encoded
+	// Then: the frame has the delete change, the board resource, the id, version + 1 and no field
+	@Test
+	void encode_boardDeleted_writesNoFields() {
+		UUID id = UUID.randomUUID();
+		BoardDelta delta = delta("Board", id, "BoardDeleted", "{\"name\":\"Gone\",\"version\":3}");
+
+		byte[] frame = bytes(formatter.encode(delta));
+
+		assertThat(frame).isEqualTo(concat(new byte[] { 0, 2, 1 }, uuid(id), new byte[] { 4, 0 }));
+	}
+
+	// Scenario: events without a version and with numeric timestamps still encode
+	// Given: a TaskCreated payload without version, with dueDate as epoch seconds (1.5) and an unknown field
+	// When: the delta is encoded
+	// Then: the version is written as 0, dueDate as 1500 ms, and the unknown field is left out
+	@Test
+	void encode_legacyPayload_writesUnknownVersionAndMillis() {
+		UUID id = UUID.randomUUID();
+		BoardDelta delta = delta("Task", id, "TaskCreated", "{\"dueDate\":1.5,\"priority\":\"high\"}");
+
+		byte[] frame = bytes(formatter.encode(delta));
+
+		assertThat(frame).isEqualTo(concat(
+				new byte[] { 0, 0, 0 },
+				uuid(id),
+				new byte[] { 0 },
+				new byte[] { 4, (byte) 0xB8, 0x17 },
+				new byte[] { 0 }));
+	}
+
+	// Scenario: a snapshot is split into chunks with the board in the first one only
+	// Given: a board with three tasks and a chunk size of two
+	// When: the snapshot is encoded
+	// Then: the first frame is flagged as carrying the board, the second as complete with one task
+	@Test
+	void encodeSnapshot_splitsTasksIntoChunks() {
+		Board board = Board.create(UUID.randomUUID(), "Board", null);
+		List<Task> tasks = List.of(
+				Task.create(UUID.randomUUID(), board, "a", null, null, TaskStatus.NOT_STARTED),
+				Task.create(UUID.randomUUID(), board, "b", null, null, TaskStatus.IN_PROGRESS),
+				Task.create(UUID.randomUUID(), board, "c", null, null, TaskStatus.COMPLETED));
+
+		List<BinaryMessage> frames = formatter.encodeSnapshot(BoardSnapshotRow.of(board),
+				tasks.stream().map(TaskSnapshotRow::of).toList(), 2);
+
+		assertThat(frames).hasSize(2);
+		byte[] first = bytes(frames.get(0));
+		assertThat(first[0]).isEqualTo((byte) BoardBinaryMessageFormatter.KIND_SNAPSHOT);
+		assertThat(first[1]).isEqualTo((byte) BoardBinaryMessageFormatter.SNAPSHOT_HAS_BOARD);
+		byte[] last = bytes(frames.get(1));
+		assertThat(last[1]).isEqualTo((byte) BoardBinaryMessageFormatter.SNAPSHOT_COMPLETE);
+		assertThat(last[2]).isEqualTo((byte) 1);
+		byte[] lastTaskId = uuid(tasks.get(2).getId());
+		assertThat(Arrays.copyOfRange(last, 3, 19)).isEqualTo(lastTaskId);
+	}
+
+	// Scenario: several deltas are packed into one binary batch frame
+	// Given: an update and a delete of two tasks
+	// When: they are encoded as a batch
+	// Then: the frame is the batch kind and count, followed by both delta frames as they are encoded on their own
+	@Test
+	void encodeBatch_concatenatesDeltaFrames() {
+		BoardDelta update = delta("Task", UUID.randomUUID(), "TaskUpdated", "{\"name\":\"x\",\"version\":1}");
+		BoardDelta delete = delta("Task", UUID.randomUUID(), "TaskDeleted", "{\"version\":4}");
+
+		byte[] frame = bytes(formatter.encodeBatch(List.of(update, delete)));
+
+		assertThat(frame).isEqualTo(concat(
+				new byte[] { (byte) BoardBinaryMessageFormatter.KIND_BATCH, 2 },
+				bytes(formatter.encode(update)),
+				bytes(formatter.encode(delete))));
+	}
+}
@@ -0,0 +1,45 @@
+package com.pak.todo.websocket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+class BoardDeltaTest {
+
+	private static ObjectNode fields(String key, String value) {
+		return JsonNodeFactory.instance.objectNode().put(key, value);
+	}
+
+	// Scenario: a create followed by an edit of the same task
+	// Given: a create with name and status, and an edit of the status at a later version
+	// When: they are merged
+	// Then: the result is a create with the later status, the original name and the later version
+	@Test
+	void merge_createThenEdit_staysCreateWithLatestFields() {
+		BoardDelta create = new BoardDelta("create", "task", "t1", 0, fields("name", "Task").put("status", "NOT_STARTED"));
+		BoardDelta edit = new BoardDelta("edit", "task", "t1", 1, fields("status", "COMPLETED"));
+
+		BoardDelta merged = create.merge(edit);
+
+		assertThat(merged.type()).isEqualTo("create");
+		assertThat(merged.version()).isEqualTo(1);
+		assertThat(merged.fields().get("name").asText()).isEqualTo("Task");
+		assertThat(merged.fields().get("status").asText()).isEqualTo("COMPLETED");
+		assertThat(create.fields().get("status").asText()).isEqualTo("NOT_STARTED");
+	}
+
+	// Scenario: an edit followed by a delete
+	// Given: an edit and a delete of the same task
+	// When: they are merged
+	// Then: only the delete remains
+	@Test
+	void merge_thenDelete_keepsDelete() {
+		BoardDelta edit = new BoardDelta("edit", "task", "t1", 3, fields("name", "Renamed"));
+		BoardDelta delete = new BoardDelta("delete", "task", "t1", 3, JsonNodeFactory.instance.objectNode());
+
+		assertThat(edit.merge(delete)).isSameAs(delete);
+		assertThat(edit.key()).isEqualTo(delete.key());
+	}
+}
@@ -0,0 +1,63 @@
+package com.pak.todo.websocket;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.mock;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.web.socket.WebSocketExtension;
+
+class BoardHandshakeHandlerTest {
+
+	private static final WebSocketExtension DEFLATE_NO_CONTEXT = new WebSocketExtension("permessage-deflate",
+			Map.of("client_no_context_takeover", ""));
+	private static final WebSocketExtension DEFLATE = new WebSocketExtension("permessage-deflate");
+	private static final WebSocketExtension OTHER = new WebSocketExtension("x-webkit-deflate-frame");
+
+	// Scenario: a client offering permessage-deflate and another extension
+	// Given: compression enabled and a container that supports permessage-deflate
+	// When: the requested extensions are filtered
+	// Then: both permessage-deflate offers are kept in the client's order, the other extension is declined
+	@Test
+	void filterRequestedExtensions_enabled_keepsOnlyPermessageDeflate() {
+		BoardHandshakeHandler handler = new BoardHandshakeHandler(true);
+
+		List<WebSocketExtension> accepted = handler.filterRequestedExtensions(mock(ServerHttpRequest.class),
+				List.of(OTHER, DEFLATE_NO_CONTEXT, DEFLATE), List.of(DEFLATE, OTHER));
+
+		assertThat(accepted).extracting(WebSocketExtension::getName)
+				.containsExactly("permessage-deflate", "permessage-deflate");
+		assertThat(accepted).extracting(WebSocketExtension::getParameters)
+				.containsExactly(Map.of("client_no_context_takeover", ""), Map.of());
+	}
+
+	// Scenario: compression is disabled
+	// Given: permessage-deflate switched off
+	// When: a client offers permessage-deflate
+	// Then: no extension is accepted
+	@Test
+	void filterRequestedExtensions_disabled_acceptsNothing() {
+		BoardHandshakeHandler handler = new BoardHandshakeHandler(false);
+
+		List<WebSocketExtension> accepted = handler.filterRequestedExtensions(mock(ServerHttpRequest.class),
+				List.of(DEFLATE), List.of(DEFLATE));
+
+		assertThat(accepted).isEmpty();
+	}
+
+	// Scenario: the container cannot compress
+	// Given: compression enabled but no supported extension
+	// When: a client offers permessage-deflate
+	// Then: no extension is accepted
+	@Test
+	void filterRequestedExtensions_unsupportedByContainer_acceptsNothing() {
+		BoardHandshakeHandler handler = new BoardHandshakeHandler(true);
+
+		List<WebSocketExtension> accepted = handler.filterRequestedExtensions(mock(ServerHttpRequest.class),
+				List.of(DEFLATE), List.of());
+
+		assertThat(accepted).isEmpty();
+	}
+}
@@ -0,0 +1,208 @@
+package com.pak.todo.websocket;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pak.todo.auth.AuthorizationService;
+import com.pak.todo.model.entity.Board;
+import com.pak.todo.security.AuthenticatedUser;
+import com.pak.todo.service.BoardService;
+
+class BoardMuxWebSocketHandlerTest {
+
+	private WebSocketBroadcaster webSocketBroadcaster;
+	private BoardService boardService;
+	private AuthorizationService authorizationService;
+	private BoardSnapshotReader boardSnapshotReader;
+	private BoardV2MessageFormatter formatter;
+	private BoardMuxWebSocketHandler handler;
+	private AuthenticatedUser user;
+
+	@BeforeEach
+	void setUp() {
+		webSocketBroadcaster = mock(WebSocketBroadcaster.class);
+		boardService = mock(BoardService.class);
+		authorizationService = mock(AuthorizationService.class);
+		boardSnapshotReader = mock(BoardSnapshotReader.class);
+		formatter = new BoardV2MessageFormatter(new ObjectMapper());
+		handler = new BoardMuxWebSocketHandler(webSocketBroadcaster, boardService, authorizationService,
+				boardSnapshotReader, formatter, new ObjectMapper());
+		user = new AuthenticatedUser(UUID.randomUUID(), "user");
+	}
+
+	private WebSocketSession sessionWithUser(AuthenticatedUser user) {
+		WebSocketSession session = mock(WebSocketSession.class);
+		Map<String, Object> attributes = new HashMap<>();
+		if (user != null) {
+			attributes.put("user", user);
+		}
+		when(session.getAttributes()).thenReturn(attributes);
+		when(session.getId()).thenReturn("session-1");
+		return session;
+	}
+
+	private static TextMessage request(String type, UUID boardId) {
+		return new TextMessage("{\"type\":\"" + type + "\",\"boardId\":\"" + boardId + "\"}");
+	}
+
+	private Board viewableBoard(UUID boardId) {
+		Board board = Board.create(boardId, "Board", "Desc");
+		when(boardService.getEntityById(boardId)).thenReturn(board);
+		when(authorizationService.canViewBoard(user.id(), boardId)).thenReturn(true);
+		return board;
+	}
+
+	// Scenario: an authenticated connection is registered without any board
+	// Given: a session whose attributes contain the user
+	// When: afterConnectionEstablished(session) is called
+	// Then: the session is connected to the broadcaster and not closed
+	@Test
+	void afterConnectionEstablished_authenticated_connects() throws Exception {
+		WebSocketSession session = sessionWithUser(user);
+
+		handler.afterConnectionEstablished(session);
+
+		verify(webSocketBroadcaster).connect(session);
+		verify(session, never()).close(any());
+	}
+
+	// Scenario: a connection without an authenticated user is refused
+	// Given: a session without a user attribute
+	// When: afterConnectionEstablished(session) is called
+	// Then: the session is closed as unauthorized and never connected
+	@Test
+	void afterConnectionEstablished_noUser_closesSession() throws Exception {
+		WebSocketSession session = sessionWithUser(null);
+
+		handler.afterConnectionEstablished(session);
+
+		verify(session).close(CloseStatus.NOT_ACCEPTABLE.withReason("Unauthorized"));
+		verify(webSocketBroadcaster, never()).connect(any());
+	}
+
+	// Scenario: one connection subscribes to two boards the user may view
+	// Given: two boards the user can view
+	// When: a subscribe request arrives for each
+	// Then: the session is subscribed to both, each with a board-mux snapshot of its own board
+	@Test
+	void handleMessage_subscribeToViewableBoards_subscribesEach() throws Exception {
+		UUID boardA = UUID.randomUUID();
+		UUID boardB = UUID.randomUUID();
+		viewableBoard(boardA);
+		viewableBoard(boardB);
+		WebSocketSession session = sessionWithUser(user);
+		when(webSocketBroadcaster.subscribe(any(), eq(session), any())).thenAnswer(invocation -> {
+			invocation.<Supplier<?>>getArgument(2).get();
+			return true;
+		});
+
+		handler.handleMessage(session, request("subscribe", boardA));
+		handler.handleMessage(session, request("subscribe", boardB));
+
+		verify(webSocketBroadcaster).subscribe(eq(boardA), eq(session), any());
+		verify(webSocketBroadcaster).subscribe(eq(boardB), eq(session), any());
+		verify(boardSnapshotReader).read(boardA, BoardProtocol.MUX);
+		verify(boardSnapshotReader).read(boardB, BoardProtocol.MUX);
+		verify(webSocketBroadcaster, never()).reply(any(), any());
+	}
+
+	// Scenario: permissions are checked per subscription
+	// Given: a board the user cannot view
+	// When: a subscribe request arrives for it
+	// Then: the session is not subscribed and gets a forbidden error for that board; the connection stays open
+	@Test
+	void handleMessage_subscribeForbidden_repliesError() throws Exception {
+		UUID boardId = UUID.randomUUID();
+		Board board = Board.create(boardId, "Board", "Desc");
+		when(boardService.getEntityById(boardId)).thenReturn(board);
+		when(authorizationService.canViewBoard(user.id(), boardId)).thenReturn(false);
+		WebSocketSession session = sessionWithUser(user);
+
+		handler.handleMessage(session, request("subscribe", boardId));
+
+		verify(webSocketBroadcaster, never()).subscribe(any(), any(), any());
+		verify(webSocketBroadcaster).reply(session, formatter.encodeError(boardId, "forbidden"));
+		verify(session, never()).close(any());
+	}
+
+	// Scenario: a subscription to a board that does not exist
+	// Given: no board with the requested id
+	// When: a subscribe request arrives for it
+	// Then: the session gets a not-found error for that board
+	@Test
+	void handleMessage_subscribeUnknownBoard_repliesNotFound() throws Exception {
+		UUID boardId = UUID.randomUUID();
+		WebSocketSession session = sessionWithUser(user);
+
+		handler.handleMessage(session, request("subscribe", boardId));
+
+		verify(webSocketBroadcaster, never()).subscribe(any(), any(), any());
+		verify(webSocketBroadcaster).reply(session, formatter.encodeError(boardId, "not-found"));
+	}
+
+	// Scenario: unsubscribing from a board
+	// Given: a connected session
+	// When: an unsubscribe request arrives
+	// Then: the session is unsubscribed from that board and told so
+	@Test
+	void handleMessage_unsubscribe_unsubscribesAndReplies() throws Exception {
+		UUID boardId = UUID.randomUUID();
+		WebSocketSession session = sessionWithUser(user);
+
+		handler.handleMessage(session, request("unsubscribe", boardId));
+
+		verify(webSocketBroadcaster).unsubscribe(boardId, session);
+		verify(webSocketBroadcaster).reply(session, formatter.encodeUnsubscribed(boardId));
+	}
+
+	// Scenario: requests that cannot be served
+	// Given: a connected session
+	// When: a non-JSON request, a request without a valid boardId and one of an unknown type arrive
+	// Then: each is answered with a bad-request error and nothing is subscribed
+	@Test
+	void handleMessage_invalidRequests_repliesBadRequest() throws Exception {
+		UUID boardId = UUID.randomUUID();
+		WebSocketSession session = sessionWithUser(user);
+
+		for (TextMessage message : List.of(new TextMessage("subscribe"),
+				new TextMessage("{\"type\":\"subscribe\",\"boardId\":\"not-a-uuid\"}"), request("watch", boardId))) {
+			handler.handleMessage(session, message);
+		}
+
+		verify(webSocketBroadcaster, never()).subscribe(any(), any(), any());
+		verify(webSocketBroadcaster, times(2)).reply(session,
+				formatter.encodeError(null, "bad-request"));
+		verify(webSocketBroadcaster).reply(session, formatter.encodeError(boardId, "bad-request"));
+	}
+
+	// Scenario: closing the connection ends every subscription
+	// Given: a connected session
+	// When: afterConnectionClosed(session, status) is called
+	// Then: the session is unregistered from the broadcaster
+	@Test
+	void afterConnectionClosed_unregisters() throws Exception {
+		WebSocketSession session = sessionWithUser(user);
+
+		handler.afterConnectionClosed(session, CloseStatus.NORMAL);
+
+		verify(webSocketBroadcaster).unregister(session);
+	}
+}
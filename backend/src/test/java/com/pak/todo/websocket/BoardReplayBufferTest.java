@@ -0,0 +1,58 @@
+package com.pak.todo.websocket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.TextMessage;
+
+class BoardReplayBufferTest {
+
+	private static BoardReplayBuffer filled(int capacity, int frames) {
+		BoardReplayBuffer buffer = new BoardReplayBuffer("s", capacity);
+		for (int i = 0; i < frames; i++) {
+			buffer.append(new TextMessage("seq=" + buffer.nextSeq()));
+		}
+		return buffer;
+	}
+
+	// Scenario: frames still in the ring are returned in sequence order, across the wrap-around
+	// Given: a buffer of 4 frames after 6 appends (sequences 3..6 retained)
+	// When: since(2) and since(6) are called
+	// Then: frames 3..6 are returned, and an empty list when the client is up to date
+	@Test
+	void since_withinBuffer_returnsFramesInOrder() {
+		BoardReplayBuffer buffer = filled(4, 6);
+
+		assertThat(buffer.since(2)).extracting(TextMessage::getPayload)
+				.containsExactly("seq=3", "seq=4", "seq=5", "seq=6");
+		assertThat(buffer.since(6)).isEmpty();
+	}
+
+	// Scenario: positions the ring cannot serve
+	// Given: a buffer of 4 frames after 6 appends
+	// When: since() is called with an overwritten, a future and a negative sequence
+	// Then: null is returned for each
+	@Test
+	void since_overwrittenOrFuturePosition_returnsNull() {
+		BoardReplayBuffer buffer = filled(4, 6);
+
+		assertThat(buffer.since(1)).isNull();
+		assertThat(buffer.since(7)).isNull();
+		assertThat(buffer.since(-1)).isNull();
+	}
+
+	// Scenario: a buffer is only retired once it has been idle for the retention time
+	// Given: a buffer whose only session closed at t=100
+	// When: retireIfIdle() is called at t=150 and t=200 with a retention of 100
+	// Then: it stays at t=150 and is retired at t=200
+	@Test
+	void retireIfIdle_respectsRetention() {
+		BoardReplayBuffer buffer = filled(4, 0);
+		buffer.sessionOpened();
+		buffer.sessionClosed(100);
+
+		assertThat(buffer.retireIfIdle(150, 100)).isFalse();
+		assertThat(buffer.retireIfIdle(200, 100)).isTrue();
+		assertThat(buffer.isRetired()).isTrue();
+	}
+}
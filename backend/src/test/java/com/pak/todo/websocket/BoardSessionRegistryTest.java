@@ -0,0 +1,182 @@
+package com.pak.todo.websocket;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import org.springframework.web.socket.WebSocketSession;
+
+import com.pak.todo.websocket.WebSocketBroadcastProperties.OverflowPolicy;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BoardSessionRegistryTest {
+
+	private static final int THREADS = 8;
+	private static final int ITERATIONS = 20_000;
+
+	private final BoardSessionRegistry registry = new BoardSessionRegistry();
+	private final Counter counter = new SimpleMeterRegistry().counter("test");
+	private final ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdownNow();
+	}
+
+	private SessionSendQueue queue(String sessionId) {
+		WebSocketSession session = mock(WebSocketSession.class);
+		when(session.getId()).thenReturn(sessionId);
+		return new SessionSendQueue(session, BoardProtocol.V1, false, 16, OverflowPolicy.DROP_OLDEST, Runnable::run,
+				counter, counter, counter, 3, (q, reason) -> {
+				});
+	}
+
+	private static Set<String> ids(SessionSendQueue[] queues) {
+		Set<String> ids = new HashSet<>();
+		for (SessionSendQueue queue : queues) {
+			ids.add(queue.session().getId());
+		}
+		return ids;
+	}
+
+	// Scenario: sessions are added to and removed from their board
+	// Given: two sessions on one board and one on another
+	// When: one session of the first board is removed, then the last one
+	// Then: each snapshot holds the remaining sessions, and a board without sessions is dropped
+	@Test
+	void addAndRemove_keepsPerBoardSnapshots() {
+		UUID boardA = UUID.randomUUID();
+		UUID boardB = UUID.randomUUID();
+		registry.add(boardA, queue("a1"));
+		registry.add(boardA, queue("a2"));
+		registry.add(boardB, queue("b1"));
+		SessionSendQueue[] before = registry.queues(boardA);
+
+		assertThat(registry.remove(boardA, "a1")).isTrue();
+		assertThat(registry.remove(boardA, "b1")).isFalse();
+
+		assertThat(ids(before)).containsExactlyInAnyOrder("a1", "a2");
+		assertThat(ids(registry.queues(boardA))).containsExactly("a2");
+		assertThat(registry.size()).isEqualTo(2);
+		assertThat(registry.remove(boardA, "a2")).isTrue();
+		assertThat(registry.queues(boardA)).isSameAs(BoardSessionRegistry.EMPTY);
+		assertThat(registry.boards()).isEqualTo(1);
+	}
+
+	// Scenario: a session registered twice is kept once
+	// Given: a session already on the board
+	// When: a new queue of the same session is added
+	// Then: the board has one queue, the new one
+	@Test
+	void add_sameSession_replacesQueue() {
+		UUID boardId = UUID.randomUUID();
+		registry.add(boardId, queue("s1"));
+		SessionSendQueue replacement = queue("s1");
+
+		registry.add(boardId, replacement);
+
+		assertThat(registry.queues(boardId)).containsExactly(replacement);
+		assertThat(registry.size()).isEqualTo(1);
+	}
+
+	// Scenario: a session is never lost when the board's last session leaves at the same time
+	// Given: threads that each add their own session to one board, check it is there, and remove it again
+	// When: they run concurrently, so the board is emptied and re-created over and over
+	// Then: every thread always finds its session right after adding it, and the board ends up empty
+	@Test
+	void concurrentAddAndRemove_onEmptyingBoard_neverLosesSession() throws Exception {
+		UUID boardId = UUID.randomUUID();
+		CyclicBarrier start = new CyclicBarrier(THREADS);
+		ConcurrentLinkedQueue<String> lost = new ConcurrentLinkedQueue<>();
+		List<Future<?>> workers = new ArrayList<>();
+		for (int t = 0; t < THREADS; t++) {
+			SessionSendQueue own = queue("s" + t);
+			workers.add(executor.submit(() -> {
+				start.await();
+				for (int i = 0; i < ITERATIONS; i++) {
+					registry.add(boardId, own);
+					if (!ids(registry.queues(boardId)).contains(own.session().getId())) {
+						lost.add(own.session().getId());
+					}
+					if (!registry.remove(boardId, own.session().getId())) {
+						lost.add(own.session().getId());
+					}
+				}
+				return null;
+			}));
+		}
+		for (Future<?> worker : workers) {
+			worker.get(30, TimeUnit.SECONDS);
+		}
+
+		assertThat(lost).isEmpty();
+		assertThat(registry.queues(boardId)).isEmpty();
+		assertThat(registry.size()).isZero();
+		assertThat(registry.boards()).isZero();
+	}
+
+	// Scenario: readers always see a consistent snapshot while membership changes
+	// Given: a session that stays on the board, and threads adding and removing sessions of their own
+	// When: a reader takes snapshots throughout
+	// Then: every snapshot holds the staying session, no null and no session twice; only it remains at the end
+	@Test
+	void concurrentReads_seeConsistentSnapshots() throws Exception {
+		UUID boardId = UUID.randomUUID();
+		registry.add(boardId, queue("stays"));
+		AtomicBoolean running = new AtomicBoolean(true);
+		ConcurrentLinkedQueue<String> violations = new ConcurrentLinkedQueue<>();
+		CountDownLatch readerStarted = new CountDownLatch(1);
+		Future<?> reader = executor.submit(() -> {
+			readerStarted.countDown();
+			while (running.get()) {
+				SessionSendQueue[] snapshot = registry.queues(boardId);
+				Set<String> seen = new HashSet<>();
+				for (SessionSendQueue queue : snapshot) {
+					if (queue == null || !seen.add(queue.session().getId())) {
+						violations.add("inconsistent snapshot of " + snapshot.length);
+					}
+				}
+				if (!seen.contains("stays")) {
+					violations.add("staying session missing");
+				}
+			}
+		});
+		readerStarted.await();
+		List<Future<?>> writers = new ArrayList<>();
+		for (int t = 0; t < THREADS; t++) {
+			SessionSendQueue own = queue("w" + t);
+			writers.add(executor.submit(() -> {
+				for (int i = 0; i < ITERATIONS; i++) {
+					registry.add(boardId, own);
+					registry.remove(boardId, own.session().getId());
+				}
+			}));
+		}
+		for (Future<?> writer : writers) {
+			writer.get(30, TimeUnit.SECONDS);
+		}
+		running.set(false);
+		reader.get(30, TimeUnit.SECONDS);
+
+		assertThat(violations).isEmpty();
+		assertThat(ids(registry.queues(boardId))).containsExactly("stays");
+		assertThat(registry.size()).isEqualTo(1);
+	}
+}
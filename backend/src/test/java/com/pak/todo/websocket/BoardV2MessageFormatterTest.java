@@ -0,0 +1,194 @@
+package com.pak.todo.websocket;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.TextMessage;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pak.todo.model.entity.Board;
+import com.pak.todo.model.entity.OutboxEntry;
+import com.pak.todo.model.entity.Task;
+import com.pak.todo.model.enums.TaskStatus;
+
+class BoardV2MessageFormatterTest {
+
+	private ObjectMapper objectMapper;
+	private BoardV2MessageFormatter formatter;
+
+	@BeforeEach
+	void setUp() {
+		objectMapper = new ObjectMapper().findAndRegisterModules();
+		formatter = new BoardV2MessageFormatter(objectMapper);
+	}
+
+	private OutboxEntry entry(String aggregateType, String aggregateId, String eventType, String payload) {
+		return OutboxEntry.builder()
+				.id(UUID.randomUUID())
+				.aggregateType(aggregateType)
+				.aggregateId(aggregateId)
+				.boardId(UUID.randomUUID())
+				.eventType(eventType)
+				.payload(payload)
+				.createdAt(Instant.now())
+				.build();
+	}
+
+	// Scenario: a multi-field task update keeps every changed field
+	// Given: a TaskUpdated payload with status, name, a cleared dueDate and a version
+	// When: the delta is built and encoded
+	// Then: the frame carries all three fields, including the null, and the version
+	@Test
+	void encode_taskUpdated_carriesEveryChangedField() throws Exception {
+		BoardDelta delta = formatter.delta(entry("Task", "t1", "TaskUpdated",
+				"{\"status\":\"COMPLETED\",\"name\":\"Renamed\",\"dueDate\":null,\"version\":7}"));
+
+		JsonNode frame = objectMapper.readTree(formatter.encode(delta).getPayload());
+
+		assertThat(frame.get("type").asText()).isEqualTo("edit");
+		assertThat(frame.get("resource").asText()).isEqualTo("task");
+		assertThat(frame.get("id").asText()).isEqualTo("t1");
+		assertThat(frame.get("version").asLong()).isEqualTo(7);
+		JsonNode fields = frame.get("fields");
+		assertThat(fields.size()).isEqualTo(3);
+		assertThat(fields.get("status").asText()).isEqualTo("COMPLETED");
+		assertThat(fields.get("name").asText()).isEqualTo("Renamed");
+		assertThat(fields.get("dueDate").isNull()).isTrue();
+	}
+
+	// Scenario: event metadata is not sent as entity fields, and deletes carry no fields
+	// Given: a TaskCreated payload with id, boardId, eventType and occurredAt, and a TaskDeleted payload
+	// When: deltas are built and encoded
+	// Then: the create keeps only entity fields; the delete has no fields object
+	@Test
+	void encode_createAndDelete_stripEnvelopeFields() throws Exception {
+		String payload = "{\"id\":\"t1\",\"boardId\":\"b1\",\"name\":\"Task\",\"status\":\"NOT_STARTED\","
+				+ "\"eventType\":\"TaskCreated\",\"occurredAt\":\"2026-01-01T00:00:00Z\",\"version\":0}";
+
+		JsonNode created = objectMapper.readTree(formatter.encode(
+				formatter.delta(entry("Task", "t1", "TaskCreated", payload))).getPayload());
+		JsonNode deleted = objectMapper.readTree(formatter.encode(
+				formatter.delta(entry("Task", "t1", "TaskDeleted", payload))).getPayload());
+
+		assertThat(created.get("type").asText()).isEqualTo("create");
+		assertThat(created.get("version").asLong()).isZero();
+		assertThat(created.get("fields").fieldNames()).toIterable().containsExactly("name", "status");
+		assertThat(deleted.get("type").asText()).isEqualTo("delete");
+		assertThat(deleted.has("fields")).isFalse();
+	}
+
+	// Scenario: a delete follows an update, as a client holding the update's version sees them
+	// Given: a TaskUpdated payload at version 4 and the TaskDeleted payload written afterwards at version 5
+	// When: both deltas are built and encoded
+	// Then: the delete frame carries version 5, above the 4 the client holds, so its skip rule applies the delete
+	@Test
+	void encode_deleteAfterUpdate_carriesNewerVersion() throws Exception {
+		JsonNode updated = objectMapper.readTree(formatter.encode(formatter.delta(
+				entry("Task", "t1", "TaskUpdated", "{\"name\":\"Renamed\",\"version\":4}"))).getPayload());
+		JsonNode deleted = objectMapper.readTree(formatter.encode(formatter.delta(
+				entry("Task", "t1", "TaskDeleted", "{\"id\":\"t1\",\"name\":\"Renamed\",\"version\":5}")))
+				.getPayload());
+
+		assertThat(deleted.get("type").asText()).isEqualTo("delete");
+		assertThat(deleted.get("version").asLong()).isGreaterThan(updated.get("version").asLong());
+	}
+
+	// Scenario: events written before versions were recorded, and unreadable payloads
+	// Given: a payload without a version, and a payload that is not JSON
+	// When: deltas are built
+	// Then: the first is encoded without a version, the second yields no delta
+	@Test
+	void delta_missingVersionOrInvalidPayload() {
+		BoardDelta unversioned = formatter.delta(entry("Board", "b1", "BoardUpdated", "{\"name\":\"Board\"}"));
+
+		assertThat(unversioned.version()).isEqualTo(BoardDelta.UNKNOWN_VERSION);
+		assertThat(formatter.encode(unversioned).getPayload()).doesNotContain("version");
+		assertThat(formatter.delta(entry("Task", "t1", "TaskUpdated", "not json"))).isNull();
+	}
+
+	// Scenario: a snapshot is split into frames of at most chunkSize tasks
+	// Given: a board at version 2 with three tasks and a chunk size of 2
+	// When: encodeSnapshot() is called
+	// Then: two frames; only the first carries the board, only the last is complete, tasks carry their versions
+	@Test
+	void encodeSnapshot_splitsTasksIntoChunks() throws Exception {
+		Board board = Board.create(UUID.randomUUID(), "Board", "Desc");
+		board.setVersion(2L);
+		List<Task> tasks = List.of(task(board, "a"), task(board, "b"), task(board, "c"));
+		tasks.get(1).setVersion(5L);
+
+		List<TextMessage> frames = formatter.encodeSnapshot(BoardSnapshotRow.of(board), rows(tasks), 2);
+
+		assertThat(frames).hasSize(2);
+		JsonNode first = objectMapper.readTree(frames.get(0).getPayload());
+		JsonNode last = objectMapper.readTree(frames.get(1).getPayload());
+		assertThat(first.get("type").asText()).isEqualTo("snapshot");
+		assertThat(first.get("board").get("version").asLong()).isEqualTo(2);
+		assertThat(first.get("board").get("name").asText()).isEqualTo("Board");
+		assertThat(first.get("tasks").size()).isEqualTo(2);
+		assertThat(first.get("tasks").get(1).get("version").asLong()).isEqualTo(5);
+		assertThat(first.get("tasks").get(0).get("status").asText()).isEqualTo("IN_PROGRESS");
+		assertThat(first.get("complete").asBoolean()).isFalse();
+		assertThat(last.has("board")).isFalse();
+		assertThat(last.get("tasks").get(0).get("name").asText()).isEqualTo("c");
+		assertThat(last.get("complete").asBoolean()).isTrue();
+	}
+
+	// Scenario: a board without tasks
+	// Given: an empty task list
+	// When: encodeSnapshot() is called
+	// Then: a single complete frame with the board and an empty task array
+	@Test
+	void encodeSnapshot_noTasks_sendsOneCompleteFrame() throws Exception {
+		Board board = Board.create(UUID.randomUUID(), "Board", null);
+
+		List<TextMessage> frames = formatter.encodeSnapshot(BoardSnapshotRow.of(board), List.of(), 500);
+
+		assertThat(frames).hasSize(1);
+		JsonNode frame = objectMapper.readTree(frames.get(0).getPayload());
+		assertThat(frame.get("board").get("version").asLong()).isZero();
+		assertThat(frame.get("tasks").size()).isZero();
+		assertThat(frame.get("complete").asBoolean()).isTrue();
+	}
+
+	// Scenario: board-mux frames name their board
+	// Given: a board with three tasks, a chunk size of 2, and two deltas of the board
+	// When: the snapshot, a batch and the control frames are encoded with the board id
+	// Then: every snapshot frame, the batch frame and the control frames start with the boardId; the deltas inside
+	// the batch are not tagged
+	@Test
+	void encode_withBoardId_tagsEveryFrame() throws Exception {
+		Board board = Board.create(UUID.randomUUID(), "Board", "Desc");
+		String boardId = board.getId().toString();
+		List<TextMessage> snapshot = formatter.encodeSnapshot(board.getId(), BoardSnapshotRow.of(board),
+				rows(List.of(task(board, "a"), task(board, "b"), task(board, "c"))), 2);
+		BoardDelta delta = formatter.delta(entry("Task", "t1", "TaskUpdated", "{\"status\":\"COMPLETED\"}"));
+
+		TextMessage batch = formatter.encodeBatch(board.getId(), List.of(delta, delta));
+
+		assertThat(snapshot).hasSize(2);
+		for (TextMessage frame : snapshot) {
+			assertThat(objectMapper.readTree(frame.getPayload()).get("boardId").asText()).isEqualTo(boardId);
+		}
+		assertThat(batch.getPayload()).startsWith("{\"boardId\":\"" + boardId + "\",\"type\":\"batch\"");
+		assertThat(objectMapper.readTree(batch.getPayload()).get("frames").get(0).has("boardId")).isFalse();
+		assertThat(formatter.encode(board.getId(), delta).getPayload()).startsWith("{\"boardId\":\"" + boardId);
+		assertThat(formatter.encodeUnsubscribed(board.getId()).getPayload())
+				.isEqualTo("{\"boardId\":\"" + boardId + "\",\"type\":\"unsubscribed\"}");
+		assertThat(formatter.encodeError(null, "bad-request").getPayload())
+				.isEqualTo("{\"type\":\"error\",\"reason\":\"bad-request\"}");
+	}
+
+	private static Task task(Board board, String name) {
+		return Task.create(UUID.randomUUID(), board, name, null, null, TaskStatus.IN_PROGRESS);
+	}
+
+	private static List<TaskSnapshotRow> rows(List<Task> tasks) {
+		return tasks.stream().map(TaskSnapshotRow::of).toList();
+	}
+}
@@ -11,15 +11,17 @@ import java.net.URI;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PongMessage;
 import org.springframework.web.socket.WebSocketSession;
 
 import com.pak.todo.auth.AuthorizationService;
 import com.pak.todo.model.entity.Board;
-import com.pak.todo.model.entity.User;
+import com.pak.todo.security.AuthenticatedUser;
 import com.pak.todo.service.BoardService;
 
 class BoardWebSocketHandlerTest {
@@ -27,6 +29,7 @@ class BoardWebSocketHandlerTest {
 	private WebSocketBroadcaster webSocketBroadcaster;
 	private BoardService boardService;
 	private AuthorizationService authorizationService;
+	private BoardSnapshotReader boardSnapshotReader;
 	private BoardWebSocketHandler handler;
 
 	@BeforeEach
@@ -34,10 +37,12 @@ class BoardWebSocketHandlerTest {
 		webSocketBroadcaster = mock(WebSocketBroadcaster.class);
 		boardService = mock(BoardService.class);
 		authorizationService = mock(AuthorizationService.class);
-		handler = new BoardWebSocketHandler(webSocketBroadcaster, boardService, authorizationService);
+		boardSnapshotReader = mock(BoardSnapshotReader.class);
+		handler = new BoardWebSocketHandler(webSocketBroadcaster, boardService, authorizationService,
+				boardSnapshotReader);
 	}
 
-	private WebSocketSession sessionWithUriAndUser(URI uri, User user) {
+	private WebSocketSession sessionWithUriAndUser(URI uri, AuthenticatedUser user) {
 		WebSocketSession session = mock(WebSocketSession.class);
 		when(session.getUri()).thenReturn(uri);
 		Map<String, Object> attributes = new HashMap<>();
@@ -50,25 +55,115 @@ class BoardWebSocketHandlerTest {
 	}
 
 	// Scenario: connection with valid board path and user who can view registers with broadcaster
-	// Given: session URI /ws/board/{boardId}, attributes contain User, board exists, user can view
+	// Given: session URI /ws/board/{boardId}, attributes contain the user, board exists, user can view
 	// When: afterConnectionEstablished(session) is called
 	// Then: webSocketBroadcaster.register(boardId, session) is invoked
 	@Test
 	void afterConnectionEstablished_validBoardAndUser_registersWithBroadcaster() throws Exception {
 		UUID boardId = UUID.randomUUID();
 		URI uri = URI.create("http://localhost/ws/board/" + boardId);
-		User user = User.create(UUID.randomUUID(), "user", "hash");
+		AuthenticatedUser user = new AuthenticatedUser(UUID.randomUUID(), "user");
 		Board board = Board.create(boardId, "Board", "Desc");
 		WebSocketSession session = sessionWithUriAndUser(uri, user);
 
 		when(boardService.getEntityById(boardId)).thenReturn(board);
-		when(authorizationService.canViewBoard(user, board)).thenReturn(true);
+		when(authorizationService.canViewBoard(user.id(), boardId)).thenReturn(true);
 
 		handler.afterConnectionEstablished(session);
 
 		verify(webSocketBroadcaster).register(eq(boardId), eq(session));
 	}
 
+	// Scenario: a resuming client passes its stream and last sequence number
+	// Given: session URI /ws/board/{boardId}?since=41&stream=abc, board exists, user can view
+	// When: afterConnectionEstablished(session) is called
+	// Then: the session is registered with stream "abc" and since 41
+	@Test
+	void afterConnectionEstablished_resumeParameters_registersWithPosition() throws Exception {
+		UUID boardId = UUID.randomUUID();
+		URI uri = URI.create("http://localhost/ws/board/" + boardId + "?since=41&stream=abc");
+		AuthenticatedUser user = new AuthenticatedUser(UUID.randomUUID(), "user");
+		Board board = Board.create(boardId, "Board", "Desc");
+		WebSocketSession session = sessionWithUriAndUser(uri, user);
+
+		when(boardService.getEntityById(boardId)).thenReturn(board);
+		when(authorizationService.canViewBoard(user.id(), boardId)).thenReturn(true);
+
+		handler.afterConnectionEstablished(session);
+
+		verify(webSocketBroadcaster).register(boardId, session, "abc", 41L);
+	}
+
+	// Scenario: a board-v2 client is registered with a snapshot instead of a replay position
+	// Given: the handshake accepted board-v2, board exists, user can view
+	// When: afterConnectionEstablished(session) is called
+	// Then: the session is registered through registerWithSnapshot and not through register
+	@Test
+	void afterConnectionEstablished_boardV2_registersWithSnapshot() throws Exception {
+		UUID boardId = UUID.randomUUID();
+		URI uri = URI.create("http://localhost/ws/board/" + boardId);
+		AuthenticatedUser user = new AuthenticatedUser(UUID.randomUUID(), "user");
+		Board board = Board.create(boardId, "Board", "Desc");
+		WebSocketSession session = sessionWithUriAndUser(uri, user);
+		when(session.getAcceptedProtocol()).thenReturn("board-v2");
+		when(boardService.getEntityById(boardId)).thenReturn(board);
+		when(authorizationService.canViewBoard(user.id(), boardId)).thenReturn(true);
+		when(webSocketBroadcaster.registerWithSnapshot(eq(boardId), eq(session), eq(BoardProtocol.V2), any()))
+				.thenReturn(true);
+
+		handler.afterConnectionEstablished(session);
+
+		verify(webSocketBroadcaster).registerWithSnapshot(eq(boardId), eq(session), eq(BoardProtocol.V2), any());
+		verify(webSocketBroadcaster, never()).register(any(), any());
+		verify(session, never()).close(any());
+	}
+
+	// Scenario: a board-bin client is registered with a snapshot read in the binary encoding
+	// Given: the handshake accepted board-bin, board exists, user can view
+	// When: afterConnectionEstablished(session) is called and the broadcaster reads the snapshot
+	// Then: the session is registered as board-bin and the snapshot is read for that protocol
+	@Test
+	void afterConnectionEstablished_boardBin_registersWithBinarySnapshot() throws Exception {
+		UUID boardId = UUID.randomUUID();
+		URI uri = URI.create("http://localhost/ws/board/" + boardId);
+		AuthenticatedUser user = new AuthenticatedUser(UUID.randomUUID(), "user");
+		Board board = Board.create(boardId, "Board", "Desc");
+		WebSocketSession session = sessionWithUriAndUser(uri, user);
+		when(session.getAcceptedProtocol()).thenReturn("board-bin");
+		when(boardService.getEntityById(boardId)).thenReturn(board);
+		when(authorizationService.canViewBoard(user.id(), boardId)).thenReturn(true);
+		when(webSocketBroadcaster.registerWithSnapshot(eq(boardId), eq(session), eq(BoardProtocol.BINARY), any()))
+				.thenAnswer(invocation -> {
+					invocation.<Supplier<?>>getArgument(3).get();
+					return true;
+				});
+
+		handler.afterConnectionEstablished(session);
+
+		verify(boardSnapshotReader).read(boardId, BoardProtocol.BINARY);
+		verify(session, never()).close(any());
+	}
+
+	// Scenario: the board is deleted between authorization and the board-v2 snapshot
+	// Given: the handshake accepted board-v2 and registerWithSnapshot reports that there was no snapshot
+	// When: afterConnectionEstablished(session) is called
+	// Then: the session is closed with BAD_DATA
+	@Test
+	void afterConnectionEstablished_boardV2WithoutSnapshot_closesWithBadData() throws Exception {
+		UUID boardId = UUID.randomUUID();
+		URI uri = URI.create("http://localhost/ws/board/" + boardId);
+		AuthenticatedUser user = new AuthenticatedUser(UUID.randomUUID(), "user");
+		Board board = Board.create(boardId, "Board", "Desc");
+		WebSocketSession session = sessionWithUriAndUser(uri, user);
+		when(session.getAcceptedProtocol()).thenReturn("board-v2");
+		when(boardService.getEntityById(boardId)).thenReturn(board);
+		when(authorizationService.canViewBoard(user.id(), boardId)).thenReturn(true);
+
+		handler.afterConnectionEstablished(session);
+
+		verify(session).close(CloseStatus.BAD_DATA);
+	}
+
 	// Scenario: connection with invalid or missing boardId in path closes with BAD_DATA
 	// Given: session URI with too few path segments (e.g. /ws/board)
 	// When: afterConnectionEstablished(session) is called
@@ -76,7 +171,7 @@ class BoardWebSocketHandlerTest {
 	@Test
 	void afterConnectionEstablished_invalidBoardId_closesWithBadData() throws Exception {
 		URI uri = URI.create("http://localhost/ws/board");
-		User user = User.create(UUID.randomUUID(), "user", "hash");
+		AuthenticatedUser user = new AuthenticatedUser(UUID.randomUUID(), "user");
 		WebSocketSession session = sessionWithUriAndUser(uri, user);
 
 		handler.afterConnectionEstablished(session);
@@ -88,7 +183,7 @@ class BoardWebSocketHandlerTest {
 	// Scenario: connection with null URI closes with BAD_DATA
 	@Test
 	void afterConnectionEstablished_nullUri_closesWithBadData() throws Exception {
-		WebSocketSession session = sessionWithUriAndUser(null, User.create(UUID.randomUUID(), "u", "h"));
+		WebSocketSession session = sessionWithUriAndUser(null, new AuthenticatedUser(UUID.randomUUID(), "u"));
 
 		handler.afterConnectionEstablished(session);
 
@@ -96,7 +191,7 @@ class BoardWebSocketHandlerTest {
 	}
 
 	// Scenario: connection when user is missing in attributes closes with NOT_ACCEPTABLE
-	// Given: session has valid board URI but attributes do not contain a User
+	// Given: session has valid board URI but attributes do not contain a user
 	// When: afterConnectionEstablished(session) is called
 	// Then: session.close(CloseStatus.NOT_ACCEPTABLE with reason "Unauthorized") is invoked
 	@Test
@@ -119,7 +214,7 @@ class BoardWebSocketHandlerTest {
 	void afterConnectionEstablished_boardNotFound_closesWithBadData() throws Exception {
 		UUID boardId = UUID.randomUUID();
 		URI uri = URI.create("http://localhost/ws/board/" + boardId);
-		User user = User.create(UUID.randomUUID(), "user", "hash");
+		AuthenticatedUser user = new AuthenticatedUser(UUID.randomUUID(), "user");
 		WebSocketSession session = sessionWithUriAndUser(uri, user);
 
 		when(boardService.getEntityById(boardId)).thenReturn(null);
@@ -138,12 +233,12 @@ class BoardWebSocketHandlerTest {
 	void afterConnectionEstablished_userCannotViewBoard_closesWithNotAcceptable() throws Exception {
 		UUID boardId = UUID.randomUUID();
 		URI uri = URI.create("http://localhost/ws/board/" + boardId);
-		User user = User.create(UUID.randomUUID(), "user", "hash");
+		AuthenticatedUser user = new AuthenticatedUser(UUID.randomUUID(), "user");
 		Board board = Board.create(boardId, "Board", "Desc");
 		WebSocketSession session = sessionWithUriAndUser(uri, user);
 
 		when(boardService.getEntityById(boardId)).thenReturn(board);
-		when(authorizationService.canViewBoard(user, board)).thenReturn(false);
+		when(authorizationService.canViewBoard(user.id(), boardId)).thenReturn(false);
 
 		handler.afterConnectionEstablished(session);
 
@@ -188,4 +283,18 @@ class BoardWebSocketHandlerTest {
 		handler.handleTransportError(null, new RuntimeException("error"));
 		verify(webSocketBroadcaster, never()).unregister(any());
 	}
+
+	// Scenario: a pong answering a heartbeat ping is passed on to the broadcaster
+	// Given: a connected session
+	// When: a pong message arrives
+	// Then: webSocketBroadcaster.pongReceived(session) is invoked
+	@Test
+	void handleMessage_pong_notifiesBroadcaster() throws Exception {
+		WebSocketSession session = sessionWithUriAndUser(URI.create("http://localhost/ws/board/" + UUID.randomUUID()),
+				null);
+
+		handler.handleMessage(session, new PongMessage());
+
+		verify(webSocketBroadcaster).pongReceived(session);
+	}
 }
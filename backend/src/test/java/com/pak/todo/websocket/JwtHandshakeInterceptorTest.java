@@ -19,22 +19,22 @@ import org.springframework.http.server.ServerHttpRequest;
 import org.springframework.http.server.ServerHttpResponse;
 import org.springframework.web.socket.WebSocketHandler;
 
-import com.pak.todo.model.entity.User;
-import com.pak.todo.repository.UserRepository;
+import com.pak.todo.security.AuthenticatedUser;
 import com.pak.todo.security.JwtPrincipal;
 import com.pak.todo.security.JwtService;
+import com.pak.todo.security.UserCache;
 
 class JwtHandshakeInterceptorTest {
 
 	private JwtService jwtService;
-	private UserRepository userRepository;
+	private UserCache userCache;
 	private JwtHandshakeInterceptor interceptor;
 
 	@BeforeEach
 	void setUp() {
 		jwtService = mock(JwtService.class);
-		userRepository = mock(UserRepository.class);
-		interceptor = new JwtHandshakeInterceptor(jwtService, userRepository);
+		userCache = mock(UserCache.class);
+		interceptor = new JwtHandshakeInterceptor(jwtService, userCache);
 	}
 
 	private ServerHttpRequest requestWithHeaders(HttpHeaders headers) {
@@ -62,7 +62,7 @@ class JwtHandshakeInterceptorTest {
 	}
 
 	// Scenario: handshake with valid Bearer token and user found returns true and puts user in attributes
-	// Given: Authorization: Bearer <token>, JwtService returns principal, UserRepository returns user
+	// Given: Authorization: Bearer <token>, JwtService returns principal, UserCache returns user
 	// When: beforeHandshake is called
 	// Then: returns true and attributes contain "user"
 	@Test
@@ -77,9 +77,9 @@ class JwtHandshakeInterceptorTest {
 
 		UUID userId = UUID.randomUUID();
 		JwtPrincipal principal = new JwtPrincipal(userId, "user");
-		User user = User.create(userId, "user", "hash");
+		AuthenticatedUser user = new AuthenticatedUser(userId, "user");
 		when(jwtService.parseAndValidate(token)).thenReturn(Optional.of(principal));
-		when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+		when(userCache.get(userId)).thenReturn(Optional.of(user));
 
 		boolean result = interceptor.beforeHandshake(request, response, wsHandler, attributes);
 
@@ -111,7 +111,7 @@ class JwtHandshakeInterceptorTest {
 	}
 
 	// Scenario: handshake with token in Sec-WebSocket-Protocol second entry, valid token and user returns true
-	// Given: Sec-WebSocket-Protocol: board-v1, <jwt>, JwtService and UserRepository return valid principal and user
+	// Given: Sec-WebSocket-Protocol: board-v1, <jwt>, JwtService and UserCache return valid principal and user
 	// When: beforeHandshake is called
 	// Then: returns true and attributes contain user
 	@Test
@@ -126,9 +126,9 @@ class JwtHandshakeInterceptorTest {
 
 		UUID userId = UUID.randomUUID();
 		JwtPrincipal principal = new JwtPrincipal(userId, "u");
-		User user = User.create(userId, "u", "h");
+		AuthenticatedUser user = new AuthenticatedUser(userId, "u");
 		when(jwtService.parseAndValidate(token)).thenReturn(Optional.of(principal));
-		when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+		when(userCache.get(userId)).thenReturn(Optional.of(user));
 
 		boolean result = interceptor.beforeHandshake(request, response, wsHandler, attributes);
 
@@ -156,7 +156,7 @@ class JwtHandshakeInterceptorTest {
 	}
 
 	// Scenario: handshake with valid token but user not found in repository returns false
-	// Given: Bearer token valid, UserRepository.findById returns empty
+	// Given: Bearer token valid, UserCache.get returns empty
 	// When: beforeHandshake is called
 	// Then: returns false
 	@Test
@@ -172,7 +172,7 @@ class JwtHandshakeInterceptorTest {
 		UUID userId = UUID.randomUUID();
 		JwtPrincipal principal = new JwtPrincipal(userId, "user");
 		when(jwtService.parseAndValidate(token)).thenReturn(Optional.of(principal));
-		when(userRepository.findById(userId)).thenReturn(Optional.empty());
+		when(userCache.get(userId)).thenReturn(Optional.empty());
 
 		boolean result = interceptor.beforeHandshake(request, response, wsHandler, attributes);
 
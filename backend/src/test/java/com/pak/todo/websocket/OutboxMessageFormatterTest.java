@@ -1,5 +1,6 @@
 package com.pak.todo.websocket;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.UUID;
 
@@ -172,4 +173,34 @@ class OutboxMessageFormatterTest {
 		String result = formatter.format(entry);
 		assertThat(result).contains("resource=task");
 	}
+
+	// Scenario: frames are encoded as UTF-8 with escaping applied to the raw bytes
+	// Given: a board name with non-ASCII characters, a semicolon and an equals sign
+	// When: encode() is called
+	// Then: the bytes are the UTF-8 encoding of the escaped frame
+	@Test
+	void encode_nonAsciiValue_writesEscapedUtf8() {
+		OutboxEntry entry = entry("Board", "b3", "BoardUpdated", "{\"name\":\"Plané ✓;x=🚀\"}");
+
+		byte[] result = formatter.encode(entry);
+
+		assertThat(result).isEqualTo("type=edit;resource=board;id=b3;key=name;value=Plané ✓\\;x\\=🚀"
+				.getBytes(StandardCharsets.UTF_8));
+	}
+
+	// Scenario: sequence numbers lead the frame and control frames carry stream and position
+	// Given: an event at sequence 1207, and stream "k3x" at sequence 42
+	// When: encode(entry, seq), encodeSync() and encodeReload() are called
+	// Then: the event frame starts with seq=1207; and the control frames have the sync/reload layout
+	@Test
+	void encode_withSequenceAndControlFrames() {
+		OutboxEntry entry = entry("Task", "t1", "TaskUpdated", "{\"status\":\"COMPLETED\"}");
+
+		assertThat(new String(formatter.encode(entry, 1207), StandardCharsets.UTF_8))
+				.isEqualTo("seq=1207;type=edit;resource=task;id=t1;key=status;value=COMPLETED");
+		assertThat(new String(formatter.encodeSync("k3x", 42), StandardCharsets.UTF_8))
+				.isEqualTo("type=sync;stream=k3x;seq=42");
+		assertThat(new String(formatter.encodeReload("k3x", 0), StandardCharsets.UTF_8))
+				.isEqualTo("type=reload;stream=k3x;seq=0");
+	}
 }
@@ -0,0 +1,134 @@
+package com.pak.todo.websocket;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import com.pak.todo.websocket.SessionSendQueue.Eviction;
+import com.pak.todo.websocket.WebSocketBroadcastProperties.OverflowPolicy;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SessionSendQueueTest {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final Counter dropped = registry.counter("dropped");
+	private final Counter counter = registry.counter("sent");
+	private final WebSocketSession session = mock(WebSocketSession.class);
+	private final List<String> sent = new ArrayList<>();
+	private final List<Eviction> evictions = new ArrayList<>();
+
+	private SessionSendQueue queue() {
+		when(session.getId()).thenReturn("s1");
+		when(session.isOpen()).thenReturn(true);
+		return new SessionSendQueue(session, BoardProtocol.MUX, false, 16, OverflowPolicy.DROP_OLDEST, Runnable::run,
+				dropped, counter, counter, 3, (q, reason) -> evictions.add(reason));
+	}
+
+	// Scenario: a queue is held while its drain is sending, as when a board-mux session subscribes to another board
+	// Given: a running drain, during whose first write the queue is held and a delta of the new board is queued
+	// When: the queue is released with the snapshot
+	// Then: the drain stops without sending the delta, and the snapshot is sent before it
+	@Test
+	void hold_duringDrain_stopsSendingUntilRelease() throws Exception {
+		SessionSendQueue queue = queue();
+		doAnswer(invocation -> {
+			String payload = invocation.<TextMessage>getArgument(0).getPayload();
+			sent.add(payload);
+			if (payload.equals("live")) {
+				queue.hold();
+				queue.enqueue(new TextMessage("delta"));
+			}
+			return null;
+		}).when(session).sendMessage(any(WebSocketMessage.class));
+
+		queue.enqueue(new TextMessage("live"));
+		assertThat(sent).containsExactly("live");
+		assertThat(queue.depth()).isEqualTo(1);
+
+		queue.release(List.of(new TextMessage("snapshot")));
+
+		assertThat(sent).containsExactly("live", "snapshot", "delta");
+	}
+
+	// Scenario: deltas overflow a queue that still holds a snapshot, under drop-oldest
+	// Given: a queue of capacity 2 whose drain has not run yet, released with a snapshot of three frames
+	// When: three deltas are queued
+	// Then: only the oldest delta is dropped; the whole snapshot is sent, followed by the two newest deltas
+	@Test
+	void enqueue_overflowAfterSnapshot_keepsSnapshotFrames() throws Exception {
+		when(session.getId()).thenReturn("s1");
+		when(session.isOpen()).thenReturn(true);
+		List<Runnable> drains = new ArrayList<>();
+		SessionSendQueue queue = new SessionSendQueue(session, BoardProtocol.V2, true, 2, OverflowPolicy.DROP_OLDEST,
+				drains::add, dropped, counter, counter, 3, (q, reason) -> evictions.add(reason));
+		doAnswer(invocation -> sent.add(invocation.<TextMessage>getArgument(0).getPayload()))
+				.when(session).sendMessage(any(WebSocketMessage.class));
+
+		queue.release(List.of(new TextMessage("s1"), new TextMessage("s2"), new TextMessage("s3")));
+		queue.enqueue(new TextMessage("d1"));
+		queue.enqueue(new TextMessage("d2"));
+		queue.enqueue(new TextMessage("d3"));
+		drains.forEach(Runnable::run);
+
+		assertThat(sent).containsExactly("s1", "s2", "s3", "d2", "d3");
+		assertThat(dropped.count()).isEqualTo(1.0);
+	}
+
+	// Scenario: a single failed write does not make the session miss the frame
+	// Given: a session whose first write throws IOException
+	// When: a frame is queued, then another
+	// Then: the failed frame is sent again, before the second one; nothing is dropped and the session is not evicted
+	@Test
+	void enqueue_afterFailedWrite_retriesFrameInOrder() throws Exception {
+		SessionSendQueue queue = queue();
+		doAnswer(invocation -> {
+			String payload = invocation.<TextMessage>getArgument(0).getPayload();
+			if (payload.equals("first") && !sent.contains("failed")) {
+				sent.add("failed");
+				throw new IOException("send failed");
+			}
+			sent.add(payload);
+			return null;
+		}).when(session).sendMessage(any(WebSocketMessage.class));
+
+		queue.enqueue(new TextMessage("first"));
+		assertThat(queue.depth()).isEqualTo(1);
+		queue.enqueue(new TextMessage("second"));
+
+		assertThat(sent).containsExactly("failed", "first", "second");
+		assertThat(dropped.count()).isZero();
+		assertThat(evictions).isEmpty();
+	}
+
+	// Scenario: writes keep failing
+	// Given: max-send-failures of 3 and a session whose writes always throw IOException
+	// When: three frames are queued
+	// Then: the third failure discards every queued frame, counts them as dropped and reports a send failure once
+	@Test
+	void enqueue_repeatedFailedWrites_dropsQueuedFramesAndReportsSendFailure() throws Exception {
+		SessionSendQueue queue = queue();
+		doThrow(new IOException("send failed")).when(session).sendMessage(any(WebSocketMessage.class));
+
+		queue.enqueue(new TextMessage("a"));
+		queue.enqueue(new TextMessage("b"));
+		assertThat(evictions).isEmpty();
+		queue.enqueue(new TextMessage("c"));
+
+		assertThat(queue.depth()).isZero();
+		assertThat(dropped.count()).isEqualTo(3.0);
+		assertThat(evictions).containsExactly(Eviction.SEND_FAILURE);
+	}
+}
@@ -2,31 +2,56 @@ package com.pak.todo.websocket;
 
 import java.io.IOException;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PingMessage;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
 
 import com.pak.todo.model.entity.OutboxEntry;
+import com.pak.todo.websocket.WebSocketBroadcastProperties.OverflowPolicy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 class WebSocketBroadcasterTest {
 
 	private OutboxMessageFormatter formatter;
+	private BoardV2MessageFormatter v2Formatter;
+	private BoardBinaryMessageFormatter binaryFormatter;
 	private WebSocketBroadcaster broadcaster;
 
 	@BeforeEach
 	void setUp() {
 		formatter = new OutboxMessageFormatter(new com.fasterxml.jackson.databind.ObjectMapper());
-		broadcaster = new WebSocketBroadcaster(formatter);
+		v2Formatter = new BoardV2MessageFormatter(new com.fasterxml.jackson.databind.ObjectMapper());
+		binaryFormatter = new BoardBinaryMessageFormatter();
+		WebSocketBroadcastProperties properties = new WebSocketBroadcastProperties();
+		properties.setCoalesceWindowMillis(0);
+		broadcaster = new WebSocketBroadcaster(formatter, v2Formatter, binaryFormatter, properties,
+				new SimpleMeterRegistry(), Runnable::run, mock(ScheduledExecutorService.class),
+				mock(ScheduledExecutorService.class));
 	}
 
 	private OutboxEntry entry(UUID boardId, String aggregateType, String aggregateId, String eventType, String payload) {
@@ -41,6 +66,13 @@ class WebSocketBroadcasterTest {
 				.build();
 	}
 
+	private WebSocketBroadcaster newBroadcaster(WebSocketBroadcastProperties properties, SimpleMeterRegistry registry) {
+		properties.setCoalesceWindowMillis(0);
+		return new WebSocketBroadcaster(formatter, v2Formatter, binaryFormatter, properties, registry, Runnable::run,
+				mock(ScheduledExecutorService.class),
+				mock(ScheduledExecutorService.class));
+	}
+
 	private WebSocketSession openSession(String id) {
 		WebSocketSession session = mock(WebSocketSession.class);
 		when(session.getId()).thenReturn(id);
@@ -110,6 +142,28 @@ class WebSocketBroadcasterTest {
 		verify(closed, never()).sendMessage(any(TextMessage.class));
 	}
 
+	// Scenario: a session found closed while broadcasting is unregistered
+	// Given: one open and one closed session registered for the same board
+	// When: two events are broadcast
+	// Then: the first is addressed to both sessions and the second only to the open one; one eviction is counted
+	@Test
+	void broadcast_closedSession_isUnregistered() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		WebSocketBroadcaster evicting = newBroadcaster(new WebSocketBroadcastProperties(), registry);
+		UUID boardId = UUID.randomUUID();
+		evicting.register(boardId, openSession("open"));
+		evicting.register(boardId, closedSession("closed"));
+
+		int first = evicting.broadcast(boardId, entry(boardId, "Task", "t1", "TaskCreated", "{}"));
+		int second = evicting.broadcast(boardId, entry(boardId, "Task", "t2", "TaskCreated", "{}"));
+
+		assertThat(first).isEqualTo(2);
+		assertThat(second).isEqualTo(1);
+		assertThat(registry.get("websocket.sessions").gauge().value()).isEqualTo(1.0);
+		assertThat(registry.get("websocket.sessions.evicted").tag("reason", "closed").counter().count())
+				.isEqualTo(1.0);
+	}
+
 	// Scenario: after unregistering a session only remaining sessions receive broadcast
 	// Given: two sessions registered, then one unregistered
 	// When: broadcast is called
@@ -197,4 +251,717 @@ class WebSocketBroadcasterTest {
 		verify(okSession).sendMessage(any(TextMessage.class));
 		verify(failingSession).sendMessage(any(TextMessage.class));
 	}
+
+	// Scenario: a session that is closed once a write fails is unregistered right away
+	// Given: a session whose write throws IOException and leaves it closed
+	// When: an event is broadcast, then another
+	// Then: the session is unregistered after the first, the second reaches no session, and a send-failure eviction
+	// is counted
+	@Test
+	void broadcast_sendFailureClosesSession_unregistersSession() throws IOException {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		WebSocketBroadcaster evicting = newBroadcaster(new WebSocketBroadcastProperties(), registry);
+		UUID boardId = UUID.randomUUID();
+		WebSocketSession session = openSession("broken");
+		doAnswer(invocation -> {
+			when(session.isOpen()).thenReturn(false);
+			throw new IOException("connection reset");
+		}).when(session).sendMessage(any(TextMessage.class));
+		evicting.register(boardId, session);
+
+		evicting.broadcast(boardId, entry(boardId, "Task", "t1", "TaskCreated", "{}"));
+
+		assertThat(evicting.broadcast(boardId, entry(boardId, "Task", "t2", "TaskCreated", "{}"))).isZero();
+		assertThat(registry.get("websocket.sessions.evicted").tag("reason", "send-failure").counter().count())
+				.isEqualTo(1.0);
+		verify(session, never()).close(any());
+	}
+
+	// Scenario: a session that still looks open but keeps failing writes is closed and unregistered
+	// Given: max-send-failures of 2 and a session whose writes always throw IOException
+	// When: three events are broadcast
+	// Then: the second failure evicts the session: it is closed with SESSION_NOT_RELIABLE and the third event
+	// reaches no session
+	@Test
+	void broadcast_repeatedSendFailures_evictsAndClosesSession() throws IOException {
+		WebSocketBroadcastProperties properties = new WebSocketBroadcastProperties();
+		properties.setMaxSendFailures(2);
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		WebSocketBroadcaster evicting = newBroadcaster(properties, registry);
+		UUID boardId = UUID.randomUUID();
+		WebSocketSession session = openSession("failing");
+		doThrow(new IOException("send failed")).when(session).sendMessage(any(TextMessage.class));
+		evicting.register(boardId, session);
+
+		evicting.broadcast(boardId, entry(boardId, "Task", "t1", "TaskCreated", "{}"));
+		verify(session, never()).close(any());
+		evicting.broadcast(boardId, entry(boardId, "Task", "t2", "TaskCreated", "{}"));
+
+		verify(session).close(CloseStatus.SESSION_NOT_RELIABLE);
+		assertThat(evicting.broadcast(boardId, entry(boardId, "Task", "t3", "TaskCreated", "{}"))).isZero();
+		assertThat(registry.get("websocket.sessions.evicted").tag("reason", "send-failure").counter().count())
+				.isEqualTo(1.0);
+	}
+
+	// Scenario: the heartbeat finds a half-open connection
+	// Given: max-missed-pongs of 2, a session that answers every ping and one that never does
+	// When: the heartbeat runs three times
+	// Then: both sessions are pinged; the silent one is closed and unregistered on the third run, the other stays
+	@Test
+	void heartbeat_sessionMissingPongs_isEvicted() throws IOException {
+		WebSocketBroadcastProperties properties = new WebSocketBroadcastProperties();
+		properties.setMaxMissedPongs(2);
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		WebSocketBroadcaster evicting = newBroadcaster(properties, registry);
+		UUID boardId = UUID.randomUUID();
+		WebSocketSession answering = openSession("answering");
+		WebSocketSession silent = openSession("silent");
+		evicting.register(boardId, answering);
+		evicting.register(boardId, silent);
+
+		for (int i = 0; i < 3; i++) {
+			evicting.heartbeat();
+			evicting.pongReceived(answering);
+		}
+
+		verify(answering, times(3)).sendMessage(any(PingMessage.class));
+		verify(silent, times(2)).sendMessage(any(PingMessage.class));
+		verify(silent).close(CloseStatus.SESSION_NOT_RELIABLE);
+		verify(answering, never()).close(any());
+		assertThat(evicting.broadcast(boardId, entry(boardId, "Task", "t1", "TaskCreated", "{}"))).isEqualTo(1);
+		assertThat(registry.get("websocket.sessions.evicted").tag("reason", "missed-pong").counter().count())
+				.isEqualTo(1.0);
+	}
+
+	// Scenario: per-board session gauges are limited to the busiest boards
+	// Given: a board-gauge-limit of 1, board A with two sessions and board B with one
+	// When: the heartbeat refreshes the gauges
+	// Then: only board A reports its sessions; both boards and all sessions are counted by the per-node gauges
+	@Test
+	void heartbeat_refreshesGaugesOfBusiestBoards() {
+		WebSocketBroadcastProperties properties = new WebSocketBroadcastProperties();
+		properties.setBoardGaugeLimit(1);
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		WebSocketBroadcaster gauged = newBroadcaster(properties, registry);
+		UUID boardA = UUID.randomUUID();
+		UUID boardB = UUID.randomUUID();
+		gauged.register(boardA, openSession("a1"));
+		gauged.register(boardA, openSession("a2"));
+		gauged.register(boardB, openSession("b1"));
+
+		gauged.heartbeat();
+
+		assertThat(registry.get("websocket.board.sessions").gauges()).hasSize(1);
+		assertThat(registry.get("websocket.board.sessions").tag("board", boardA.toString()).gauge().value())
+				.isEqualTo(2.0);
+		assertThat(registry.get("websocket.boards").gauge().value()).isEqualTo(2.0);
+		assertThat(registry.get("websocket.sessions").gauge().value()).isEqualTo(3.0);
+	}
+
+	// Scenario: a slow coalescing flush must not delay the heartbeat
+	// Given: a heartbeat interval of 30 seconds and separate coalescing and heartbeat schedulers
+	// When: the broadcaster is created
+	// Then: the heartbeat is scheduled on the heartbeat scheduler only; the coalescing one keeps replay eviction
+	@Test
+	void heartbeat_scheduledOnItsOwnScheduler() {
+		WebSocketBroadcastProperties properties = new WebSocketBroadcastProperties();
+		properties.setHeartbeatIntervalSeconds(30);
+		properties.setReplayRetentionSeconds(120);
+		ScheduledExecutorService coalesceScheduler = mock(ScheduledExecutorService.class);
+		ScheduledExecutorService heartbeatScheduler = mock(ScheduledExecutorService.class);
+
+		new WebSocketBroadcaster(formatter, v2Formatter, binaryFormatter, properties, new SimpleMeterRegistry(),
+				Runnable::run, coalesceScheduler, heartbeatScheduler);
+
+		verify(heartbeatScheduler).scheduleWithFixedDelay(any(Runnable.class), eq(30L), eq(30L), eq(TimeUnit.SECONDS));
+		verify(coalesceScheduler, times(1))
+				.scheduleWithFixedDelay(any(Runnable.class), eq(120L), eq(120L), eq(TimeUnit.SECONDS));
+		verify(coalesceScheduler, never())
+				.scheduleWithFixedDelay(any(Runnable.class), eq(30L), eq(30L), eq(TimeUnit.SECONDS));
+	}
+
+	// Scenario: one board-mux session follows two boards
+	// Given: a connected board-mux session subscribed to boards A and B
+	// When: a task of each board is updated, then the session unsubscribes from A and both boards change again
+	// Then: each delta is tagged with its board; after unsubscribing only B's delta reaches the session, which is
+	// counted once by the sessions gauge throughout
+	@Test
+	void subscribe_multipleBoards_sendsTaggedDeltasOfSubscribedBoards() throws IOException {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		WebSocketBroadcaster mux = newBroadcaster(new WebSocketBroadcastProperties(), registry);
+		UUID boardA = UUID.randomUUID();
+		UUID boardB = UUID.randomUUID();
+		WebSocketSession session = openSession("mux");
+		mux.connect(session);
+		assertThat(mux.subscribe(boardA, session, List::of)).isTrue();
+		assertThat(mux.subscribe(boardB, session, List::of)).isTrue();
+
+		mux.broadcast(boardA, entry(boardA, "Task", "a1", "TaskUpdated", "{\"name\":\"x\",\"version\":2}"));
+		mux.broadcast(boardB, entry(boardB, "Task", "b1", "TaskUpdated", "{\"name\":\"y\",\"version\":3}"));
+		assertThat(registry.get("websocket.sessions").gauge().value()).isEqualTo(1.0);
+		mux.unsubscribe(boardA, session);
+		int toA = mux.broadcast(boardA, entry(boardA, "Task", "a1", "TaskUpdated", "{\"name\":\"z\"}"));
+		int toB = mux.broadcast(boardB, entry(boardB, "Task", "b1", "TaskUpdated", "{\"name\":\"z\"}"));
+
+		assertThat(toA).isZero();
+		assertThat(toB).isEqualTo(1);
+		ArgumentCaptor<TextMessage> sent = ArgumentCaptor.forClass(TextMessage.class);
+		verify(session, times(3)).sendMessage(sent.capture());
+		assertThat(sent.getAllValues()).extracting(TextMessage::getPayload).containsExactly(
+				"{\"boardId\":\"" + boardA + "\",\"type\":\"edit\",\"resource\":\"task\",\"id\":\"a1\","
+						+ "\"version\":2,\"fields\":{\"name\":\"x\"}}",
+				"{\"boardId\":\"" + boardB + "\",\"type\":\"edit\",\"resource\":\"task\",\"id\":\"b1\","
+						+ "\"version\":3,\"fields\":{\"name\":\"y\"}}",
+				"{\"boardId\":\"" + boardB + "\",\"type\":\"edit\",\"resource\":\"task\",\"id\":\"b1\","
+						+ "\"fields\":{\"name\":\"z\"}}");
+		assertThat(registry.get("websocket.sessions").gauge().value()).isEqualTo(1.0);
+
+		mux.unregister(session);
+		assertThat(mux.broadcast(boardB, entry(boardB, "Task", "b1", "TaskUpdated", "{}"))).isZero();
+		assertThat(registry.get("websocket.sessions").gauge().value()).isZero();
+	}
+
+	// Scenario: a board-mux subscription to a board that is gone
+	// Given: a connected board-mux session subscribed to board A
+	// When: it subscribes to board B, whose snapshot read finds no board, and then gets a reply
+	// Then: subscribe returns false and B has no session; A's frames and the reply still reach the session
+	@Test
+	void subscribe_noSnapshot_unsubscribesOnlyThatBoard() throws IOException {
+		WebSocketBroadcaster mux = newBroadcaster(new WebSocketBroadcastProperties(), new SimpleMeterRegistry());
+		UUID boardA = UUID.randomUUID();
+		UUID boardB = UUID.randomUUID();
+		WebSocketSession session = openSession("mux");
+		mux.connect(session);
+		mux.subscribe(boardA, session, List::of);
+
+		boolean subscribed = mux.subscribe(boardB, session, () -> null);
+		mux.reply(session, new TextMessage("reply"));
+
+		assertThat(subscribed).isFalse();
+		assertThat(mux.broadcast(boardB, entry(boardB, "Task", "b1", "TaskUpdated", "{}"))).isZero();
+		assertThat(mux.broadcast(boardA, entry(boardA, "Task", "a1", "TaskUpdated", "{}"))).isEqualTo(1);
+		verify(session).sendMessage(new TextMessage("reply"));
+	}
+
+	// Scenario: subscribing a session that never connected
+	// Given: a session that was not connected to the broadcaster
+	// When: it subscribes to a board
+	// Then: an IllegalStateException is thrown and the snapshot is not read
+	@Test
+	void subscribe_notConnected_throws() {
+		UUID boardId = UUID.randomUUID();
+		WebSocketSession session = openSession("s1");
+
+		assertThatThrownBy(() -> broadcaster.subscribe(boardId, session, () -> {
+			throw new AssertionError("snapshot read");
+		})).isInstanceOf(IllegalStateException.class);
+	}
+
+	// Scenario: repeated edits of the same field within the coalescing window are sent once with the latest value
+	// Given: a 50 ms window, and three edits of a task: status, name, then status again
+	// When: the scheduled flush runs
+	// Then: the session receives two frames in seq order: name, then status with the latest value
+	@Test
+	void broadcast_repeatedEditsWithinWindow_coalescesToLatestValue() throws IOException {
+		ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+		WebSocketBroadcastProperties properties = new WebSocketBroadcastProperties();
+		properties.setCoalesceWindowMillis(50);
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		WebSocketBroadcaster coalescing = new WebSocketBroadcaster(formatter, v2Formatter, binaryFormatter, properties,
+				registry, Runnable::run, scheduler, mock(ScheduledExecutorService.class));
+		UUID boardId = UUID.randomUUID();
+		WebSocketSession session = openSession("s1");
+		coalescing.register(boardId, session);
+
+		coalescing.broadcast(boardId, entry(boardId, "Task", "t1", "TaskUpdated", "{\"status\":\"IN_PROGRESS\"}"));
+		coalescing.broadcast(boardId, entry(boardId, "Task", "t1", "TaskUpdated", "{\"name\":\"Renamed\"}"));
+		coalescing.broadcast(boardId, entry(boardId, "Task", "t1", "TaskUpdated", "{\"status\":\"COMPLETED\"}"));
+		verify(session, never()).sendMessage(any(TextMessage.class));
+
+		ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+		verify(scheduler, times(1)).schedule(flush.capture(), eq(50L), eq(TimeUnit.MILLISECONDS));
+		flush.getValue().run();
+
+		ArgumentCaptor<TextMessage> sent = ArgumentCaptor.forClass(TextMessage.class);
+		verify(session, times(2)).sendMessage(sent.capture());
+		assertThat(sent.getAllValues().get(0).getPayload()).contains("key=name").contains("value=Renamed");
+		assertThat(sent.getAllValues().get(1).getPayload()).contains("key=status").contains("value=COMPLETED");
+		assertThat(registry.get("websocket.frames.coalesced").counter().count()).isEqualTo(1.0);
+	}
+
+	// Scenario: coalescing interleaved edits of different fields never sends a seq below an earlier one
+	// Given: a 50 ms window, and edits of a task's status (seq 1), name (seq 2), status (seq 3), dueDate (seq 4)
+	// and name (seq 5)
+	// When: the scheduled flush runs
+	// Then: the session receives status, dueDate and name with the latest values and strictly increasing seqs 3, 4, 5
+	@Test
+	void broadcast_interleavedEditsWithinWindow_flushesIncreasingSeqs() throws IOException {
+		ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+		WebSocketBroadcastProperties properties = new WebSocketBroadcastProperties();
+		properties.setCoalesceWindowMillis(50);
+		WebSocketBroadcaster coalescing = new WebSocketBroadcaster(formatter, v2Formatter, binaryFormatter, properties,
+				new SimpleMeterRegistry(), Runnable::run, scheduler, mock(ScheduledExecutorService.class));
+		UUID boardId = UUID.randomUUID();
+		WebSocketSession session = openSession("s1");
+		coalescing.register(boardId, session);
+
+		coalescing.broadcast(boardId, entry(boardId, "Task", "t1", "TaskUpdated", "{\"status\":\"IN_PROGRESS\"}"));
+		coalescing.broadcast(boardId, entry(boardId, "Task", "t1", "TaskUpdated", "{\"name\":\"First\"}"));
+		coalescing.broadcast(boardId, entry(boardId, "Task", "t1", "TaskUpdated", "{\"status\":\"COMPLETED\"}"));
+		coalescing.broadcast(boardId, entry(boardId, "Task", "t1", "TaskUpdated", "{\"dueDate\":\"2026-01-01\"}"));
+		coalescing.broadcast(boardId, entry(boardId, "Task", "t1", "TaskUpdated", "{\"name\":\"Second\"}"));
+		ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+		verify(scheduler).schedule(flush.capture(), eq(50L), eq(TimeUnit.MILLISECONDS));
+		flush.getValue().run();
+
+		ArgumentCaptor<TextMessage> sent = ArgumentCaptor.forClass(TextMessage.class);
+		verify(session, times(3)).sendMessage(sent.capture());
+		List<String> payloads = sent.getAllValues().stream().map(TextMessage::getPayload).toList();
+		assertThat(payloads).extracting(payload -> payload.substring(0, payload.indexOf(';')))
+				.containsExactly("seq=3", "seq=4", "seq=5");
+		assertThat(payloads.get(0)).contains("value=COMPLETED");
+		assertThat(payloads.get(2)).contains("value=Second");
+	}
+
+	// Scenario: two threads broadcast to one board at once, like the after-commit relay and the polling fallback
+	// Given: a 50 ms window and two threads each broadcasting 500 edits of distinct tasks of the board
+	// When: both finish and the scheduled flushes run
+	// Then: the session receives all 1000 frames with strictly increasing seqs, so none is dropped as already seen
+	@Test
+	void broadcast_concurrentBroadcastsWithinWindow_flushInSeqOrder() throws Exception {
+		ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+		WebSocketBroadcastProperties properties = new WebSocketBroadcastProperties();
+		properties.setCoalesceWindowMillis(50);
+		WebSocketBroadcaster coalescing = new WebSocketBroadcaster(formatter, v2Formatter, binaryFormatter, properties,
+				new SimpleMeterRegistry(), Runnable::run, scheduler, mock(ScheduledExecutorService.class));
+		UUID boardId = UUID.randomUUID();
+		WebSocketSession session = openSession("s1");
+		List<Long> seqs = new ArrayList<>();
+		doAnswer(invocation -> {
+			String payload = invocation.<TextMessage>getArgument(0).getPayload();
+			seqs.add(Long.parseLong(payload.substring("seq=".length(), payload.indexOf(';'))));
+			return null;
+		}).when(session).sendMessage(any(TextMessage.class));
+		coalescing.register(boardId, session);
+
+		CountDownLatch start = new CountDownLatch(1);
+		List<Thread> threads = new ArrayList<>();
+		for (int t = 0; t < 2; t++) {
+			threads.add(Thread.ofPlatform().start(() -> {
+				try {
+					start.await();
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+				for (int i = 0; i < 500; i++) {
+					coalescing.broadcast(boardId, entry(boardId, "Task", UUID.randomUUID().toString(), "TaskUpdated",
+							"{\"status\":\"COMPLETED\"}"));
+				}
+			}));
+		}
+		start.countDown();
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+		verify(scheduler, atLeastOnce()).schedule(flush.capture(), eq(50L), eq(TimeUnit.MILLISECONDS));
+		flush.getAllValues().forEach(Runnable::run);
+
+		assertThat(seqs).hasSize(1000).isSorted().doesNotHaveDuplicates();
+	}
+
+	// Scenario: a session that does not keep up loses its oldest frames instead of blocking the broadcaster
+	// Given: a queue capacity of 2, DROP_OLDEST, and a send executor that has not run yet
+	// When: three frames are broadcast and the executor then runs
+	// Then: broadcast returns immediately, one frame is counted as dropped and the two newest frames are sent
+	@Test
+	void broadcast_queueFullWithDropOldest_dropsOldestFrame() throws IOException {
+		List<Runnable> pendingSends = new ArrayList<>();
+		WebSocketBroadcastProperties properties = new WebSocketBroadcastProperties();
+		properties.setCoalesceWindowMillis(0);
+		properties.setSessionQueueCapacity(2);
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		WebSocketBroadcaster bounded = new WebSocketBroadcaster(formatter, v2Formatter, binaryFormatter, properties,
+				registry, pendingSends::add, mock(ScheduledExecutorService.class),
+				mock(ScheduledExecutorService.class));
+		UUID boardId = UUID.randomUUID();
+		WebSocketSession session = openSession("slow");
+		bounded.register(boardId, session);
+
+		bounded.broadcast(boardId, entry(boardId, "Task", "t1", "TaskCreated", "{\"name\":\"one\"}"));
+		bounded.broadcast(boardId, entry(boardId, "Task", "t2", "TaskCreated", "{\"name\":\"two\"}"));
+		bounded.broadcast(boardId, entry(boardId, "Task", "t3", "TaskCreated", "{\"name\":\"three\"}"));
+		assertThat(registry.get("websocket.send.queue.depth").gauge().value()).isEqualTo(2.0);
+		pendingSends.forEach(Runnable::run);
+
+		ArgumentCaptor<TextMessage> sent = ArgumentCaptor.forClass(TextMessage.class);
+		verify(session, times(2)).sendMessage(sent.capture());
+		assertThat(sent.getAllValues()).extracting(TextMessage::getPayload)
+				.allSatisfy(payload -> assertThat(payload).doesNotContain("id=t1"));
+		assertThat(registry.get("websocket.frames.dropped").counter().count()).isEqualTo(1.0);
+	}
+
+	// Scenario: with the CLOSE policy a session whose queue overflows is closed
+	// Given: a queue capacity of 1, CLOSE, and a send executor that has not run yet
+	// When: two frames are broadcast
+	// Then: the session is closed with SESSION_NOT_RELIABLE
+	@Test
+	void broadcast_queueFullWithClosePolicy_closesSession() throws IOException {
+		WebSocketBroadcastProperties properties = new WebSocketBroadcastProperties();
+		properties.setCoalesceWindowMillis(0);
+		properties.setSessionQueueCapacity(1);
+		properties.setOverflowPolicy(OverflowPolicy.CLOSE);
+		WebSocketBroadcaster bounded = new WebSocketBroadcaster(formatter, v2Formatter, binaryFormatter, properties,
+				new SimpleMeterRegistry(), runnable -> { }, mock(ScheduledExecutorService.class),
+				mock(ScheduledExecutorService.class));
+		UUID boardId = UUID.randomUUID();
+		WebSocketSession session = openSession("slow");
+		bounded.register(boardId, session);
+
+		bounded.broadcast(boardId, entry(boardId, "Task", "t1", "TaskCreated", "{}"));
+		bounded.broadcast(boardId, entry(boardId, "Task", "t2", "TaskCreated", "{}"));
+
+		verify(session).close(CloseStatus.SESSION_NOT_RELIABLE);
+	}
+
+	// Scenario: a delta session is closed rather than left diverged when its queue overflows
+	// Given: the default policies, a queue capacity of 1, a send executor that has not run yet, and a board-v2
+	// session subscribed with a snapshot
+	// When: two deltas are broadcast
+	// Then: the session is closed with SESSION_NOT_RELIABLE, so its client reconnects for a fresh snapshot
+	@Test
+	void broadcast_deltaQueueFullWithDefaultPolicy_closesSession() throws IOException {
+		WebSocketBroadcastProperties properties = new WebSocketBroadcastProperties();
+		properties.setCoalesceWindowMillis(0);
+		properties.setSessionQueueCapacity(1);
+		WebSocketBroadcaster bounded = new WebSocketBroadcaster(formatter, v2Formatter, binaryFormatter, properties,
+				new SimpleMeterRegistry(), runnable -> { }, mock(ScheduledExecutorService.class),
+				mock(ScheduledExecutorService.class));
+		UUID boardId = UUID.randomUUID();
+		WebSocketSession session = openSession("slow-v2");
+		bounded.registerWithSnapshot(boardId, session, BoardProtocol.V2, () -> List.of(new TextMessage("snapshot")));
+
+		bounded.broadcast(boardId, entry(boardId, "Task", "t1", "TaskCreated", "{\"version\":0}"));
+		bounded.broadcast(boardId, entry(boardId, "Task", "t2", "TaskCreated", "{\"version\":0}"));
+
+		verify(session).close(CloseStatus.SESSION_NOT_RELIABLE);
+	}
+
+	// Scenario: a batch of events for one board is delivered to every session in batch order
+	// Given: two sessions on board A and a batch of a create followed by an edit
+	// When: broadcast(boardId, entries) is called
+	// Then: both sessions receive both frames, the create first
+	@Test
+	void broadcast_batch_sendsAllFramesInOrderToEverySession() throws IOException {
+		UUID boardA = UUID.randomUUID();
+		WebSocketSession session1 = openSession("s1");
+		WebSocketSession session2 = openSession("s2");
+		broadcaster.register(boardA, session1);
+		broadcaster.register(boardA, session2);
+
+		int sessions = broadcaster.broadcast(boardA, List.of(
+				entry(boardA, "Task", "t1", "TaskCreated", "{\"name\":\"one\"}"),
+				entry(boardA, "Task", "t1", "TaskUpdated", "{\"status\":\"COMPLETED\"}")));
+
+		assertThat(sessions).isEqualTo(2);
+		for (WebSocketSession session : List.of(session1, session2)) {
+			ArgumentCaptor<TextMessage> sent = ArgumentCaptor.forClass(TextMessage.class);
+			verify(session, times(2)).sendMessage(sent.capture());
+			assertThat(sent.getAllValues().get(0).getPayload()).contains("type=create");
+			assertThat(sent.getAllValues().get(1).getPayload()).contains("type=edit").contains("value=COMPLETED");
+		}
+	}
+
+	// Scenario: an event is encoded once and the same message instance is queued for every session
+	// Given: two sessions registered for the same board
+	// When: broadcast is called
+	// Then: both sessions are sent the identical TextMessage instance
+	@Test
+	void broadcast_multipleSessions_sharesOneEncodedMessage() throws IOException {
+		UUID boardA = UUID.randomUUID();
+		WebSocketSession session1 = openSession("s1");
+		WebSocketSession session2 = openSession("s2");
+		broadcaster.register(boardA, session1);
+		broadcaster.register(boardA, session2);
+
+		broadcaster.broadcast(boardA, entry(boardA, "Task", "t1", "TaskUpdated", "{\"name\":\"x\"}"));
+
+		ArgumentCaptor<TextMessage> first = ArgumentCaptor.forClass(TextMessage.class);
+		ArgumentCaptor<TextMessage> second = ArgumentCaptor.forClass(TextMessage.class);
+		verify(session1).sendMessage(first.capture());
+		verify(session2).sendMessage(second.capture());
+		assertThat(first.getValue()).isSameAs(second.getValue());
+	}
+
+	// Scenario: event frames carry consecutive per-board sequence numbers
+	// Given: a session on board A and a session on board B
+	// When: two events are broadcast to A and one to B
+	// Then: A's frames carry seq 1 and 2, B's frame carries seq 1
+	@Test
+	void broadcast_assignsConsecutiveSequencePerBoard() throws IOException {
+		UUID boardA = UUID.randomUUID();
+		UUID boardB = UUID.randomUUID();
+		WebSocketSession sessionA = openSession("a");
+		WebSocketSession sessionB = openSession("b");
+		broadcaster.register(boardA, sessionA);
+		broadcaster.register(boardB, sessionB);
+
+		broadcaster.broadcast(boardA, List.of(
+				entry(boardA, "Task", "t1", "TaskCreated", "{\"name\":\"one\"}"),
+				entry(boardA, "Task", "t1", "TaskUpdated", "{\"status\":\"COMPLETED\"}")));
+		broadcaster.broadcast(boardB, entry(boardB, "Task", "t2", "TaskCreated", "{\"name\":\"two\"}"));
+
+		ArgumentCaptor<TextMessage> sentA = ArgumentCaptor.forClass(TextMessage.class);
+		verify(sessionA, times(2)).sendMessage(sentA.capture());
+		assertThat(sentA.getAllValues()).extracting(TextMessage::getPayload)
+				.satisfiesExactly(p -> assertThat(p).startsWith("seq=1;type=create"),
+						p -> assertThat(p).startsWith("seq=2;type=edit"));
+		ArgumentCaptor<TextMessage> sentB = ArgumentCaptor.forClass(TextMessage.class);
+		verify(sessionB).sendMessage(sentB.capture());
+		assertThat(sentB.getValue().getPayload()).startsWith("seq=1;");
+	}
+
+	// Scenario: a reconnecting client is replayed the frames it missed
+	// Given: a client that saw seq 1 of the board's stream, then disconnected while seq 2 and 3 were broadcast
+	// When: it registers again with that stream and since=1
+	// Then: it receives a sync frame at seq 1 followed by frames 2 and 3, in order
+	@Test
+	void register_resumeWithinBuffer_replaysMissedFrames() throws IOException {
+		UUID boardId = UUID.randomUUID();
+		WebSocketSession first = openSession("first");
+		broadcaster.register(boardId, first, null, 0L);
+		broadcaster.broadcast(boardId, entry(boardId, "Task", "t1", "TaskCreated", "{\"name\":\"one\"}"));
+		ArgumentCaptor<TextMessage> initial = ArgumentCaptor.forClass(TextMessage.class);
+		verify(first, times(2)).sendMessage(initial.capture());
+		String sync = initial.getAllValues().get(0).getPayload();
+		assertThat(sync).startsWith("type=sync;stream=").endsWith(";seq=0");
+		String stream = sync.substring("type=sync;stream=".length(), sync.indexOf(";seq="));
+		broadcaster.unregister(first);
+		broadcaster.broadcast(boardId, entry(boardId, "Task", "t2", "TaskCreated", "{\"name\":\"two\"}"));
+		broadcaster.broadcast(boardId, entry(boardId, "Task", "t3", "TaskCreated", "{\"name\":\"three\"}"));
+
+		WebSocketSession resumed = openSession("resumed");
+		broadcaster.register(boardId, resumed, stream, 1L);
+
+		ArgumentCaptor<TextMessage> sent = ArgumentCaptor.forClass(TextMessage.class);
+		verify(resumed, times(3)).sendMessage(sent.capture());
+		assertThat(sent.getAllValues()).extracting(TextMessage::getPayload)
+				.satisfiesExactly(p -> assertThat(p).isEqualTo("type=sync;stream=" + stream + ";seq=1"),
+						p -> assertThat(p).startsWith("seq=2;").contains("id=t2"),
+						p -> assertThat(p).startsWith("seq=3;").contains("id=t3"));
+	}
+
+	// Scenario: a client whose position is no longer buffered, or belongs to another stream, is told to reload
+	// Given: a replay buffer of 2 frames and 3 events broadcast on the board
+	// When: clients resume from seq 0 of the stream, and from an unknown stream
+	// Then: both receive only a reload frame with the current position
+	@Test
+	void register_resumeBeyondBufferOrUnknownStream_sendsReload() throws IOException {
+		WebSocketBroadcastProperties properties = new WebSocketBroadcastProperties();
+		properties.setCoalesceWindowMillis(0);
+		properties.setReplayBufferSize(2);
+		WebSocketBroadcaster small = new WebSocketBroadcaster(formatter, v2Formatter, binaryFormatter, properties,
+				new SimpleMeterRegistry(), Runnable::run, mock(ScheduledExecutorService.class),
+				mock(ScheduledExecutorService.class));
+		UUID boardId = UUID.randomUUID();
+		WebSocketSession first = openSession("first");
+		small.register(boardId, first, null, 0L);
+		for (int i = 1; i <= 3; i++) {
+			small.broadcast(boardId, entry(boardId, "Task", "t" + i, "TaskCreated", "{}"));
+		}
+		ArgumentCaptor<TextMessage> initial = ArgumentCaptor.forClass(TextMessage.class);
+		verify(first, times(4)).sendMessage(initial.capture());
+		String sync = initial.getAllValues().get(0).getPayload();
+		String stream = sync.substring("type=sync;stream=".length(), sync.indexOf(";seq="));
+
+		WebSocketSession tooOld = openSession("too-old");
+		small.register(boardId, tooOld, stream, 0L);
+		WebSocketSession otherStream = openSession("other-stream");
+		small.register(boardId, otherStream, "elsewhere", 3L);
+
+		for (WebSocketSession session : List.of(tooOld, otherStream)) {
+			ArgumentCaptor<TextMessage> sent = ArgumentCaptor.forClass(TextMessage.class);
+			verify(session).sendMessage(sent.capture());
+			assertThat(sent.getValue().getPayload()).isEqualTo("type=reload;stream=" + stream + ";seq=3");
+		}
+	}
+
+	// Scenario: an idle board's replay buffer is evicted after the retention time
+	// Given: a board whose only session closed, and a retention time of 0 seconds
+	// When: evictIdleReplayBuffers() runs
+	// Then: the board is no longer tracked and later events for it are not formatted
+	@Test
+	void evictIdleReplayBuffers_afterLastSessionClosed_stopsTrackingBoard() {
+		WebSocketBroadcastProperties properties = new WebSocketBroadcastProperties();
+		properties.setCoalesceWindowMillis(0);
+		properties.setReplayRetentionSeconds(0);
+		WebSocketBroadcaster evicting = new WebSocketBroadcaster(formatter, v2Formatter, binaryFormatter, properties,
+				new SimpleMeterRegistry(), Runnable::run, mock(ScheduledExecutorService.class),
+				mock(ScheduledExecutorService.class));
+		UUID boardId = UUID.randomUUID();
+		WebSocketSession session = openSession("s1");
+		evicting.register(boardId, session);
+		evicting.evictIdleReplayBuffers();
+		assertThat(evicting.tracksBoard(boardId)).isTrue();
+
+		evicting.unregister(session);
+		evicting.evictIdleReplayBuffers();
+
+		assertThat(evicting.tracksBoard(boardId)).isFalse();
+		assertThat(evicting.broadcast(boardId, entry(boardId, "Task", "t1", "TaskCreated", "{}"))).isZero();
+	}
+
+	// Scenario: a board-v2 session gets its snapshot before deltas of events broadcast while it was read
+	// Given: a board-v1 session and a board-v2 session whose snapshot read overlaps with a task update
+	// When: registerWithSnapshot() completes
+	// Then: the v2 session receives the snapshot, then one JSON delta with every changed field and the version;
+	// the v1 session receives the single-field frame
+	@Test
+	void registerWithSnapshot_eventDuringSnapshotRead_isSentAfterSnapshot() throws IOException {
+		UUID boardId = UUID.randomUUID();
+		WebSocketSession v1 = openSession("v1");
+		WebSocketSession v2 = openSession("v2");
+		broadcaster.register(boardId, v1);
+
+		boolean registered = broadcaster.registerWithSnapshot(boardId, v2, BoardProtocol.V2, () -> {
+			broadcaster.broadcast(boardId, entry(boardId, "Task", "t1", "TaskUpdated",
+					"{\"status\":\"COMPLETED\",\"name\":\"Renamed\",\"version\":4}"));
+			return List.of(new TextMessage("{\"type\":\"snapshot\"}"));
+		});
+
+		assertThat(registered).isTrue();
+		ArgumentCaptor<TextMessage> sent = ArgumentCaptor.forClass(TextMessage.class);
+		verify(v2, times(2)).sendMessage(sent.capture());
+		assertThat(sent.getAllValues().get(0).getPayload()).isEqualTo("{\"type\":\"snapshot\"}");
+		assertThat(sent.getAllValues().get(1).getPayload()).isEqualTo("{\"type\":\"edit\",\"resource\":\"task\","
+				+ "\"id\":\"t1\",\"version\":4,\"fields\":{\"status\":\"COMPLETED\",\"name\":\"Renamed\"}}");
+		ArgumentCaptor<TextMessage> legacy = ArgumentCaptor.forClass(TextMessage.class);
+		verify(v1).sendMessage(legacy.capture());
+		assertThat(legacy.getValue().getPayload()).contains("key=status").contains("value=COMPLETED");
+	}
+
+	// Scenario: the board disappears before its snapshot is read
+	// Given: a snapshot supplier returning null
+	// When: registerWithSnapshot() is called
+	// Then: it returns false, nothing is sent and the board has no session left
+	@Test
+	void registerWithSnapshot_noSnapshot_unregistersSession() throws IOException {
+		UUID boardId = UUID.randomUUID();
+		WebSocketSession v2 = openSession("v2");
+
+		boolean registered = broadcaster.registerWithSnapshot(boardId, v2, BoardProtocol.V2, () -> null);
+		broadcaster.broadcast(boardId, entry(boardId, "Task", "t1", "TaskCreated", "{}"));
+
+		assertThat(registered).isFalse();
+		verify(v2, never()).sendMessage(any(TextMessage.class));
+	}
+
+	// Scenario: board-v2 deltas of one entity within the coalescing window are merged, not replaced
+	// Given: a 50 ms window, a board-v2 session, and two updates of a task changing different fields
+	// When: the scheduled flush runs
+	// Then: the session receives one delta with both fields and the later version
+	@Test
+	void broadcast_boardV2EditsWithinWindow_mergesFields() throws IOException {
+		ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+		WebSocketBroadcastProperties properties = new WebSocketBroadcastProperties();
+		properties.setCoalesceWindowMillis(50);
+		WebSocketBroadcaster coalescing = new WebSocketBroadcaster(formatter, v2Formatter, binaryFormatter, properties,
+				new SimpleMeterRegistry(), Runnable::run, scheduler, mock(ScheduledExecutorService.class));
+		UUID boardId = UUID.randomUUID();
+		WebSocketSession session = openSession("v2");
+		coalescing.registerWithSnapshot(boardId, session, BoardProtocol.V2, List::of);
+
+		coalescing.broadcast(boardId, entry(boardId, "Task", "t1", "TaskUpdated",
+				"{\"status\":\"IN_PROGRESS\",\"version\":3}"));
+		coalescing.broadcast(boardId, entry(boardId, "Task", "t1", "TaskUpdated",
+				"{\"name\":\"Renamed\",\"version\":4}"));
+		ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+		verify(scheduler).schedule(flush.capture(), eq(50L), eq(TimeUnit.MILLISECONDS));
+		flush.getValue().run();
+
+		ArgumentCaptor<TextMessage> sent = ArgumentCaptor.forClass(TextMessage.class);
+		verify(session).sendMessage(sent.capture());
+		assertThat(sent.getValue().getPayload()).isEqualTo("{\"type\":\"edit\",\"resource\":\"task\",\"id\":\"t1\","
+				+ "\"version\":4,\"fields\":{\"status\":\"IN_PROGRESS\",\"name\":\"Renamed\"}}");
+	}
+
+	// Scenario: board-bin sessions share one encoded frame per event and each still sends all of its bytes
+	// Given: two board-bin sessions and one board-v2 session on a board
+	// When: a task update is broadcast
+	// Then: both board-bin sessions send the same binary delta in full, the board-v2 session a JSON delta
+	@Test
+	void broadcast_binarySessions_shareOneEncodedFrame() throws IOException {
+		UUID boardId = UUID.randomUUID();
+		WebSocketSession first = openSession("bin-1");
+		WebSocketSession second = openSession("bin-2");
+		WebSocketSession json = openSession("v2");
+		broadcaster.registerWithSnapshot(boardId, first, BoardProtocol.BINARY, List::of);
+		broadcaster.registerWithSnapshot(boardId, second, BoardProtocol.BINARY, List::of);
+		broadcaster.registerWithSnapshot(boardId, json, BoardProtocol.V2, List::of);
+
+		broadcaster.broadcast(boardId, entry(boardId, "Task", UUID.randomUUID().toString(), "TaskUpdated",
+				"{\"status\":\"COMPLETED\",\"version\":2}"));
+
+		ArgumentCaptor<BinaryMessage> firstSent = ArgumentCaptor.forClass(BinaryMessage.class);
+		ArgumentCaptor<BinaryMessage> secondSent = ArgumentCaptor.forClass(BinaryMessage.class);
+		verify(first).sendMessage(firstSent.capture());
+		verify(second).sendMessage(secondSent.capture());
+		byte[] firstBytes = remaining(firstSent.getValue());
+		assertThat(firstBytes).hasSize(1 + 1 + 1 + 16 + 1 + 2 + 1);
+		assertThat(firstBytes[0]).isEqualTo((byte) BoardBinaryMessageFormatter.KIND_DELTA);
+		assertThat(remaining(secondSent.getValue())).isEqualTo(firstBytes);
+		ArgumentCaptor<TextMessage> jsonSent = ArgumentCaptor.forClass(TextMessage.class);
+		verify(json).sendMessage(jsonSent.capture());
+		assertThat(jsonSent.getValue().getPayload()).contains("\"status\":\"COMPLETED\"");
+	}
+
+	private static byte[] remaining(BinaryMessage message) {
+		java.nio.ByteBuffer payload = message.getPayload();
+		byte[] bytes = new byte[payload.remaining()];
+		payload.get(bytes);
+		return bytes;
+	}
+
+	// Scenario: deltas of different tasks within one window reach a board-v2 session as batch frames
+	// Given: a 50 ms window, a batch size of 2, a board-v2 session and updates of three different tasks
+	// When: the scheduled flush runs
+	// Then: the session receives a batch frame with the first two deltas, then the third delta on its own, and one
+	// saved frame is counted along with the bytes sent
+	@Test
+	void broadcast_boardV2DeltasWithinWindow_areSentAsBatchFrames() throws IOException {
+		ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+		WebSocketBroadcastProperties properties = new WebSocketBroadcastProperties();
+		properties.setCoalesceWindowMillis(50);
+		properties.setMaxBatchSize(2);
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		WebSocketBroadcaster batching = new WebSocketBroadcaster(formatter, v2Formatter, binaryFormatter, properties,
+				registry, Runnable::run, scheduler, mock(ScheduledExecutorService.class));
+		UUID boardId = UUID.randomUUID();
+		WebSocketSession session = openSession("v2");
+		batching.registerWithSnapshot(boardId, session, BoardProtocol.V2, List::of);
+
+		batching.broadcast(boardId, List.of(
+				entry(boardId, "Task", "t1", "TaskUpdated", "{\"status\":\"COMPLETED\",\"version\":2}"),
+				entry(boardId, "Task", "t2", "TaskUpdated", "{\"status\":\"COMPLETED\",\"version\":5}"),
+				entry(boardId, "Task", "t3", "TaskDeleted", "{\"version\":1}")));
+		ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+		verify(scheduler).schedule(flush.capture(), eq(50L), eq(TimeUnit.MILLISECONDS));
+		flush.getValue().run();
+
+		ArgumentCaptor<TextMessage> sent = ArgumentCaptor.forClass(TextMessage.class);
+		verify(session, times(2)).sendMessage(sent.capture());
+		assertThat(sent.getAllValues().get(0).getPayload()).isEqualTo("{\"type\":\"batch\",\"frames\":["
+				+ "{\"type\":\"edit\",\"resource\":\"task\",\"id\":\"t1\",\"version\":2,"
+				+ "\"fields\":{\"status\":\"COMPLETED\"}},"
+				+ "{\"type\":\"edit\",\"resource\":\"task\",\"id\":\"t2\",\"version\":5,"
+				+ "\"fields\":{\"status\":\"COMPLETED\"}}]}");
+		assertThat(sent.getAllValues().get(1).getPayload())
+				.isEqualTo("{\"type\":\"delete\",\"resource\":\"task\",\"id\":\"t3\",\"version\":1}");
+		assertThat(registry.get("websocket.frames.batched").counter().count()).isEqualTo(1.0);
+		int bytes = sent.getAllValues().get(0).getPayloadLength() + sent.getAllValues().get(1).getPayloadLength();
+		assertThat(registry.get("websocket.bytes.sent").tag("protocol", "board-v2").counter().count())
+				.isEqualTo(bytes);
+	}
 }
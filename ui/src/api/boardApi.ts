@@ -1,5 +1,5 @@
 import { apiFetch } from "./client";
-import type { Board, Page, Task, TaskStatus } from "./types";
+import type { Board, CursorPage, Page, Task, TaskStatus } from "./types";
 
 export interface LoginResponse {
   token: string;
@@ -36,6 +36,20 @@ export async function getTasks(
   return apiFetch<Page<Task>>(path, {}, token);
 }
 
+export async function getTasksByCursor(
+  boardId: string,
+  token: string,
+  params: { cursor?: string | null; size?: number }
+): Promise<CursorPage<Task>> {
+  const search = new URLSearchParams();
+  search.set("cursor", params.cursor ?? "");
+  if (params.size != null) {
+    search.set("size", String(params.size));
+  }
+
+  return apiFetch<CursorPage<Task>>(`/boards/${boardId}/tasks?${search.toString()}`, {}, token);
+}
+
 export async function createTask(
   boardId: string,
   token: string,
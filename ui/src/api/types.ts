@@ -29,6 +29,11 @@ export interface Page<T> {
   last: boolean;
 }
 
+export interface CursorPage<T> {
+  content: T[];
+  nextCursor: string | null;
+}
+
 export interface UserOption {
   username: string;
   password: string;
@@ -9,9 +9,9 @@ import {
   type DragEndEvent,
   type DragStartEvent
 } from "@dnd-kit/core";
-import type { Board, Task, TaskStatus } from "../api/types";
-import { getBoard, getTasks, createTask, updateTask, deleteTask } from "../api/boardApi";
-import { useBoardWebSocket, OutboxMessage } from "../hooks/useBoardWebSocket";
+import type { Task, TaskStatus } from "../api/types";
+import { createTask, updateTask, deleteTask } from "../api/boardApi";
+import { useBoardStream } from "../hooks/useBoardStream";
 import { TaskColumn } from "./TaskColumn";
 
 const VALID_STATUSES: TaskStatus[] = ["NOT_STARTED", "IN_PROGRESS", "COMPLETED"];
@@ -27,86 +27,11 @@ interface BoardPageProps {
 
 export function BoardPage({ token, onWebSocketStatusChange }: BoardPageProps) {
   const { boardId } = useParams<{ boardId: string }>();
-  const [board, setBoard] = useState<Board | null>(null);
-  const [tasks, setTasks] = useState<Task[]>([]);
-  const [loading, setLoading] = useState(false);
-  const [error, setError] = useState<string | null>(null);
+  // The board-v2 stream delivers a snapshot of the board and its tasks on connect, then deltas;
+  // no REST fetch is needed to load or refresh the board.
+  const { board, tasks, setTasks, connected, synced } = useBoardStream(boardId, token);
   const [activeTask, setActiveTask] = useState<Task | null>(null);
 
-  const loadData = useCallback(async () => {
-    if (!boardId || !token) {
-      return;
-    }
-    try {
-      setLoading(true);
-      setError(null);
-      const [boardRes, tasksPage] = await Promise.all([
-        getBoard(boardId, token),
-        getTasks(boardId, token, { size: 1000 })
-      ]);
-      setBoard(boardRes);
-      setTasks(tasksPage.content);
-    } catch (e) {
-      setError((e as Error).message);
-    } finally {
-      setLoading(false);
-    }
-  }, [boardId, token]);
-
-  useEffect(() => {
-    void loadData();
-  }, [loadData]);
-
-  const handleWsMessage = useCallback(
-    (msg: OutboxMessage) => {
-      if (msg.resource === "task") {
-        setTasks((prev) => {
-          if (msg.type === "delete") {
-            return prev.filter((t) => t.id !== msg.id);
-          }
-          if (msg.type === "edit") {
-            return prev.map((t) => {
-              if (t.id !== msg.id) return t;
-              if (msg.key === "status") {
-                return { ...t, status: msg.value as TaskStatus };
-              }
-              if (msg.key === "name") {
-                return { ...t, name: msg.value };
-              }
-              if (msg.key === "dueDate") {
-                return { ...t, dueDate: msg.value || null };
-              }
-              if (msg.key === "description") {
-                return { ...t, description: msg.value };
-              }
-              return t;
-            });
-          }
-          if (msg.type === "create") {
-            if (prev.some((t) => t.id === msg.id)) return prev;
-            if (!boardId) return prev;
-            const now = new Date().toISOString();
-            const newTask: Task = {
-              id: msg.id,
-              boardId,
-              name: msg.key === "name" ? msg.value : "New task",
-              status: (msg.key === "status" ? msg.value : "NOT_STARTED") as TaskStatus,
-              createdAt: now,
-              updatedAt: now
-            };
-            return [...prev, newTask];
-          }
-          return prev;
-        });
-      } else if (msg.resource === "board" && msg.type === "edit" && msg.key === "name") {
-        setBoard((prev) => (prev ? { ...prev, name: msg.value } : prev));
-      }
-    },
-    [boardId]
-  );
-
-  const { connected } = useBoardWebSocket(boardId, token, handleWsMessage);
-
   useEffect(() => {
     if (onWebSocketStatusChange) {
       onWebSocketStatusChange(connected);
@@ -167,7 +92,7 @@ export function BoardPage({ token, onWebSocketStatusChange }: BoardPageProps) {
         setTasks(previousTasks);
       }
     },
-    [boardId, token, tasks]
+    [boardId, token, tasks, setTasks]
   );
 
   const sensors = useSensors(
@@ -220,10 +145,8 @@ export function BoardPage({ token, onWebSocketStatusChange }: BoardPageProps) {
           )}
         </div>
         <div className="board-subtitle">
-          {loading
+          {!synced
             ? "Loading..."
-            : error
-            ? `Error: ${error}`
             : `Tasks: ${tasks.length} | WebSocket: ${
                 connected ? "connected" : "disconnected"
               }`}
@@ -0,0 +1,190 @@
+import { useEffect, useRef, useState, type Dispatch, type SetStateAction } from "react";
+import type { Board, Task } from "../api/types";
+
+// board-v2 frames (JSON). A snapshot of the board is sent on every (re)connect, split
+// over frames of a few hundred tasks; deltas follow with every changed field, several
+// at a time in a batch frame when the board changes quickly.
+interface SnapshotFrame {
+  type: "snapshot";
+  board?: Board & { version: number };
+  tasks: (Omit<Task, "boardId"> & { version: number })[];
+  complete: boolean;
+}
+
+interface DeltaFrame {
+  type: "create" | "edit" | "delete";
+  resource: "task" | "board";
+  id: string;
+  // Absent for events written before the server recorded versions.
+  version?: number;
+  fields?: Record<string, unknown>;
+}
+
+interface BatchFrame {
+  type: "batch";
+  frames: DeltaFrame[];
+}
+
+type Frame = SnapshotFrame | DeltaFrame | BatchFrame;
+
+const RECONNECT_DELAY_MS = 2000;
+
+export interface BoardStream {
+  board: Board | null;
+  tasks: Task[];
+  // For optimistic local changes; the server's deltas still win once they arrive.
+  setTasks: Dispatch<SetStateAction<Task[]>>;
+  connected: boolean;
+  // True once the first complete snapshot has been applied.
+  synced: boolean;
+}
+
+export function useBoardStream(boardId: string | undefined, token: string | null): BoardStream {
+  const [board, setBoard] = useState<Board | null>(null);
+  const [tasks, setTasks] = useState<Task[]>([]);
+  const [connected, setConnected] = useState(false);
+  const [synced, setSynced] = useState(false);
+  // Last version applied per `resource:id`; a delta at or below it is already reflected.
+  const versionsRef = useRef(new Map<string, number>());
+
+  useEffect(() => {
+    setBoard(null);
+    setTasks([]);
+    setSynced(false);
+    versionsRef.current = new Map();
+    if (!boardId || !token) {
+      return;
+    }
+    const id: string = boardId;
+    const jwt: string = token;
+
+    let disposed = false;
+    let socket: WebSocket | null = null;
+    let reconnectTimer: ReturnType<typeof setTimeout> | undefined;
+    let snapshotBoard: Board | null = null;
+    let snapshotTasks: Task[] = [];
+
+    const applySnapshot = (frame: SnapshotFrame) => {
+      if (frame.board) {
+        snapshotBoard = frame.board;
+        snapshotTasks = [];
+      }
+      snapshotTasks.push(...frame.tasks.map((t) => ({ ...t, boardId: id })));
+      if (!frame.complete) {
+        return;
+      }
+      const versions = new Map<string, number>();
+      if (snapshotBoard) {
+        versions.set(`board:${snapshotBoard.id}`, (snapshotBoard as Board & { version: number }).version);
+      }
+      for (const t of snapshotTasks as (Task & { version: number })[]) {
+        versions.set(`task:${t.id}`, t.version);
+      }
+      versionsRef.current = versions;
+      setBoard(snapshotBoard);
+      setTasks(snapshotTasks);
+      setSynced(true);
+    };
+
+    const applyDelta = (frame: DeltaFrame) => {
+      const key = `${frame.resource}:${frame.id}`;
+      const known = versionsRef.current.get(key);
+      if (frame.version !== undefined) {
+        if (known !== undefined && frame.version <= known) {
+          return;
+        }
+        versionsRef.current.set(key, frame.version);
+      }
+      // Field names match the Task and Board properties; a cleared field arrives as null.
+      const fields = (frame.fields ?? {}) as Partial<Task> & Partial<Board>;
+      if (frame.resource === "board") {
+        if (frame.type === "delete") {
+          setBoard(null);
+        } else {
+          setBoard((prev) => (prev ? { ...prev, ...fields } : prev));
+        }
+        return;
+      }
+      setTasks((prev) => {
+        if (frame.type === "delete") {
+          return prev.filter((t) => t.id !== frame.id);
+        }
+        if (prev.some((t) => t.id === frame.id)) {
+          return prev.map((t) => (t.id === frame.id ? { ...t, ...fields } : t));
+        }
+        if (frame.type !== "create") {
+          return prev;
+        }
+        const now = new Date().toISOString();
+        const created = {
+          name: "",
+          status: "NOT_STARTED",
+          createdAt: now,
+          updatedAt: now,
+          ...fields,
+          id: frame.id,
+          boardId: id
+        } as Task;
+        return [...prev, created];
+      });
+    };
+
+    const connect = () => {
+      const ws = new WebSocket(`ws://localhost:8088/ws/board/${id}`, ["board-v2", jwt]);
+      socket = ws;
+
+      ws.onopen = () => {
+        setConnected(true);
+      };
+
+      ws.onclose = (event) => {
+        // eslint-disable-next-line no-console
+        console.log("[WS] board-v2 socket closed", { boardId, code: event.code });
+        setConnected(false);
+        if (!disposed && socket === ws) {
+          reconnectTimer = setTimeout(connect, RECONNECT_DELAY_MS);
+        }
+      };
+
+      ws.onerror = (event) => {
+        // eslint-disable-next-line no-console
+        console.error("[WS] board-v2 socket error", { boardId, event });
+        setConnected(false);
+      };
+
+      ws.onmessage = (event) => {
+        if (typeof event.data !== "string") {
+          return;
+        }
+        let frame: Frame;
+        try {
+          frame = JSON.parse(event.data) as Frame;
+        } catch {
+          // eslint-disable-next-line no-console
+          console.warn("[WS] Ignoring malformed board-v2 frame", { raw: event.data });
+          return;
+        }
+        if (frame.type === "snapshot") {
+          applySnapshot(frame);
+        } else if (frame.type === "batch") {
+          frame.frames.forEach(applyDelta);
+        } else {
+          applyDelta(frame);
+        }
+      };
+    };
+
+    connect();
+
+    return () => {
+      disposed = true;
+      clearTimeout(reconnectTimer);
+      const ws = socket;
+      socket = null;
+      ws?.close();
+      setConnected(false);
+    };
+  }, [boardId, token]);
+
+  return { board, tasks, setTasks, connected, synced };
+}
@@ -6,6 +6,36 @@ export interface OutboxMessage {
   id: string;
   key: string;
   value: string;
+  // Per-board sequence number; absent on servers that do not send one.
+  seq?: number;
+}
+
+// Sent by the server on (re)connect: `type=sync;stream=S;seq=N` means frames after N
+// follow (replayed ones first); `type=reload` means the missed frames are gone.
+interface ControlMessage {
+  type: "sync" | "reload";
+  stream: string;
+  seq: number;
+}
+
+const RECONNECT_DELAY_MS = 2000;
+
+function parseControlMessage(raw: string): ControlMessage | null {
+  if (!raw.startsWith("type=sync;") && !raw.startsWith("type=reload;")) {
+    return null;
+  }
+  const data: Record<string, string> = {};
+  for (const part of raw.split(";")) {
+    const idx = part.indexOf("=");
+    if (idx !== -1) {
+      data[part.slice(0, idx)] = part.slice(idx + 1);
+    }
+  }
+  const seq = Number(data["seq"]);
+  if (!data["stream"] || !Number.isFinite(seq)) {
+    return null;
+  }
+  return { type: data["type"] as ControlMessage["type"], stream: data["stream"], seq };
 }
 
 function parseOutboxMessage(raw: string): OutboxMessage | null {
@@ -40,25 +70,37 @@ function parseOutboxMessage(raw: string): OutboxMessage | null {
     return null;
   }
 
-  return { type, resource, id, key, value };
+  const seq = data["seq"] !== undefined ? Number(data["seq"]) : undefined;
+
+  return { type, resource, id, key, value, seq };
 }
 
 export function useBoardWebSocket(
   boardId: string | undefined,
   token: string | null,
-  onMessage: (msg: OutboxMessage) => void
+  onMessage: (msg: OutboxMessage) => void,
+  onReload?: () => void
 ): { connected: boolean } {
   const [connected, setConnected] = useState(false);
   const wsRef = useRef<WebSocket | null>(null);
   const onMessageRef = useRef(onMessage);
+  const onReloadRef = useRef(onReload);
   const hasConnectedRef = useRef(false);
+  // Position in the board's event stream, sent as ?since=&stream= on reconnect
+  // so the server replays what was missed instead of us refetching the board.
+  const streamRef = useRef<string | null>(null);
+  const lastSeqRef = useRef(0);
 
-  // Keep latest handler in a ref so the WebSocket effect doesn't have to
+  // Keep latest handlers in refs so the WebSocket effect doesn't have to
   // re-run whenever the callback identity changes.
   useEffect(() => {
     onMessageRef.current = onMessage;
   }, [onMessage]);
 
+  useEffect(() => {
+    onReloadRef.current = onReload;
+  }, [onReload]);
+
   useEffect(() => {
     if (!boardId || !token) {
       // If board/token disappear, ensure any existing socket is closed.
@@ -82,67 +124,101 @@ export function useBoardWebSocket(
       return;
     }
 
-    // Always connect to backend WebSocket on localhost:8088
-    const wsUrl = `ws://localhost:8088/ws/board/${boardId}`;
-    // eslint-disable-next-line no-console
-    console.log("[WS] Opening WebSocket", { boardId, wsUrl });
+    // A new board starts a new stream position.
+    streamRef.current = null;
+    lastSeqRef.current = 0;
+    let disposed = false;
+    let reconnectTimer: ReturnType<typeof setTimeout> | undefined;
 
-    // Close any existing socket before opening a new one for this board.
-    if (wsRef.current) {
+    const connect = () => {
+      // Always connect to backend WebSocket on localhost:8088
+      const stream = streamRef.current ? `&stream=${encodeURIComponent(streamRef.current)}` : "";
+      const wsUrl = `ws://localhost:8088/ws/board/${boardId}?since=${lastSeqRef.current}${stream}`;
       // eslint-disable-next-line no-console
-      console.log("[WS] Closing previous WebSocket before opening new one", {
-        previousReadyState: wsRef.current.readyState
-      });
-      wsRef.current.close();
-      wsRef.current = null;
-    }
+      console.log("[WS] Opening WebSocket", { boardId, wsUrl });
+
+      // Close any existing socket before opening a new one for this board.
+      if (wsRef.current) {
+        // eslint-disable-next-line no-console
+        console.log("[WS] Closing previous WebSocket before opening new one", {
+          previousReadyState: wsRef.current.readyState
+        });
+        wsRef.current.close();
+        wsRef.current = null;
+      }
 
-    const ws = new WebSocket(wsUrl, ["board-v1", token]);
-    wsRef.current = ws;
-    hasConnectedRef.current = true;
+      const ws = new WebSocket(wsUrl, ["board-v1", token]);
+      wsRef.current = ws;
+      hasConnectedRef.current = true;
 
-    ws.onopen = () => {
-      // eslint-disable-next-line no-console
-      console.log("[WS] WebSocket opened", { boardId });
-      setConnected(true);
-    };
+      ws.onopen = () => {
+        // eslint-disable-next-line no-console
+        console.log("[WS] WebSocket opened", { boardId });
+        setConnected(true);
+      };
 
-    ws.onclose = (event) => {
-      // eslint-disable-next-line no-console
-      console.log("[WS] WebSocket closed", {
-        boardId,
-        code: event.code,
-        reason: event.reason
-      });
-      setConnected(false);
-    };
+      ws.onclose = (event) => {
+        // eslint-disable-next-line no-console
+        console.log("[WS] WebSocket closed", {
+          boardId,
+          code: event.code,
+          reason: event.reason
+        });
+        setConnected(false);
+        if (!disposed && wsRef.current === ws) {
+          reconnectTimer = setTimeout(connect, RECONNECT_DELAY_MS);
+        }
+      };
 
-    ws.onerror = (event) => {
-      // eslint-disable-next-line no-console
-      console.error("[WS] WebSocket error", { boardId, event });
-      setConnected(false);
-    };
+      ws.onerror = (event) => {
+        // eslint-disable-next-line no-console
+        console.error("[WS] WebSocket error", { boardId, event });
+        setConnected(false);
+      };
 
-    ws.onmessage = (event) => {
-      if (typeof event.data === "string") {
+      ws.onmessage = (event) => {
+        if (typeof event.data !== "string") {
+          return;
+        }
         // eslint-disable-next-line no-console
         console.log("[WS] Message received", { boardId, raw: event.data });
+        const control = parseControlMessage(event.data);
+        if (control) {
+          streamRef.current = control.stream;
+          lastSeqRef.current = control.seq;
+          if (control.type === "reload") {
+            // eslint-disable-next-line no-console
+            console.log("[WS] Missed events no longer buffered, reloading board", { boardId });
+            onReloadRef.current?.();
+          }
+          return;
+        }
         const parsed = parseOutboxMessage(event.data);
         if (parsed) {
+          if (parsed.seq !== undefined) {
+            // Frames at or below our position were already applied (e.g. replayed and then flushed live).
+            if (parsed.seq <= lastSeqRef.current) {
+              return;
+            }
+            lastSeqRef.current = parsed.seq;
+          }
           // eslint-disable-next-line no-console
           console.log("[WS] Parsed message", parsed);
           onMessageRef.current(parsed);
         }
-      }
+      };
     };
 
+    connect();
+
     return () => {
       // eslint-disable-next-line no-console
       console.log("[WS] Cleaning up WebSocket effect, closing socket", { boardId });
-      ws.close();
-      if (wsRef.current === ws) {
-        wsRef.current = null;
-      }
+      disposed = true;
+      clearTimeout(reconnectTimer);
+      const ws = wsRef.current;
+      wsRef.current = null;
+      ws?.close();
       hasConnectedRef.current = false;
     };
   }, [boardId, token]);